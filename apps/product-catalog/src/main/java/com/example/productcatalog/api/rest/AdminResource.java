@@ -0,0 +1,135 @@
+package com.example.productcatalog.api.rest;
+
+import com.example.productcatalog.api.rest.model.JfrRecordingResponse;
+import com.example.productcatalog.api.rest.model.SlowRequest;
+import com.example.productcatalog.api.rest.model.SlowRequestsResponse;
+import com.example.productcatalog.infrastructure.concurrency.CommandExecutor;
+import com.example.productcatalog.infrastructure.config.ProductCatalogConfig;
+import com.example.productcatalog.infrastructure.diagnostics.FlightRecordings;
+import com.example.productcatalog.infrastructure.diagnostics.SlowRequests;
+import io.smallrye.common.annotation.Blocking;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.StreamingOutput;
+import jdk.jfr.Recording;
+
+import java.io.InputStream;
+import java.time.Duration;
+import java.time.ZoneOffset;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * Diagnostics for latency spikes: on-demand JFR recordings ({@link FlightRecordings}) and
+ * the slow requests kept by {@link SlowRequests}.
+ * <p>
+ * Not authenticated, so off unless {@code product-catalog.diagnostics.admin-enabled} is set
+ * (it is in dev and test); while off, every endpoint answers 404.
+ */
+@ApplicationScoped
+public class AdminResource implements AdminApi {
+
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+    private static final Set<String> SETTINGS = Set.of("default", "profile");
+
+    private final FlightRecordings flightRecordings;
+    private final SlowRequests slowRequests;
+    private final CommandExecutor commandExecutor;
+    private final boolean enabled;
+
+    public AdminResource(FlightRecordings flightRecordings,
+                         SlowRequests slowRequests,
+                         CommandExecutor commandExecutor,
+                         ProductCatalogConfig config) {
+        this.flightRecordings = flightRecordings;
+        this.slowRequests = slowRequests;
+        this.commandExecutor = commandExecutor;
+        this.enabled = config.diagnostics().adminEnabled();
+    }
+
+    /**
+     * Started off the event loop: starting the first recording sets up the JFR disk
+     * repository.
+     */
+    @Override
+    public CompletionStage<Response> startJfrRecording(String settings, Integer maxDurationSeconds) {
+        if (!enabled) {
+            return CompletableFuture.completedFuture(disabled());
+        }
+        if (!SETTINGS.contains(settings)) {
+            return CompletableFuture.completedFuture(ProblemResponses.badRequest("JFR settings must be one of " + SETTINGS));
+        }
+        return commandExecutor.submit(() -> flightRecordings.start(settings, Duration.ofSeconds(maxDurationSeconds)))
+                .thenApply(recording -> recording
+                        .map(started -> Response.status(Response.Status.CREATED)
+                                .entity(toResponse(started, settings))
+                                .build())
+                        .orElseGet(() -> ProblemResponses.conflict("A JFR recording is already started")));
+    }
+
+    /**
+     * Streams the recording from the JFR repository on disk, hence on a worker thread.
+     */
+    @Override
+    @Blocking
+    public CompletionStage<Response> stopJfrRecording() {
+        if (!enabled) {
+            return CompletableFuture.completedFuture(disabled());
+        }
+        Response response = flightRecordings.stop()
+                .map(data -> Response.ok((StreamingOutput) output -> {
+                            try (InputStream recording = data) {
+                                recording.transferTo(output);
+                            }
+                        }, MediaType.APPLICATION_OCTET_STREAM_TYPE)
+                        .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"product-catalog.jfr\"")
+                        .build())
+                .orElseGet(() -> ProblemResponses.notFound("No JFR recording is started"));
+        return CompletableFuture.completedFuture(response);
+    }
+
+    @Override
+    public CompletionStage<Response> listSlowRequests(Integer limit) {
+        if (!enabled) {
+            return CompletableFuture.completedFuture(disabled());
+        }
+        SlowRequestsResponse response = new SlowRequestsResponse()
+                .thresholdMillis(toMillis(slowRequests.threshold()))
+                .capacity(slowRequests.capacity())
+                .items(slowRequests.worst(limit).stream().map(AdminResource::toResponse).toList());
+        return CompletableFuture.completedFuture(Response.ok(response).build());
+    }
+
+    private static Response disabled() {
+        return ProblemResponses.notFound("Admin endpoints are disabled");
+    }
+
+    private static JfrRecordingResponse toResponse(Recording recording, String settings) {
+        return new JfrRecordingResponse()
+                .name(recording.getName())
+                .settings(settings)
+                .startedAt(recording.getStartTime().atOffset(ZoneOffset.UTC))
+                .maxDurationSeconds((int) recording.getDuration().toSeconds());
+    }
+
+    private static SlowRequest toResponse(SlowRequests.SlowRequest request) {
+        Map<String, Double> phases = new LinkedHashMap<>();
+        request.getPhases().forEach((phase, duration) -> phases.put(phase, toMillis(duration)));
+        return new SlowRequest()
+                .operation(request.getOperation())
+                .subject(request.getSubject())
+                .startedAt(request.getStartedAt().atOffset(ZoneOffset.UTC))
+                .durationMillis(toMillis(request.getDuration()))
+                .outcome(request.getOutcome())
+                .phases(phases);
+    }
+
+    private static double toMillis(Duration duration) {
+        return duration.toNanos() / NANOS_PER_MILLI;
+    }
+}
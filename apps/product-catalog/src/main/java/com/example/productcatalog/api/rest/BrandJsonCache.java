@@ -0,0 +1,158 @@
+package com.example.productcatalog.api.rest;
+
+import com.example.productcatalog.api.rest.mappers.BrandJsonWriter;
+import com.example.productcatalog.application.usecases.BrandView;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.util.ByteArrayBuilder;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.quarkus.cache.Cache;
+import io.quarkus.cache.CacheName;
+import io.quarkus.cache.CaffeineCache;
+import jakarta.enterprise.context.ApplicationScoped;
+import lombok.Value;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Instant;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Serialized {@code BrandResponse} bodies, kept per brand version so hot reads are written
+ * out as bytes instead of being mapped and serialized again.
+ * <p>
+ * Entries live in the {@code brand-json} cache under the brand id and carry the
+ * {@code updatedAt} they were serialized from: an entry for another version is replaced,
+ * never served. Entries are written once a created brand is committed, and evicted by
+ * {@code BrandCacheInvalidator} when a brand event for the id is consumed. The version
+ * doubles as a strong ETag, so conditional requests are answered without the body.
+ * <p>
+ * Only bodies without description are cached: those with one are serialized on every
+ * request, and their ETag also names the description's locale.
+ */
+@ApplicationScoped
+public class BrandJsonCache {
+    public static final String CACHE_NAME = "brand-json";
+
+    private final Cache cache;
+    private final BrandJsonWriter brandJsonWriter;
+    private final ObjectMapper objectMapper;
+
+    public BrandJsonCache(@CacheName(CACHE_NAME) Cache cache,
+                          BrandJsonWriter brandJsonWriter,
+                          ObjectMapper objectMapper) {
+        this.cache = cache;
+        this.brandJsonWriter = brandJsonWriter;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Returns the serialized brand, serializing it on a miss or when the cached body
+     * belongs to another version.
+     *
+     * @param brand the brand to return
+     * @return the JSON body and ETag of this version
+     */
+    public BrandJson get(BrandView brand) {
+        if (brand.getDescription() != null) {
+            return serialize(brand);
+        }
+        BrandJson cached = cache.<Long, BrandJson>get(brand.getId(), id -> serialize(brand))
+                .await().indefinitely();
+        if (cached.isVersionOf(brand)) {
+            return cached;
+        }
+        return put(brand);
+    }
+
+    /**
+     * Serializes the brand and caches the result, e.g. right after it was created. A brand
+     * with a description is cached without it.
+     *
+     * @param brand the brand to cache
+     * @return the JSON body and ETag of this version
+     */
+    public BrandJson put(BrandView brand) {
+        if (brand.getDescription() != null) {
+            put(brand.withDescription(null));
+            return serialize(brand);
+        }
+        BrandJson json = serialize(brand);
+        cache.as(CaffeineCache.class).put(brand.getId(), CompletableFuture.completedFuture(json));
+        return json;
+    }
+
+    /**
+     * Serializes the brand, description included, without caching it, e.g. for a body
+     * stored before the brand is committed.
+     *
+     * @param brand the brand to serialize
+     * @return the JSON body and ETag of this version
+     */
+    public BrandJson serialize(BrandView brand) {
+        ByteArrayBuilder bytes = new ByteArrayBuilder(512);
+        try (JsonGenerator generator = objectMapper.createGenerator(bytes)) {
+            brandJsonWriter.write(generator, brand, brandJsonWriter.newBuffer());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return new BrandJson(brand.getUpdatedAt(), etag(brand), bytes.toByteArray());
+    }
+
+    /**
+     * Strong ETag of a brand version: its id and {@code updatedAt} in epoch microseconds,
+     * both in base 36, e.g. {@code "ya-1a2b3c4d5e6f"}, followed by the locale when the
+     * body has a description, e.g. {@code "ya-1a2b3c4d5e6f-en"}.
+     *
+     * @param brand the brand
+     * @return the quoted entity tag
+     */
+    static String etag(BrandView brand) {
+        Instant updatedAt = brand.getUpdatedAt();
+        long version = updatedAt != null ? updatedAt.getEpochSecond() * 1_000_000L + updatedAt.getNano() / 1_000 : 0;
+        String locale = brand.getDescription() != null ? "-" + brand.getDescription().getLocale() : "";
+        return '"' + Long.toString(brand.getId(), 36) + '-' + Long.toString(version, 36) + locale + '"';
+    }
+
+    /**
+     * Whether an {@code If-None-Match} header matches the ETag, using the weak comparison
+     * RFC 9110 prescribes for it: {@code *}, or any listed tag equal once {@code W/} is
+     * dropped.
+     *
+     * @param ifNoneMatch the header value, may be null
+     * @param etag the current quoted entity tag
+     * @return true if the client's copy is current
+     */
+    static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.strip();
+            if (tag.equals("*")) {
+                return true;
+            }
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * A serialized brand version.
+     */
+    @Value
+    public static class BrandJson {
+        Instant updatedAt;
+        String etag;
+        byte[] body;
+
+        boolean isVersionOf(BrandView brand) {
+            return Objects.equals(updatedAt, brand.getUpdatedAt());
+        }
+    }
+}
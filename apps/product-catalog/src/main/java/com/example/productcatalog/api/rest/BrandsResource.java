@@ -1,38 +1,332 @@
 package com.example.productcatalog.api.rest;
 
-import com.example.productcatalog.api.rest.model.BrandResponse;
 import com.example.productcatalog.api.rest.model.CreateBrandRequest;
+import com.example.productcatalog.api.rest.model.CreateBrandsRequest;
 import com.example.productcatalog.application.usecases.CreateBrandCommand;
+import com.example.productcatalog.application.usecases.CreateBrandGroupCommit;
+import com.example.productcatalog.application.usecases.CreateBrandsCommand;
+import com.example.productcatalog.application.usecases.BrandView;
+import com.example.productcatalog.application.usecases.ExportBrandsQuery;
+import com.example.productcatalog.application.usecases.FindBrandByNameQuery;
+import com.example.productcatalog.application.usecases.GetBrandByIdQuery;
+import com.example.productcatalog.application.usecases.GetBrandLogoQuery;
+import com.example.productcatalog.application.usecases.ListBrandsQuery;
+import com.example.productcatalog.application.usecases.SearchBrandsQuery;
+import com.example.productcatalog.infrastructure.concurrency.CommandExecutor;
+import com.example.productcatalog.infrastructure.concurrency.ConcurrencyLimits;
+import com.example.productcatalog.infrastructure.diagnostics.PhaseTimer;
+import com.example.productcatalog.infrastructure.diagnostics.RequestPhase;
+import com.example.productcatalog.infrastructure.diagnostics.RequestTrace;
+import com.example.productcatalog.infrastructure.diagnostics.SlowRequests;
+import com.example.productcatalog.infrastructure.idempotency.IdempotencyService;
+import com.example.productcatalog.infrastructure.sharding.BrandShards;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
+import java.util.function.Supplier;
 
+import com.example.productcatalog.api.rest.mappers.BrandJsonWriter;
 import com.example.productcatalog.api.rest.mappers.BrandMapper;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
 
+import io.smallrye.common.annotation.Blocking;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.StreamingOutput;
 
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 @ApplicationScoped
-@RequiredArgsConstructor
 @Slf4j
 public class BrandsResource implements BrandsApi {
 
+    private static final String NDJSON = "application/x-ndjson";
+    private static final String IDEMPOTENT_REPLAYED = "Idempotent-Replayed";
+    private static final String ETAG = "ETag";
+    private static final String LOGO_REDIRECT_CACHE_CONTROL = "public, max-age=300";
+
     private final CreateBrandCommand createBrandCommand;
+    private final CreateBrandGroupCommit createBrandGroupCommit;
+    private final CreateBrandsCommand createBrandsCommand;
+    private final GetBrandByIdQuery getBrandByIdQuery;
+    private final GetBrandLogoQuery getBrandLogoQuery;
+    private final FindBrandByNameQuery findBrandByNameQuery;
+    private final ListBrandsQuery listBrandsQuery;
+    private final SearchBrandsQuery searchBrandsQuery;
+    private final ExportBrandsQuery exportBrandsQuery;
     private final BrandMapper brandMapper;
+    private final CommandExecutor commandExecutor;
+    private final ConcurrencyLimits concurrencyLimits;
+    private final IdempotencyService idempotencyService;
+    private final BrandShards shards;
+    private final SlowRequests slowRequests;
+    private final BrandJsonWriter brandJsonWriter;
+    private final BrandJsonCache brandJsonCache;
+    private final ObjectMapper objectMapper;
+    private final PhaseTimer mapRequestPhase;
+    private final PhaseTimer queuePhase;
+    private final PhaseTimer serializePhase;
+
+    public BrandsResource(CreateBrandCommand createBrandCommand,
+                          CreateBrandGroupCommit createBrandGroupCommit,
+                          CreateBrandsCommand createBrandsCommand,
+                          GetBrandByIdQuery getBrandByIdQuery,
+                          GetBrandLogoQuery getBrandLogoQuery,
+                          FindBrandByNameQuery findBrandByNameQuery,
+                          ListBrandsQuery listBrandsQuery,
+                          SearchBrandsQuery searchBrandsQuery,
+                          ExportBrandsQuery exportBrandsQuery,
+                          BrandMapper brandMapper,
+                          BrandJsonWriter brandJsonWriter,
+                          BrandJsonCache brandJsonCache,
+                          CommandExecutor commandExecutor,
+                          ConcurrencyLimits concurrencyLimits,
+                          IdempotencyService idempotencyService,
+                          BrandShards shards,
+                          SlowRequests slowRequests,
+                          ObjectMapper objectMapper,
+                          MeterRegistry registry) {
+        this.createBrandCommand = createBrandCommand;
+        this.createBrandGroupCommit = createBrandGroupCommit;
+        this.createBrandsCommand = createBrandsCommand;
+        this.getBrandByIdQuery = getBrandByIdQuery;
+        this.getBrandLogoQuery = getBrandLogoQuery;
+        this.findBrandByNameQuery = findBrandByNameQuery;
+        this.listBrandsQuery = listBrandsQuery;
+        this.searchBrandsQuery = searchBrandsQuery;
+        this.exportBrandsQuery = exportBrandsQuery;
+        this.brandMapper = brandMapper;
+        this.brandJsonWriter = brandJsonWriter;
+        this.brandJsonCache = brandJsonCache;
+        this.commandExecutor = commandExecutor;
+        this.concurrencyLimits = concurrencyLimits;
+        this.idempotencyService = idempotencyService;
+        this.shards = shards;
+        this.slowRequests = slowRequests;
+        this.objectMapper = objectMapper;
+        this.mapRequestPhase = CreateBrandCommand.phaseTimer(registry, RequestPhase.MAP_REQUEST);
+        this.queuePhase = CreateBrandCommand.phaseTimer(registry, RequestPhase.QUEUE);
+        this.serializePhase = CreateBrandCommand.phaseTimer(registry, RequestPhase.SERIALIZE);
+    }
 
+    /**
+     * Adds the {@code map-request}, {@code queue} (waiting for the command executor) and
+     * {@code serialize} phases to the {@code brand.create.phase} timers of
+     * {@link CreateBrandCommand}.
+     * <p>
+     * Every creation is traced, so the slow ones are kept with their phases by
+     * {@link SlowRequests}; the trace is bound to the thread running the command.
+     * <p>
+     * With group commit enabled, creations without an Idempotency-Key are handed to
+     * {@link CreateBrandGroupCommit} instead, whose groups run on their own threads: their
+     * traces only hold the phases of this class.
+     */
     @Override
-    public CompletionStage<Response> createBrand(CreateBrandRequest request) {
+    public CompletionStage<Response> createBrand(CreateBrandRequest request, String idempotencyKey) {
         log.info("Received request to create brand: {}", request.getName());
-        
+
+        RequestTrace trace = slowRequests.start("createBrand", request.getName());
+        PhaseTimer.Span mapping = mapRequestPhase.start(trace);
         CreateBrandCommand.Input commandInput = brandMapper.toCommandInput(request);
-        CreateBrandCommand.Output output = createBrandCommand.execute(commandInput);
-        BrandResponse response = brandMapper.toResponse(output);
-        
-        return CompletableFuture.supplyAsync(() -> Response.status(Response.Status.CREATED)
-                      .entity(response)
-                      .build());
+        mapping.end();
+        CompletionStage<Response> response;
+        if (idempotencyKey != null) {
+            PhaseTimer.Span queued = queuePhase.start(trace);
+            response = submitInteractive(() -> trace.call(() -> {
+                        queued.end();
+                        return createBrandIdempotently(request, commandInput, idempotencyKey);
+                    }))
+                    .thenApply(this::toIdempotentResponse);
+        } else if (createBrandGroupCommit.isEnabled()) {
+            response = concurrencyLimits.submit(ConcurrencyLimits.Traffic.INTERACTIVE,
+                            () -> createBrandGroupCommit.submit(commandInput))
+                    .thenApply(output -> trace.call(() -> toJsonResponse(Response.Status.CREATED, serialize(output)).build()));
+        } else {
+            PhaseTimer.Span queued = queuePhase.start(trace);
+            response = submitInteractive(() -> trace.call(() -> {
+                        queued.end();
+                        CreateBrandCommand.Output output = createBrandCommand.execute(commandInput);
+                        return serialize(output);
+                    }))
+                    .thenApply(json -> toJsonResponse(Response.Status.CREATED, json).build());
+        }
+        return response.whenComplete((created, failure) -> trace.finish(failure));
+    }
+
+    /**
+     * Runs the task on the command executor unless interactive traffic is at its limit, in
+     * which case the stage fails at once and the request is answered with 503.
+     */
+    private <T> CompletionStage<T> submitInteractive(Supplier<T> task) {
+        return concurrencyLimits.submit(ConcurrencyLimits.Traffic.INTERACTIVE, () -> commandExecutor.submit(task));
+    }
+
+    /**
+     * As {@link #submitInteractive}, within the separate limit of bulk imports.
+     */
+    private <T> CompletionStage<T> submitBulk(Supplier<T> task) {
+        return concurrencyLimits.submit(ConcurrencyLimits.Traffic.BULK, () -> commandExecutor.submit(task));
+    }
+
+    /**
+     * Serializes a committed brand, caching the body for reads.
+     */
+    private BrandJsonCache.BrandJson serialize(CreateBrandCommand.Output output) {
+        PhaseTimer.Span serializing = serializePhase.start();
+        BrandJsonCache.BrandJson json = brandJsonCache.put(brandMapper.toView(output));
+        serializing.end();
+        return json;
+    }
+
+    /**
+     * Creates the brand unless the key was seen before; either way returns the stored 201 response.
+     * The request is fingerprinted from its JSON form, so a retry must send the same body.
+     * <p>
+     * The response is stored in the brand's transaction, on the brand's shard when sharded,
+     * so it is serialized before the brand is committed and not cached: the first read of
+     * the brand caches its body.
+     */
+    private IdempotencyService.Outcome createBrandIdempotently(CreateBrandRequest request,
+                                                               CreateBrandCommand.Input commandInput,
+                                                               String idempotencyKey) {
+        String fingerprint = IdempotencyService.fingerprint(toJsonBytes(request));
+        int shard = shards.ofName(commandInput.getName());
+        return shards.call(shard, () -> idempotencyService.execute(idempotencyKey, fingerprint, () -> {
+            CreateBrandCommand.Output output = createBrandCommand.execute(commandInput);
+            PhaseTimer.Span serializing = serializePhase.start();
+            BrandJsonCache.BrandJson json = brandJsonCache.serialize(brandMapper.toView(output));
+            serializing.end();
+            String body = new String(json.getBody(), StandardCharsets.UTF_8);
+            return new IdempotencyService.StoredResponse(fingerprint, Response.Status.CREATED.getStatusCode(), body);
+        }));
+    }
+
+    private Response toIdempotentResponse(IdempotencyService.Outcome outcome) {
+        Response.ResponseBuilder response = Response.status(outcome.getResponse().getStatusCode())
+                .type(MediaType.APPLICATION_JSON_TYPE)
+                .entity(outcome.getResponse().getBody());
+        if (outcome.isReplayed()) {
+            response.header(IDEMPOTENT_REPLAYED, "true");
+        }
+        return response.build();
+    }
+
+    private byte[] toJsonBytes(Object value) {
+        try {
+            return objectMapper.writeValueAsBytes(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize " + value.getClass().getSimpleName(), e);
+        }
+    }
+
+    @Override
+    public CompletionStage<Response> createBrands(CreateBrandsRequest request) {
+        log.info("Received request to create {} brands", request.getItems().size());
+
+        return submitBulk(() -> createBrandsCommand.execute(brandMapper.toCommandInputs(request)))
+                .thenApply(results -> Response.ok(brandMapper.toResponse(results)).build());
+    }
+
+    /**
+     * Bodies without description come from {@link BrandJsonCache}; with {@code fields=description}
+     * the description is read and the body serialized for this request.
+     */
+    @Override
+    public CompletionStage<Response> getBrandById(Long brandId, String ifNoneMatch, String fields, String locale) {
+        String descriptionLocale = brandMapper.toDescriptionLocale(fields, locale);
+        return submitInteractive(() -> getBrandByIdQuery.execute(brandId, descriptionLocale).map(brandJsonCache::get))
+                .thenApply(brand -> brand
+                        .map(json -> BrandJsonCache.matches(ifNoneMatch, json.getEtag())
+                                ? Response.notModified().header(ETAG, json.getEtag()).build()
+                                : toJsonResponse(Response.Status.OK, json).build())
+                        .orElseGet(() -> ProblemResponses.notFound("Brand " + brandId + " does not exist")));
+    }
+
+    /**
+     * Redirects to the stored logo, cacheable for a few minutes only: the name of the
+     * stored file changes with the brand's logo. Until the logo is stored, redirects to
+     * the brand's logo URL, uncached, so clients switch to the stored one once it is.
+     */
+    @Override
+    public CompletionStage<Response> getBrandLogo(Long brandId, Integer width) {
+        return submitInteractive(() -> getBrandLogoQuery.execute(brandId, width))
+                .thenApply(logo -> logo
+                        .map(found -> found.getAssetName() != null
+                                ? Response.temporaryRedirect(URI.create("logos/" + found.getAssetName()))
+                                        .header(HttpHeaders.CACHE_CONTROL, LOGO_REDIRECT_CACHE_CONTROL)
+                                        .build()
+                                : Response.temporaryRedirect(found.getSourceUrl())
+                                        .header(HttpHeaders.CACHE_CONTROL, "no-cache")
+                                        .build())
+                        .orElseGet(() -> ProblemResponses.notFound("Brand " + brandId + " has no logo")));
+    }
+
+    /**
+     * Response with a pre-serialized brand as body, written out as is.
+     */
+    private static Response.ResponseBuilder toJsonResponse(Response.Status status, BrandJsonCache.BrandJson json) {
+        return Response.status(status)
+                .type(MediaType.APPLICATION_JSON_TYPE)
+                .header(ETAG, json.getEtag())
+                .entity(json.getBody());
+    }
+
+    @Override
+    public CompletionStage<Response> listBrands(String name, String sort, String after, Integer limit,
+                                                String fields, String locale) {
+        String descriptionLocale = brandMapper.toDescriptionLocale(fields, locale);
+        if (name != null) {
+            return submitInteractive(() -> findBrandByNameQuery.execute(name, descriptionLocale))
+                    .thenApply(brand -> Response.ok(brandMapper.toListResponse(brand.stream().toList(), null)).build());
+        }
+        ListBrandsQuery.Input input = brandMapper.toListQueryInput(sort, after, limit, descriptionLocale);
+        return submitInteractive(() -> listBrandsQuery.execute(input))
+                .thenApply(page -> Response.ok(brandMapper.toListResponse(page.getItems(), page.getNextCursor())).build());
+    }
+
+    @Override
+    public CompletionStage<Response> searchBrands(String q, String mode, String after, Integer limit,
+                                                  String fields, String locale) {
+        SearchBrandsQuery.Input input = brandMapper.toSearchQueryInput(q, mode, after, limit,
+                brandMapper.toDescriptionLocale(fields, locale));
+        return submitInteractive(() -> searchBrandsQuery.execute(input))
+                .thenApply(page -> Response.ok(brandMapper.toListResponse(page.getItems(), page.getNextCursor())).build());
+    }
+
+    /**
+     * Streams all brands as NDJSON. Runs on a worker thread because the database cursor
+     * is read while the response body is being written.
+     */
+    @Override
+    @Blocking
+    public CompletionStage<Response> exportBrands(String fields, String locale) {
+        String descriptionLocale = brandMapper.toDescriptionLocale(fields, locale);
+        StreamingOutput body = output -> {
+            try (JsonGenerator generator = objectMapper.createGenerator(output)) {
+                // Lines are separated by writeLine, not by the default space between root values
+                generator.setRootValueSeparator(null);
+                byte[] buffer = brandJsonWriter.newBuffer();
+                exportBrandsQuery.execute(descriptionLocale, brand -> writeLine(generator, brand, buffer));
+            }
+        };
+        return CompletableFuture.completedFuture(Response.ok(body, NDJSON).build());
+    }
+
+    private void writeLine(JsonGenerator generator, BrandView brand, byte[] buffer) {
+        try {
+            brandJsonWriter.write(generator, brand, buffer);
+            generator.writeRaw('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
     }
 }
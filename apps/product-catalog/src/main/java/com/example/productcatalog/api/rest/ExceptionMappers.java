@@ -0,0 +1,84 @@
+package com.example.productcatalog.api.rest;
+
+import com.example.productcatalog.api.rest.mappers.BrandMapper;
+import com.example.productcatalog.application.usecases.BrandNameAlreadyExistsException;
+import com.example.productcatalog.application.usecases.ListBrandsQuery;
+import com.example.productcatalog.infrastructure.concurrency.ConcurrencyLimitExceededException;
+import com.example.productcatalog.infrastructure.idempotency.IdempotencyService;
+import jakarta.ws.rs.WebApplicationException;
+import jakarta.ws.rs.core.Response;
+import lombok.extern.slf4j.Slf4j;
+import org.jboss.resteasy.reactive.server.ServerExceptionMapper;
+
+import java.time.Duration;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Maps application exceptions to problem responses.
+ */
+@Slf4j
+public class ExceptionMappers {
+
+    private static final Duration DEFAULT_RETRY_AFTER = Duration.ofSeconds(1);
+
+    @ServerExceptionMapper
+    public Response mapInvalidCursor(ListBrandsQuery.InvalidCursorException e) {
+        return ProblemResponses.badRequest(e.getMessage());
+    }
+
+    @ServerExceptionMapper
+    public Response mapUnknownField(BrandMapper.UnknownFieldException e) {
+        return ProblemResponses.badRequest(e.getMessage());
+    }
+
+    @ServerExceptionMapper
+    public Response mapBrandNameAlreadyExists(BrandNameAlreadyExistsException e) {
+        return ProblemResponses.conflict(e.getMessage());
+    }
+
+    @ServerExceptionMapper
+    public Response mapIdempotencyKeyReuse(IdempotencyService.KeyReuseException e) {
+        return ProblemResponses.unprocessableEntity("idempotency-key-reused", "Idempotency Key Reused", e.getMessage());
+    }
+
+    /**
+     * Work refused because too much is already queued or in progress, e.g. by brand group
+     * commit or the {@code ConcurrencyLimits}.
+     */
+    @ServerExceptionMapper
+    public Response mapRejectedExecution(RejectedExecutionException e) {
+        Duration retryAfter = e instanceof ConcurrencyLimitExceededException limitExceeded
+                ? limitExceeded.getRetryAfter()
+                : DEFAULT_RETRY_AFTER;
+        return ProblemResponses.serviceUnavailable("Too many requests in progress, retry later", retryAfter);
+    }
+
+    /**
+     * Use cases run on the {@code CommandExecutor}, so their exceptions reach the endpoint
+     * wrapped by the returned stage. Unwraps them to get the same response as when thrown
+     * directly.
+     */
+    @ServerExceptionMapper
+    public Response mapCompletion(CompletionException e) {
+        Throwable cause = e.getCause();
+        if (cause instanceof ListBrandsQuery.InvalidCursorException invalidCursor) {
+            return mapInvalidCursor(invalidCursor);
+        }
+        if (cause instanceof BrandNameAlreadyExistsException nameTaken) {
+            return mapBrandNameAlreadyExists(nameTaken);
+        }
+        if (cause instanceof IdempotencyService.KeyReuseException keyReuse) {
+            return mapIdempotencyKeyReuse(keyReuse);
+        }
+        if (cause instanceof RejectedExecutionException rejected) {
+            return mapRejectedExecution(rejected);
+        }
+        if (cause instanceof WebApplicationException webApplicationException) {
+            return webApplicationException.getResponse();
+        }
+        log.error("Request failed", cause != null ? cause : e);
+        return ProblemResponses.problem(Response.Status.INTERNAL_SERVER_ERROR,
+                "internal-error", "Internal Server Error", "The request could not be processed");
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.productcatalog.api.rest;
+
+import com.example.productcatalog.infrastructure.concurrency.CommandExecutor;
+import com.example.productcatalog.infrastructure.logos.LogoStore;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.Response;
+import lombok.RequiredArgsConstructor;
+
+import java.nio.file.Path;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * Serves logo files from the {@link LogoStore}.
+ * <p>
+ * The response entity is the file's {@link Path}, which RESTEasy Reactive hands to Vert.x
+ * {@code sendFile}: the bytes go from the page cache to the socket without being copied
+ * through the heap (unless TLS or compression is on at this hop). Names are
+ * content-addressed, so responses are cacheable for a year and marked immutable, and the
+ * name doubles as the ETag. SVG logos can carry scripts; the content security policy keeps
+ * them from running when a logo is opened directly.
+ */
+@ApplicationScoped
+@RequiredArgsConstructor
+public class LogosResource implements LogosApi {
+
+    static final String CACHE_FOREVER = "public, max-age=31536000, immutable";
+    private static final String CONTENT_SECURITY_POLICY = "default-src 'none'; style-src 'unsafe-inline'; sandbox";
+
+    private final LogoStore logoStore;
+    private final CommandExecutor commandExecutor;
+
+    /**
+     * Resolved off the event loop: the store may be a network volume.
+     */
+    @Override
+    public CompletionStage<Response> getLogo(String assetName, String ifNoneMatch) {
+        String etag = "\"" + assetName + "\"";
+        return commandExecutor.submit(() -> logoStore.find(assetName))
+                .thenApply(path -> path
+                        .map(file -> (BrandJsonCache.matches(ifNoneMatch, etag) ? Response.notModified() : Response.ok(file))
+                                .type(LogoStore.format(assetName).mediaType())
+                                .header(HttpHeaders.ETAG, etag)
+                                .header(HttpHeaders.CACHE_CONTROL, CACHE_FOREVER)
+                                .header("X-Content-Type-Options", "nosniff")
+                                .header("Content-Security-Policy", CONTENT_SECURITY_POLICY)
+                                .build())
+                        .orElseGet(() -> ProblemResponses.notFound("No logo is stored as " + assetName)));
+    }
+}
@@ -0,0 +1,119 @@
+package com.example.productcatalog.api.rest;
+
+import com.example.productcatalog.api.rest.model.ErrorResponse;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.Response;
+
+import java.net.URI;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Builds RFC 7807 problem responses using the API's {@link ErrorResponse} model.
+ */
+public final class ProblemResponses {
+
+    public static final String PROBLEM_JSON = "application/problem+json";
+    private static final String PROBLEM_BASE_URI = "https://api.product-catalog.com/problems/";
+    private static final Response.StatusType UNPROCESSABLE_ENTITY = new Response.StatusType() {
+        @Override
+        public int getStatusCode() {
+            return 422;
+        }
+
+        @Override
+        public Response.Status.Family getFamily() {
+            return Response.Status.Family.CLIENT_ERROR;
+        }
+
+        @Override
+        public String getReasonPhrase() {
+            return "Unprocessable Entity";
+        }
+    };
+
+    private ProblemResponses() {
+        // Private constructor to prevent instantiation
+    }
+
+    /**
+     * Builds a 400 Bad Request problem response.
+     *
+     * @param detail explanation of the problem
+     * @return the problem response
+     */
+    public static Response badRequest(String detail) {
+        return problem(Response.Status.BAD_REQUEST, "validation-error", "Validation Error", detail);
+    }
+
+    /**
+     * Builds a 404 Not Found problem response.
+     *
+     * @param detail explanation of the problem
+     * @return the problem response
+     */
+    public static Response notFound(String detail) {
+        return problem(Response.Status.NOT_FOUND, "not-found", "Not Found", detail);
+    }
+
+    /**
+     * Builds a 409 Conflict problem response.
+     *
+     * @param detail explanation of the problem
+     * @return the problem response
+     */
+    public static Response conflict(String detail) {
+        return problem(Response.Status.CONFLICT, "conflict", "Conflict", detail);
+    }
+
+    /**
+     * Builds a 422 Unprocessable Entity problem response.
+     *
+     * @param type the problem type, relative to the problem base URI
+     * @param title short summary of the problem type
+     * @param detail explanation of the problem
+     * @return the problem response
+     */
+    public static Response unprocessableEntity(String type, String title, String detail) {
+        return problem(UNPROCESSABLE_ENTITY, type, title, detail);
+    }
+
+    /**
+     * Builds a problem response with the given status.
+     *
+     * @param status the HTTP status
+     * @param type the problem type, relative to the problem base URI
+     * @param title short summary of the problem type
+     * @param detail explanation of this occurrence
+     * @return the problem response
+     */
+    public static Response problem(Response.StatusType status, String type, String title, String detail) {
+        return builder(status, type, title, detail).build();
+    }
+
+    /**
+     * Builds a 503 Service Unavailable problem response asking the client to retry later.
+     *
+     * @param detail explanation of the problem
+     * @param retryAfter how long the client should wait, sent in whole seconds (at least one)
+     * @return the problem response
+     */
+    public static Response serviceUnavailable(String detail, Duration retryAfter) {
+        return builder(Response.Status.SERVICE_UNAVAILABLE, "overloaded", "Service Unavailable", detail)
+                .header(HttpHeaders.RETRY_AFTER, Math.max(1, retryAfter.toSeconds()))
+                .build();
+    }
+
+    private static Response.ResponseBuilder builder(Response.StatusType status, String type, String title, String detail) {
+        ErrorResponse error = new ErrorResponse()
+                .type(URI.create(PROBLEM_BASE_URI + type))
+                .title(title)
+                .status(status.getStatusCode())
+                .detail(detail)
+                .timestamp(OffsetDateTime.now(ZoneOffset.UTC));
+        return Response.status(status)
+                .type(PROBLEM_JSON)
+                .entity(error);
+    }
+}
@@ -4,10 +4,23 @@ package com.example.productcatalog.api.rest.mappers;
 import java.time.Instant;
 import java.time.OffsetDateTime;
 import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
 
+import com.example.productcatalog.api.rest.model.BrandCreationResult;
+import com.example.productcatalog.api.rest.model.BrandListResponse;
 import com.example.productcatalog.api.rest.model.BrandResponse;
 import com.example.productcatalog.api.rest.model.CreateBrandRequest;
+import com.example.productcatalog.api.rest.model.CreateBrandRequestDescription;
+import com.example.productcatalog.api.rest.model.CreateBrandsRequest;
+import com.example.productcatalog.api.rest.model.CreateBrandsResponse;
 import com.example.productcatalog.application.usecases.CreateBrandCommand;
+import com.example.productcatalog.application.usecases.CreateBrandsCommand;
+import com.example.productcatalog.application.usecases.BrandView;
+import com.example.productcatalog.application.usecases.ListBrandsQuery;
+import com.example.productcatalog.application.usecases.SearchBrandsQuery;
+import com.example.productcatalog.domain.model.BrandDescription;
 
 import jakarta.enterprise.context.ApplicationScoped;
 import lombok.NonNull;
@@ -15,6 +28,10 @@ import lombok.NonNull;
 @ApplicationScoped
 public class BrandMapper {
 
+    /** The value of {@code fields} that asks for descriptions. */
+    static final String DESCRIPTION_FIELD = "description";
+    private static final Set<String> OPTIONAL_FIELDS = Set.of(DESCRIPTION_FIELD);
+
     /**
      * Maps API request to command input.
      *
@@ -25,7 +42,7 @@ public class BrandMapper {
     public CreateBrandCommand.Input toCommandInput(@NonNull CreateBrandRequest request) {
         return new CreateBrandCommand.Input(
                 request.getName(),
-                request.getDescription(),
+                toDescriptionInput(request.getDescription()),
                 request.getWebsite(),
                 request.getLogoUrl());
     }
@@ -41,13 +58,183 @@ public class BrandMapper {
         return new BrandResponse()
                 .id(output.getId())
                 .name(output.getName())
-                .description(output.getDescription())
+                .description(toDescription(output.getDescription()))
                 .website(output.getWebsite())
                 .logoUrl(output.getLogoUrl())
                 .createdAt(formatDateTimeUTC(output.getCreatedAt()))
                 .updatedAt(formatDateTimeUTC(output.getUpdatedAt())); 
     }
 
+    /**
+     * Maps command output to the brand read model.
+     *
+     * @param output the command output
+     * @return brand read model
+     * @throws IllegalArgumentException if output is null
+     */
+    public BrandView toView(@NonNull CreateBrandCommand.Output output) {
+        return new BrandView(
+                output.getId(),
+                output.getName(),
+                output.getDescription(),
+                output.getWebsite(),
+                output.getLogoUrl(),
+                output.getCreatedAt(),
+                output.getUpdatedAt());
+    }
+
+    /**
+     * Maps a brand read model to API response.
+     *
+     * @param brand the brand read model
+     * @return brand response object
+     * @throws IllegalArgumentException if brand is null
+     */
+    public BrandResponse toResponse(@NonNull BrandView brand) {
+        return new BrandResponse()
+                .id(brand.getId())
+                .name(brand.getName())
+                .description(toDescription(brand.getDescription()))
+                .website(brand.getWebsite())
+                .logoUrl(brand.getLogoUrl())
+                .createdAt(formatDateTimeUTC(brand.getCreatedAt()))
+                .updatedAt(formatDateTimeUTC(brand.getUpdatedAt()));
+    }
+
+    /**
+     * Maps brand read models to API list response.
+     *
+     * @param brands the brand read models
+     * @param nextCursor cursor of the next page, or null on the last page
+     * @return brand list response object
+     * @throws IllegalArgumentException if brands is null
+     */
+    public BrandListResponse toListResponse(@NonNull List<BrandView> brands, String nextCursor) {
+        return new BrandListResponse()
+                .items(brands.stream().map(this::toResponse).toList())
+                .nextCursor(nextCursor);
+    }
+
+    /**
+     * Maps listing query parameters to query input.
+     *
+     * @param sort the sort order ({@code id} or {@code name})
+     * @param after cursor of the previous page, or null for the first page
+     * @param limit page size
+     * @param descriptionLocale locale of the descriptions to add, or null for none
+     * @return list query input
+     */
+    public ListBrandsQuery.Input toListQueryInput(String sort, String after, @NonNull Integer limit,
+                                                  String descriptionLocale) {
+        ListBrandsQuery.Sort order = "name".equals(sort) ? ListBrandsQuery.Sort.NAME : ListBrandsQuery.Sort.ID;
+        return new ListBrandsQuery.Input(order, after, limit, descriptionLocale);
+    }
+
+    /**
+     * Maps search query parameters to query input.
+     *
+     * @param term the search term
+     * @param mode the search mode ({@code full} or {@code typeahead})
+     * @param after cursor of the previous page, or null for the first page
+     * @param limit page size
+     * @param descriptionLocale locale of the descriptions to add, or null for none
+     * @return search query input
+     */
+    public SearchBrandsQuery.Input toSearchQueryInput(@NonNull String term, String mode, String after,
+                                                      @NonNull Integer limit, String descriptionLocale) {
+        SearchBrandsQuery.Mode searchMode = "typeahead".equals(mode)
+                ? SearchBrandsQuery.Mode.TYPEAHEAD
+                : SearchBrandsQuery.Mode.FULL;
+        return new SearchBrandsQuery.Input(term, searchMode, after, limit, descriptionLocale);
+    }
+
+    /**
+     * Maps the {@code fields} and {@code locale} query parameters to the locale of the
+     * descriptions to read.
+     *
+     * @param fields comma-separated optional fields, or null
+     * @param locale the requested locale, or null for the default
+     * @return the description locale, or null when descriptions were not asked for
+     * @throws UnknownFieldException if a field is not one of the optional fields
+     */
+    public String toDescriptionLocale(String fields, String locale) {
+        if (fields == null) {
+            return null;
+        }
+        boolean description = false;
+        for (String field : fields.split(",")) {
+            if (!OPTIONAL_FIELDS.contains(field)) {
+                throw new UnknownFieldException(field);
+            }
+            description |= field.equals(DESCRIPTION_FIELD);
+        }
+        if (!description) {
+            return null;
+        }
+        return locale != null ? locale : BrandDescription.DEFAULT_LOCALE;
+    }
+
+    /**
+     * Lazily maps the items of a bulk request to command inputs.
+     *
+     * @param request the bulk create request
+     * @return stream of command inputs, in request order
+     * @throws IllegalArgumentException if request is null
+     */
+    public Stream<CreateBrandCommand.Input> toCommandInputs(@NonNull CreateBrandsRequest request) {
+        return request.getItems().stream().map(this::toCommandInput);
+    }
+
+    /**
+     * Maps bulk command results to API response.
+     *
+     * @param results the per-item command results
+     * @return bulk response object
+     * @throws IllegalArgumentException if results is null
+     */
+    public CreateBrandsResponse toResponse(@NonNull List<CreateBrandsCommand.Result> results) {
+        return new CreateBrandsResponse()
+                .results(results.stream().map(this::toCreationResult).toList());
+    }
+
+    private BrandCreationResult toCreationResult(CreateBrandsCommand.Result result) {
+        return new BrandCreationResult()
+                .index(result.getIndex())
+                .status(toStatus(result.getStatus()))
+                .brand(result.getBrand() != null ? toResponse(result.getBrand()) : null)
+                .error(result.getError());
+    }
+
+    private BrandCreationResult.StatusEnum toStatus(CreateBrandsCommand.Status status) {
+        return switch (status) {
+            case CREATED -> BrandCreationResult.StatusEnum.CREATED;
+            case CONFLICT -> BrandCreationResult.StatusEnum.CONFLICT;
+            case FAILED -> BrandCreationResult.StatusEnum.FAILED;
+        };
+    }
+
+    private BrandView.Description toDescriptionInput(CreateBrandRequestDescription description) {
+        if (description == null || description.getContent() == null) {
+            return null;
+        }
+        return new BrandView.Description(
+                description.getContent(),
+                description.getFormat() != null
+                        ? BrandDescription.Format.valueOf(description.getFormat().name())
+                        : BrandDescription.Format.PLAIN,
+                description.getLocale() != null ? description.getLocale() : BrandDescription.DEFAULT_LOCALE);
+    }
+
+    private CreateBrandRequestDescription toDescription(BrandView.Description description) {
+        if (description == null) {
+            return null;
+        }
+        return new CreateBrandRequestDescription()
+                .content(description.getContent())
+                .format(CreateBrandRequestDescription.FormatEnum.valueOf(description.getFormat().name()))
+                .locale(description.getLocale());
+    }
+
     /**
      * Converts Instant to OffsetDateTime in UTC.
      *
@@ -57,4 +244,13 @@ public class BrandMapper {
     private OffsetDateTime formatDateTimeUTC(Instant instant) {
         return instant != null ? OffsetDateTime.ofInstant(instant, ZoneOffset.UTC) : null;
     }
+
+    /**
+     * Thrown for a {@code fields} entry that is not an optional brand field.
+     */
+    public static class UnknownFieldException extends IllegalArgumentException {
+        UnknownFieldException(String field) {
+            super("Unknown field " + field + ", expected one of " + OPTIONAL_FIELDS);
+        }
+    }
 }
@@ -0,0 +1,14 @@
+package com.example.productcatalog.application.usecases;
+
+import lombok.Value;
+
+/**
+ * CDI event fired by the create commands for every brand they insert, in the transaction
+ * inserting it. Observers local to this instance react to it, e.g. after the commit;
+ * other replicas learn of the brand from its brand event.
+ */
+@Value
+public class BrandCreated {
+    Long id;
+    String name;
+}
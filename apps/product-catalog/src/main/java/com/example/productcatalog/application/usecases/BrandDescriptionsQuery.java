@@ -0,0 +1,74 @@
+package com.example.productcatalog.application.usecases;
+
+import com.example.productcatalog.domain.model.BrandDescription;
+import com.example.productcatalog.infrastructure.persistence.BrandRepository;
+import jakarta.enterprise.context.ApplicationScoped;
+import lombok.RequiredArgsConstructor;
+
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Adds descriptions in a requested locale to brands read without them.
+ * <p>
+ * A brand without a description in the locale gets the one in its language ({@code en}
+ * for {@code en-US}), then the one in {@link BrandDescription#DEFAULT_LOCALE}; a brand with
+ * none of them is left without. The descriptions of a whole page come from one query on
+ * the primary key of {@code brand_description}.
+ */
+@RequiredArgsConstructor
+@ApplicationScoped
+public class BrandDescriptionsQuery {
+    private final BrandRepository brandRepository;
+
+    /**
+     * @param brands the brands to describe
+     * @param locale the locale asked for, or null to leave the brands as they are
+     * @return the brands in the same order, with their description when they have one
+     */
+    public List<BrandView> execute(List<BrandView> brands, String locale) {
+        if (locale == null || brands.isEmpty()) {
+            return brands;
+        }
+        List<String> locales = fallbacks(locale);
+        Map<Long, BrandDescription> best = new HashMap<>();
+        for (BrandDescription description : brandRepository.findDescriptions(
+                brands.stream().map(BrandView::getId).toList(), locales)) {
+            best.merge(description.getBrandId(), description, (current, candidate) ->
+                    locales.indexOf(candidate.getLocale()) < locales.indexOf(current.getLocale()) ? candidate : current);
+        }
+        return brands.stream()
+                .map(brand -> {
+                    BrandDescription description = best.get(brand.getId());
+                    return description != null ? brand.withDescription(BrandView.Description.from(description)) : brand;
+                })
+                .toList();
+    }
+
+    /**
+     * @param brand the brand to describe, if any
+     * @param locale the locale asked for, or null to leave the brand as it is
+     * @return the brand, with its description when it has one
+     */
+    public Optional<BrandView> execute(Optional<BrandView> brand, String locale) {
+        return brand.map(found -> execute(List.of(found), locale).get(0));
+    }
+
+    /**
+     * The locales to look for, best first: {@code en-US}, {@code en}.
+     */
+    static List<String> fallbacks(String locale) {
+        Set<String> locales = new LinkedHashSet<>();
+        locales.add(locale);
+        int region = locale.indexOf('-');
+        if (region > 0) {
+            locales.add(locale.substring(0, region));
+        }
+        locales.add(BrandDescription.DEFAULT_LOCALE);
+        return List.copyOf(locales);
+    }
+}
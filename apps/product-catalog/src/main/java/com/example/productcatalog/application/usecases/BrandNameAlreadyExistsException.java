@@ -0,0 +1,11 @@
+package com.example.productcatalog.application.usecases;
+
+/**
+ * Thrown when a brand is created with a name that is already taken.
+ */
+public class BrandNameAlreadyExistsException extends RuntimeException {
+
+    public BrandNameAlreadyExistsException(String name) {
+        super("A brand named " + name + " already exists");
+    }
+}
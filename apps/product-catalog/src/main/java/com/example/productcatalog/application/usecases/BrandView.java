@@ -0,0 +1,54 @@
+package com.example.productcatalog.application.usecases;
+
+import com.example.productcatalog.domain.model.Brand;
+import com.example.productcatalog.domain.model.BrandDescription;
+import lombok.Value;
+import lombok.With;
+
+import java.net.URI;
+import java.time.Instant;
+
+/**
+ * Immutable read model of a brand returned by the brand queries.
+ * Detached from Hibernate so it can be cached and shared between threads.
+ * <p>
+ * The description is only set when it was asked for, see {@link BrandDescriptionsQuery};
+ * cached and snapshot brands never carry one.
+ */
+@Value
+public class BrandView {
+    Long id;
+    String name;
+    @With
+    Description description;
+    URI website;
+    URI logoUrl;
+    Instant createdAt;
+    Instant updatedAt;
+
+    public static BrandView from(Brand brand) {
+        return new BrandView(
+                brand.getId(),
+                brand.getName(),
+                null,
+                brand.getWebsite(),
+                brand.getLogo(),
+                brand.getCreatedAt(),
+                brand.getUpdatedAt()
+        );
+    }
+
+    /**
+     * A brand description in one locale.
+     */
+    @Value
+    public static class Description {
+        String content;
+        BrandDescription.Format format;
+        String locale;
+
+        public static Description from(BrandDescription description) {
+            return new Description(description.getContent(), description.getFormat(), description.getLocale());
+        }
+    }
+}
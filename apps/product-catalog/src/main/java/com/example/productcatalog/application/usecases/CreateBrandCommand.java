@@ -2,66 +2,264 @@ package com.example.productcatalog.application.usecases;
 
 
 import com.example.productcatalog.domain.model.Brand;
+import com.example.productcatalog.domain.model.BrandDescription;
+import com.example.productcatalog.infrastructure.cache.BrandNameIndex;
+import com.example.productcatalog.infrastructure.config.ProductCatalogConfig;
+import com.example.productcatalog.infrastructure.diagnostics.PhaseTimer;
+import com.example.productcatalog.infrastructure.diagnostics.RequestPhase;
 import com.example.productcatalog.infrastructure.events.EventPublisher;
+import com.example.productcatalog.infrastructure.persistence.BrandLogoRepository;
 import com.example.productcatalog.infrastructure.persistence.BrandRepository;
+import com.example.productcatalog.infrastructure.persistence.BrandWriter;
+import com.example.productcatalog.infrastructure.sharding.BrandShards;
 import com.example.productcatalog.api.events.BrandCreatedPayload;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.enterprise.context.ApplicationScoped;
-import lombok.RequiredArgsConstructor;
+import jakarta.enterprise.event.Event;
+import jakarta.persistence.PersistenceException;
+import jakarta.transaction.Transactional;
 import lombok.Value;
 
 import java.net.URI;
 import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.concurrent.TimeUnit;
 
 
-@RequiredArgsConstructor
+/**
+ * Creates a single brand.
+ * <p>
+ * Instrumented with {@code brand.create.duration}, tagged with the outcome, and
+ * {@code brand.create.phase}, which splits it into {@code name-check}, {@code persist}
+ * (insert and flush), {@code publish} (outbox event), {@code map} (output) and
+ * {@code commit} (the rest of the transaction: pending flushes and the commit itself).
+ * The phases are also JFR events and add to the {@code RequestTrace} of the request, see
+ * {@link PhaseTimer}.
+ * <p>
+ * With the {@code cdc} event source no event is recorded here: {@code BrandChangeCapture}
+ * publishes it from the WAL once the insert is committed.
+ */
 @ApplicationScoped
 public class CreateBrandCommand {
-    private final BrandRepository brandRepository;
+    private final BrandWriter brandWriter;
+    private final BrandLogoRepository brandLogoRepository;
     private final EventPublisher eventPublisher;
+    private final BrandNameIndex brandNameIndex;
+    private final BrandShards shards;
+    private final Event<BrandCreated> brandCreated;
+    private final boolean publishEvents;
 
+    private final Timer created;
+    private final Timer duplicate;
+    private final Timer failed;
+    private final PhaseTimer nameCheckPhase;
+    private final PhaseTimer persistPhase;
+    private final PhaseTimer publishPhase;
+    private final PhaseTimer mapPhase;
+    private final PhaseTimer commitPhase;
+
+    public CreateBrandCommand(BrandWriter brandWriter,
+                              BrandLogoRepository brandLogoRepository,
+                              EventPublisher eventPublisher,
+                              BrandNameIndex brandNameIndex,
+                              BrandShards shards,
+                              Event<BrandCreated> brandCreated,
+                              ProductCatalogConfig config,
+                              MeterRegistry registry) {
+        this.brandWriter = brandWriter;
+        this.brandLogoRepository = brandLogoRepository;
+        this.eventPublisher = eventPublisher;
+        this.brandNameIndex = brandNameIndex;
+        this.shards = shards;
+        this.brandCreated = brandCreated;
+        this.publishEvents = config.events().source() == ProductCatalogConfig.Events.Source.APPLICATION;
+        this.created = durationTimer(registry, "created");
+        this.duplicate = durationTimer(registry, "duplicate");
+        this.failed = durationTimer(registry, "error");
+        this.nameCheckPhase = phaseTimer(registry, RequestPhase.NAME_CHECK);
+        this.persistPhase = phaseTimer(registry, RequestPhase.PERSIST);
+        this.publishPhase = phaseTimer(registry, RequestPhase.PUBLISH);
+        this.mapPhase = phaseTimer(registry, RequestPhase.MAP);
+        this.commitPhase = phaseTimer(registry, RequestPhase.COMMIT);
+    }
+
+    /**
+     * Creates the brand and records its {@code BrandCreated} event in one transaction,
+     * along with the ingestion of its logo, see {@code LogoIngestion}.
+     * <p>
+     * Names known to be taken are rejected from the {@link BrandNameIndex} before a
+     * transaction is opened; the unique constraint catches the rest. When sharded, the
+     * transaction is on the shard of the name (see {@link BrandShards}): a new one, unless
+     * the caller's is on that shard already, as when an {@code Idempotency-Key} response is
+     * stored with the brand. A brand created before sharding may hold the name on the home
+     * shard, out of reach of that constraint, so the name is looked up there first; the
+     * index may not know it yet. No new brand takes such a name on the home shard, so the
+     * lookup cannot race with an insert.
+     *
+     * @throws BrandNameAlreadyExistsException if the name is taken
+     */
     public Output execute(Input input) {
+        long start = System.nanoTime();
+        Timer outcome = failed;
+        try {
+            PhaseTimer.Span nameCheck = nameCheckPhase.start();
+            boolean taken = brandNameIndex.isTaken(input.getName());
+            int shard = shards.ofName(input.getName());
+            if (!taken && shards.mayHaveLegacyNames(shard)) {
+                taken = brandWriter.existsByName(input.getName());
+            }
+            nameCheck.end();
+            if (taken) {
+                throw new BrandNameAlreadyExistsException(input.getName());
+            }
+            Created result = shards.onShard(shard, () -> create(input));
+            result.getCommit().end();
+            outcome = created;
+            return result.getOutput();
+        } catch (BrandNameAlreadyExistsException e) {
+            outcome = duplicate;
+            throw e;
+        } finally {
+            record(outcome, start);
+        }
+    }
+
+    /**
+     * The id comes from the pooled {@code brand_id_seq} allocation and the timestamps are
+     * set on persist, so the response and the event are built from the entity without
+     * reading the row back. The insert is flushed here so a name conflict surfaces as
+     * {@link BrandNameAlreadyExistsException} rather than a failed commit. Once it is
+     * committed, {@link BrandCreated} observers evict the misses cached for the brand.
+     */
+    @Transactional
+    Created create(Input input) {
+        PhaseTimer.Span persisting = persistPhase.start();
         Brand brand = Brand.builder()
                 .name(input.getName())
-                .description(input.getDescription())
                 .website(input.getWebsite())
                 .logo(input.getLogoUrl())
                 .build();
 
-        brandRepository.persist(brand);
-        Brand savedBrand = brandRepository.findById(brand.getId());
+        try {
+            brandWriter.persist(brand);
+            persistDescription(brandWriter, brand, input.getDescription());
+            brandLogoRepository.enqueue(brand);
+            brandWriter.flush();
+        } catch (PersistenceException e) {
+            if (BrandRepository.isUniqueViolation(e)) {
+                throw new BrandNameAlreadyExistsException(input.getName());
+            }
+            throw e;
+        }
+        brandCreated.fire(new BrandCreated(brand.getId(), brand.getName()));
+        persisting.end();
+
+        PhaseTimer.Span publishing = publishPhase.start();
+        if (publishEvents) {
+            eventPublisher.publish(toCreatedEvent(brand, input.getDescription()));
+        }
+        publishing.end();
 
-        eventPublisher.publish(new BrandCreatedPayload(
-                savedBrand.getId(),
-                savedBrand.getName(),
-                savedBrand.getDescription(),
-                savedBrand.getWebsite().toString(),
-                savedBrand.getLogo().toString()
-        ));
+        PhaseTimer.Span mapping = mapPhase.start();
+        Output output = toOutput(brand, input.getDescription());
+        mapping.end();
+        return new Created(output, commitPhase.start());
+    }
+
+    /**
+     * Schedules the insert of the brand's description, if it has one, after the brand's.
+     */
+    static void persistDescription(BrandWriter brandWriter, Brand brand, BrandView.Description description) {
+        if (description != null) {
+            brandWriter.persist(BrandDescription.of(
+                    brand, description.getLocale(), description.getFormat(), description.getContent()));
+        }
+    }
+
+    /**
+     * The event carries the description content, in the locale it was created in.
+     */
+    static BrandCreatedPayload toCreatedEvent(Brand brand, BrandView.Description description) {
+        return new BrandCreatedPayload(
+                brand.getId(),
+                brand.getName(),
+                description != null ? description.getContent() : null,
+                brand.getWebsite().toString(),
+                brand.getLogo().toString(),
+                toOffsetDateTime(brand.getCreatedAt()),
+                toOffsetDateTime(brand.getUpdatedAt())
+        );
+    }
 
+    static Output toOutput(Brand brand, BrandView.Description description) {
         return new Output(
-                savedBrand.getId(),
-                savedBrand.getName(),
-                savedBrand.getDescription(),
-                savedBrand.getWebsite(),
-                savedBrand.getLogo(),
-                savedBrand.getCreatedAt(),
-                savedBrand.getUpdatedAt()
+                brand.getId(),
+                brand.getName(),
+                description,
+                brand.getWebsite(),
+                brand.getLogo(),
+                brand.getCreatedAt(),
+                brand.getUpdatedAt()
         );
     }
 
+    private static OffsetDateTime toOffsetDateTime(Instant instant) {
+        return instant != null ? instant.atOffset(ZoneOffset.UTC) : null;
+    }
+
+    private static void record(Timer timer, long since) {
+        timer.record(System.nanoTime() - since, TimeUnit.NANOSECONDS);
+    }
+
+    private static Timer durationTimer(MeterRegistry registry, String outcome) {
+        return Timer.builder("brand.create.duration")
+                .description("Time to create a brand, by outcome")
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    /**
+     * A {@code brand.create.phase} timer, also used for the phases the REST layer adds
+     * around the command.
+     *
+     * @param registry the meter registry
+     * @param phase the phase
+     * @return the phase timer
+     */
+    public static PhaseTimer phaseTimer(MeterRegistry registry, RequestPhase phase) {
+        return new PhaseTimer(phase, Timer.builder("brand.create.phase")
+                .description("Time spent in each phase of brand creation")
+                .tag("phase", phase.tag())
+                .publishPercentileHistogram()
+                .register(registry));
+    }
+
     @Value
     public static class Input {
         String name;
-        String description;
+        /** Optional, stored as the brand's description in its locale. */
+        BrandView.Description description;
         URI website;
         URI logoUrl;
     }
 
+    /**
+     * The output of the transactional part, and the commit phase started as its body ended.
+     */
+    @Value
+    static class Created {
+        Output output;
+        PhaseTimer.Span commit;
+    }
+
     @Value
     public static class Output {
         Long id;
         String name;
-        String description;
+        BrandView.Description description;
         URI website;
         URI logoUrl;
         Instant createdAt;
@@ -0,0 +1,138 @@
+package com.example.productcatalog.application.usecases;
+
+import com.example.productcatalog.infrastructure.cache.BrandNameIndex;
+import com.example.productcatalog.infrastructure.concurrency.MicroBatcher;
+import com.example.productcatalog.infrastructure.config.ProductCatalogConfig;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Creates single brands in groups: concurrent creations are collected for up to
+ * {@code product-catalog.brands.group-commit.max-delay} or
+ * {@code max-size} of them, then inserted together by {@link CreateBrandsCommand}, so the
+ * group shares one transaction, one JDBC batch and one commit.
+ * <p>
+ * Each caller still gets its own outcome: the brand it created, or a
+ * {@link BrandNameAlreadyExistsException} for its name only, whether the name was taken
+ * before or by an earlier creation of the same group. The events of grouped creations
+ * carry no trace id, as the group runs outside any one request.
+ * <p>
+ * Instrumented with {@code brand.create.group.size}, {@code brand.create.group.queued},
+ * {@code brand.create.group.wait} (queued until the group is flushed) and
+ * {@code brand.create.group.flush} (name checks, insert and commit of a group).
+ */
+@Slf4j
+@ApplicationScoped
+public class CreateBrandGroupCommit {
+
+    private final CreateBrandsCommand createBrandsCommand;
+    private final BrandNameIndex brandNameIndex;
+    private final MicroBatcher<CreateBrandCommand.Input, CreateBrandCommand.Output> batcher;
+
+    private final DistributionSummary groupSize;
+    private final Timer waitTimer;
+    private final Timer flushTimer;
+
+    public CreateBrandGroupCommit(CreateBrandsCommand createBrandsCommand,
+                                  BrandNameIndex brandNameIndex,
+                                  ProductCatalogConfig config,
+                                  MeterRegistry registry) {
+        this.createBrandsCommand = createBrandsCommand;
+        this.brandNameIndex = brandNameIndex;
+        ProductCatalogConfig.GroupCommit settings = config.brands().groupCommit();
+        this.batcher = settings.enabled()
+                ? new MicroBatcher<>("brand-group-commit", settings.maxSize(), settings.maxDelay(),
+                        settings.maxInFlight(), settings.queueCapacity(), this::flush)
+                : null;
+        this.groupSize = DistributionSummary.builder("brand.create.group.size")
+                .description("Brands created per group commit")
+                .register(registry);
+        this.waitTimer = Timer.builder("brand.create.group.wait")
+                .description("Time a creation waits for its group to be flushed")
+                .publishPercentileHistogram()
+                .register(registry);
+        this.flushTimer = Timer.builder("brand.create.group.flush")
+                .description("Time to check, insert and commit a group of brands")
+                .publishPercentileHistogram()
+                .register(registry);
+        if (batcher != null) {
+            registry.gauge("brand.create.group.queued", batcher, MicroBatcher::queued);
+            log.info("Brand creations are group committed (up to {} per group, {} delay)",
+                    settings.maxSize(), settings.maxDelay());
+        }
+    }
+
+    /**
+     * Whether creations should go through {@link #submit} rather than {@link CreateBrandCommand}.
+     *
+     * @return true when group commit is enabled
+     */
+    public boolean isEnabled() {
+        return batcher != null;
+    }
+
+    /**
+     * Queues the creation for the next group.
+     *
+     * @param input the brand to create
+     * @return a stage completed with the created brand once its group committed, or
+     * exceptionally with {@link BrandNameAlreadyExistsException} if the name is taken
+     */
+    public CompletionStage<CreateBrandCommand.Output> submit(CreateBrandCommand.Input input) {
+        if (batcher == null) {
+            throw new IllegalStateException("Brand group commit is disabled");
+        }
+        return batcher.submit(input);
+    }
+
+    private void flush(List<MicroBatcher.Request<CreateBrandCommand.Input, CreateBrandCommand.Output>> group) {
+        long start = System.nanoTime();
+        groupSize.record(group.size());
+
+        List<MicroBatcher.Request<CreateBrandCommand.Input, CreateBrandCommand.Output>> pending =
+                new ArrayList<>(group.size());
+        for (var request : group) {
+            waitTimer.record(start - request.getSubmittedAt(), TimeUnit.NANOSECONDS);
+            String name = request.getInput().getName();
+            if (brandNameIndex.isTaken(name)) {
+                request.getFuture().completeExceptionally(new BrandNameAlreadyExistsException(name));
+            } else {
+                pending.add(request);
+            }
+        }
+        if (!pending.isEmpty()) {
+            complete(pending, createBrandsCommand.execute(pending.stream().map(MicroBatcher.Request::getInput)));
+        }
+        flushTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+
+    private static void complete(List<MicroBatcher.Request<CreateBrandCommand.Input, CreateBrandCommand.Output>> pending,
+                                 List<CreateBrandsCommand.Result> results) {
+        for (CreateBrandsCommand.Result result : results) {
+            var request = pending.get(result.getIndex());
+            String name = request.getInput().getName();
+            switch (result.getStatus()) {
+                case CREATED -> request.getFuture().complete(result.getBrand());
+                case CONFLICT -> request.getFuture().completeExceptionally(new BrandNameAlreadyExistsException(name));
+                case FAILED -> request.getFuture().completeExceptionally(
+                        new IllegalStateException("Could not create brand " + name + ": " + result.getError()));
+            }
+        }
+    }
+
+    @PreDestroy
+    void close() {
+        if (batcher != null) {
+            batcher.close();
+        }
+    }
+}
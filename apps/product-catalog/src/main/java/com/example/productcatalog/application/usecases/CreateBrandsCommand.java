@@ -0,0 +1,186 @@
+package com.example.productcatalog.application.usecases;
+
+import com.example.productcatalog.domain.model.Brand;
+import com.example.productcatalog.infrastructure.config.ProductCatalogConfig;
+import com.example.productcatalog.infrastructure.events.EventPublisher;
+import com.example.productcatalog.infrastructure.persistence.BrandLogoRepository;
+import com.example.productcatalog.infrastructure.persistence.BrandRepository;
+import com.example.productcatalog.infrastructure.sharding.BrandShards;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Event;
+import jakarta.persistence.PersistenceException;
+import lombok.RequiredArgsConstructor;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Creates many brands at once.
+ * <p>
+ * The input is consumed lazily in chunks of {@code product-catalog.brands.bulk.batch-size}.
+ * Each chunk runs in its own transaction: names that already exist are filtered out with
+ * a single query, the remaining brands are inserted as one JDBC batch using ids pooled
+ * from {@code brand_id_seq}, and the persistence context is cleared before the next chunk,
+ * so the entities of one chunk at most are kept. The results are collected for the whole
+ * input, and {@code POST /brands/bulk} parses its body whole, which is why it takes at most
+ * 5000 items. As in {@link CreateBrandCommand},
+ * events are only recorded with the {@code application} event source, and
+ * {@link BrandCreated} is fired for every brand inserted. When brands are
+ * sharded, each chunk is split by the shard of the names, one transaction per shard.
+ */
+@Slf4j
+@RequiredArgsConstructor
+@ApplicationScoped
+public class CreateBrandsCommand {
+    private final BrandRepository brandRepository;
+    private final BrandLogoRepository brandLogoRepository;
+    private final EventPublisher eventPublisher;
+    private final BrandShards shards;
+    private final Event<BrandCreated> brandCreated;
+    private final ProductCatalogConfig config;
+
+    public List<Result> execute(Stream<CreateBrandCommand.Input> inputs) {
+        int batchSize = config.brands().bulk().batchSize();
+        List<Result> results = new ArrayList<>();
+        List<Item> chunk = new ArrayList<>(batchSize);
+        int index = 0;
+
+        Iterator<CreateBrandCommand.Input> iterator = inputs.iterator();
+        while (iterator.hasNext()) {
+            chunk.add(new Item(index++, iterator.next()));
+            if (chunk.size() == batchSize) {
+                results.addAll(createChunk(chunk));
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            results.addAll(createChunk(chunk));
+        }
+        return results;
+    }
+
+    /**
+     * When sharded, splits the chunk by the shard of each name and inserts every part on
+     * its shard; the results keep the input order.
+     */
+    private List<Result> createChunk(List<Item> chunk) {
+        if (!shards.isSharded()) {
+            return createPart(chunk);
+        }
+        Map<Integer, List<Item>> parts = chunk.stream()
+                .collect(Collectors.groupingBy(item -> shards.ofName(item.input().getName())));
+        List<Result> results = new ArrayList<>(chunk.size());
+        parts.forEach((shard, part) -> results.addAll(shards.call(shard, () -> createPart(part))));
+        results.sort(Comparator.comparingInt(Result::getIndex));
+        return results;
+    }
+
+    private List<Result> createPart(List<Item> part) {
+        try {
+            return QuarkusTransaction.requiringNew().call(() -> insertPart(part));
+        } catch (PersistenceException e) {
+            if (part.size() == 1 && BrandRepository.isUniqueViolation(e)) {
+                return List.of(Result.conflict(part.get(0).index(),
+                        "A brand named " + part.get(0).input().getName() + " already exists"));
+            }
+            if (part.size() == 1) {
+                // The cause may quote SQL and constraint names; it goes to the log, not the response
+                log.warn("Failed to create brand {}", part.get(0).input().getName(), e);
+                return List.of(Result.failed(part.get(0).index(), "The brand could not be created"));
+            }
+            // A concurrent writer won a name between the pre-check and the insert.
+            // Retry item by item so only the offending brands are reported.
+            log.debug("Batch starting at {} failed, retrying items individually", part.get(0).index(), e);
+            List<Result> results = new ArrayList<>(part.size());
+            for (Item item : part) {
+                results.addAll(createPart(List.of(item)));
+            }
+            return results;
+        }
+    }
+
+    private List<Result> insertPart(List<Item> part) {
+        Set<String> taken = brandRepository.findExistingNames(part.stream()
+                .map(item -> item.input().getName())
+                .toList());
+        Set<String> seen = new HashSet<>();
+
+        Result[] results = new Result[part.size()];
+        Brand[] created = new Brand[part.size()];
+        for (int i = 0; i < part.size(); i++) {
+            CreateBrandCommand.Input input = part.get(i).input();
+            if (taken.contains(input.getName()) || !seen.add(input.getName())) {
+                results[i] = Result.conflict(part.get(i).index(),
+                        "A brand named " + input.getName() + " already exists");
+                continue;
+            }
+            created[i] = Brand.builder()
+                    .name(input.getName())
+                    .website(input.getWebsite())
+                    .logo(input.getLogoUrl())
+                    .build();
+            brandRepository.persist(created[i]);
+            CreateBrandCommand.persistDescription(brandRepository, created[i], input.getDescription());
+            brandLogoRepository.enqueue(created[i]);
+        }
+        brandRepository.flush();
+
+        for (int i = 0; i < created.length; i++) {
+            Brand brand = created[i];
+            if (brand == null) {
+                continue;
+            }
+            brandCreated.fire(new BrandCreated(brand.getId(), brand.getName()));
+            BrandView.Description description = part.get(i).input().getDescription();
+            if (config.events().source() == ProductCatalogConfig.Events.Source.APPLICATION) {
+                eventPublisher.publish(CreateBrandCommand.toCreatedEvent(brand, description));
+            }
+            results[i] = Result.created(part.get(i).index(), CreateBrandCommand.toOutput(brand, description));
+        }
+        brandRepository.getEntityManager().clear();
+
+        return List.of(results);
+    }
+
+    /**
+     * An input and its position in the request.
+     */
+    private record Item(int index, CreateBrandCommand.Input input) {
+    }
+
+    public enum Status {
+        CREATED,
+        CONFLICT,
+        FAILED
+    }
+
+    @Value
+    public static class Result {
+        int index;
+        Status status;
+        CreateBrandCommand.Output brand;
+        String error;
+
+        static Result created(int index, CreateBrandCommand.Output brand) {
+            return new Result(index, Status.CREATED, brand, null);
+        }
+
+        static Result conflict(int index, String error) {
+            return new Result(index, Status.CONFLICT, null, error);
+        }
+
+        static Result failed(int index, String error) {
+            return new Result(index, Status.FAILED, null, error);
+        }
+    }
+}
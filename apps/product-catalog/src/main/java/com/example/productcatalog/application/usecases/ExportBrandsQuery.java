@@ -0,0 +1,62 @@
+package com.example.productcatalog.application.usecases;
+
+import com.example.productcatalog.domain.model.Brand;
+import com.example.productcatalog.infrastructure.config.ProductCatalogConfig;
+import com.example.productcatalog.infrastructure.persistence.BrandRepository;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import jakarta.enterprise.context.ApplicationScoped;
+import lombok.RequiredArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Streams every brand, ordered by id, to a sink. When brands are sharded, shard after
+ * shard, each ordered by id, within one timeout per shard.
+ * <p>
+ * Rows come from a server-side cursor ({@code product-catalog.brands.export.fetch-size}
+ * rows per round trip) and each brand is detached as soon as it is read, so memory
+ * stays flat however many brands exist. No list of all brands is ever built: when
+ * descriptions are asked for, they are read for one fetch of brands at a time.
+ */
+@RequiredArgsConstructor
+@ApplicationScoped
+public class ExportBrandsQuery {
+    private final BrandRepository brandRepository;
+    private final BrandDescriptionsQuery brandDescriptionsQuery;
+    private final ProductCatalogConfig config;
+
+    /**
+     * @param descriptionLocale locale of the descriptions to add, or null for none
+     * @param sink receives every brand, in id order (per shard when sharded)
+     */
+    public void execute(String descriptionLocale, Consumer<BrandView> sink) {
+        ProductCatalogConfig.Export export = config.brands().export();
+        // PostgreSQL only honours the fetch size inside a transaction
+        brandRepository.forEachShard(() -> QuarkusTransaction.requiringNew()
+                .timeout((int) export.timeout().toSeconds())
+                .run(() -> {
+                    try (Stream<Brand> brands = brandRepository.streamAllById(export.fetchSize())) {
+                        if (descriptionLocale == null) {
+                            brands.forEach(brand -> sink.accept(BrandView.from(brand)));
+                            return;
+                        }
+                        List<BrandView> chunk = new ArrayList<>(export.fetchSize());
+                        brands.forEach(brand -> {
+                            chunk.add(BrandView.from(brand));
+                            if (chunk.size() == export.fetchSize()) {
+                                describe(chunk, descriptionLocale, sink);
+                            }
+                        });
+                        describe(chunk, descriptionLocale, sink);
+                    }
+                }));
+    }
+
+    private void describe(List<BrandView> chunk, String locale, Consumer<BrandView> sink) {
+        brandDescriptionsQuery.execute(chunk, locale).forEach(sink);
+        chunk.clear();
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.productcatalog.application.usecases;
+
+import com.example.productcatalog.infrastructure.cache.BrandSnapshot;
+import com.example.productcatalog.infrastructure.persistence.BrandRepository;
+import io.quarkus.cache.CacheResult;
+import jakarta.enterprise.context.ApplicationScoped;
+import lombok.RequiredArgsConstructor;
+
+import java.util.Optional;
+
+/**
+ * Looks up a brand by its exact, unique name.
+ * <p>
+ * Results, including misses, are cached in {@code brands-by-name} and invalidated by
+ * {@code BrandCacheInvalidator} when a brand event for the name is consumed, or as soon
+ * as a brand created on this instance commits. When the {@link BrandSnapshot} is
+ * serving, it answers instead, and names it misses are looked up and cached as above, so
+ * a brand just created is found before its event. As in {@link GetBrandByIdQuery},
+ * descriptions are added afterwards.
+ */
+@RequiredArgsConstructor
+@ApplicationScoped
+public class FindBrandByNameQuery {
+    public static final String CACHE_NAME = "brands-by-name";
+
+    private final BrandRepository brandRepository;
+    private final BrandSnapshot brandSnapshot;
+    private final BrandDescriptionsQuery brandDescriptionsQuery;
+
+    /**
+     * @param name the exact brand name
+     * @param descriptionLocale locale of the description to add, or null for none
+     * @return the brand, or empty if no brand has the name
+     */
+    public Optional<BrandView> execute(String name, String descriptionLocale) {
+        Optional<BrandView> brand = brandSnapshot.isServing()
+                ? brandSnapshot.findByName(name).or(() -> load(name))
+                : load(name);
+        return brandDescriptionsQuery.execute(brand, descriptionLocale);
+    }
+
+    @CacheResult(cacheName = CACHE_NAME)
+    Optional<BrandView> load(String name) {
+        return brandRepository.findByName(name).map(BrandView::from);
+    }
+}
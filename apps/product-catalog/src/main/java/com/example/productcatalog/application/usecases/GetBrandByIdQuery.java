@@ -0,0 +1,47 @@
+package com.example.productcatalog.application.usecases;
+
+import com.example.productcatalog.infrastructure.cache.BrandSnapshot;
+import com.example.productcatalog.infrastructure.persistence.BrandRepository;
+import io.quarkus.cache.CacheResult;
+import jakarta.enterprise.context.ApplicationScoped;
+import lombok.RequiredArgsConstructor;
+
+import java.util.Optional;
+
+/**
+ * Looks up a brand by id.
+ * <p>
+ * Results, including misses, are cached in {@code brands-by-id}. Entries are evicted by
+ * size and TTL, and invalidated by {@code BrandCacheInvalidator} when a brand event for
+ * the id is consumed, or as soon as a brand created on this instance commits. When the
+ * {@link BrandSnapshot} is serving, it answers instead; only the brands it misses, e.g.
+ * created since it was loaded and whose event it has not seen yet, are looked up and
+ * cached as above. Either way the brand comes without description; one is added from
+ * {@link BrandDescriptionsQuery} when a locale is asked for.
+ */
+@RequiredArgsConstructor
+@ApplicationScoped
+public class GetBrandByIdQuery {
+    public static final String CACHE_NAME = "brands-by-id";
+
+    private final BrandRepository brandRepository;
+    private final BrandSnapshot brandSnapshot;
+    private final BrandDescriptionsQuery brandDescriptionsQuery;
+
+    /**
+     * @param id the brand id
+     * @param descriptionLocale locale of the description to add, or null for none
+     * @return the brand, or empty if it does not exist
+     */
+    public Optional<BrandView> execute(Long id, String descriptionLocale) {
+        Optional<BrandView> brand = brandSnapshot.isServing()
+                ? brandSnapshot.findById(id).or(() -> load(id))
+                : load(id);
+        return brandDescriptionsQuery.execute(brand, descriptionLocale);
+    }
+
+    @CacheResult(cacheName = CACHE_NAME)
+    Optional<BrandView> load(Long id) {
+        return brandRepository.findByIdOptional(id).map(BrandView::from);
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.productcatalog.application.usecases;
+
+import com.example.productcatalog.infrastructure.logos.LogoFormat;
+import com.example.productcatalog.infrastructure.logos.LogoStore;
+import com.example.productcatalog.infrastructure.persistence.BrandLogo;
+import com.example.productcatalog.infrastructure.persistence.BrandLogoRepository;
+import com.example.productcatalog.infrastructure.sharding.BrandShards;
+import jakarta.enterprise.context.ApplicationScoped;
+import lombok.RequiredArgsConstructor;
+import lombok.Value;
+
+import java.net.URI;
+import java.util.Optional;
+
+/**
+ * Finds where a brand's logo is served from: the {@link LogoStore} once it has been
+ * ingested, else the brand's own logo URL.
+ */
+@RequiredArgsConstructor
+@ApplicationScoped
+public class GetBrandLogoQuery {
+    private final BrandLogoRepository brandLogoRepository;
+    private final LogoStore logoStore;
+    private final BrandShards shards;
+
+    /**
+     * @param brandId the brand id
+     * @param width the display width, or null for the original
+     * @return the logo, or empty if the brand does not exist or has no http(s) logo URL
+     */
+    public Optional<Output> execute(Long brandId, Integer width) {
+        return shards.onShard(shards.ofId(brandId), () -> brandLogoRepository.findByIdOptional(brandId))
+                .map(logo -> new Output(logo.getSourceUrl(), assetName(logo, width)
+                        .filter(logoStore::contains)
+                        .orElse(null)));
+    }
+
+    /**
+     * The smallest variant at least {@code width} wide, else the original.
+     */
+    static Optional<String> assetName(BrandLogo logo, Integer width) {
+        if (logo.getStatus() != BrandLogo.Status.READY) {
+            return Optional.empty();
+        }
+        if (width != null) {
+            Optional<Integer> variant = logo.getVariantWidthList().stream().filter(w -> w >= width).findFirst();
+            if (variant.isPresent()) {
+                return Optional.of(LogoStore.variantName(logo.getContentHash(), variant.get()));
+            }
+        }
+        return LogoFormat.ofMediaType(logo.getMediaType())
+                .map(format -> LogoStore.originalName(logo.getContentHash(), format));
+    }
+
+    @Value
+    public static class Output {
+        /** The brand's logo URL. */
+        URI sourceUrl;
+        /** Name of the logo in the {@link LogoStore}, or null while it is not stored. */
+        String assetName;
+    }
+}
@@ -0,0 +1,114 @@
+package com.example.productcatalog.application.usecases;
+
+import com.example.productcatalog.domain.model.Brand;
+import com.example.productcatalog.infrastructure.persistence.BrandRepository;
+import jakarta.enterprise.context.ApplicationScoped;
+import lombok.RequiredArgsConstructor;
+import lombok.Value;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Lists brands with keyset pagination.
+ * <p>
+ * Instead of an offset, each page seeks past the sort key of the previous page's last
+ * row, so every page is an index range scan of {@code limit + 1} rows regardless of
+ * depth. The key is handed to clients as an opaque cursor. Descriptions, when asked for,
+ * are read for the page in one more query.
+ */
+@RequiredArgsConstructor
+@ApplicationScoped
+public class ListBrandsQuery {
+    private final BrandRepository brandRepository;
+    private final BrandDescriptionsQuery brandDescriptionsQuery;
+
+    public Output execute(Input input) {
+        Cursor after = input.getAfter() != null ? Cursor.decode(input.getAfter(), input.getSort()) : null;
+        // Fetch one extra row to learn whether another page exists
+        int fetch = input.getLimit() + 1;
+        List<Brand> brands = switch (input.getSort()) {
+            case ID -> brandRepository.findPageById(after != null ? after.getId() : null, fetch);
+            case NAME -> brandRepository.findPageByName(
+                    after != null ? after.getName() : null, after != null ? after.getId() : null, fetch);
+        };
+
+        boolean hasNext = brands.size() > input.getLimit();
+        List<BrandView> page = brands.stream()
+                .limit(input.getLimit())
+                .map(BrandView::from)
+                .toList();
+        String nextCursor = hasNext ? Cursor.of(page.get(page.size() - 1), input.getSort()).encode() : null;
+        return new Output(brandDescriptionsQuery.execute(page, input.getDescriptionLocale()), nextCursor);
+    }
+
+    public enum Sort {
+        ID,
+        NAME
+    }
+
+    @Value
+    public static class Input {
+        Sort sort;
+        String after;
+        int limit;
+        /** Locale of the descriptions to add, or null for none. */
+        String descriptionLocale;
+    }
+
+    @Value
+    public static class Output {
+        List<BrandView> items;
+        String nextCursor;
+    }
+
+    /**
+     * Position in a listing, encoded as URL-safe base64 of {@code id:<id>} or
+     * {@code name:<id>:<name>}.
+     */
+    @Value
+    static class Cursor {
+        Long id;
+        String name;
+
+        static Cursor of(BrandView last, Sort sort) {
+            return new Cursor(last.getId(), sort == Sort.NAME ? last.getName() : null);
+        }
+
+        String encode() {
+            String raw = name == null ? "id:" + id : "name:" + id + ":" + name;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+        }
+
+        static Cursor decode(String cursor, Sort sort) {
+            String raw;
+            try {
+                raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            } catch (IllegalArgumentException e) {
+                throw new InvalidCursorException("Malformed cursor", e);
+            }
+            String[] parts = raw.split(":", 3);
+            try {
+                if (sort == Sort.ID && parts.length == 2 && parts[0].equals("id")) {
+                    return new Cursor(Long.parseLong(parts[1]), null);
+                }
+                if (sort == Sort.NAME && parts.length == 3 && parts[0].equals("name")) {
+                    return new Cursor(Long.parseLong(parts[1]), parts[2]);
+                }
+            } catch (NumberFormatException e) {
+                throw new InvalidCursorException("Malformed cursor", e);
+            }
+            throw new InvalidCursorException("Cursor does not match sort order " + sort.name().toLowerCase(), null);
+        }
+    }
+
+    /**
+     * Thrown when the {@code after} cursor cannot be decoded for the requested sort order.
+     */
+    public static class InvalidCursorException extends IllegalArgumentException {
+        InvalidCursorException(String message, Throwable cause) {
+            super(message, cause);
+        }
+    }
+}
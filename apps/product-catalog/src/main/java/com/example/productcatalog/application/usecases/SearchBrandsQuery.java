@@ -0,0 +1,126 @@
+package com.example.productcatalog.application.usecases;
+
+import com.example.productcatalog.domain.model.Brand;
+import com.example.productcatalog.infrastructure.persistence.BrandRepository;
+import jakarta.enterprise.context.ApplicationScoped;
+import lombok.RequiredArgsConstructor;
+import lombok.Value;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Searches brands by name and description, in any locale.
+ * <p>
+ * {@link Mode#FULL} is a ranked full text search, paged with a keyset cursor on
+ * {@code (rank, id)}. {@link Mode#TYPEAHEAD} answers a partially typed name with a single
+ * short list: names starting with the term first, in name order, topped up with names
+ * containing a word similar to it. Every query is bounded by an index, see the
+ * {@code BrandRepository} search methods.
+ */
+@RequiredArgsConstructor
+@ApplicationScoped
+public class SearchBrandsQuery {
+    private final BrandRepository brandRepository;
+    private final BrandDescriptionsQuery brandDescriptionsQuery;
+
+    public Output execute(Input input) {
+        Output output = switch (input.getMode()) {
+            case FULL -> search(input);
+            case TYPEAHEAD -> typeahead(input);
+        };
+        return new Output(brandDescriptionsQuery.execute(output.getItems(), input.getDescriptionLocale()),
+                output.getNextCursor());
+    }
+
+    private Output search(Input input) {
+        Cursor after = input.getAfter() != null ? Cursor.decode(input.getAfter()) : null;
+        // Fetch one extra row to learn whether another page exists
+        List<BrandRepository.RankedBrand> hits = brandRepository.search(input.getTerm(),
+                after != null ? after.getRank() : null, after != null ? after.getId() : null, input.getLimit() + 1);
+
+        boolean hasNext = hits.size() > input.getLimit();
+        List<BrandRepository.RankedBrand> page = hits.subList(0, Math.min(hits.size(), input.getLimit()));
+        String nextCursor = hasNext ? Cursor.of(page.get(page.size() - 1)).encode() : null;
+        return new Output(page.stream().map(hit -> BrandView.from(hit.getBrand())).toList(), nextCursor);
+    }
+
+    private Output typeahead(Input input) {
+        List<Brand> brands = new ArrayList<>(brandRepository.findByNamePrefix(input.getTerm(), input.getLimit()));
+        if (brands.size() < input.getLimit() && input.getTerm().length() >= BrandRepository.MIN_TRIGRAM_TERM_LENGTH) {
+            Set<Long> seen = new HashSet<>();
+            brands.forEach(brand -> seen.add(brand.getId()));
+            for (Brand similar : brandRepository.findBySimilarName(input.getTerm(), input.getLimit())) {
+                if (brands.size() == input.getLimit()) {
+                    break;
+                }
+                if (seen.add(similar.getId())) {
+                    brands.add(similar);
+                }
+            }
+        }
+        return new Output(brands.stream().map(BrandView::from).toList(), null);
+    }
+
+    public enum Mode {
+        FULL,
+        TYPEAHEAD
+    }
+
+    @Value
+    public static class Input {
+        String term;
+        Mode mode;
+        String after;
+        int limit;
+        /** Locale of the descriptions to add, or null for none. */
+        String descriptionLocale;
+    }
+
+    @Value
+    public static class Output {
+        List<BrandView> items;
+        String nextCursor;
+    }
+
+    /**
+     * Position in the ranked results, encoded as URL-safe base64 of {@code rank:<rank>:<id>}.
+     * The rank is written with {@link Float#toString}, which reads back to the same float.
+     */
+    @Value
+    static class Cursor {
+        float rank;
+        long id;
+
+        static Cursor of(BrandRepository.RankedBrand last) {
+            return new Cursor(last.getRank(), last.getBrand().getId());
+        }
+
+        String encode() {
+            String raw = "rank:" + rank + ":" + id;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+        }
+
+        static Cursor decode(String cursor) {
+            String raw;
+            try {
+                raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            } catch (IllegalArgumentException e) {
+                throw new ListBrandsQuery.InvalidCursorException("Malformed cursor", e);
+            }
+            String[] parts = raw.split(":", 3);
+            if (parts.length != 3 || !parts[0].equals("rank")) {
+                throw new ListBrandsQuery.InvalidCursorException("Cursor is not a search cursor", null);
+            }
+            try {
+                return new Cursor(Float.parseFloat(parts[1]), Long.parseLong(parts[2]));
+            } catch (NumberFormatException e) {
+                throw new ListBrandsQuery.InvalidCursorException("Malformed cursor", e);
+            }
+        }
+    }
+}
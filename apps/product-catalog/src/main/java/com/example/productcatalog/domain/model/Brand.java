@@ -1,43 +1,102 @@
 package com.example.productcatalog.domain.model;
 
-import io.quarkus.hibernate.orm.panache.PanacheEntityBase;
+import com.example.productcatalog.infrastructure.sharding.ShardedIdGenerator;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
 
+import jakarta.persistence.Column;
+import jakarta.persistence.ColumnResult;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityResult;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
-import jakarta.persistence.Lob;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+import jakarta.persistence.SqlResultSetMapping;
 import jakarta.persistence.Table;
 
 import java.net.URI;
 import java.time.Instant;
-import java.util.UUID;
+import java.time.temporal.ChronoUnit;
 
+/**
+ * A brand, without its descriptions: those are {@link BrandDescription}s, one per locale,
+ * read only when asked for.
+ */
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
 @Entity
-@Table(name = "brands")
-public class Brand extends PanacheEntityBase {
+@Table(name = "brand")
+@SqlResultSetMapping(
+        name = Brand.RANKED_RESULT,
+        entities = @EntityResult(entityClass = Brand.class),
+        columns = @ColumnResult(name = "rank", type = Float.class))
+public class Brand {
 
+    /**
+     * Native query result of a brand and its {@code rank} column, see
+     * {@code BrandRepository#search}.
+     */
+    public static final String RANKED_RESULT = "Brand.ranked";
+
+    /**
+     * Number of ids reserved per call to {@code brand_id_seq}. Must match the
+     * sequence increment so Hibernate's pooled optimizer hands out ids locally
+     * and inserts can be batched.
+     */
+    public static final int ID_ALLOCATION_SIZE = 50;
+
+    /**
+     * A value of {@code brand_id_seq}, tagged with the logical shard of the name when brands
+     * are sharded, see {@code ShardedIdGenerator}.
+     */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "brand_id")
+    @GenericGenerator(name = "brand_id", type = ShardedIdGenerator.class, parameters = {
+            @Parameter(name = "sequence_name", value = "brand_id_seq"),
+            @Parameter(name = "increment_size", value = "" + ID_ALLOCATION_SIZE),
+            @Parameter(name = "optimizer", value = "pooled")
+    })
     private Long id;
 
     private String name;
 
-    @Lob
-    private String description; // supports rich text and i18n
-
     private URI website;
+
+    @Column(name = "logo_url")
     private URI logo;
+
     private Instant createdAt;
     private Instant updatedAt;
 
+    /**
+     * Timestamps are assigned by the application so they are part of the single
+     * INSERT and known without reading the row back. They are truncated to the
+     * microsecond precision of the PostgreSQL {@code timestamp} columns so the
+     * values returned to callers match what is stored.
+     */
+    @PrePersist
+    void onCreate() {
+        Instant now = now();
+        if (createdAt == null) {
+            createdAt = now;
+        }
+        updatedAt = now;
+    }
+
+    @PreUpdate
+    void onUpdate() {
+        updatedAt = now();
+    }
 
-}
\ No newline at end of file
+    private static Instant now() {
+        return Instant.now().truncatedTo(ChronoUnit.MICROS);
+    }
+}
@@ -0,0 +1,102 @@
+package com.example.productcatalog.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.MapsId;
+import jakarta.persistence.Table;
+
+import java.io.Serializable;
+
+/**
+ * The description of a brand in one locale.
+ * <p>
+ * Kept apart from {@link Brand} so loading, listing and searching brands never reads
+ * description bytes; descriptions are fetched on request, for the locales asked for. The
+ * content is stored as PostgreSQL {@code text}: bodies over about 2 kB are compressed out
+ * of line (TOAST), with lz4 where the server supports it.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Entity
+@Table(name = "brand_description")
+public class BrandDescription {
+
+    /**
+     * Locale of descriptions created without one, and the last fallback when reading.
+     */
+    public static final String DEFAULT_LOCALE = "en";
+
+    @EmbeddedId
+    private Key id;
+
+    @MapsId("brandId")
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "brand_id")
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private Brand brand;
+
+    @Enumerated(EnumType.STRING)
+    private Format format;
+
+    @Column(columnDefinition = "text")
+    private String content;
+
+    /**
+     * @param brand the described brand, persisted first so its id is assigned
+     * @param locale the locale of the content
+     * @param format how the content is marked up
+     * @param content the description
+     * @return a new description of the brand
+     */
+    public static BrandDescription of(Brand brand, String locale, Format format, String content) {
+        return new BrandDescription(new Key(brand.getId(), locale), brand, format, content);
+    }
+
+    /**
+     * @return the id of the described brand
+     */
+    public Long getBrandId() {
+        return id.getBrandId();
+    }
+
+    /**
+     * @return the locale of the content, e.g. {@code en} or {@code en-US}
+     */
+    public String getLocale() {
+        return id.getLocale();
+    }
+
+    public enum Format {
+        PLAIN,
+        MARKDOWN,
+        HTML
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Embeddable
+    public static class Key implements Serializable {
+        @Column(name = "brand_id")
+        private Long brandId;
+
+        private String locale;
+    }
+}
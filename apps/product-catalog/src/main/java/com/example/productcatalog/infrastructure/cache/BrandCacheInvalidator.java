@@ -0,0 +1,54 @@
+package com.example.productcatalog.infrastructure.cache;
+
+import com.example.productcatalog.api.rest.BrandJsonCache;
+import com.example.productcatalog.application.usecases.BrandCreated;
+import com.example.productcatalog.application.usecases.FindBrandByNameQuery;
+import com.example.productcatalog.application.usecases.GetBrandByIdQuery;
+import io.quarkus.cache.Cache;
+import io.quarkus.cache.CacheInvalidate;
+import io.quarkus.cache.CacheKey;
+import io.quarkus.cache.CacheName;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.enterprise.event.TransactionPhase;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Evicts cached brand lookups when a brand changes.
+ */
+@Slf4j
+@ApplicationScoped
+public class BrandCacheInvalidator {
+
+    private final Cache byId;
+    private final Cache byName;
+
+    public BrandCacheInvalidator(@CacheName(GetBrandByIdQuery.CACHE_NAME) Cache byId,
+                                 @CacheName(FindBrandByNameQuery.CACHE_NAME) Cache byName) {
+        this.byId = byId;
+        this.byName = byName;
+    }
+
+    @CacheInvalidate(cacheName = GetBrandByIdQuery.CACHE_NAME)
+    @CacheInvalidate(cacheName = BrandJsonCache.CACHE_NAME)
+    public void invalidateById(@CacheKey Long id) {
+        log.debug("Invalidated cached brand {}", id);
+    }
+
+    @CacheInvalidate(cacheName = FindBrandByNameQuery.CACHE_NAME)
+    public void invalidateByName(@CacheKey String name) {
+        log.debug("Invalidated cached brand name {}", name);
+    }
+
+    /**
+     * Evicts the misses cached for a brand created on this instance once its transaction
+     * commits, rather than when its event comes back: until then, looking it up would still
+     * answer that it does not exist. Evicting before the commit would let a lookup cache
+     * the miss again. The serialized body in {@code brand-json} is versioned, so it is kept.
+     */
+    void onCreated(@Observes(during = TransactionPhase.AFTER_SUCCESS) BrandCreated created) {
+        byId.invalidate(created.getId()).await().indefinitely();
+        byName.invalidate(created.getName()).await().indefinitely();
+        log.debug("Invalidated cached lookups of created brand {}", created.getId());
+    }
+}
@@ -0,0 +1,176 @@
+package com.example.productcatalog.infrastructure.cache;
+
+import com.example.productcatalog.infrastructure.config.ProductCatalogConfig;
+import com.example.productcatalog.infrastructure.persistence.BrandRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.runtime.StartupEvent;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * In-memory index of brand names, consulted before inserting a brand so duplicates are
+ * rejected without a transaction or a constraint violation.
+ * <p>
+ * A Bloom filter over case-normalized names answers most lookups for new names. A hit is
+ * confirmed against a bounded set of exact names; once more names exist than the set
+ * holds, a hit is confirmed with an indexed lookup instead. The index is warmed from the
+ * {@code brand} table at startup, in the background, and kept current from brand events.
+ * Until warm-up completes every name is reported as unknown.
+ * <p>
+ * The unique constraint on {@code brand.name} stays the source of truth: a name missed by
+ * the index (e.g. created by another instance whose event has not arrived yet) is still
+ * rejected by the database.
+ */
+@Slf4j
+@ApplicationScoped
+public class BrandNameIndex {
+
+    private final ProductCatalogConfig.NameIndex settings;
+    private final BrandRepository brandRepository;
+    private final BloomFilter bloomFilter;
+    private final Set<String> exactNames = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean exactComplete = new AtomicBoolean(true);
+    private volatile boolean ready;
+
+    private final Counter lookups;
+    private final Counter bloomHits;
+    private final Counter falsePositives;
+    private final Timer warmupTimer;
+
+    @Inject
+    public BrandNameIndex(ProductCatalogConfig config, BrandRepository brandRepository, MeterRegistry registry) {
+        this(config.brands().nameIndex(), brandRepository, registry);
+    }
+
+    public BrandNameIndex(ProductCatalogConfig.NameIndex settings, BrandRepository brandRepository,
+                          MeterRegistry registry) {
+        this.settings = settings;
+        this.brandRepository = brandRepository;
+        this.bloomFilter = new BloomFilter(settings.expectedNames(), settings.falsePositiveProbability());
+        this.lookups = Counter.builder("brand.name.index.lookups")
+                .description("Names checked against the index")
+                .register(registry);
+        this.bloomHits = Counter.builder("brand.name.index.bloom.hits")
+                .description("Lookups the Bloom filter reported as possibly present")
+                .register(registry);
+        this.falsePositives = Counter.builder("brand.name.index.false.positives")
+                .description("Bloom filter hits for names that were not taken")
+                .register(registry);
+        this.warmupTimer = Timer.builder("brand.name.index.warmup")
+                .description("Time to load every brand name into the index")
+                .register(registry);
+        registry.gauge("brand.name.index.false.positive.ratio", this,
+                index -> ratio(index.falsePositives.count(), index.bloomHits.count()));
+        registry.gauge("brand.name.index.exact.names", exactNames, Set::size);
+    }
+
+    void onStart(@Observes StartupEvent event) {
+        if (settings.enabled()) {
+            Thread.ofVirtual().name("brand-name-index-warmup").start(this::warmUp);
+        }
+    }
+
+    /**
+     * Whether the name is known to be taken. False means unknown or free: the insert
+     * goes ahead and the unique constraint has the final word.
+     *
+     * @param name the exact brand name
+     * @return true if a brand with this name exists
+     */
+    public boolean isTaken(String name) {
+        if (!ready || !settings.enabled()) {
+            return false;
+        }
+        lookups.increment();
+        if (!bloomFilter.mightContain(normalize(name))) {
+            return false;
+        }
+        bloomHits.increment();
+        if (exactNames.contains(name)) {
+            return true;
+        }
+        boolean taken = !exactComplete.get() && brandRepository.existsByName(name);
+        if (!taken) {
+            falsePositives.increment();
+        }
+        return taken;
+    }
+
+    /**
+     * Records a taken name, e.g. from a brand event.
+     *
+     * @param name the exact brand name
+     */
+    public void add(String name) {
+        bloomFilter.add(normalize(name));
+        if (exactComplete.get()) {
+            if (exactNames.size() < settings.exactCapacity()) {
+                exactNames.add(name);
+            } else if (exactComplete.compareAndSet(true, false)) {
+                log.info("Brand name index holds {} exact names, confirming Bloom filter hits in the database",
+                        exactNames.size());
+            }
+        }
+    }
+
+    /**
+     * Loads the given names and marks the index ready.
+     *
+     * @param names every existing brand name
+     */
+    public void warmUp(Stream<String> names) {
+        load(names::forEach);
+    }
+
+    private void warmUp() {
+        try {
+            load(names -> brandRepository.forEachShard(() -> QuarkusTransaction.requiringNew().run(() -> {
+                try (Stream<String> shardNames = brandRepository.streamAllNames(settings.warmupFetchSize())) {
+                    shardNames.forEach(names);
+                }
+            })));
+        } catch (RuntimeException e) {
+            log.warn("Brand name index warm-up failed, duplicates are left to the database: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * @param source hands every existing brand name to the consumer it is given
+     */
+    private void load(Consumer<Consumer<String>> source) {
+        long start = System.nanoTime();
+        AtomicLong count = new AtomicLong();
+        source.accept(name -> {
+            add(name);
+            count.incrementAndGet();
+        });
+        long elapsed = System.nanoTime() - start;
+        warmupTimer.record(elapsed, TimeUnit.NANOSECONDS);
+        ready = true;
+        log.info("Brand name index warmed up with {} names in {} ms (Bloom filter {} KiB, {} hashes)",
+                count.get(), TimeUnit.NANOSECONDS.toMillis(elapsed), bloomFilter.sizeInBytes() / 1024,
+                bloomFilter.hashCount());
+    }
+
+    private static String normalize(String name) {
+        return name.toLowerCase(Locale.ROOT);
+    }
+
+    private static double ratio(double part, double total) {
+        return total == 0 ? 0 : part / total;
+    }
+}
@@ -0,0 +1,120 @@
+package com.example.productcatalog.infrastructure.cache;
+
+import com.example.productcatalog.application.usecases.BrandView;
+import com.example.productcatalog.domain.model.Brand;
+import com.example.productcatalog.infrastructure.config.ProductCatalogConfig;
+import com.example.productcatalog.infrastructure.persistence.BrandRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.scheduler.Scheduled;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Every brand held in a {@link CompactBrandStore}, so lookups by id and name are answered
+ * without the database, Hibernate entities or the brand caches.
+ * <p>
+ * Enabled with {@code product-catalog.brands.snapshot.enabled}. The snapshot is loaded
+ * from the {@code brand} table shortly after startup and serves lookups once loaded; until
+ * then callers use the database. Brand events upsert single brands, and the table is
+ * reloaded periodically to pick up changes whose events were missed. A stored brand is
+ * only replaced by one updated later, so a reload neither undoes a newer event nor
+ * rewrites unchanged brands.
+ */
+@Slf4j
+@ApplicationScoped
+public class BrandSnapshot {
+
+    private final ProductCatalogConfig.Snapshot settings;
+    private final BrandRepository brandRepository;
+    private final CompactBrandStore store;
+    private final Timer loadTimer;
+    private volatile boolean serving;
+
+    @Inject
+    public BrandSnapshot(ProductCatalogConfig config, BrandRepository brandRepository, MeterRegistry registry) {
+        this.settings = config.brands().snapshot();
+        this.brandRepository = brandRepository;
+        this.store = new CompactBrandStore(settings.expectedBrands());
+        this.loadTimer = Timer.builder("brand.snapshot.load")
+                .description("Time to load every brand into the snapshot")
+                .register(registry);
+        registry.gauge("brand.snapshot.brands", store, CompactBrandStore::size);
+        registry.gauge("brand.snapshot.bytes", store, CompactBrandStore::allocatedBytes);
+    }
+
+    /**
+     * Whether lookups should be answered by this snapshot.
+     *
+     * @return true once the snapshot is enabled and loaded
+     */
+    public boolean isServing() {
+        return serving;
+    }
+
+    /**
+     * @param id the brand id
+     * @return the brand, or empty if it does not exist
+     */
+    public Optional<BrandView> findById(Long id) {
+        return store.findById(id);
+    }
+
+    /**
+     * @param name the exact brand name
+     * @return the brand, or empty if it does not exist
+     */
+    public Optional<BrandView> findByName(String name) {
+        return store.findByName(name);
+    }
+
+    /**
+     * Records a created or changed brand, e.g. from a brand event.
+     *
+     * @param brand the brand as of the change
+     */
+    public void apply(BrandView brand) {
+        if (settings.enabled()) {
+            store.upsert(brand);
+        }
+    }
+
+    @Scheduled(every = "${product-catalog.brands.snapshot.reload-interval}",
+            concurrentExecution = Scheduled.ConcurrentExecution.SKIP)
+    void reload() {
+        if (!settings.enabled()) {
+            return;
+        }
+        long start = System.nanoTime();
+        AtomicLong count = new AtomicLong();
+        try {
+            // PostgreSQL only honours the fetch size inside a transaction
+            brandRepository.forEachShard(() -> QuarkusTransaction.requiringNew().run(() -> {
+                try (Stream<Brand> brands = brandRepository.streamAllById(settings.fetchSize())) {
+                    brands.forEach(brand -> {
+                        store.upsert(BrandView.from(brand));
+                        count.incrementAndGet();
+                    });
+                }
+            }));
+        } catch (RuntimeException e) {
+            log.warn("Brand snapshot reload failed after {} brands: {}", count.get(), e.getMessage());
+            return;
+        }
+        store.trimToSize();
+        long elapsed = System.nanoTime() - start;
+        loadTimer.record(elapsed, TimeUnit.NANOSECONDS);
+        if (!serving) {
+            serving = true;
+            log.info("Brand snapshot loaded {} brands in {} ms ({} KiB)", count.get(),
+                    TimeUnit.NANOSECONDS.toMillis(elapsed), store.allocatedBytes() / 1024);
+        }
+    }
+}
@@ -0,0 +1,429 @@
+package com.example.productcatalog.infrastructure.cache;
+
+import com.example.productcatalog.application.usecases.BrandView;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Supplier;
+
+/**
+ * Read-optimized, columnar store of brands held in a handful of primitive arrays.
+ * <p>
+ * Each brand occupies a slot: its id and timestamps (epoch microseconds) sit in {@code long}
+ * arrays and its text fields in a shared byte arena, as consecutive UTF-8 fields prefixed
+ * with a varint of {@code length + 1} ({@code 0} marks null). Ids and names are resolved
+ * to slots through open-addressing tables. No object is kept per brand, so the footprint is
+ * the payload bytes plus a few dozen bytes of arrays, instead of an entity with its
+ * {@code String}, {@code URI} and {@code Instant} graph. {@link BrandView}s are decoded on read,
+ * without description: descriptions are not kept here.
+ * <p>
+ * Writes are rare and serialized by a {@link StampedLock}; reads are optimistic and only
+ * take the read lock when they overlap a write. An update appends a new record to the arena;
+ * the arena is compacted once superseded records make up half of it.
+ */
+public final class CompactBrandStore {
+
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final long NULL_TIMESTAMP = Long.MIN_VALUE;
+    private static final int NO_SLOT = -1;
+    /** Name, website and logo URL. */
+    private static final int FIELD_COUNT = 3;
+
+    private final StampedLock lock = new StampedLock();
+
+    private long[] ids;
+    private long[] createdAt;
+    private long[] updatedAt;
+    private int[] recordOffsets;
+    private int[] nameHashes;
+    private int size;
+
+    private byte[] arena;
+    private int arenaSize;
+    private int supersededBytes;
+    private int staleNames;
+
+    /** Slot + 1 per bucket, {@code 0} when empty. */
+    private int[] idTable;
+    /** Slot + 1 per bucket, {@code 0} when empty. Entries left behind by a rename never match. */
+    private int[] nameTable;
+
+    public CompactBrandStore() {
+        this(INITIAL_CAPACITY);
+    }
+
+    public CompactBrandStore(int expectedBrands) {
+        int capacity = Math.max(expectedBrands, 16);
+        ids = new long[capacity];
+        createdAt = new long[capacity];
+        updatedAt = new long[capacity];
+        recordOffsets = new int[capacity];
+        nameHashes = new int[capacity];
+        arena = new byte[capacity * 64];
+        idTable = new int[tableSize(capacity)];
+        nameTable = new int[tableSize(capacity)];
+    }
+
+    /**
+     * Looks up a brand by id.
+     *
+     * @param id the brand id
+     * @return the brand, or empty if the store does not hold it
+     */
+    public Optional<BrandView> findById(long id) {
+        return read(() -> {
+            int slot = slotOfId(id);
+            return slot == NO_SLOT ? Optional.empty() : Optional.of(decode(slot));
+        });
+    }
+
+    /**
+     * Looks up a brand by its exact name.
+     *
+     * @param name the brand name
+     * @return the brand, or empty if the store does not hold it
+     */
+    public Optional<BrandView> findByName(String name) {
+        byte[] encoded = name.getBytes(StandardCharsets.UTF_8);
+        int hash = name.hashCode();
+        return read(() -> {
+            int slot = slotOfName(encoded, hash);
+            return slot == NO_SLOT ? Optional.empty() : Optional.of(decode(slot));
+        });
+    }
+
+    /**
+     * Inserts a brand, or replaces the stored one with the same id if this one was updated
+     * later, so replaying an older or identical version changes nothing. Timestamps are
+     * kept at microsecond precision.
+     *
+     * @param brand the brand, with a non-null id and name
+     * @return whether the store changed
+     */
+    public boolean upsert(BrandView brand) {
+        long stamp = lock.writeLock();
+        try {
+            int slot = slotOfId(brand.getId());
+            long updated = toMicros(brand.getUpdatedAt());
+            boolean existing = slot != NO_SLOT;
+            if (existing) {
+                if (updatedAt[slot] != NULL_TIMESTAMP && updated != NULL_TIMESTAMP && updatedAt[slot] >= updated) {
+                    return false;
+                }
+                supersededBytes += recordLength(recordOffsets[slot]);
+            } else {
+                slot = newSlot(brand.getId());
+            }
+            boolean renamed = !existing || !nameEquals(slot, brand.getName());
+            createdAt[slot] = toMicros(brand.getCreatedAt());
+            updatedAt[slot] = updated;
+            recordOffsets[slot] = append(brand);
+            nameHashes[slot] = brand.getName().hashCode();
+            if (renamed) {
+                insertName(slot);
+                if (existing && (size + ++staleNames) * 2 > nameTable.length) {
+                    rehash(idTable.length);
+                }
+            }
+            if (supersededBytes > arenaSize / 2) {
+                compact();
+            }
+            return true;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Releases the unused capacity of the arrays, e.g. after a bulk load. The tables keep
+     * their size.
+     */
+    public void trimToSize() {
+        long stamp = lock.writeLock();
+        try {
+            int capacity = Math.max(size, 16);
+            ids = Arrays.copyOf(ids, capacity);
+            createdAt = Arrays.copyOf(createdAt, capacity);
+            updatedAt = Arrays.copyOf(updatedAt, capacity);
+            recordOffsets = Arrays.copyOf(recordOffsets, capacity);
+            nameHashes = Arrays.copyOf(nameHashes, capacity);
+            arena = Arrays.copyOf(arena, Math.max(arenaSize, 64));
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * @return the number of brands held
+     */
+    public int size() {
+        long stamp = lock.readLock();
+        try {
+            return size;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Bytes allocated by the backing arrays, including unused capacity.
+     *
+     * @return the retained size of the arrays in bytes
+     */
+    public long allocatedBytes() {
+        long stamp = lock.readLock();
+        try {
+            return (long) ids.length * Long.BYTES * 3
+                    + (long) recordOffsets.length * Integer.BYTES * 2
+                    + (long) (idTable.length + nameTable.length) * Integer.BYTES
+                    + arena.length;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Runs a lookup optimistically and validates it, falling back to the read lock if a
+     * write overlapped. An overlapping write can leave the arrays torn, so failures of the
+     * optimistic attempt are discarded too.
+     */
+    private <T> T read(Supplier<T> lookup) {
+        long stamp = lock.tryOptimisticRead();
+        if (stamp != 0) {
+            try {
+                T result = lookup.get();
+                if (lock.validate(stamp)) {
+                    return result;
+                }
+            } catch (RuntimeException e) {
+                if (lock.validate(stamp)) {
+                    throw e;
+                }
+            }
+        }
+        stamp = lock.readLock();
+        try {
+            return lookup.get();
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    private int slotOfId(long id) {
+        int[] table = idTable;
+        int mask = table.length - 1;
+        for (int bucket = mix(Long.hashCode(id)) & mask; ; bucket = (bucket + 1) & mask) {
+            int entry = table[bucket];
+            if (entry == 0) {
+                return NO_SLOT;
+            }
+            if (ids[entry - 1] == id) {
+                return entry - 1;
+            }
+        }
+    }
+
+    private int slotOfName(byte[] name, int hash) {
+        int[] table = nameTable;
+        int mask = table.length - 1;
+        for (int bucket = mix(hash) & mask; ; bucket = (bucket + 1) & mask) {
+            int entry = table[bucket];
+            if (entry == 0) {
+                return NO_SLOT;
+            }
+            int slot = entry - 1;
+            if (nameHashes[slot] == hash && nameEquals(slot, name)) {
+                return slot;
+            }
+        }
+    }
+
+    private int newSlot(long id) {
+        if (size == ids.length) {
+            int capacity = grow(size);
+            ids = Arrays.copyOf(ids, capacity);
+            createdAt = Arrays.copyOf(createdAt, capacity);
+            updatedAt = Arrays.copyOf(updatedAt, capacity);
+            recordOffsets = Arrays.copyOf(recordOffsets, capacity);
+            nameHashes = Arrays.copyOf(nameHashes, capacity);
+        }
+        int slot = size++;
+        ids[slot] = id;
+        recordOffsets[slot] = -1;
+        if ((size + staleNames) * 2 > idTable.length) {
+            rehash(tableSize(size));
+        } else {
+            insert(idTable, mix(Long.hashCode(id)), slot);
+        }
+        return slot;
+    }
+
+    private void insertName(int slot) {
+        insert(nameTable, mix(nameHashes[slot]), slot);
+    }
+
+    private static void insert(int[] table, int hash, int slot) {
+        int mask = table.length - 1;
+        int bucket = hash & mask;
+        while (table[bucket] != 0) {
+            bucket = (bucket + 1) & mask;
+        }
+        table[bucket] = slot + 1;
+    }
+
+    private void rehash(int tableSize) {
+        idTable = new int[tableSize];
+        nameTable = new int[tableSize];
+        staleNames = 0;
+        for (int slot = 0; slot < size; slot++) {
+            insert(idTable, mix(Long.hashCode(ids[slot])), slot);
+            if (recordOffsets[slot] >= 0) {
+                insertName(slot);
+            }
+        }
+    }
+
+    /**
+     * Copies the live records into a new arena and rebuilds the name table, dropping
+     * superseded records and stale names.
+     */
+    private void compact() {
+        byte[] compacted = new byte[Math.max(arenaSize - supersededBytes, 64) * 2];
+        int position = 0;
+        for (int slot = 0; slot < size; slot++) {
+            int length = recordLength(recordOffsets[slot]);
+            System.arraycopy(arena, recordOffsets[slot], compacted, position, length);
+            recordOffsets[slot] = position;
+            position += length;
+        }
+        arena = compacted;
+        arenaSize = position;
+        supersededBytes = 0;
+        rehash(idTable.length);
+    }
+
+    private int append(BrandView brand) {
+        byte[][] fields = {
+                utf8(brand.getName()),
+                utf8(brand.getWebsite() != null ? brand.getWebsite().toString() : null),
+                utf8(brand.getLogoUrl() != null ? brand.getLogoUrl().toString() : null)
+        };
+        int required = 0;
+        for (byte[] field : fields) {
+            required += 5 + (field != null ? field.length : 0);
+        }
+        if (arenaSize + required > arena.length) {
+            arena = Arrays.copyOf(arena, Math.max(grow(arena.length), arenaSize + required));
+        }
+        int offset = arenaSize;
+        for (byte[] field : fields) {
+            arenaSize = writeVarint(field != null ? field.length + 1 : 0, arenaSize);
+            if (field != null) {
+                System.arraycopy(field, 0, arena, arenaSize, field.length);
+                arenaSize += field.length;
+            }
+        }
+        return offset;
+    }
+
+    private BrandView decode(int slot) {
+        int[] cursor = {recordOffsets[slot]};
+        String name = readString(cursor);
+        String website = readString(cursor);
+        String logo = readString(cursor);
+        return new BrandView(
+                ids[slot],
+                name,
+                null,
+                website != null ? URI.create(website) : null,
+                logo != null ? URI.create(logo) : null,
+                toInstant(createdAt[slot]),
+                toInstant(updatedAt[slot]));
+    }
+
+    private String readString(int[] cursor) {
+        int length = readVarint(cursor) - 1;
+        if (length < 0) {
+            return null;
+        }
+        String value = new String(arena, cursor[0], length, StandardCharsets.UTF_8);
+        cursor[0] += length;
+        return value;
+    }
+
+    private boolean nameEquals(int slot, byte[] name) {
+        int[] cursor = {recordOffsets[slot]};
+        int length = readVarint(cursor) - 1;
+        return length == name.length
+                && Arrays.equals(arena, cursor[0], cursor[0] + length, name, 0, name.length);
+    }
+
+    private boolean nameEquals(int slot, String name) {
+        return nameEquals(slot, name.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private int recordLength(int offset) {
+        int[] cursor = {offset};
+        for (int field = 0; field < FIELD_COUNT; field++) {
+            int length = Math.max(readVarint(cursor) - 1, 0);
+            cursor[0] += length;
+        }
+        return cursor[0] - offset;
+    }
+
+    private int writeVarint(int value, int position) {
+        while ((value & ~0x7F) != 0) {
+            arena[position++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        arena[position++] = (byte) value;
+        return position;
+    }
+
+    private int readVarint(int[] cursor) {
+        int value = 0;
+        for (int shift = 0; ; shift += 7) {
+            byte b = arena[cursor[0]++];
+            value |= (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+    }
+
+    private static byte[] utf8(String value) {
+        return value != null ? value.getBytes(StandardCharsets.UTF_8) : null;
+    }
+
+    private static long toMicros(Instant instant) {
+        if (instant == null) {
+            return NULL_TIMESTAMP;
+        }
+        return Math.addExact(Math.multiplyExact(instant.getEpochSecond(), 1_000_000L), instant.getNano() / 1_000);
+    }
+
+    private static Instant toInstant(long micros) {
+        if (micros == NULL_TIMESTAMP) {
+            return null;
+        }
+        return Instant.ofEpochSecond(Math.floorDiv(micros, 1_000_000L), Math.floorMod(micros, 1_000_000L) * 1_000L);
+    }
+
+    private static int grow(int capacity) {
+        return capacity + (capacity >> 1);
+    }
+
+    /** Smallest power of two keeping the tables at most half full. */
+    private static int tableSize(int entries) {
+        return Integer.highestOneBit(Math.max(entries, 8) * 2 - 1) << 1;
+    }
+
+    private static int mix(int hash) {
+        int h = hash * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
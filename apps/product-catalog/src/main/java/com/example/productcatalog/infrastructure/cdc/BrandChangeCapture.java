@@ -0,0 +1,336 @@
+package com.example.productcatalog.infrastructure.cdc;
+
+import com.example.productcatalog.api.events.BrandCreatedPayload;
+import com.example.productcatalog.api.events.BrandUpdatedPayload;
+import com.example.productcatalog.domain.model.BrandDescription;
+import com.example.productcatalog.infrastructure.config.ProductCatalogConfig;
+import com.example.productcatalog.infrastructure.events.EventPublisher;
+import com.example.productcatalog.infrastructure.persistence.BrandRepository;
+import com.example.productcatalog.infrastructure.persistence.CdcCheckpoint;
+import com.example.productcatalog.infrastructure.persistence.CdcCheckpointRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.runtime.StartupEvent;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import lombok.extern.slf4j.Slf4j;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.postgresql.PGConnection;
+import org.postgresql.PGProperty;
+import org.postgresql.replication.LogSequenceNumber;
+import org.postgresql.replication.PGReplicationStream;
+
+import java.nio.ByteBuffer;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Publishes brand events from the WAL instead of the commands, with the {@code cdc} event
+ * source.
+ * <p>
+ * Tails the {@code brand} table through logical replication ({@code pgoutput}, from the
+ * {@code product-catalog.events.cdc.publication}) and turns inserts into
+ * {@code BrandCreated} and updates into {@code BrandUpdated} events, so changes made
+ * outside the API, such as SQL fixes, are published too. Deletes have no event and are
+ * skipped. Events are batched, see {@link ChangeBatch}, and each batch is handed to the
+ * {@link EventPublisher} in one transaction with the {@link CdcCheckpoint} it reaches; the
+ * slot is told the position only after that commit. After a restart or a lost connection,
+ * streaming resumes at the checkpoint and nothing is published twice or skipped.
+ * <p>
+ * Only one instance can read a slot; the others keep retrying every
+ * {@code retry-delay} and take over when it goes away. Needs {@code wal_level=logical}
+ * and a database user with the {@code REPLICATION} attribute. Descriptions are not in the
+ * {@code brand} row: the one in the default locale (or else any) is read from
+ * {@code brand_description} when publishing, so it may be newer than the change.
+ * <p>
+ * Instrumented with {@code cdc.events.published}, {@code cdc.batch.size},
+ * {@code cdc.batch.duration} and {@code cdc.lag.seconds} (age of the oldest change of the
+ * last published batch).
+ */
+@Slf4j
+@ApplicationScoped
+public class BrandChangeCapture {
+
+    static final String BRAND_TABLE = "brand";
+    private static final Duration IDLE_POLL = Duration.ofMillis(10);
+    private static final Duration STOP_TIMEOUT = Duration.ofSeconds(10);
+
+    private final ProductCatalogConfig config;
+    private final ProductCatalogConfig.Cdc settings;
+    private final EventPublisher eventPublisher;
+    private final CdcCheckpointRepository checkpointRepository;
+    private final BrandRepository brandRepository;
+    private final String jdbcUrl;
+    private final String username;
+    private final String password;
+
+    private final Counter publishedEvents;
+    private final Counter failures;
+    private final DistributionSummary batchSizes;
+    private final Timer batchTimer;
+    private final AtomicLong lagMillis = new AtomicLong();
+
+    private volatile boolean running;
+    private Thread worker;
+
+    public BrandChangeCapture(ProductCatalogConfig config,
+                              EventPublisher eventPublisher,
+                              CdcCheckpointRepository checkpointRepository,
+                              BrandRepository brandRepository,
+                              MeterRegistry registry,
+                              @ConfigProperty(name = "quarkus.datasource.jdbc.url") String jdbcUrl,
+                              @ConfigProperty(name = "quarkus.datasource.username") String username,
+                              @ConfigProperty(name = "quarkus.datasource.password") String password) {
+        this.config = config;
+        this.settings = config.events().cdc();
+        this.eventPublisher = eventPublisher;
+        this.checkpointRepository = checkpointRepository;
+        this.brandRepository = brandRepository;
+        this.jdbcUrl = jdbcUrl;
+        this.username = username;
+        this.password = password;
+        this.publishedEvents = Counter.builder("cdc.events.published")
+                .description("Brand events published from the WAL")
+                .register(registry);
+        this.failures = Counter.builder("cdc.stream.failures")
+                .description("Replication streams that failed and were reconnected")
+                .register(registry);
+        this.batchSizes = DistributionSummary.builder("cdc.batch.size")
+                .description("Events per published batch")
+                .register(registry);
+        this.batchTimer = Timer.builder("cdc.batch.duration")
+                .description("Time to publish one batch and save its checkpoint")
+                .publishPercentileHistogram()
+                .register(registry);
+        registry.gauge("cdc.lag.seconds", lagMillis, lag -> lag.get() / 1000.0);
+    }
+
+    void onStart(@Observes StartupEvent event) {
+        if (config.events().source() == ProductCatalogConfig.Events.Source.CDC) {
+            running = true;
+            worker = Thread.ofVirtual().name("brand-cdc").start(this::run);
+        }
+    }
+
+    @PreDestroy
+    void stop() {
+        running = false;
+        if (worker != null) {
+            try {
+                // Lets the current batch be published and checkpointed
+                worker.join(STOP_TIMEOUT);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private void run() {
+        while (running) {
+            try {
+                stream();
+            } catch (SQLException | RuntimeException e) {
+                if (!running) {
+                    return;
+                }
+                failures.increment();
+                log.warn("Brand change capture failed, reconnecting in {}: {}", settings.retryDelay(), e.getMessage());
+                try {
+                    Thread.sleep(settings.retryDelay());
+                } catch (InterruptedException interrupted) {
+                    return;
+                }
+            } catch (InterruptedException e) {
+                return;
+            }
+        }
+    }
+
+    private void stream() throws SQLException, InterruptedException {
+        ChangeBatch.Position position = QuarkusTransaction.requiringNew().call(this::loadPosition);
+        try (Connection connection = openReplicationConnection()) {
+            PGConnection replication = connection.unwrap(PGConnection.class);
+            createSlotIfMissing(connection, replication);
+            try (PGReplicationStream stream = replication.getReplicationAPI()
+                    .replicationStream()
+                    .logical()
+                    .withSlotName(settings.slotName())
+                    .withSlotOption("proto_version", 1)
+                    .withSlotOption("publication_names", settings.publication())
+                    .withStartPosition(LogSequenceNumber.valueOf(position.flushedLsn()))
+                    .start()) {
+                log.info("Capturing brand changes from slot {} at {}", settings.slotName(),
+                        LogSequenceNumber.valueOf(position.flushedLsn()).asString());
+                PgOutputDecoder decoder = new PgOutputDecoder();
+                ChangeBatch batch = new ChangeBatch(BRAND_TABLE, position, System.nanoTime());
+                while (running) {
+                    ByteBuffer message = stream.readPending();
+                    long now = System.nanoTime();
+                    if (message != null) {
+                        batch.accept(decoder.decode(message), now);
+                        if (batch.isFull(settings.batchSize())) {
+                            publish(stream, batch);
+                        }
+                    } else if (batch.isDue(settings.maxBatchDelay(), settings.checkpointInterval(), now)) {
+                        publish(stream, batch);
+                    } else {
+                        Thread.sleep(IDLE_POLL);
+                    }
+                }
+                publish(stream, batch);
+            }
+        }
+    }
+
+    private void publish(PGReplicationStream stream, ChangeBatch batch) throws SQLException {
+        List<PgOutputDecoder.RowChange> changes = batch.changes();
+        ChangeBatch.Position next = batch.next();
+        Instant oldest = batch.oldestCommitTime();
+        long start = System.nanoTime();
+        QuarkusTransaction.requiringNew().run(() -> {
+            changes.forEach(this::publish);
+            savePosition(next);
+        });
+        long published = System.nanoTime();
+        batch.published(next, published);
+
+        LogSequenceNumber lsn = LogSequenceNumber.valueOf(next.flushedLsn());
+        stream.setAppliedLSN(lsn);
+        stream.setFlushedLSN(lsn);
+        stream.forceUpdateStatus();
+
+        if (oldest != null) {
+            publishedEvents.increment(changes.size());
+            batchSizes.record(changes.size());
+            batchTimer.record(published - start, TimeUnit.NANOSECONDS);
+            lagMillis.set(Math.max(0, Duration.between(oldest, Instant.now()).toMillis()));
+        }
+    }
+
+    private void publish(PgOutputDecoder.RowChange change) {
+        switch (change.kind()) {
+            case INSERT -> eventPublisher.publish(toCreatedEvent(change.values(), description(change)));
+            case UPDATE -> eventPublisher.publish(toUpdatedEvent(change.values(), description(change)));
+            case DELETE -> log.debug("Skipping delete of brand {}, there is no event for it", change.oldValues().get("id"));
+        }
+    }
+
+    /**
+     * The current description of the changed brand, preferably in the default locale.
+     */
+    private String description(PgOutputDecoder.RowChange change) {
+        return brandRepository.getEntityManager()
+                .createQuery("SELECT d.content FROM BrandDescription d WHERE d.id.brandId = :brandId "
+                        + "ORDER BY CASE WHEN d.id.locale = :locale THEN 0 ELSE 1 END, d.id.locale", String.class)
+                .setParameter("brandId", Long.valueOf(change.values().get("id")))
+                .setParameter("locale", BrandDescription.DEFAULT_LOCALE)
+                .setMaxResults(1)
+                .getResultStream()
+                .findFirst()
+                .orElse(null);
+    }
+
+    private ChangeBatch.Position loadPosition() {
+        return checkpointRepository.findByIdOptional(settings.slotName())
+                .map(checkpoint -> new ChangeBatch.Position(
+                        checkpoint.getFlushedLsn(), checkpoint.getTxLsn(), checkpoint.getTxChanges()))
+                // Nothing published yet: start where the slot is
+                .orElse(new ChangeBatch.Position(0, null, 0));
+    }
+
+    private void savePosition(ChangeBatch.Position position) {
+        CdcCheckpoint checkpoint = checkpointRepository.findByIdOptional(settings.slotName())
+                .orElseGet(() -> CdcCheckpoint.builder().slotName(settings.slotName()).build());
+        checkpoint.setFlushedLsn(position.flushedLsn());
+        checkpoint.setTxLsn(position.txLsn());
+        checkpoint.setTxChanges(position.txChanges());
+        checkpoint.setUpdatedAt(Instant.now());
+        checkpointRepository.persist(checkpoint);
+    }
+
+    private Connection openReplicationConnection() throws SQLException {
+        Properties properties = new Properties();
+        PGProperty.USER.set(properties, username);
+        PGProperty.PASSWORD.set(properties, password);
+        PGProperty.REPLICATION.set(properties, "database");
+        PGProperty.ASSUME_MIN_SERVER_VERSION.set(properties, "10");
+        PGProperty.PREFER_QUERY_MODE.set(properties, "simple");
+        return DriverManager.getConnection(jdbcUrl, properties);
+    }
+
+    private void createSlotIfMissing(Connection connection, PGConnection replication) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(
+                "SELECT 1 FROM pg_replication_slots WHERE slot_name = ?")) {
+            statement.setString(1, settings.slotName());
+            try (ResultSet result = statement.executeQuery()) {
+                if (result.next()) {
+                    return;
+                }
+            }
+        }
+        replication.getReplicationAPI()
+                .createReplicationSlot()
+                .logical()
+                .withSlotName(settings.slotName())
+                .withOutputPlugin("pgoutput")
+                .make();
+        log.info("Created replication slot {}", settings.slotName());
+    }
+
+    static BrandCreatedPayload toCreatedEvent(Map<String, String> row, String description) {
+        return new BrandCreatedPayload(
+                Long.valueOf(row.get("id")),
+                row.get("name"),
+                description,
+                row.get("website"),
+                row.get("logo_url"),
+                timestamp(row.get("created_at")),
+                timestamp(row.get("updated_at")));
+    }
+
+    static BrandUpdatedPayload toUpdatedEvent(Map<String, String> row, String description) {
+        return new BrandUpdatedPayload(
+                Long.valueOf(row.get("id")),
+                row.get("name"),
+                description,
+                row.get("website"),
+                row.get("logo_url"),
+                timestamp(row.get("created_at")),
+                timestamp(row.get("updated_at")));
+    }
+
+    /**
+     * Parses a timestamp in PostgreSQL's text output, e.g. {@code 2024-01-20 10:30:00.123456};
+     * values without an offset are UTC, as the application writes them.
+     */
+    static OffsetDateTime timestamp(String value) {
+        if (value == null) {
+            return null;
+        }
+        String iso = value.replace(' ', 'T');
+        if (iso.matches(".*[+-]\\d{2}$")) {
+            return OffsetDateTime.parse(iso + ":00");
+        }
+        if (iso.matches(".*[+-]\\d{2}:\\d{2}$")) {
+            return OffsetDateTime.parse(iso);
+        }
+        return LocalDateTime.parse(iso).atOffset(ZoneOffset.UTC);
+    }
+}
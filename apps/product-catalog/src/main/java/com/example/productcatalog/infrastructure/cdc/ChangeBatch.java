@@ -0,0 +1,145 @@
+package com.example.productcatalog.infrastructure.cdc;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Row changes read from the replication stream and not published yet, and the position
+ * publishing them reaches.
+ * <p>
+ * The stream may resend changes that were already published: it resumes at the end of
+ * the last complete transaction, and the server may start earlier than asked. Changes
+ * behind the last saved {@link Position} are therefore dropped here: whole transactions
+ * that committed before it, and the first {@link Position#txChanges()} changes of the
+ * transaction it ends in.
+ */
+class ChangeBatch {
+
+    private final String table;
+    private Position saved;
+    private long savedAt;
+
+    private final List<PgOutputDecoder.RowChange> changes = new ArrayList<>();
+    private long firstChangeAt;
+    private Instant oldestCommitTime;
+
+    private long completedLsn;
+    private boolean inTransaction;
+    private long txLsn;
+    private Instant txCommitTime;
+    private int txChanges;
+    private int txSkipped;
+    private boolean skipTransaction;
+
+    /**
+     * @param table the table whose changes are collected
+     * @param saved the last saved position
+     * @param now the current {@link System#nanoTime()}
+     */
+    ChangeBatch(String table, Position saved, long now) {
+        this.table = table;
+        this.saved = saved;
+        this.savedAt = now;
+        this.completedLsn = saved.flushedLsn();
+    }
+
+    /**
+     * @param message a decoded message, or null
+     * @param now the current {@link System#nanoTime()}
+     */
+    void accept(PgOutputDecoder.Message message, long now) {
+        if (message instanceof PgOutputDecoder.Begin begin) {
+            inTransaction = true;
+            txLsn = begin.finalLsn();
+            txCommitTime = begin.commitTime();
+            txChanges = 0;
+            skipTransaction = begin.finalLsn() < saved.flushedLsn();
+            txSkipped = saved.txLsn() != null && saved.txLsn() == begin.finalLsn() ? saved.txChanges() : 0;
+        } else if (message instanceof PgOutputDecoder.Commit commit) {
+            inTransaction = false;
+            completedLsn = Math.max(completedLsn, commit.endLsn());
+        } else if (message instanceof PgOutputDecoder.RowChange change
+                && inTransaction && table.equals(change.table())) {
+            txChanges++;
+            if (skipTransaction || txChanges <= txSkipped) {
+                return;
+            }
+            if (changes.isEmpty()) {
+                firstChangeAt = now;
+                oldestCommitTime = txCommitTime;
+            }
+            changes.add(change);
+        }
+    }
+
+    /**
+     * @return the changes to publish, in commit order
+     */
+    List<PgOutputDecoder.RowChange> changes() {
+        return changes;
+    }
+
+    /**
+     * @return commit time of the oldest change to publish, or null if there is none
+     */
+    Instant oldestCommitTime() {
+        return changes.isEmpty() ? null : oldestCommitTime;
+    }
+
+    /**
+     * The position reached once the pending changes are published: past the last complete
+     * transaction, and within the current one if it is still being read.
+     *
+     * @return the position to save with the changes
+     */
+    Position next() {
+        return inTransaction && !skipTransaction && txChanges > 0
+                ? new Position(completedLsn, txLsn, txChanges)
+                : new Position(completedLsn, null, 0);
+    }
+
+    /**
+     * @param batchSize the maximum number of changes per batch
+     * @return true if no more changes should be added before publishing
+     */
+    boolean isFull(int batchSize) {
+        return changes.size() >= batchSize;
+    }
+
+    /**
+     * @param maxDelay how long the first change may wait for others
+     * @param checkpointInterval how often the position moves past transactions without changes
+     * @param now the current {@link System#nanoTime()}
+     * @return true if the batch should be published, or the position saved, now
+     */
+    boolean isDue(Duration maxDelay, Duration checkpointInterval, long now) {
+        if (!changes.isEmpty()) {
+            return now - firstChangeAt >= maxDelay.toNanos();
+        }
+        return !next().equals(saved) && now - savedAt >= checkpointInterval.toNanos();
+    }
+
+    /**
+     * Records that the changes were published and the position saved.
+     *
+     * @param position the saved position, as returned by {@link #next()}
+     * @param now the current {@link System#nanoTime()}
+     */
+    void published(Position position, long now) {
+        changes.clear();
+        saved = position;
+        savedAt = now;
+    }
+
+    /**
+     * Where publishing got to.
+     *
+     * @param flushedLsn end of the last transaction whose changes were all published
+     * @param txLsn commit LSN of a transaction published in part, or null
+     * @param txChanges number of changes of that transaction already published
+     */
+    record Position(long flushedLsn, Long txLsn, int txChanges) {
+    }
+}
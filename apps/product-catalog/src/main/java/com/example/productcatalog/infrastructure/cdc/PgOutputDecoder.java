@@ -0,0 +1,195 @@
+package com.example.productcatalog.infrastructure.cdc;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Decodes the messages of PostgreSQL's {@code pgoutput} logical decoding plugin, protocol
+ * version 1, with column values in text format.
+ * <p>
+ * Relation messages describe a table's columns before its first change in a session; the
+ * decoder keeps them so row changes come out keyed by column name. Messages this service
+ * has no use for (types, origins, truncates, logical messages) decode to null.
+ * <p>
+ * Not thread safe: one decoder per replication stream.
+ */
+public class PgOutputDecoder {
+
+    /** Microseconds between the Unix epoch and the PostgreSQL epoch, 2000-01-01. */
+    private static final long PG_EPOCH_MICROS = 946_684_800_000_000L;
+
+    private final Map<Integer, Relation> relations = new HashMap<>();
+
+    /**
+     * @param buffer one message, as returned by the replication stream
+     * @return the decoded message, or null for messages that carry nothing of interest
+     */
+    public Message decode(ByteBuffer buffer) {
+        char type = (char) buffer.get();
+        return switch (type) {
+            case 'B' -> new Begin(buffer.getLong(), timestamp(buffer.getLong()), buffer.getInt());
+            case 'C' -> {
+                buffer.get(); // flags, unused
+                yield new Commit(buffer.getLong(), buffer.getLong(), timestamp(buffer.getLong()));
+            }
+            case 'R' -> {
+                relation(buffer);
+                yield null;
+            }
+            case 'I' -> insert(buffer);
+            case 'U' -> update(buffer);
+            case 'D' -> delete(buffer);
+            default -> null;
+        };
+    }
+
+    private void relation(ByteBuffer buffer) {
+        int id = buffer.getInt();
+        string(buffer); // namespace
+        String name = string(buffer);
+        buffer.get(); // replica identity
+        int columnCount = buffer.getShort();
+        String[] columns = new String[columnCount];
+        for (int i = 0; i < columnCount; i++) {
+            buffer.get(); // flags
+            columns[i] = string(buffer);
+            buffer.getInt(); // type oid
+            buffer.getInt(); // type modifier
+        }
+        relations.put(id, new Relation(name, List.of(columns)));
+    }
+
+    private RowChange insert(ByteBuffer buffer) {
+        Relation relation = relation(buffer.getInt());
+        buffer.get(); // 'N'
+        Tuple row = tuple(buffer, relation);
+        return new RowChange(RowChange.Kind.INSERT, relation.table(), row.values(), row.unchanged(), Map.of());
+    }
+
+    private RowChange update(ByteBuffer buffer) {
+        Relation relation = relation(buffer.getInt());
+        char marker = (char) buffer.get();
+        Map<String, String> old = Map.of();
+        if (marker == 'K' || marker == 'O') {
+            old = tuple(buffer, relation).values();
+            marker = (char) buffer.get();
+        }
+        if (marker != 'N') {
+            throw new IllegalStateException("Expected the new tuple of an update, got '" + marker + "'");
+        }
+        Tuple row = tuple(buffer, relation);
+        return new RowChange(RowChange.Kind.UPDATE, relation.table(), row.values(), row.unchanged(), old);
+    }
+
+    private RowChange delete(ByteBuffer buffer) {
+        Relation relation = relation(buffer.getInt());
+        buffer.get(); // 'K' or 'O'
+        Tuple old = tuple(buffer, relation);
+        return new RowChange(RowChange.Kind.DELETE, relation.table(), Map.of(), Set.of(), old.values());
+    }
+
+    private Relation relation(int id) {
+        Relation relation = relations.get(id);
+        if (relation == null) {
+            throw new IllegalStateException("Row change for relation " + id + " before its description");
+        }
+        return relation;
+    }
+
+    private static Tuple tuple(ByteBuffer buffer, Relation relation) {
+        int columnCount = buffer.getShort();
+        Map<String, String> values = new LinkedHashMap<>();
+        Set<String> unchanged = new HashSet<>();
+        for (int i = 0; i < columnCount; i++) {
+            String column = relation.columns().get(i);
+            char kind = (char) buffer.get();
+            switch (kind) {
+                case 'n' -> values.put(column, null);
+                case 'u' -> unchanged.add(column);
+                case 't', 'b' -> {
+                    byte[] value = new byte[buffer.getInt()];
+                    buffer.get(value);
+                    values.put(column, new String(value, StandardCharsets.UTF_8));
+                }
+                default -> throw new IllegalStateException("Unknown tuple value kind '" + kind + "'");
+            }
+        }
+        return new Tuple(Collections.unmodifiableMap(values), Collections.unmodifiableSet(unchanged));
+    }
+
+    private static String string(ByteBuffer buffer) {
+        int start = buffer.position();
+        while (buffer.get() != 0) {
+            // up to the terminating NUL
+        }
+        byte[] value = new byte[buffer.position() - start - 1];
+        buffer.get(start, value);
+        return new String(value, StandardCharsets.UTF_8);
+    }
+
+    private static Instant timestamp(long pgMicros) {
+        return Instant.EPOCH.plus(PG_EPOCH_MICROS + pgMicros, ChronoUnit.MICROS);
+    }
+
+    /**
+     * A decoded message.
+     */
+    public sealed interface Message permits Begin, Commit, RowChange {
+    }
+
+    /**
+     * Start of a transaction.
+     *
+     * @param finalLsn LSN of the transaction's commit record
+     * @param commitTime when the transaction committed
+     * @param xid the transaction id
+     */
+    public record Begin(long finalLsn, Instant commitTime, int xid) implements Message {
+    }
+
+    /**
+     * End of a transaction.
+     *
+     * @param commitLsn LSN of the commit record
+     * @param endLsn LSN just past it, the position to acknowledge once the transaction is handled
+     * @param commitTime when the transaction committed
+     */
+    public record Commit(long commitLsn, long endLsn, Instant commitTime) implements Message {
+    }
+
+    /**
+     * An inserted, updated or deleted row.
+     *
+     * @param kind the change
+     * @param table the table name, without schema
+     * @param values column values of the new row, as text; empty for deletes
+     * @param unchanged columns whose value is unchanged and stored out of line (TOAST),
+     *                  which the update does not carry
+     * @param oldValues key (or full, with {@code REPLICA IDENTITY FULL}) columns of the old
+     *                  row, for deletes and key-changing updates
+     */
+    public record RowChange(Kind kind, String table, Map<String, String> values, Set<String> unchanged,
+                            Map<String, String> oldValues) implements Message {
+
+        public enum Kind {
+            INSERT,
+            UPDATE,
+            DELETE
+        }
+    }
+
+    private record Relation(String table, List<String> columns) {
+    }
+
+    private record Tuple(Map<String, String> values, Set<String> unchanged) {
+    }
+}
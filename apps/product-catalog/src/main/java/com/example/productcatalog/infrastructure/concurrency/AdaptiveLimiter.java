@@ -0,0 +1,139 @@
+package com.example.productcatalog.infrastructure.concurrency;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Concurrency limit that follows latency, in the manner of TCP Vegas and Netflix's
+ * gradient limit.
+ * <p>
+ * Every completed call reports how long it took. Two averages are kept: a short one of the
+ * last few calls and a long one, the baseline, over {@code baselineWindow} calls. While the
+ * short average stays within {@code tolerance} times the baseline, the limit grows by about
+ * its square root per call, so it probes for spare capacity. Once calls slow down, i.e.
+ * requests queue for connections or the database itself is slower, the limit shrinks in
+ * proportion, by at most half per call. Each new estimate is blended in with weight
+ * {@code smoothing}, and the limit stays within {@code [minLimit, maxLimit]}.
+ * <p>
+ * The limit only grows while at least half of it is in use: a service that is not busy
+ * learns nothing about its capacity. When the baseline drifts far above recent latency,
+ * e.g. after a slow period, it decays towards it, so the limit is not held back by the
+ * past.
+ * <p>
+ * Acquiring is lock free; samples are folded in under a lock, a few arithmetic operations
+ * per call.
+ */
+public class AdaptiveLimiter {
+
+    private static final int SHORT_WINDOW = 10;
+    private static final double MIN_GRADIENT = 0.5;
+    private static final double BASELINE_DRIFT = 2.0;
+    private static final double BASELINE_DECAY = 0.95;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double tolerance;
+    private final double smoothing;
+    private final int baselineWindow;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private volatile int limit;
+
+    private double estimatedLimit;
+    private double shortRtt;
+    private double longRtt;
+    private long samples;
+
+    /**
+     * @param initialLimit limit until latency has been observed
+     * @param minLimit lowest limit
+     * @param maxLimit highest limit
+     * @param tolerance ratio of recent to baseline latency tolerated before shrinking
+     * @param smoothing weight of each new estimate, between 0 and 1
+     * @param baselineWindow number of calls the baseline latency is averaged over
+     */
+    public AdaptiveLimiter(int initialLimit, int minLimit, int maxLimit,
+                           double tolerance, double smoothing, int baselineWindow) {
+        if (minLimit < 1 || maxLimit < minLimit) {
+            throw new IllegalArgumentException("Limits must satisfy 1 <= minLimit <= maxLimit");
+        }
+        if (tolerance < 1.0 || smoothing <= 0.0 || smoothing > 1.0 || baselineWindow < 1) {
+            throw new IllegalArgumentException("Tolerance must be at least 1 and smoothing within (0, 1]");
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.tolerance = tolerance;
+        this.smoothing = smoothing;
+        this.baselineWindow = baselineWindow;
+        this.estimatedLimit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+        this.limit = (int) estimatedLimit;
+    }
+
+    /**
+     * Takes a slot if fewer calls than the limit are in progress. A taken slot must be
+     * given back with {@link #release}.
+     *
+     * @return whether the call may proceed
+     */
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= limit) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Gives the slot back and adapts the limit to the call's latency.
+     *
+     * @param rttNanos how long the call took, including any queueing after {@link #tryAcquire},
+     *                 or 0 if the call says nothing about latency, e.g. it never ran
+     */
+    public void release(long rttNanos) {
+        int inFlightBefore = inFlight.getAndDecrement();
+        if (rttNanos > 0) {
+            sample(rttNanos, inFlightBefore);
+        }
+    }
+
+    private synchronized void sample(long rttNanos, int inFlightBefore) {
+        samples++;
+        shortRtt = average(shortRtt, rttNanos, Math.min(samples, SHORT_WINDOW));
+        longRtt = average(longRtt, rttNanos, Math.min(samples, baselineWindow));
+        if (longRtt > shortRtt * BASELINE_DRIFT) {
+            longRtt *= BASELINE_DECAY;
+        }
+        if (inFlightBefore < estimatedLimit / 2) {
+            return;
+        }
+        double gradient = Math.max(MIN_GRADIENT, Math.min(1.0, tolerance * longRtt / shortRtt));
+        double newLimit = estimatedLimit * gradient + Math.sqrt(estimatedLimit);
+        newLimit = estimatedLimit * (1 - smoothing) + newLimit * smoothing;
+        estimatedLimit = Math.max(minLimit, Math.min(maxLimit, newLimit));
+        limit = (int) estimatedLimit;
+    }
+
+    /**
+     * Exponential moving average over about {@code window} samples; a plain average while
+     * fewer have been seen.
+     */
+    private static double average(double average, long sample, long window) {
+        return average + (sample - average) / window;
+    }
+
+    /**
+     * @return the current limit
+     */
+    public int limit() {
+        return limit;
+    }
+
+    /**
+     * @return the number of calls in progress
+     */
+    public int inFlight() {
+        return inFlight.get();
+    }
+}
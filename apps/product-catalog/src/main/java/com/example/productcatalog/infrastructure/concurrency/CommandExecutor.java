@@ -0,0 +1,66 @@
+package com.example.productcatalog.infrastructure.concurrency;
+
+import com.example.productcatalog.infrastructure.config.ProductCatalogConfig;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import lombok.extern.slf4j.Slf4j;
+import org.eclipse.microprofile.context.ManagedExecutor;
+import org.eclipse.microprofile.context.ThreadContext;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+
+/**
+ * Runs blocking use cases (JDBC, Hibernate, JTA) off the Vert.x event loop.
+ * <p>
+ * REST endpoints returning a {@link CompletionStage} are invoked on the event loop, so
+ * they must hand blocking work to this executor and return the resulting stage. The
+ * execution model is chosen with {@code product-catalog.execution.mode}:
+ * <ul>
+ *     <li>{@code virtual-threads}: one virtual thread per command, so thousands of
+ *     concurrent requests cost no platform threads while they wait on the database.</li>
+ *     <li>{@code worker-pool}: the Quarkus managed worker pool, the classic model.</li>
+ * </ul>
+ * Request, CDI and OpenTelemetry context is propagated to the executing thread in both modes.
+ */
+@Slf4j
+@ApplicationScoped
+public class CommandExecutor {
+
+    private final ProductCatalogConfig.Execution.Mode mode;
+    private final ManagedExecutor workerPool;
+    private final ThreadContext threadContext;
+    private final ExecutorService virtualThreads;
+
+    public CommandExecutor(ProductCatalogConfig config, ManagedExecutor workerPool, ThreadContext threadContext) {
+        this.mode = config.execution().mode();
+        this.workerPool = workerPool;
+        this.threadContext = threadContext;
+        this.virtualThreads = Executors.newThreadPerTaskExecutor(
+                Thread.ofVirtual().name("command-vt-", 0).factory());
+        log.info("Blocking commands run on {}", mode);
+    }
+
+    /**
+     * Runs the task on the configured execution model.
+     *
+     * @param task the blocking work
+     * @param <T> the result type
+     * @return a stage completed with the task result, or exceptionally with its failure
+     */
+    public <T> CompletionStage<T> submit(Supplier<T> task) {
+        return switch (mode) {
+            case VIRTUAL_THREADS -> CompletableFuture.supplyAsync(
+                    threadContext.contextualSupplier(task), virtualThreads);
+            case WORKER_POOL -> workerPool.supplyAsync(task);
+        };
+    }
+
+    @PreDestroy
+    void shutdown() {
+        virtualThreads.shutdown();
+    }
+}
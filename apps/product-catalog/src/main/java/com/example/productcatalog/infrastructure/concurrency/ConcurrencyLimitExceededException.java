@@ -0,0 +1,22 @@
+package com.example.productcatalog.infrastructure.concurrency;
+
+import lombok.Getter;
+
+import java.time.Duration;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * A request shed by {@link ConcurrencyLimits} because its traffic class is at its limit.
+ */
+@Getter
+public class ConcurrencyLimitExceededException extends RejectedExecutionException {
+
+    private final ConcurrencyLimits.Traffic traffic;
+    private final Duration retryAfter;
+
+    public ConcurrencyLimitExceededException(ConcurrencyLimits.Traffic traffic, int limit, Duration retryAfter) {
+        super("Too many " + traffic.name().toLowerCase() + " requests in progress (limit " + limit + "), retry later");
+        this.traffic = traffic;
+        this.retryAfter = retryAfter;
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.productcatalog.infrastructure.concurrency;
+
+import com.example.productcatalog.infrastructure.config.ProductCatalogConfig;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.enterprise.context.ApplicationScoped;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.function.Supplier;
+
+/**
+ * Sheds requests beyond an {@link AdaptiveLimiter} per traffic class, before they queue.
+ * <p>
+ * Without a limit, a slow database makes requests pile up in the {@link CommandExecutor}:
+ * virtual threads are cheap, so nothing pushes back until the connection pool times out
+ * and memory runs short, and by then every request is slow. Here each class admits only as
+ * many commands as its latency shows the database can take; the rest fail at once with a
+ * {@link ConcurrencyLimitExceededException}, answered with 503 and {@code Retry-After}.
+ * Latency is measured from admission to completion, so queueing for the executor or a
+ * connection counts.
+ * <p>
+ * Instrumented with the gauges {@code command.concurrency.limit} and
+ * {@code command.concurrency.in.flight} and the counter {@code command.concurrency.rejected},
+ * tagged with the traffic class.
+ */
+@Slf4j
+@ApplicationScoped
+public class ConcurrencyLimits {
+
+    private final boolean enabled;
+    private final Duration retryAfter;
+    private final Map<Traffic, AdaptiveLimiter> limiters = new EnumMap<>(Traffic.class);
+    private final Map<Traffic, Counter> rejections = new EnumMap<>(Traffic.class);
+
+    public ConcurrencyLimits(ProductCatalogConfig config, MeterRegistry registry) {
+        ProductCatalogConfig.Limits limits = config.execution().limits();
+        this.enabled = limits.enabled();
+        this.retryAfter = limits.retryAfter();
+        for (Traffic traffic : Traffic.values()) {
+            ProductCatalogConfig.Limit limit = traffic == Traffic.BULK ? limits.bulk() : limits.interactive();
+            AdaptiveLimiter limiter = new AdaptiveLimiter(limit.initialLimit(), limit.minLimit(), limit.maxLimit(),
+                    limits.latencyTolerance(), limits.smoothing(), limits.baselineWindow());
+            limiters.put(traffic, limiter);
+            String tag = traffic.name().toLowerCase();
+            Gauge.builder("command.concurrency.limit", limiter, AdaptiveLimiter::limit)
+                    .description("Current adaptive limit on commands in progress")
+                    .tag("traffic", tag)
+                    .register(registry);
+            Gauge.builder("command.concurrency.in.flight", limiter, AdaptiveLimiter::inFlight)
+                    .description("Commands in progress")
+                    .tag("traffic", tag)
+                    .register(registry);
+            rejections.put(traffic, Counter.builder("command.concurrency.rejected")
+                    .description("Requests shed because their traffic class was at its limit")
+                    .tag("traffic", tag)
+                    .register(registry));
+        }
+        log.info("Concurrency limits {}", enabled ? "enabled" : "disabled");
+    }
+
+    /**
+     * Runs the call if its traffic class is below its limit.
+     *
+     * @param traffic the traffic class of the request
+     * @param call starts the command, e.g. submits it to the {@link CommandExecutor}
+     * @param <T> the result type
+     * @return the call's stage, or a stage failed with {@link ConcurrencyLimitExceededException}
+     * if the request was shed
+     */
+    public <T> CompletionStage<T> submit(Traffic traffic, Supplier<CompletionStage<T>> call) {
+        if (!enabled) {
+            return call.get();
+        }
+        AdaptiveLimiter limiter = limiters.get(traffic);
+        if (!limiter.tryAcquire()) {
+            rejections.get(traffic).increment();
+            return CompletableFuture.failedFuture(
+                    new ConcurrencyLimitExceededException(traffic, limiter.limit(), retryAfter));
+        }
+        long start = System.nanoTime();
+        CompletionStage<T> stage;
+        try {
+            stage = call.get();
+        } catch (RuntimeException | Error e) {
+            limiter.release(0);
+            throw e;
+        }
+        return stage.whenComplete((result, failure) -> limiter.release(System.nanoTime() - start));
+    }
+
+    public enum Traffic {
+        /** Single brand creations and reads, for which clients wait. */
+        INTERACTIVE,
+        /** Bulk imports. */
+        BULK
+    }
+}
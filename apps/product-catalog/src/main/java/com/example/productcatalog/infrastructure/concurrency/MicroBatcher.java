@@ -0,0 +1,182 @@
+package com.example.productcatalog.infrastructure.concurrency;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Coalesces concurrent requests into batches handed to a single flush call.
+ * <p>
+ * A collector thread takes the first queued request, then waits up to {@code maxDelay}
+ * for more, stopping early at {@code maxSize}. The batch is flushed on a virtual thread;
+ * at most {@code maxInFlight} flushes run at once, and while they are all busy requests
+ * keep accumulating, so batches grow with the load. The flush completes each request's
+ * future itself. Futures it leaves pending when it returns or throws are failed, so no
+ * caller waits forever.
+ * <p>
+ * When the queue is full, {@link #submit} fails the returned stage with a
+ * {@link RejectedExecutionException} rather than blocking the caller.
+ *
+ * @param <I> the request input
+ * @param <O> the result each caller gets
+ */
+@Slf4j
+public class MicroBatcher<I, O> implements AutoCloseable {
+
+    private final int maxSize;
+    private final long maxDelayNanos;
+    private final Consumer<List<Request<I, O>>> flush;
+    private final BlockingQueue<Request<I, O>> queue;
+    private final Semaphore inFlight;
+    private final int maxInFlight;
+    private final ExecutorService flushers;
+    private final Thread collector;
+    private volatile boolean closed;
+
+    /**
+     * Starts the collector thread.
+     *
+     * @param name prefix of the collector and flusher thread names
+     * @param maxSize maximum number of requests per batch
+     * @param maxDelay how long the first request of a batch waits for others
+     * @param maxInFlight maximum number of concurrent flushes
+     * @param queueCapacity maximum number of requests waiting for a batch
+     * @param flush completes the future of every request of a batch
+     */
+    public MicroBatcher(String name, int maxSize, Duration maxDelay, int maxInFlight, int queueCapacity,
+                        Consumer<List<Request<I, O>>> flush) {
+        if (maxSize < 1 || maxInFlight < 1) {
+            throw new IllegalArgumentException("maxSize and maxInFlight must be positive");
+        }
+        this.maxSize = maxSize;
+        this.maxDelayNanos = maxDelay.toNanos();
+        this.flush = flush;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.maxInFlight = maxInFlight;
+        this.inFlight = new Semaphore(maxInFlight);
+        this.flushers = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name(name + "-flush-", 0).factory());
+        this.collector = Thread.ofVirtual().name(name + "-collector").start(this::collect);
+    }
+
+    /**
+     * Queues the input for the next batch.
+     *
+     * @param input the request input
+     * @return a stage completed by the flush of the batch the input lands in
+     */
+    public CompletionStage<O> submit(I input) {
+        Request<I, O> request = new Request<>(input, System.nanoTime());
+        if (closed || !queue.offer(request)) {
+            request.getFuture().completeExceptionally(
+                    new RejectedExecutionException(closed ? "Batcher is closed" : "Too many pending requests"));
+        }
+        return request.getFuture();
+    }
+
+    /**
+     * Number of requests waiting for a batch, not counting the one being collected.
+     *
+     * @return the queue length
+     */
+    public int queued() {
+        return queue.size();
+    }
+
+    private void collect() {
+        while (!closed) {
+            List<Request<I, O>> batch = new ArrayList<>(maxSize);
+            try {
+                batch.add(queue.take());
+                long deadline = System.nanoTime() + maxDelayNanos;
+                while (batch.size() < maxSize) {
+                    Request<I, O> next = queue.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                inFlight.acquire();
+            } catch (InterruptedException e) {
+                // Closing: requests collected so far are flushed with the rest of the queue
+                queue.drainTo(batch, maxSize - batch.size());
+                flushNow(batch);
+                return;
+            }
+            // Requests that arrived while every flush was busy join this batch
+            queue.drainTo(batch, maxSize - batch.size());
+            flushers.execute(() -> {
+                try {
+                    flushNow(batch);
+                } finally {
+                    inFlight.release();
+                }
+            });
+        }
+    }
+
+    private void flushNow(List<Request<I, O>> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            flush.accept(batch);
+        } catch (RuntimeException e) {
+            log.warn("Flush of {} requests failed: {}", batch.size(), e.getMessage());
+            batch.forEach(request -> request.getFuture().completeExceptionally(e));
+            return;
+        }
+        batch.forEach(request -> request.getFuture().completeExceptionally(
+                new IllegalStateException("Request was not completed by its batch")));
+    }
+
+    /**
+     * Stops accepting requests, flushes those already queued and waits for running
+     * flushes to finish.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        collector.interrupt();
+        try {
+            collector.join();
+            inFlight.acquire(maxInFlight);
+            List<Request<I, O>> batch = new ArrayList<>(maxSize);
+            while (queue.drainTo(batch, maxSize) > 0) {
+                flushNow(batch);
+                batch.clear();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            flushers.shutdown();
+        }
+    }
+
+    /**
+     * A queued input and the future its caller waits on.
+     */
+    @Getter
+    public static final class Request<I, O> {
+        private final I input;
+        private final long submittedAt;
+        private final CompletableFuture<O> future = new CompletableFuture<>();
+
+        Request(I input, long submittedAt) {
+            this.input = input;
+            this.submittedAt = submittedAt;
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.productcatalog.infrastructure.config;
+
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
+import jakarta.enterprise.inject.Produces;
+import jakarta.inject.Singleton;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Micrometer settings applied to every registry.
+ * <p>
+ * Latency timers of the request path publish percentile histograms, so p99 can be
+ * computed per endpoint and phase across replicas in Prometheus
+ * ({@code histogram_quantile} over the {@code _bucket} series). The buckets are limited to
+ * 100µs..10s, which keeps each timer to a few dozen series.
+ */
+@Singleton
+public class MetricsCustomizer {
+
+    private static final Set<String> LATENCY_TIMERS = Set.of(
+            "http.server.requests",
+            "brand.create.duration",
+            "brand.create.phase",
+            "brand.create.group.wait",
+            "brand.create.group.flush",
+            "brand.repository.query",
+            "outbox.event.publish");
+
+    @Produces
+    @Singleton
+    public MeterFilter latencyHistograms() {
+        return new MeterFilter() {
+            @Override
+            public DistributionStatisticConfig configure(Meter.Id id, DistributionStatisticConfig config) {
+                if (!LATENCY_TIMERS.contains(id.getName())) {
+                    return config;
+                }
+                return DistributionStatisticConfig.builder()
+                        .percentilesHistogram(true)
+                        .minimumExpectedValue((double) TimeUnit.MICROSECONDS.toNanos(100))
+                        .maximumExpectedValue((double) TimeUnit.SECONDS.toNanos(10))
+                        .build()
+                        .merge(config);
+            }
+        };
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.productcatalog.infrastructure.config;
+
+import com.example.productcatalog.api.events.BrandCreatedPayload;
+import com.example.productcatalog.api.events.BrandUpdatedPayload;
+import com.example.productcatalog.api.rest.model.BrandCreationResult;
+import com.example.productcatalog.api.rest.model.BrandListResponse;
+import com.example.productcatalog.api.rest.model.BrandResponse;
+import com.example.productcatalog.api.rest.model.CreateBrandRequest;
+import com.example.productcatalog.api.rest.model.CreateBrandRequestDescription;
+import com.example.productcatalog.api.rest.model.CreateBrandRequestDescriptionOneOf;
+import com.example.productcatalog.api.rest.model.CreateBrandsRequest;
+import com.example.productcatalog.api.rest.model.CreateBrandsResponse;
+import com.example.productcatalog.api.rest.model.ErrorResponse;
+import com.example.productcatalog.api.rest.model.ErrorResponseValidationErrorsInner;
+import com.example.productcatalog.api.rest.model.JfrRecordingResponse;
+import com.example.productcatalog.api.rest.model.SlowRequest;
+import com.example.productcatalog.api.rest.model.SlowRequestsResponse;
+import com.example.productcatalog.infrastructure.diagnostics.DatabaseWaitListener;
+import com.example.productcatalog.infrastructure.sharding.ShardedIdGenerator;
+import io.quarkus.runtime.annotations.RegisterForReflection;
+
+/**
+ * Classes used by reflection that no extension registers for the native image.
+ * <p>
+ * The endpoints return {@code Response}, so RESTEasy Reactive cannot tell which generated
+ * models end up as entities, and the AsyncAPI {@code BrandCreatedPayload} and
+ * {@code BrandUpdatedPayload} are turned into JSON by the outbox publisher. Entities,
+ * Lombok accessors included, are registered by the Hibernate extension, the generated
+ * Avro classes and the Apicurio serdes by the Apicurio Avro extension. Hibernate
+ * instantiates the brand id generator and the session listener from their class.
+ */
+@RegisterForReflection(targets = {
+        BrandCreationResult.class,
+        BrandListResponse.class,
+        BrandResponse.class,
+        CreateBrandRequest.class,
+        CreateBrandRequestDescription.class,
+        CreateBrandRequestDescriptionOneOf.class,
+        CreateBrandsRequest.class,
+        CreateBrandsResponse.class,
+        ErrorResponse.class,
+        ErrorResponseValidationErrorsInner.class,
+        JfrRecordingResponse.class,
+        SlowRequest.class,
+        SlowRequestsResponse.class,
+        BrandCreatedPayload.class,
+        BrandUpdatedPayload.class,
+        ShardedIdGenerator.class,
+        DatabaseWaitListener.class
+})
+public final class NativeImageReflection {
+
+    private NativeImageReflection() {
+        // Private constructor to prevent instantiation
+    }
+}
@@ -0,0 +1,592 @@
+package com.example.productcatalog.infrastructure.config;
+
+import io.smallrye.config.ConfigMapping;
+import io.smallrye.config.WithDefault;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Service specific configuration, bound from the {@code product-catalog.*} properties.
+ */
+@ConfigMapping(prefix = "product-catalog")
+public interface ProductCatalogConfig {
+
+    /**
+     * Brand related settings.
+     */
+    Brands brands();
+
+    /**
+     * Domain event publishing settings.
+     */
+    Events events();
+
+    /**
+     * Threading model for blocking use cases.
+     */
+    Execution execution();
+
+    /**
+     * Idempotency-Key handling for creation requests.
+     */
+    Idempotency idempotency();
+
+    /**
+     * Routing of brand reads to the read-only {@code replica} datasource.
+     */
+    ReadReplica readReplica();
+
+    /**
+     * Ingestion of brand logos into the local asset store.
+     */
+    Logos logos();
+
+    /**
+     * Hash sharding of brands across several databases.
+     */
+    Sharding sharding();
+
+    /**
+     * Slow request capture and on-demand JFR recordings.
+     */
+    Diagnostics diagnostics();
+
+    interface Brands {
+
+        /**
+         * Bulk import settings.
+         */
+        Bulk bulk();
+
+        /**
+         * Streaming export settings.
+         */
+        Export export();
+
+        /**
+         * In-memory name index used to reject duplicate names before touching the database.
+         */
+        NameIndex nameIndex();
+
+        /**
+         * In-memory snapshot of every brand serving lookups by id and name.
+         */
+        Snapshot snapshot();
+
+        /**
+         * Coalescing of concurrent single brand creations into shared transactions.
+         */
+        GroupCommit groupCommit();
+    }
+
+    interface Bulk {
+
+        /**
+         * Number of brands inserted per transaction and JDBC batch.
+         */
+        @WithDefault("500")
+        int batchSize();
+    }
+
+    interface Export {
+
+        /**
+         * Rows fetched from the database cursor per round trip.
+         */
+        @WithDefault("1000")
+        int fetchSize();
+
+        /**
+         * Transaction timeout for a full export.
+         */
+        @WithDefault("30M")
+        Duration timeout();
+    }
+
+    interface NameIndex {
+
+        /**
+         * Whether creation consults the index. When disabled, duplicates are only
+         * detected by the unique constraint.
+         */
+        @WithDefault("true")
+        boolean enabled();
+
+        /**
+         * Number of names the Bloom filter is sized for. Beyond it the false positive
+         * rate climbs; watch {@code brand.name.index.false.positive.ratio}.
+         */
+        @WithDefault("1000000")
+        int expectedNames();
+
+        /**
+         * Target false positive rate of the Bloom filter at {@link #expectedNames()}.
+         */
+        @WithDefault("0.01")
+        double falsePositiveProbability();
+
+        /**
+         * Maximum number of exact names kept in memory. While every name fits, a Bloom
+         * filter hit is settled in memory; past it, by an indexed lookup.
+         */
+        @WithDefault("200000")
+        int exactCapacity();
+
+        /**
+         * Rows fetched per round trip while warming up.
+         */
+        @WithDefault("5000")
+        int warmupFetchSize();
+    }
+
+    interface Snapshot {
+
+        /**
+         * Whether lookups by id and name are served from the snapshot once it is loaded,
+         * instead of the database and the brand caches.
+         */
+        @WithDefault("false")
+        boolean enabled();
+
+        /**
+         * Number of brands the snapshot is initially sized for; it grows past it.
+         */
+        @WithDefault("100000")
+        int expectedBrands();
+
+        /**
+         * Rows fetched per round trip while loading.
+         */
+        @WithDefault("5000")
+        int fetchSize();
+
+        /**
+         * Delay between full reloads, in Quarkus scheduler syntax (e.g. {@code 15m}).
+         * Events keep the snapshot current in between; a reload picks up changes whose
+         * events this instance missed, e.g. while it was starting.
+         */
+        @WithDefault("15m")
+        String reloadInterval();
+    }
+
+    interface GroupCommit {
+
+        /**
+         * Whether {@code POST /brands} requests without an Idempotency-Key are inserted in
+         * groups, one transaction and commit per group, instead of one each.
+         */
+        @WithDefault("false")
+        boolean enabled();
+
+        /**
+         * Maximum number of creations per group. Groups larger than the bulk batch size
+         * are split into several transactions.
+         */
+        @WithDefault("64")
+        int maxSize();
+
+        /**
+         * How long the first creation of a group waits for others to join it.
+         */
+        @WithDefault("2ms")
+        Duration maxDelay();
+
+        /**
+         * Maximum number of group transactions running at once. While they are all busy,
+         * the next group keeps growing.
+         */
+        @WithDefault("4")
+        int maxInFlight();
+
+        /**
+         * Maximum number of creations waiting for a group; past it requests are answered
+         * with 503.
+         */
+        @WithDefault("10000")
+        int queueCapacity();
+    }
+
+    interface Events {
+
+        /**
+         * Kafka topic brand events are published to.
+         */
+        @WithDefault("product-catalog.brand.events")
+        String topic();
+
+        /**
+         * Encoding of relayed events. {@code avro} needs the Apicurio registry configured
+         * through the {@code apicurio.registry.*} attributes of the Kafka connector;
+         * {@code json} sends the outbox payloads as they are.
+         */
+        @WithDefault("avro")
+        Format format();
+
+        /**
+         * Transactional outbox relay settings.
+         */
+        Outbox outbox();
+
+        /**
+         * Where brand events come from: {@code application}, published by the commands in
+         * their transaction, or {@code cdc}, decoded from the {@code brand} table's WAL by
+         * {@code BrandChangeCapture}.
+         */
+        @WithDefault("application")
+        Source source();
+
+        /**
+         * Change data capture settings, used with the {@code cdc} source.
+         */
+        Cdc cdc();
+
+        enum Format {
+            JSON,
+            AVRO
+        }
+
+        enum Source {
+            APPLICATION,
+            CDC
+        }
+    }
+
+    interface Outbox {
+
+        /**
+         * Whether this instance drains the outbox. Every replica may relay; events are
+         * claimed with {@code SKIP LOCKED} so instances never send the same batch.
+         */
+        @WithDefault("true")
+        boolean relayEnabled();
+
+        /**
+         * Maximum number of events claimed and relayed at once.
+         */
+        @WithDefault("500")
+        int batchSize();
+
+        /**
+         * Delay between relay runs, in Quarkus scheduler syntax (e.g. {@code 200ms}).
+         */
+        @WithDefault("200ms")
+        String pollInterval();
+
+        /**
+         * How long a batch waits for broker acknowledgements before it is released for the
+         * next run.
+         */
+        @WithDefault("30s")
+        Duration sendTimeout();
+
+        /**
+         * How long claimed events stay invisible to other instances; an instance that dies
+         * mid-send releases its claims after it. Longer than {@code send-timeout}, or a slow
+         * batch could be sent twice.
+         */
+        @WithDefault("2m")
+        Duration claimTimeout();
+    }
+
+    interface Cdc {
+
+        /**
+         * Logical replication slot the changes are read from, created on first start. It
+         * retains WAL until the changes are checkpointed: drop it when leaving the
+         * {@code cdc} source.
+         */
+        @WithDefault("product_catalog_brand_cdc")
+        String slotName();
+
+        /**
+         * Publication of the {@code brand} table, see the Liquibase changelog.
+         */
+        @WithDefault("brand_cdc")
+        String publication();
+
+        /**
+         * Maximum number of events published per transaction and checkpoint.
+         */
+        @WithDefault("500")
+        int batchSize();
+
+        /**
+         * How long the first event of a batch waits for others before the batch is published.
+         */
+        @WithDefault("200ms")
+        Duration maxBatchDelay();
+
+        /**
+         * How often the checkpoint moves past transactions without brand changes, so the
+         * slot does not retain their WAL.
+         */
+        @WithDefault("10s")
+        Duration checkpointInterval();
+
+        /**
+         * Delay before reconnecting after the stream failed, e.g. while another instance
+         * holds the slot.
+         */
+        @WithDefault("5s")
+        Duration retryDelay();
+    }
+
+    interface Execution {
+
+        /**
+         * Where blocking commands run, see {@code CommandExecutor}.
+         */
+        @WithDefault("virtual-threads")
+        Mode mode();
+
+        /**
+         * Adaptive limits on the commands in progress, see {@code ConcurrencyLimits}.
+         */
+        Limits limits();
+
+        enum Mode {
+            VIRTUAL_THREADS,
+            WORKER_POOL
+        }
+    }
+
+    interface Limits {
+
+        /**
+         * Whether requests beyond the limits are answered with 503. When disabled, every
+         * request is queued for the command executor.
+         */
+        @WithDefault("true")
+        boolean enabled();
+
+        /**
+         * Limit of single brand creations and reads.
+         */
+        Limit interactive();
+
+        /**
+         * Limit of bulk imports, kept apart so large imports cannot starve interactive
+         * requests and are shed first.
+         */
+        Limit bulk();
+
+        /**
+         * How much slower than usual commands may get before the limits shrink: 2.0 lets
+         * latency double.
+         */
+        @WithDefault("1.5")
+        double latencyTolerance();
+
+        /**
+         * Weight of each new estimate in the limits, between 0 and 1. Lower values react
+         * more slowly to latency changes and noise alike.
+         */
+        @WithDefault("0.2")
+        double smoothing();
+
+        /**
+         * Number of commands the usual latency is averaged over.
+         */
+        @WithDefault("600")
+        int baselineWindow();
+
+        /**
+         * Delay clients are asked to wait in {@code Retry-After} when shed.
+         */
+        @WithDefault("1s")
+        Duration retryAfter();
+    }
+
+    interface Limit {
+
+        /**
+         * Limit until latency has been observed.
+         */
+        int initialLimit();
+
+        /**
+         * The limit never shrinks below it, however slow commands get.
+         */
+        int minLimit();
+
+        /**
+         * The limit never grows past it, however fast commands are. Keep it within what the
+         * connection pool and memory can take.
+         */
+        int maxLimit();
+    }
+
+    interface Idempotency {
+
+        /**
+         * How long a key and its stored response are kept.
+         */
+        @WithDefault("24H")
+        Duration ttl();
+
+        /**
+         * Delay between purges of expired keys, in Quarkus scheduler syntax (e.g. {@code 1h}).
+         */
+        @WithDefault("1h")
+        String cleanupInterval();
+    }
+
+    interface ReadReplica {
+
+        /**
+         * Whether brand reads may go to the replica. When disabled, everything is read
+         * from the primary.
+         */
+        @WithDefault("false")
+        boolean enabled();
+
+        /**
+         * Replay lag the replica may have and still serve reads. Past it, or while the lag
+         * cannot be measured, reads go to the primary.
+         */
+        @WithDefault("2s")
+        Duration maxLag();
+
+        /**
+         * Delay between replay lag measurements, in Quarkus scheduler syntax (e.g. {@code 1s}).
+         */
+        @WithDefault("1s")
+        String lagCheckInterval();
+    }
+
+    interface Logos {
+
+        /**
+         * Whether this instance ingests queued logos. Every replica may; ingestions are
+         * claimed with {@code SKIP LOCKED} so instances never fetch the same logo at once.
+         */
+        @WithDefault("true")
+        boolean ingestionEnabled();
+
+        /**
+         * Directory of the content-addressed asset store. Replicas serving logos must share
+         * it, e.g. as a read-write-many volume: writes are atomic renames of complete files,
+         * so instances storing the same content at once do not conflict.
+         */
+        String storeDirectory();
+
+        /**
+         * Delay between claims of due ingestions, in Quarkus scheduler syntax (e.g. {@code 1s}).
+         */
+        @WithDefault("1s")
+        String pollInterval();
+
+        /**
+         * Maximum number of ingestions claimed per run.
+         */
+        @WithDefault("32")
+        int batchSize();
+
+        /**
+         * Maximum number of logos fetched and resized at once by this instance.
+         */
+        @WithDefault("8")
+        int maxConcurrency();
+
+        /**
+         * How long a claimed ingestion stays invisible to other instances; an instance that
+         * dies mid-fetch releases its claims after it.
+         */
+        @WithDefault("2m")
+        Duration claimTimeout();
+
+        /**
+         * Attempts before an ingestion is marked failed.
+         */
+        @WithDefault("5")
+        int maxAttempts();
+
+        /**
+         * Delay before the first retry, doubled after each further failure.
+         */
+        @WithDefault("30s")
+        Duration retryDelay();
+
+        /**
+         * Timeout for connecting to the origin.
+         */
+        @WithDefault("5s")
+        Duration connectTimeout();
+
+        /**
+         * Timeout for the whole response of the origin.
+         */
+        @WithDefault("15s")
+        Duration requestTimeout();
+
+        /**
+         * Largest logo fetched, in bytes; larger responses fail the attempt.
+         */
+        @WithDefault("2097152")
+        int maxBytes();
+
+        /**
+         * Largest logo resized, in pixels, checked from the image header before decoding.
+         */
+        @WithDefault("16777216")
+        long maxPixels();
+
+        /**
+         * Widths of the PNG variants generated from raster logos. Only widths smaller than
+         * the original are generated.
+         */
+        @WithDefault("64,128,256")
+        List<Integer> variantWidths();
+
+        /**
+         * Whether logos may be fetched from loopback, private and link-local addresses.
+         * Off, so brand data cannot make the service call internal endpoints.
+         */
+        @WithDefault("false")
+        boolean allowPrivateAddresses();
+    }
+
+    interface Sharding {
+
+        /**
+         * Datasources holding the brand shards, in shard order. The first is the home shard,
+         * which also keeps everything that is not sharded (idempotency keys, CDC checkpoints)
+         * and the brands created before ids were shard-aware. With more than one, the
+         * application must be built with the {@code sharded} Maven profile.
+         */
+        @WithDefault("<default>")
+        List<String> datasources();
+
+        /**
+         * Ids below this one predate shard-aware ids and are looked up on the home shard.
+         * 0 when every brand was created with shard-aware ids.
+         */
+        @WithDefault("0")
+        long legacyIdCeiling();
+    }
+
+    interface Diagnostics {
+
+        /**
+         * Brand creations taking at least this long are kept with their phase breakdown,
+         * see {@code SlowRequests}.
+         */
+        @WithDefault("500ms")
+        Duration slowRequestThreshold();
+
+        /**
+         * Number of slow requests kept; the oldest are overwritten first. 0 keeps none.
+         */
+        @WithDefault("256")
+        int slowRequestCapacity();
+
+        /**
+         * Whether the {@code /admin} endpoints are served. They are unauthenticated, so they
+         * are off unless enabled, which should only be done where {@code /admin} is not
+         * reachable from public routes.
+         */
+        @WithDefault("false")
+        boolean adminEnabled();
+    }
+}
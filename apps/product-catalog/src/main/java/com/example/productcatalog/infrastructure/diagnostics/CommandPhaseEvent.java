@@ -0,0 +1,11 @@
+package com.example.productcatalog.infrastructure.diagnostics;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.example.productcatalog.CommandPhase")
+@Label("Command Phase")
+@Description("Queueing, name check, persist, publish or commit of a brand creation")
+final class CommandPhaseEvent extends PhaseEvent {
+}
@@ -0,0 +1,21 @@
+package com.example.productcatalog.infrastructure.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Time a thread spent waiting on the database through Hibernate, with the stack trace of
+ * the caller.
+ */
+@Name("com.example.productcatalog.DatabaseWait")
+@Label("Database Wait")
+@Description("Connection acquisition, statement or batch execution of the primary persistence unit")
+@Category({"Product Catalog", "Database"})
+final class DatabaseWaitEvent extends Event {
+
+    @Label("Operation")
+    String operation;
+}
@@ -0,0 +1,75 @@
+package com.example.productcatalog.infrastructure.diagnostics;
+
+import jdk.jfr.EventType;
+import org.hibernate.BaseSessionEventListener;
+
+/**
+ * Times what a Hibernate session waits on the database for: acquiring its connection from
+ * the pool and executing statements and batches. The time adds to the {@link RequestPhase#DB_WAIT}
+ * of the {@link RequestTrace} bound to the thread, and is recorded as a {@link DatabaseWaitEvent}
+ * while a JFR recording is running. The commit itself is in the {@code commit} phase.
+ * <p>
+ * Instantiated by Hibernate for every session of the primary persistence unit, see
+ * {@code hibernate.session.events.auto}. Hibernate does not nest these operations, so one
+ * wait is tracked at a time.
+ */
+public class DatabaseWaitListener extends BaseSessionEventListener {
+
+    private static final EventType EVENTS = EventType.getEventType(DatabaseWaitEvent.class);
+
+    private long waitStart;
+    private DatabaseWaitEvent event;
+
+    @Override
+    public void jdbcConnectionAcquisitionStart() {
+        begin();
+    }
+
+    @Override
+    public void jdbcConnectionAcquisitionEnd() {
+        end("connection");
+    }
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        begin();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        end("statement");
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        begin();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        end("batch");
+    }
+
+    private void begin() {
+        if (EVENTS.isEnabled()) {
+            event = new DatabaseWaitEvent();
+            event.begin();
+        }
+        waitStart = System.nanoTime();
+    }
+
+    private void end(String operation) {
+        RequestTrace trace = RequestTrace.current();
+        if (trace != null) {
+            trace.add(RequestPhase.DB_WAIT, System.nanoTime() - waitStart);
+        }
+        if (event != null) {
+            event.end();
+            if (event.shouldCommit()) {
+                event.operation = operation;
+                event.commit();
+            }
+            event = null;
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.example.productcatalog.infrastructure.diagnostics;
+
+import io.quarkus.runtime.ShutdownEvent;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+
+/**
+ * On-demand JDK Flight Recorder recordings, one at a time, started and stopped through
+ * {@code /admin/jfr/recording}.
+ * <p>
+ * Recordings use one of the JDK's settings, {@code default} (about 1% overhead) or
+ * {@code profile} (more frequent method samples, a few percent), plus the events of this
+ * package: {@link CommandPhaseEvent}, {@link MappingEvent} and {@link DatabaseWaitEvent}.
+ * They stop by themselves after their maximum duration and are kept until they are
+ * downloaded by {@link #stop()}.
+ */
+@Slf4j
+@ApplicationScoped
+public class FlightRecordings {
+
+    private Recording recording;
+
+    /**
+     * Starts a recording, unless one is already started.
+     *
+     * @param settings name of the JDK settings, {@code default} or {@code profile}
+     * @param maxDuration how long the recording runs at most
+     * @return the started recording, or empty if one was already started
+     * @throws IllegalArgumentException if the settings do not exist
+     */
+    public synchronized Optional<Recording> start(String settings, Duration maxDuration) {
+        if (recording != null) {
+            return Optional.empty();
+        }
+        Recording started = new Recording(configuration(settings));
+        started.setName("product-catalog-" + Instant.now());
+        started.setDuration(maxDuration);
+        started.setToDisk(true);
+        started.enable(CommandPhaseEvent.class);
+        started.enable(MappingEvent.class);
+        started.enable(DatabaseWaitEvent.class);
+        started.start();
+        log.info("Started JFR recording {} with {} settings for at most {}", started.getName(), settings, maxDuration);
+        recording = started;
+        return Optional.of(started);
+    }
+
+    /**
+     * Stops the started recording, if it has not stopped by itself, and hands over its
+     * data. The recording is discarded once the stream is closed.
+     *
+     * @return the recording in the JFR file format, or empty if none was started
+     */
+    public synchronized Optional<InputStream> stop() {
+        if (recording == null) {
+            return Optional.empty();
+        }
+        Recording stopped = recording;
+        recording = null;
+        if (stopped.getState() == RecordingState.RUNNING) {
+            stopped.stop();
+        }
+        log.info("Stopped JFR recording {}, {} bytes", stopped.getName(), stopped.getSize());
+        try {
+            InputStream data = stopped.getStream(null, null);
+            if (data == null) {
+                stopped.close();
+                return Optional.of(InputStream.nullInputStream());
+            }
+            return Optional.of(new FilterInputStream(data) {
+                @Override
+                public void close() throws IOException {
+                    try {
+                        super.close();
+                    } finally {
+                        stopped.close();
+                    }
+                }
+            });
+        } catch (IOException e) {
+            stopped.close();
+            throw new UncheckedIOException("Could not read JFR recording " + stopped.getName(), e);
+        }
+    }
+
+    private static Configuration configuration(String settings) {
+        try {
+            return Configuration.getConfiguration(settings);
+        } catch (IOException | ParseException e) {
+            throw new IllegalArgumentException("No JFR settings named " + settings, e);
+        }
+    }
+
+    synchronized void onStop(@Observes ShutdownEvent event) {
+        if (recording != null) {
+            recording.close();
+            recording = null;
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.example.productcatalog.infrastructure.diagnostics;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.example.productcatalog.Mapping")
+@Label("Mapping")
+@Description("Mapping of a brand creation's request, output or response body")
+final class MappingEvent extends PhaseEvent {
+}
@@ -0,0 +1,18 @@
+package com.example.productcatalog.infrastructure.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.StackTrace;
+
+/**
+ * A phase of a brand creation in a JFR recording, spanning the phase on the thread that
+ * ended it. Stack traces are left out: the phase names where the request was.
+ */
+@Category({"Product Catalog", "Brand Creation"})
+@StackTrace(false)
+abstract class PhaseEvent extends Event {
+
+    @Label("Phase")
+    String phase;
+}
@@ -0,0 +1,82 @@
+package com.example.productcatalog.infrastructure.diagnostics;
+
+import io.micrometer.core.instrument.Timer;
+import jdk.jfr.EventType;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times a {@link RequestPhase} into its Micrometer timer, the {@link RequestTrace} of the
+ * request and, while a JFR recording is running, a {@link PhaseEvent}.
+ */
+public final class PhaseTimer {
+
+    private static final EventType COMMAND_EVENTS = EventType.getEventType(CommandPhaseEvent.class);
+    private static final EventType MAPPING_EVENTS = EventType.getEventType(MappingEvent.class);
+
+    private final RequestPhase phase;
+    private final Timer timer;
+
+    public PhaseTimer(RequestPhase phase, Timer timer) {
+        this.phase = phase;
+        this.timer = timer;
+    }
+
+    /**
+     * Starts the phase, for the trace bound to the current thread if any.
+     *
+     * @return the running phase
+     */
+    public Span start() {
+        return start(RequestTrace.current());
+    }
+
+    /**
+     * Starts the phase, for a trace not bound to the current thread.
+     *
+     * @param trace the request's trace, or null
+     * @return the running phase
+     */
+    public Span start(RequestTrace trace) {
+        PhaseEvent event = null;
+        if (phase.kind() == RequestPhase.Kind.MAPPING ? MAPPING_EVENTS.isEnabled() : COMMAND_EVENTS.isEnabled()) {
+            event = phase.kind() == RequestPhase.Kind.MAPPING ? new MappingEvent() : new CommandPhaseEvent();
+            event.begin();
+        }
+        return new Span(trace, event, System.nanoTime());
+    }
+
+    /**
+     * A started phase. It may end on another thread than the one that started it.
+     */
+    public final class Span {
+
+        private final RequestTrace trace;
+        private final PhaseEvent event;
+        private final long start;
+
+        private Span(RequestTrace trace, PhaseEvent event, long start) {
+            this.trace = trace;
+            this.event = event;
+            this.start = start;
+        }
+
+        /**
+         * Ends the phase and records it.
+         */
+        public void end() {
+            long elapsed = System.nanoTime() - start;
+            timer.record(elapsed, TimeUnit.NANOSECONDS);
+            if (trace != null) {
+                trace.add(phase, elapsed);
+            }
+            if (event != null) {
+                event.end();
+                if (event.shouldCommit()) {
+                    event.phase = phase.tag();
+                    event.commit();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.productcatalog.infrastructure.diagnostics;
+
+/**
+ * Phases a brand creation is broken down into, in the order they run. All but
+ * {@link #DB_WAIT} are also {@code brand.create.phase} timers; the database wait overlaps
+ * the phases that talk to the database.
+ */
+public enum RequestPhase {
+    MAP_REQUEST("map-request", Kind.MAPPING),
+    QUEUE("queue", Kind.COMMAND),
+    NAME_CHECK("name-check", Kind.COMMAND),
+    PERSIST("persist", Kind.COMMAND),
+    PUBLISH("publish", Kind.COMMAND),
+    MAP("map", Kind.MAPPING),
+    COMMIT("commit", Kind.COMMAND),
+    SERIALIZE("serialize", Kind.MAPPING),
+    DB_WAIT("db-wait", Kind.DATABASE);
+
+    private final String tag;
+    private final Kind kind;
+
+    RequestPhase(String tag, Kind kind) {
+        this.tag = tag;
+        this.kind = kind;
+    }
+
+    /**
+     * @return the name of the phase in metrics, JFR events and slow request breakdowns
+     */
+    public String tag() {
+        return tag;
+    }
+
+    /**
+     * @return the JFR event type recording the phase
+     */
+    Kind kind() {
+        return kind;
+    }
+
+    enum Kind {
+        /** Recorded as {@link CommandPhaseEvent}. */
+        COMMAND,
+        /** Recorded as {@link MappingEvent}. */
+        MAPPING,
+        /** Recorded as {@link DatabaseWaitEvent}, by {@link DatabaseWaitListener}. */
+        DATABASE
+    }
+}
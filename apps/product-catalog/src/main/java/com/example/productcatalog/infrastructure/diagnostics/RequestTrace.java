@@ -0,0 +1,98 @@
+package com.example.productcatalog.infrastructure.diagnostics;
+
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+
+/**
+ * Time spent in each {@link RequestPhase} by one request, handed to {@link SlowRequests}
+ * when the request finishes.
+ * <p>
+ * A trace is bound to the thread running the request's work with {@link #call}, so the
+ * phases and database waits on that thread add to it without being passed around. The
+ * phases of a request run one after the other, so the trace is not synchronized.
+ */
+public final class RequestTrace {
+
+    private static final ThreadLocal<RequestTrace> CURRENT = new ThreadLocal<>();
+    private static final RequestPhase[] PHASES = RequestPhase.values();
+
+    private final SlowRequests slowRequests;
+    private final String operation;
+    private final String subject;
+    private final long start;
+    private final long[] phaseNanos = new long[PHASES.length];
+
+    RequestTrace(SlowRequests slowRequests, String operation, String subject, long start) {
+        this.slowRequests = slowRequests;
+        this.operation = operation;
+        this.subject = subject;
+        this.start = start;
+    }
+
+    /**
+     * @return the trace bound to the current thread, or null
+     */
+    public static RequestTrace current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Runs work with this trace bound to the current thread.
+     *
+     * @param work the work
+     * @param <T> the result type
+     * @return the result of the work
+     */
+    public <T> T call(Supplier<T> work) {
+        RequestTrace previous = CURRENT.get();
+        CURRENT.set(this);
+        try {
+            return work.get();
+        } finally {
+            if (previous != null) {
+                CURRENT.set(previous);
+            } else {
+                CURRENT.remove();
+            }
+        }
+    }
+
+    /**
+     * Adds time to a phase.
+     *
+     * @param phase the phase
+     * @param nanos the time spent, in nanoseconds
+     */
+    public void add(RequestPhase phase, long nanos) {
+        phaseNanos[phase.ordinal()] += nanos;
+    }
+
+    /**
+     * Ends the request. It is kept by {@link SlowRequests} if it took longer than the
+     * threshold.
+     *
+     * @param failure what the request failed with, null if it succeeded
+     */
+    public void finish(Throwable failure) {
+        slowRequests.complete(this, System.nanoTime() - start, outcome(failure));
+    }
+
+    String operation() {
+        return operation;
+    }
+
+    String subject() {
+        return subject;
+    }
+
+    long phaseNanos(RequestPhase phase) {
+        return phaseNanos[phase.ordinal()];
+    }
+
+    private static String outcome(Throwable failure) {
+        if (failure instanceof CompletionException && failure.getCause() != null) {
+            failure = failure.getCause();
+        }
+        return failure == null ? "completed" : failure.getClass().getSimpleName();
+    }
+}
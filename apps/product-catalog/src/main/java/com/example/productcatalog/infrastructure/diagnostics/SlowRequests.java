@@ -0,0 +1,115 @@
+package com.example.productcatalog.infrastructure.diagnostics;
+
+import com.example.productcatalog.infrastructure.config.ProductCatalogConfig;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import lombok.Value;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * The latest requests slower than {@code product-catalog.diagnostics.slow-request-threshold},
+ * with the time they spent in each {@link RequestPhase}.
+ * <p>
+ * Always on: a request only costs its {@link RequestTrace}, and only slow ones are copied
+ * into a fixed ring of {@code slow-request-capacity} entries, overwriting the oldest. The
+ * worst of them are listed by {@code GET /admin/slow-requests}, so a latency spike can be
+ * broken down after the fact without a profiler attached.
+ */
+@ApplicationScoped
+public class SlowRequests {
+
+    private final long thresholdNanos;
+    private final AtomicReferenceArray<SlowRequest> ring;
+    private final AtomicLong written = new AtomicLong();
+
+    @Inject
+    public SlowRequests(ProductCatalogConfig config) {
+        this(config.diagnostics().slowRequestThreshold(), config.diagnostics().slowRequestCapacity());
+    }
+
+    public SlowRequests(Duration threshold, int capacity) {
+        this.thresholdNanos = threshold.toNanos();
+        this.ring = new AtomicReferenceArray<>(capacity);
+    }
+
+    /**
+     * Starts tracing a request.
+     *
+     * @param operation what the request does, e.g. {@code createBrand}
+     * @param subject what it does it to, e.g. the brand name
+     * @return the trace, to be {@link RequestTrace#finish finished} when the request is
+     */
+    public RequestTrace start(String operation, String subject) {
+        return new RequestTrace(this, operation, subject, System.nanoTime());
+    }
+
+    /**
+     * @return the duration from which requests are kept
+     */
+    public Duration threshold() {
+        return Duration.ofNanos(thresholdNanos);
+    }
+
+    /**
+     * @return the number of slow requests kept
+     */
+    public int capacity() {
+        return ring.length();
+    }
+
+    /**
+     * @param limit the maximum number of requests returned
+     * @return the slowest of the requests kept, slowest first
+     */
+    public List<SlowRequest> worst(int limit) {
+        List<SlowRequest> requests = new ArrayList<>(ring.length());
+        for (int i = 0; i < ring.length(); i++) {
+            SlowRequest request = ring.get(i);
+            if (request != null) {
+                requests.add(request);
+            }
+        }
+        return requests.stream()
+                .sorted(Comparator.comparing(SlowRequest::getDuration).reversed())
+                .limit(limit)
+                .toList();
+    }
+
+    void complete(RequestTrace trace, long durationNanos, String outcome) {
+        if (durationNanos < thresholdNanos || ring.length() == 0) {
+            return;
+        }
+        Map<String, Duration> phases = new LinkedHashMap<>();
+        for (RequestPhase phase : RequestPhase.values()) {
+            long nanos = trace.phaseNanos(phase);
+            if (nanos > 0) {
+                phases.put(phase.tag(), Duration.ofNanos(nanos));
+            }
+        }
+        Duration duration = Duration.ofNanos(durationNanos);
+        SlowRequest request = new SlowRequest(trace.operation(), trace.subject(), Instant.now().minus(duration),
+                duration, outcome, phases);
+        ring.set((int) (written.getAndIncrement() % ring.length()), request);
+    }
+
+    @Value
+    public static class SlowRequest {
+        String operation;
+        String subject;
+        Instant startedAt;
+        Duration duration;
+        /** {@code completed}, or the simple name of the exception the request failed with. */
+        String outcome;
+        /** Time spent in each phase the request went through, by {@link RequestPhase#tag()}. */
+        Map<String, Duration> phases;
+    }
+}
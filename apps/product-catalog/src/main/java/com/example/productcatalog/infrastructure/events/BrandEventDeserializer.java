@@ -0,0 +1,59 @@
+package com.example.productcatalog.infrastructure.events;
+
+import io.apicurio.registry.serde.avro.AvroKafkaDeserializer;
+import org.apache.avro.specific.SpecificRecord;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.serialization.Deserializer;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * Value deserializer of the {@code brand-events-in} channel, the counterpart of
+ * {@link BrandEventSerializer}.
+ * <p>
+ * Records marked {@code avro/binary} are read into the generated Avro classes (set
+ * {@code apicurio.registry.use-specific-avro-reader} on the channel) with the writer schema
+ * fetched from the registry by the global id in their headers, and cached from then on.
+ * Anything else, including records written before the header existed, is returned as a
+ * JSON string.
+ */
+public class BrandEventDeserializer implements Deserializer<Object> {
+
+    private static final byte[] AVRO = BrandEventSerializer.AVRO.getBytes(StandardCharsets.UTF_8);
+
+    private final AvroKafkaDeserializer<SpecificRecord> avroDeserializer = new AvroKafkaDeserializer<>();
+
+    @Override
+    public void configure(Map<String, ?> configs, boolean isKey) {
+        avroDeserializer.configure(configs, isKey);
+    }
+
+    @Override
+    public Object deserialize(String topic, byte[] data) {
+        return deserialize(topic, null, data);
+    }
+
+    @Override
+    public Object deserialize(String topic, Headers headers, byte[] data) {
+        if (data == null) {
+            return null;
+        }
+        if (isAvro(headers)) {
+            return avroDeserializer.deserialize(topic, headers, data);
+        }
+        return new String(data, StandardCharsets.UTF_8);
+    }
+
+    private static boolean isAvro(Headers headers) {
+        Header contentType = headers != null ? headers.lastHeader(BrandEventSerializer.CONTENT_TYPE) : null;
+        return contentType != null && Arrays.equals(contentType.value(), AVRO);
+    }
+
+    @Override
+    public void close() {
+        avroDeserializer.close();
+    }
+}
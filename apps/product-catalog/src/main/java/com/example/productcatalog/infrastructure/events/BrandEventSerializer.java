@@ -0,0 +1,65 @@
+package com.example.productcatalog.infrastructure.events;
+
+import io.apicurio.registry.serde.avro.AvroKafkaSerializer;
+import org.apache.avro.specific.SpecificRecord;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.serialization.Serializer;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+/**
+ * Value serializer of the {@code brand-events} channel.
+ * <p>
+ * Writes each value in the encoding it was handed: Avro records through the Apicurio
+ * serializer, which registers their schema and carries its global id in a header, and
+ * strings as UTF-8 JSON. The {@link #CONTENT_TYPE} header tells {@link BrandEventDeserializer}
+ * which one a record holds. The Apicurio serializer is configured from the channel's
+ * {@code apicurio.registry.*} attributes.
+ */
+public class BrandEventSerializer implements Serializer<Object> {
+
+    static final String CONTENT_TYPE = "contentType";
+    static final String AVRO = "avro/binary";
+    static final String JSON = "application/json";
+
+    private final AvroKafkaSerializer<SpecificRecord> avroSerializer = new AvroKafkaSerializer<>();
+
+    @Override
+    public void configure(Map<String, ?> configs, boolean isKey) {
+        avroSerializer.configure(configs, isKey);
+    }
+
+    @Override
+    public byte[] serialize(String topic, Object data) {
+        return serialize(topic, null, data);
+    }
+
+    @Override
+    public byte[] serialize(String topic, Headers headers, Object data) {
+        if (data == null) {
+            return null;
+        }
+        if (data instanceof SpecificRecord record) {
+            contentType(headers, AVRO);
+            return avroSerializer.serialize(topic, headers, record);
+        }
+        if (data instanceof String json) {
+            contentType(headers, JSON);
+            return json.getBytes(StandardCharsets.UTF_8);
+        }
+        throw new IllegalArgumentException("Unsupported brand event value: " + data.getClass().getName());
+    }
+
+    private static void contentType(Headers headers, String contentType) {
+        if (headers != null) {
+            headers.remove(CONTENT_TYPE);
+            headers.add(CONTENT_TYPE, contentType.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    @Override
+    public void close() {
+        avroSerializer.close();
+    }
+}
@@ -0,0 +1,119 @@
+package com.example.productcatalog.infrastructure.events;
+
+import com.example.productcatalog.api.events.avro.BrandCreatedPayload;
+import com.example.productcatalog.application.usecases.BrandView;
+import com.example.productcatalog.infrastructure.cache.BrandCacheInvalidator;
+import com.example.productcatalog.infrastructure.cache.BrandNameIndex;
+import com.example.productcatalog.infrastructure.cache.BrandSnapshot;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.enterprise.context.ApplicationScoped;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.eclipse.microprofile.reactive.messaging.Incoming;
+
+import java.net.URI;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+
+/**
+ * Consumes this service's own brand events to keep every replica's caches, name index and
+ * snapshot coherent.
+ * <p>
+ * Each instance subscribes with its own consumer group (see the {@code brand-events-in}
+ * channel configuration), so every replica sees every event, whichever replica
+ * produced the change. Events arrive as the Avro {@link BrandCreatedPayload} or as a JSON
+ * string, see {@link BrandEventDeserializer}; records that could not be deserialized
+ * arrive empty and are skipped.
+ */
+@Slf4j
+@ApplicationScoped
+@RequiredArgsConstructor
+public class BrandEventsConsumer {
+
+    private final BrandCacheInvalidator brandCacheInvalidator;
+    private final BrandNameIndex brandNameIndex;
+    private final BrandSnapshot brandSnapshot;
+    private final ObjectMapper objectMapper;
+
+    @Incoming("brand-events-in")
+    public void onBrandEvent(Object payload) {
+        if (payload instanceof BrandCreatedPayload event) {
+            onBrandCreated(event);
+        } else if (payload instanceof String json) {
+            onJsonEvent(json);
+        } else {
+            log.warn("Skipping unreadable brand event");
+        }
+    }
+
+    private void onBrandCreated(BrandCreatedPayload event) {
+        brandCacheInvalidator.invalidateById(event.getId());
+        brandCacheInvalidator.invalidateByName(event.getName());
+        brandNameIndex.add(event.getName());
+        try {
+            brandSnapshot.apply(new BrandView(
+                    event.getId(),
+                    event.getName(),
+                    null,
+                    uri(event.getWebsite()),
+                    uri(event.getLogoUrl()),
+                    event.getCreatedAt(),
+                    event.getUpdatedAt()));
+        } catch (RuntimeException e) {
+            log.warn("Brand event {} not applied to the snapshot: {}", event.getId(), e.getMessage());
+        }
+    }
+
+    private void onJsonEvent(String payload) {
+        JsonNode event;
+        try {
+            event = objectMapper.readTree(payload);
+        } catch (JsonProcessingException e) {
+            log.warn("Skipping unreadable brand event: {}", e.getMessage());
+            return;
+        }
+        if (event.hasNonNull("id")) {
+            brandCacheInvalidator.invalidateById(event.get("id").asLong());
+        }
+        if (event.hasNonNull("name")) {
+            brandCacheInvalidator.invalidateByName(event.get("name").asText());
+            brandNameIndex.add(event.get("name").asText());
+        }
+        if (event.hasNonNull("id") && event.hasNonNull("name")) {
+            try {
+                brandSnapshot.apply(toBrandView(event));
+            } catch (RuntimeException e) {
+                log.warn("Brand event {} not applied to the snapshot: {}", event.get("id"), e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Brand events carry the full brand, see {@code BrandCreatedPayload}. The snapshot
+     * keeps no descriptions, they are read on request.
+     */
+    private static BrandView toBrandView(JsonNode event) {
+        return new BrandView(
+                event.get("id").asLong(),
+                event.get("name").asText(),
+                null,
+                uri(text(event, "website")),
+                uri(text(event, "logoUrl")),
+                instant(text(event, "createdAt")),
+                instant(text(event, "updatedAt")));
+    }
+
+    private static String text(JsonNode event, String field) {
+        return event.hasNonNull(field) ? event.get(field).asText() : null;
+    }
+
+    private static URI uri(String value) {
+        return value != null ? URI.create(value) : null;
+    }
+
+    private static Instant instant(String value) {
+        return value != null ? OffsetDateTime.parse(value).toInstant() : null;
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.productcatalog.infrastructure.events;
+
+import com.example.productcatalog.infrastructure.config.ProductCatalogConfig;
+import com.example.productcatalog.infrastructure.persistence.OutboxEvent;
+import com.example.productcatalog.infrastructure.persistence.OutboxEventRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanContext;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.transaction.Transactional;
+
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Publishes events through the transactional outbox.
+ * <p>
+ * The event is written to the {@code outbox_event} table in the caller's transaction,
+ * so it is committed atomically with the state change that produced it. Delivery to
+ * Kafka happens later, off the request path, in {@link OutboxRelay}. Recording an event is
+ * timed by {@code outbox.event.publish}; the insert itself is usually flushed at commit.
+ */
+@ApplicationScoped
+public class OutboxEventPublisher implements EventPublisher {
+
+    private static final String PAYLOAD_SUFFIX = "Payload";
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper;
+    private final ProductCatalogConfig config;
+    private final Timer publishTimer;
+
+    public OutboxEventPublisher(OutboxEventRepository outboxEventRepository,
+                                ObjectMapper objectMapper,
+                                ProductCatalogConfig config,
+                                MeterRegistry registry) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.objectMapper = objectMapper;
+        this.config = config;
+        this.publishTimer = Timer.builder("outbox.event.publish")
+                .description("Time to serialize an event and record it in the outbox")
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    @Override
+    @Transactional(Transactional.TxType.MANDATORY)
+    public <T> void publish(T event) {
+        long start = System.nanoTime();
+        JsonNode payload = objectMapper.valueToTree(event);
+        UUID eventId = UUID.randomUUID();
+        SpanContext span = Span.current().getSpanContext();
+        String traceId = span.isValid() ? span.getTraceId() : null;
+
+        outboxEventRepository.persist(OutboxEvent.builder()
+                .eventId(eventId)
+                .eventType(eventType(event))
+                .aggregateId(payload.hasNonNull("id") ? payload.get("id").asText() : null)
+                .topic(config.events().topic())
+                .payload(payload.toString())
+                .correlationId(traceId != null ? traceId : eventId.toString())
+                .traceId(traceId)
+                .createdAt(Instant.now())
+                .build());
+        publishTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Derives the AsyncAPI event type from the payload class, e.g.
+     * {@code BrandCreatedPayload} becomes {@code BrandCreated}.
+     */
+    private static String eventType(Object event) {
+        String name = event.getClass().getSimpleName();
+        return name.endsWith(PAYLOAD_SUFFIX)
+                ? name.substring(0, name.length() - PAYLOAD_SUFFIX.length())
+                : name;
+    }
+}
@@ -0,0 +1,243 @@
+package com.example.productcatalog.infrastructure.events;
+
+import com.example.productcatalog.api.events.avro.BrandCreatedPayload;
+import com.example.productcatalog.infrastructure.config.ProductCatalogConfig;
+import com.example.productcatalog.infrastructure.persistence.OutboxEvent;
+import com.example.productcatalog.infrastructure.persistence.OutboxEventRepository;
+import com.example.productcatalog.infrastructure.sharding.BrandShards;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.scheduler.Scheduled;
+import io.smallrye.reactive.messaging.MutinyEmitter;
+import io.smallrye.reactive.messaging.kafka.api.OutgoingKafkaRecordMetadata;
+import jakarta.enterprise.context.ApplicationScoped;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.eclipse.microprofile.reactive.messaging.Channel;
+import org.eclipse.microprofile.reactive.messaging.Message;
+import org.eclipse.microprofile.reactive.messaging.OnOverflow;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Drains the transactional outbox to Kafka.
+ * <p>
+ * Each run claims a batch of pending events with {@code FOR UPDATE SKIP LOCKED}, setting
+ * their {@code claimed_until} so other instances leave them alone, and commits before
+ * sending anything: no connection or row lock is held while the broker answers. The batch
+ * is handed to the producer at once so it shares Kafka batches (see the linger and
+ * compression settings of the {@code brand-events} channel), and deleted in a short second
+ * transaction once acknowledged. If the broker is unavailable the claim is released and
+ * the events stay in the outbox for the next run; if the instance dies mid-send they are
+ * retried once the claim times out, giving at-least-once delivery.
+ * <p>
+ * With the {@code avro} event format, {@code BrandCreated} payloads are converted from
+ * their stored JSON to the Avro {@link BrandCreatedPayload} on the way out, and encoded by
+ * {@link BrandEventSerializer}; other events, and every event with the {@code json} format,
+ * are sent as stored.
+ * <p>
+ * When brands are sharded every shard has its own outbox, written with its brands, and
+ * each run drains them one after the other; a brand's events all come from one shard, so
+ * they keep their order. The lag is the one of the shard furthest behind.
+ */
+@Slf4j
+@ApplicationScoped
+public class OutboxRelay {
+
+    static final String EVENT_VERSION = "1.0.0";
+    static final String BRAND_CREATED = "BrandCreated";
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final BrandShards shards;
+    private final MutinyEmitter<Object> emitter;
+    private final ProductCatalogConfig config;
+    private final ObjectMapper objectMapper;
+    private final String source;
+
+    private final Counter publishedEvents;
+    private final Counter failedBatches;
+    private final DistributionSummary batchSizes;
+    private final Timer batchTimer;
+    private final AtomicLong lagMillis = new AtomicLong();
+
+    public OutboxRelay(OutboxEventRepository outboxEventRepository,
+                       BrandShards shards,
+                       @Channel("brand-events") @OnOverflow(value = OnOverflow.Strategy.BUFFER, bufferSize = 4096)
+                       MutinyEmitter<Object> emitter,
+                       ProductCatalogConfig config,
+                       ObjectMapper objectMapper,
+                       MeterRegistry registry,
+                       @ConfigProperty(name = "quarkus.application.name") String source) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.shards = shards;
+        this.emitter = emitter;
+        this.config = config;
+        this.objectMapper = objectMapper;
+        this.source = source;
+        this.publishedEvents = Counter.builder("outbox.events.published")
+                .description("Events relayed from the outbox to Kafka")
+                .register(registry);
+        this.failedBatches = Counter.builder("outbox.batches.failed")
+                .description("Relay batches released because Kafka did not acknowledge them")
+                .register(registry);
+        this.batchSizes = DistributionSummary.builder("outbox.batch.size")
+                .description("Events per relayed batch")
+                .register(registry);
+        this.batchTimer = Timer.builder("outbox.batch.duration")
+                .description("Time to relay one batch, including broker acknowledgements")
+                .publishPercentileHistogram()
+                .register(registry);
+        registry.gauge("outbox.lag.seconds", lagMillis, lag -> lag.get() / 1000.0);
+    }
+
+    @Scheduled(every = "${product-catalog.events.outbox.poll-interval}",
+            concurrentExecution = Scheduled.ConcurrentExecution.SKIP)
+    void relay() {
+        ProductCatalogConfig.Outbox outbox = config.events().outbox();
+        if (!outbox.relayEnabled()) {
+            return;
+        }
+        for (int shard : shards.all()) {
+            try {
+                int relayed;
+                do {
+                    relayed = shards.call(shard, () -> relayBatch(outbox));
+                } while (relayed == outbox.batchSize());
+            } catch (RuntimeException e) {
+                failedBatches.increment();
+                log.warn("Outbox relay failed, pending events will be retried: {}", e.getMessage());
+            }
+        }
+        updateLag();
+    }
+
+    private int relayBatch(ProductCatalogConfig.Outbox outbox) {
+        Timer.Sample sample = Timer.start();
+        List<OutboxEvent> batch = QuarkusTransaction.requiringNew().call(() -> {
+            Instant now = Instant.now();
+            return outboxEventRepository.claimNextBatch(outbox.batchSize(), now, now.plus(outbox.claimTimeout()));
+        });
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        List<Long> ids = batch.stream().map(OutboxEvent::getId).toList();
+
+        try {
+            CompletableFuture<?>[] acks = batch.stream()
+                    .map(event -> emitter.sendMessage(toMessage(event)).subscribeAsCompletionStage())
+                    .toArray(CompletableFuture[]::new);
+            CompletableFuture.allOf(acks).orTimeout(outbox.sendTimeout().toMillis(), TimeUnit.MILLISECONDS).join();
+        } catch (RuntimeException e) {
+            release(ids);
+            throw e;
+        }
+
+        QuarkusTransaction.requiringNew().run(() -> outboxEventRepository.deleteByIds(ids));
+        publishedEvents.increment(batch.size());
+        batchSizes.record(batch.size());
+        sample.stop(batchTimer);
+        return batch.size();
+    }
+
+    /**
+     * Releases the claim of a batch that was not acknowledged, keeping its events ahead of
+     * newer ones for the next run. Should this fail too, the claim times out.
+     */
+    private void release(List<Long> ids) {
+        try {
+            QuarkusTransaction.requiringNew().run(() -> outboxEventRepository.release(ids));
+        } catch (RuntimeException e) {
+            log.debug("Could not release claimed outbox events, they are retried once the claim expires", e);
+        }
+    }
+
+    private void updateLag() {
+        try {
+            long lag = 0;
+            for (int shard : shards.all()) {
+                lag = Math.max(lag, shards.call(shard, () -> QuarkusTransaction.requiringNew()
+                        .call(() -> outboxEventRepository.oldestCreatedAt()
+                                .map(oldest -> Math.max(0, Duration.between(oldest, Instant.now()).toMillis()))
+                                .orElse(0L))));
+            }
+            lagMillis.set(lag);
+        } catch (RuntimeException e) {
+            log.debug("Could not compute outbox lag", e);
+        }
+    }
+
+    private Message<Object> toMessage(OutboxEvent event) {
+        RecordHeaders headers = new RecordHeaders();
+        header(headers, "eventId", event.getEventId().toString());
+        header(headers, "eventType", event.getEventType());
+        header(headers, "eventVersion", EVENT_VERSION);
+        header(headers, "source", source);
+        header(headers, "timestamp", event.getCreatedAt().toString());
+        header(headers, "correlationId", event.getCorrelationId());
+        header(headers, "traceId", event.getTraceId());
+
+        return Message.of(encode(event)).addMetadata(OutgoingKafkaRecordMetadata.<String>builder()
+                .withTopic(event.getTopic())
+                .withKey(event.getAggregateId())
+                .withHeaders(headers)
+                .build());
+    }
+
+    /**
+     * Returns the value handed to {@link BrandEventSerializer}: an Avro record when the
+     * event has an Avro schema and the {@code avro} format is on, else the stored JSON.
+     */
+    private Object encode(OutboxEvent event) {
+        if (config.events().format() != ProductCatalogConfig.Events.Format.AVRO
+                || !BRAND_CREATED.equals(event.getEventType())) {
+            return event.getPayload();
+        }
+        try {
+            return toAvro(objectMapper.readTree(event.getPayload()));
+        } catch (JsonProcessingException | RuntimeException e) {
+            log.warn("Relaying outbox event {} as JSON, it does not convert to Avro: {}",
+                    event.getEventId(), e.getMessage());
+            return event.getPayload();
+        }
+    }
+
+    private static BrandCreatedPayload toAvro(JsonNode payload) {
+        return BrandCreatedPayload.newBuilder()
+                .setId(payload.get("id").asLong())
+                .setName(payload.get("name").asText())
+                .setDescription(text(payload, "description"))
+                .setWebsite(text(payload, "website"))
+                .setLogoUrl(text(payload, "logoUrl"))
+                .setCreatedAt(instant(text(payload, "createdAt")))
+                .setUpdatedAt(instant(text(payload, "updatedAt")))
+                .build();
+    }
+
+    private static String text(JsonNode payload, String field) {
+        return payload.hasNonNull(field) ? payload.get(field).asText() : null;
+    }
+
+    private static Instant instant(String value) {
+        return value != null ? OffsetDateTime.parse(value).toInstant() : null;
+    }
+
+    private static void header(RecordHeaders headers, String name, String value) {
+        if (value != null) {
+            headers.add(name, value.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package com.example.productcatalog.infrastructure.idempotency;
+
+import com.example.productcatalog.infrastructure.config.ProductCatalogConfig;
+import com.example.productcatalog.infrastructure.persistence.IdempotencyRecord;
+import com.example.productcatalog.infrastructure.persistence.IdempotencyRecordRepository;
+import com.example.productcatalog.infrastructure.sharding.BrandShards;
+import io.quarkus.cache.Cache;
+import io.quarkus.cache.CacheName;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.scheduler.Scheduled;
+import jakarta.enterprise.context.ApplicationScoped;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * Runs an operation at most once per {@code Idempotency-Key} and replays its stored response.
+ * <p>
+ * Responses are kept in the {@code idempotency_key} table, written in the same transaction
+ * as the operation, and fronted by the bounded {@code idempotency-keys} cache. A repeated
+ * key is answered from the cache, or from the table on a miss, without running the
+ * operation again. Concurrent requests with the same key on one instance share the cache
+ * entry of the first one and wait for it; if it fails, they fail with it and nothing is
+ * stored, so the client may retry. Across instances the primary key on the table decides,
+ * and the loser replays the winner's response.
+ * <p>
+ * When brands are sharded, the caller binds the shard the operation writes to (see
+ * {@link BrandShards#call}) and the key is kept there, in the operation's transaction. A
+ * retry with the same request goes to the same shard; a key reused for a request bound
+ * to another shard is only detected while it is cached. Expired keys are purged on every
+ * shard.
+ */
+@Slf4j
+@ApplicationScoped
+public class IdempotencyService {
+    public static final String CACHE_NAME = "idempotency-keys";
+
+    private final IdempotencyRecordRepository idempotencyRecordRepository;
+    private final Cache cache;
+    private final BrandShards shards;
+    private final ProductCatalogConfig config;
+
+    public IdempotencyService(IdempotencyRecordRepository idempotencyRecordRepository,
+                              @CacheName(CACHE_NAME) Cache cache,
+                              BrandShards shards,
+                              ProductCatalogConfig config) {
+        this.idempotencyRecordRepository = idempotencyRecordRepository;
+        this.cache = cache;
+        this.shards = shards;
+        this.config = config;
+    }
+
+    /**
+     * Returns the stored response for {@code key}, running {@code operation} to produce and
+     * store it if the key is new. The operation joins the transaction the response is stored in.
+     * Must not be called on the event loop.
+     *
+     * @param key the idempotency key sent by the client
+     * @param fingerprint fingerprint of the request, see {@link #fingerprint(byte[])}
+     * @param operation produces the response of a first request
+     * @return the response, flagged as replayed unless produced by this call
+     * @throws KeyReuseException if the key was used for a request with another fingerprint
+     */
+    public Outcome execute(String key, String fingerprint, Supplier<StoredResponse> operation) {
+        AtomicBoolean executed = new AtomicBoolean();
+        StoredResponse response = cache.<String, StoredResponse>get(key,
+                        k -> loadOrExecute(k, fingerprint, operation, executed))
+                .await().indefinitely();
+
+        if (!response.getFingerprint().equals(fingerprint)) {
+            throw new KeyReuseException(key);
+        }
+        return new Outcome(response, !executed.get());
+    }
+
+    /**
+     * Hex encoded SHA-256 of a canonical serialization of the request.
+     *
+     * @param canonicalRequest the request bytes, identical for identical requests
+     * @return the fingerprint
+     */
+    public static String fingerprint(byte[] canonicalRequest) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(canonicalRequest));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    @Scheduled(every = "${product-catalog.idempotency.cleanup-interval}",
+            concurrentExecution = Scheduled.ConcurrentExecution.SKIP)
+    void purgeExpired() {
+        Instant now = Instant.now();
+        long purged = 0;
+        for (int shard : shards.all()) {
+            purged += shards.call(shard, () -> QuarkusTransaction.requiringNew()
+                    .call(() -> idempotencyRecordRepository.deleteExpired(now)));
+        }
+        if (purged > 0) {
+            log.info("Purged {} expired idempotency keys", purged);
+        }
+    }
+
+    private StoredResponse loadOrExecute(String key, String fingerprint, Supplier<StoredResponse> operation,
+                                         AtomicBoolean executed) {
+        Optional<StoredResponse> stored = findStored(key);
+        if (stored.isPresent()) {
+            return stored.get();
+        }
+
+        try {
+            StoredResponse response = QuarkusTransaction.requiringNew().call(() -> {
+                StoredResponse result = operation.get();
+                store(key, fingerprint, result);
+                return result;
+            });
+            executed.set(true);
+            return response;
+        } catch (RuntimeException e) {
+            // Another instance may have stored the same key first
+            return findStored(key).orElseThrow(() -> e);
+        }
+    }
+
+    private Optional<StoredResponse> findStored(String key) {
+        return QuarkusTransaction.requiringNew().call(() -> idempotencyRecordRepository
+                .findActive(key, Instant.now())
+                .map(record -> new StoredResponse(
+                        record.getRequestFingerprint(), record.getStatusCode(), record.getResponseBody())));
+    }
+
+    private void store(String key, String fingerprint, StoredResponse response) {
+        Instant now = Instant.now();
+        idempotencyRecordRepository.deleteExpired(key, now);
+        idempotencyRecordRepository.persist(IdempotencyRecord.builder()
+                .key(key)
+                .requestFingerprint(fingerprint)
+                .statusCode(response.getStatusCode())
+                .responseBody(response.getBody())
+                .createdAt(now)
+                .expiresAt(now.plus(config.idempotency().ttl()))
+                .build());
+    }
+
+    /**
+     * A response as stored for replay.
+     */
+    @Value
+    public static class StoredResponse {
+        String fingerprint;
+        int statusCode;
+        String body;
+    }
+
+    @Value
+    public static class Outcome {
+        StoredResponse response;
+        boolean replayed;
+    }
+
+    /**
+     * Thrown when a key is sent again with a different request.
+     */
+    public static class KeyReuseException extends IllegalStateException {
+        public KeyReuseException(String key) {
+            super("Idempotency-Key " + key + " was already used for a different request");
+        }
+    }
+}
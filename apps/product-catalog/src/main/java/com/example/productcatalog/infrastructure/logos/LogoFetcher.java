@@ -0,0 +1,169 @@
+package com.example.productcatalog.infrastructure.logos;
+
+import com.example.productcatalog.infrastructure.config.ProductCatalogConfig;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.Inet4Address;
+import java.net.Inet6Address;
+import java.net.InetAddress;
+import java.net.URI;
+import java.net.UnknownHostException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Set;
+
+/**
+ * Downloads logos from brand origins.
+ * <p>
+ * Only {@code http(s)} URLs are followed, and unless private addresses are allowed, none
+ * that resolve to a non-public address (see {@link #isPrivate}), so a brand's logo URL
+ * cannot make the service call internal endpoints. Redirects are followed by hand so every
+ * hop is checked. The check resolves the host through {@link InetAddress}, whose cache
+ * ({@code networkaddress.cache.ttl}, 30s by default, whatever the DNS TTL) then answers the
+ * connection: a DNS answer rebound after the check is not used, unless the cached one
+ * expires in between. Bodies are read up to the configured size and no further.
+ */
+public class LogoFetcher {
+
+    private static final int MAX_REDIRECTS = 5;
+    private static final Set<Integer> REDIRECTS = Set.of(301, 302, 303, 307, 308);
+
+    private final HttpClient client;
+    private final Duration requestTimeout;
+    private final int maxBytes;
+    private final boolean allowPrivateAddresses;
+
+    public LogoFetcher(ProductCatalogConfig.Logos config) {
+        this.client = HttpClient.newBuilder()
+                .connectTimeout(config.connectTimeout())
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .build();
+        this.requestTimeout = config.requestTimeout();
+        this.maxBytes = config.maxBytes();
+        this.allowPrivateAddresses = config.allowPrivateAddresses();
+    }
+
+    /**
+     * @param url the logo URL of the brand
+     * @return the response body
+     * @throws UnusableLogoException if the origin does not serve a usable logo at the URL
+     * @throws IOException if the origin could not be reached, or failed; worth retrying
+     */
+    public byte[] fetch(URI url) throws UnusableLogoException, IOException, InterruptedException {
+        URI current = url;
+        for (int hop = 0; hop <= MAX_REDIRECTS; hop++) {
+            check(current);
+            HttpResponse<InputStream> response = client.send(HttpRequest.newBuilder(current)
+                    .timeout(requestTimeout)
+                    .header("Accept", "image/*")
+                    .GET()
+                    .build(), HttpResponse.BodyHandlers.ofInputStream());
+            try (InputStream body = response.body()) {
+                int status = response.statusCode();
+                if (REDIRECTS.contains(status)) {
+                    current = current.resolve(response.headers().firstValue("Location")
+                            .orElseThrow(() -> new UnusableLogoException("Redirect without Location from " + url)));
+                    continue;
+                }
+                if (status == 429 || status >= 500) {
+                    throw new IOException("Origin answered " + status);
+                }
+                if (status != 200) {
+                    throw new UnusableLogoException("Origin answered " + status);
+                }
+                if (response.headers().firstValueAsLong("Content-Length").orElse(0) > maxBytes) {
+                    throw new UnusableLogoException("Logo larger than " + maxBytes + " bytes");
+                }
+                byte[] content = body.readNBytes(maxBytes + 1);
+                if (content.length > maxBytes) {
+                    throw new UnusableLogoException("Logo larger than " + maxBytes + " bytes");
+                }
+                return content;
+            }
+        }
+        throw new UnusableLogoException("More than " + MAX_REDIRECTS + " redirects from " + url);
+    }
+
+    private void check(URI url) throws UnusableLogoException, UnknownHostException {
+        String scheme = url.getScheme();
+        if (url.getHost() == null || !("http".equalsIgnoreCase(scheme) || "https".equalsIgnoreCase(scheme))) {
+            throw new UnusableLogoException("Not an http(s) URL: " + url);
+        }
+        if (allowPrivateAddresses) {
+            return;
+        }
+        for (InetAddress address : InetAddress.getAllByName(url.getHost())) {
+            if (isPrivate(address)) {
+                throw new UnusableLogoException(url.getHost() + " resolves to the private address " + address.getHostAddress());
+            }
+        }
+    }
+
+    /**
+     * Whether an address is not reachable on the public internet, or leads somewhere that
+     * is not: wildcard, loopback, private, shared (carrier-grade NAT), link-local, multicast
+     * and IPv6 unique local addresses, and IPv6 addresses embedding one of these IPv4
+     * addresses for a translator or tunnel (IPv4-compatible, NAT64 and 6to4).
+     * IPv4-mapped addresses are resolved as IPv4 already.
+     *
+     * @param address a resolved address
+     * @return true if logos must not be fetched from it
+     */
+    public static boolean isPrivate(InetAddress address) {
+        if (address.isAnyLocalAddress()
+                || address.isLoopbackAddress()
+                || address.isSiteLocalAddress()
+                || address.isLinkLocalAddress()
+                || address.isMulticastAddress()) {
+            return true;
+        }
+        byte[] bytes = address.getAddress();
+        if (address instanceof Inet4Address) {
+            // Shared address space, 100.64.0.0/10
+            return (bytes[0] & 0xFF) == 100 && (bytes[1] & 0xC0) == 64;
+        }
+        // Unique local addresses, fc00::/7
+        if ((bytes[0] & 0xFE) == 0xFC) {
+            return true;
+        }
+        Inet4Address embedded = embeddedIpv4((Inet6Address) address);
+        return embedded != null && isPrivate(embedded);
+    }
+
+    /**
+     * @return the IPv4 address an IPv4-compatible ({@code ::/96}), NAT64 ({@code 64:ff9b::/32},
+     * the well-known and local-use prefixes, with the IPv4 address last) or 6to4
+     * ({@code 2002::/16}) address leads to, else null
+     */
+    private static Inet4Address embeddedIpv4(Inet6Address address) {
+        byte[] bytes = address.getAddress();
+        int offset;
+        if (address.isIPv4CompatibleAddress()) {
+            offset = 12;
+        } else if (startsWith(bytes, 0x00, 0x64, 0xFF, 0x9B)) {
+            offset = 12;
+        } else if (startsWith(bytes, 0x20, 0x02)) {
+            offset = 2;
+        } else {
+            return null;
+        }
+        try {
+            return (Inet4Address) InetAddress.getByAddress(Arrays.copyOfRange(bytes, offset, offset + 4));
+        } catch (UnknownHostException e) {
+            throw new IllegalStateException("Four bytes are an IPv4 address", e);
+        }
+    }
+
+    private static boolean startsWith(byte[] bytes, int... prefix) {
+        for (int i = 0; i < prefix.length; i++) {
+            if ((bytes[i] & 0xFF) != prefix[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
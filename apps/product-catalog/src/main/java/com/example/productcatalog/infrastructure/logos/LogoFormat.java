@@ -0,0 +1,95 @@
+package com.example.productcatalog.infrastructure.logos;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Optional;
+
+/**
+ * Formats accepted as logos, recognised from the content rather than the origin's
+ * {@code Content-Type}, so the same bytes always get the same name in the {@link LogoStore}.
+ */
+public enum LogoFormat {
+    PNG("png", "image/png", true),
+    JPEG("jpg", "image/jpeg", true),
+    GIF("gif", "image/gif", true),
+    WEBP("webp", "image/webp", false),
+    SVG("svg", "image/svg+xml", false);
+
+    private static final byte[] PNG_SIGNATURE = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n'};
+    /** How far into an SVG document its root element is looked for. */
+    private static final int SVG_PROLOG_LIMIT = 1024;
+
+    private final String extension;
+    private final String mediaType;
+    private final boolean resizable;
+
+    LogoFormat(String extension, String mediaType, boolean resizable) {
+        this.extension = extension;
+        this.mediaType = mediaType;
+        this.resizable = resizable;
+    }
+
+    public String extension() {
+        return extension;
+    }
+
+    public String mediaType() {
+        return mediaType;
+    }
+
+    /**
+     * @return whether resized variants are generated, i.e. the JDK decodes the format
+     */
+    public boolean resizable() {
+        return resizable;
+    }
+
+    /**
+     * @param extension a file extension
+     * @return the format stored with it, if any
+     */
+    public static Optional<LogoFormat> ofExtension(String extension) {
+        return Arrays.stream(values()).filter(format -> format.extension.equals(extension)).findFirst();
+    }
+
+    /**
+     * @param mediaType a media type, e.g. {@code image/png}
+     * @return the format of that type, if any
+     */
+    public static Optional<LogoFormat> ofMediaType(String mediaType) {
+        return Arrays.stream(values()).filter(format -> format.mediaType.equals(mediaType)).findFirst();
+    }
+
+    /**
+     * @param content the fetched bytes
+     * @return the format of the content, or empty if it is none of the accepted formats
+     */
+    public static Optional<LogoFormat> detect(byte[] content) {
+        if (startsWith(content, PNG_SIGNATURE)) {
+            return Optional.of(PNG);
+        }
+        if (content.length > 3 && (content[0] & 0xFF) == 0xFF && (content[1] & 0xFF) == 0xD8 && (content[2] & 0xFF) == 0xFF) {
+            return Optional.of(JPEG);
+        }
+        if (startsWith(content, "GIF87a".getBytes(StandardCharsets.US_ASCII))
+                || startsWith(content, "GIF89a".getBytes(StandardCharsets.US_ASCII))) {
+            return Optional.of(GIF);
+        }
+        if (content.length > 12 && startsWith(content, "RIFF".getBytes(StandardCharsets.US_ASCII))
+                && new String(content, 8, 4, StandardCharsets.US_ASCII).equals("WEBP")) {
+            return Optional.of(WEBP);
+        }
+        String prolog = new String(content, 0, Math.min(content.length, SVG_PROLOG_LIMIT), StandardCharsets.UTF_8)
+                .stripLeading();
+        if ((prolog.startsWith("<?xml") || prolog.startsWith("<svg") || prolog.startsWith("<!--"))
+                && prolog.contains("<svg")) {
+            return Optional.of(SVG);
+        }
+        return Optional.empty();
+    }
+
+    private static boolean startsWith(byte[] content, byte[] prefix) {
+        return content.length >= prefix.length
+                && Arrays.equals(content, 0, prefix.length, prefix, 0, prefix.length);
+    }
+}
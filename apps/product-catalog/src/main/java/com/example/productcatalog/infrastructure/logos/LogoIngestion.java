@@ -0,0 +1,256 @@
+package com.example.productcatalog.infrastructure.logos;
+
+import com.example.productcatalog.infrastructure.config.ProductCatalogConfig;
+import com.example.productcatalog.infrastructure.persistence.BrandLogo;
+import com.example.productcatalog.infrastructure.persistence.BrandLogoRepository;
+import com.example.productcatalog.infrastructure.sharding.BrandShards;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.scheduler.Scheduled;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.net.URI;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.function.Consumer;
+
+/**
+ * Copies brand logos from their origins into the {@link LogoStore}.
+ * <p>
+ * Creating a brand queues a {@link BrandLogo} in the same transaction. Each run claims the
+ * due ones with {@code FOR UPDATE SKIP LOCKED}, pushing their next attempt past the claim
+ * timeout so other instances leave them alone, and commits before fetching anything: no
+ * connection is held while origins answer. The logos are then fetched on virtual threads,
+ * at most {@code max-concurrency} at once, and each outcome is recorded in its own
+ * transaction.
+ * <p>
+ * A logo whose content is stored already, e.g. shared by several brands, is not decoded
+ * again; its variants are written before the original, so a stored original means its
+ * variants are there. Origins that fail or cannot be reached are retried with exponential
+ * backoff up to {@code max-attempts}; content that is not a usable logo fails at once.
+ * When brands are sharded, every run claims from each shard in turn.
+ * <p>
+ * Instrumented with {@code logo.ingestion.duration}, tagged with the outcome:
+ * {@code stored}, {@code deduplicated}, {@code retried} or {@code failed}.
+ */
+@Slf4j
+@ApplicationScoped
+public class LogoIngestion {
+
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    private final BrandLogoRepository brandLogoRepository;
+    private final LogoStore logoStore;
+    private final BrandShards shards;
+    private final ProductCatalogConfig.Logos config;
+    private final LogoFetcher logoFetcher;
+    private final LogoResizer logoResizer;
+    private final ExecutorService workers;
+    private final Semaphore permits;
+    private final Map<String, Timer> outcomes;
+    private final Counter failedRuns;
+
+    public LogoIngestion(BrandLogoRepository brandLogoRepository,
+                         LogoStore logoStore,
+                         BrandShards shards,
+                         ProductCatalogConfig config,
+                         MeterRegistry registry) {
+        this.brandLogoRepository = brandLogoRepository;
+        this.logoStore = logoStore;
+        this.shards = shards;
+        this.config = config.logos();
+        this.logoFetcher = new LogoFetcher(this.config);
+        this.logoResizer = new LogoResizer(this.config.maxPixels());
+        this.workers = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("logo-ingestion-", 0).factory());
+        this.permits = new Semaphore(this.config.maxConcurrency());
+        this.outcomes = Map.of(
+                "stored", outcomeTimer(registry, "stored"),
+                "deduplicated", outcomeTimer(registry, "deduplicated"),
+                "retried", outcomeTimer(registry, "retried"),
+                "failed", outcomeTimer(registry, "failed"));
+        this.failedRuns = Counter.builder("logo.ingestion.runs.failed")
+                .description("Ingestion runs that could not claim or record logos")
+                .register(registry);
+    }
+
+    @Scheduled(every = "${product-catalog.logos.poll-interval}",
+            concurrentExecution = Scheduled.ConcurrentExecution.SKIP)
+    void ingestDue() {
+        if (!config.ingestionEnabled()) {
+            return;
+        }
+        try {
+            for (int shard : shards.all()) {
+                List<Claim> claims;
+                do {
+                    claims = shards.call(shard, this::claim);
+                    ingestAll(claims);
+                } while (!claims.isEmpty() && !Thread.currentThread().isInterrupted());
+            }
+        } catch (RuntimeException e) {
+            failedRuns.increment();
+            log.warn("Logo ingestion failed, due logos will be retried: {}", e.getMessage());
+        }
+    }
+
+    private List<Claim> claim() {
+        return QuarkusTransaction.requiringNew().call(() -> {
+            Instant now = Instant.now();
+            List<Claim> claims = new ArrayList<>();
+            for (BrandLogo logo : brandLogoRepository.lockDue(config.batchSize(), now)) {
+                logo.setUpdatedAt(now);
+                if (logo.getAttempts() >= config.maxAttempts()) {
+                    // Every attempt was claimed but none recorded, e.g. the instance died
+                    logo.setStatus(BrandLogo.Status.FAILED);
+                    continue;
+                }
+                logo.setAttempts(logo.getAttempts() + 1);
+                logo.setNextAttemptAt(now.plus(config.claimTimeout()));
+                claims.add(new Claim(logo.getBrandId(), logo.getSourceUrl(), logo.getAttempts()));
+            }
+            return claims;
+        });
+    }
+
+    private void ingestAll(List<Claim> claims) {
+        List<Callable<Void>> tasks = claims.stream()
+                .map(claim -> (Callable<Void>) () -> {
+                    permits.acquire();
+                    try {
+                        ingest(claim);
+                    } finally {
+                        permits.release();
+                    }
+                    return null;
+                })
+                .toList();
+        try {
+            workers.invokeAll(tasks);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void ingest(Claim claim) {
+        Timer.Sample sample = Timer.start();
+        String outcome;
+        try {
+            Stored stored = fetchAndStore(claim.sourceUrl());
+            update(claim, logo -> {
+                logo.setStatus(BrandLogo.Status.READY);
+                logo.setContentHash(stored.hash());
+                logo.setMediaType(stored.format().mediaType());
+                logo.setVariantWidthList(stored.variantWidths());
+                logo.setLastError(null);
+            });
+            outcome = stored.deduplicated() ? "deduplicated" : "stored";
+        } catch (UnusableLogoException e) {
+            outcome = fail(claim, e.getMessage(), true);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            outcome = fail(claim, "Interrupted", false);
+        } catch (IOException | RuntimeException e) {
+            outcome = fail(claim, e.toString(), false);
+        }
+        sample.stop(outcomes.get(outcome));
+    }
+
+    private Stored fetchAndStore(URI sourceUrl) throws UnusableLogoException, IOException, InterruptedException {
+        byte[] content = logoFetcher.fetch(sourceUrl);
+        LogoFormat format = LogoFormat.detect(content)
+                .orElseThrow(() -> new UnusableLogoException("Not a PNG, JPEG, GIF, WebP or SVG image"));
+        String hash = LogoStore.hash(content);
+        String original = LogoStore.originalName(hash, format);
+        if (logoStore.contains(original)) {
+            return new Stored(hash, format, storedVariantWidths(hash), true);
+        }
+        List<Integer> variantWidths = List.of();
+        if (format.resizable()) {
+            SortedMap<Integer, byte[]> variants = logoResizer.resize(content, config.variantWidths());
+            for (Map.Entry<Integer, byte[]> variant : variants.entrySet()) {
+                logoStore.store(LogoStore.variantName(hash, variant.getKey()), variant.getValue());
+            }
+            variantWidths = List.copyOf(variants.keySet());
+        }
+        logoStore.store(original, content);
+        return new Stored(hash, format, variantWidths, false);
+    }
+
+    private List<Integer> storedVariantWidths(String hash) {
+        return config.variantWidths().stream()
+                .filter(width -> logoStore.contains(LogoStore.variantName(hash, width)))
+                .sorted()
+                .toList();
+    }
+
+    /**
+     * Schedules the next attempt, or gives up on the logo.
+     *
+     * @return the outcome, {@code retried} or {@code failed}
+     */
+    private String fail(Claim claim, String error, boolean permanent) {
+        boolean failed = permanent || claim.attempts() >= config.maxAttempts();
+        log.debug("Logo of brand {} from {} {}: {}", claim.brandId(), claim.sourceUrl(),
+                failed ? "failed" : "will be retried", error);
+        try {
+            update(claim, logo -> {
+                logo.setStatus(failed ? BrandLogo.Status.FAILED : BrandLogo.Status.PENDING);
+                logo.setLastError(error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error);
+                if (!failed) {
+                    logo.setNextAttemptAt(Instant.now().plus(backoff(claim.attempts())));
+                }
+            });
+        } catch (RuntimeException e) {
+            log.warn("Could not record the failed ingestion of the logo of brand {}: {}", claim.brandId(), e.getMessage());
+        }
+        return failed ? "failed" : "retried";
+    }
+
+    private Duration backoff(int attempts) {
+        return config.retryDelay().multipliedBy(1L << Math.min(attempts - 1, 16));
+    }
+
+    /**
+     * Applies the outcome to the logo, unless its brand was deleted in the meantime.
+     */
+    private void update(Claim claim, Consumer<BrandLogo> outcome) {
+        shards.run(shards.ofId(claim.brandId()), () -> QuarkusTransaction.requiringNew()
+                .run(() -> brandLogoRepository.findByIdOptional(claim.brandId())
+                        .ifPresent(logo -> {
+                            outcome.accept(logo);
+                            logo.setUpdatedAt(Instant.now());
+                        })));
+    }
+
+    private static Timer outcomeTimer(MeterRegistry registry, String outcome) {
+        return Timer.builder("logo.ingestion.duration")
+                .description("Time to fetch, resize and store a brand logo, by outcome")
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        workers.shutdownNow();
+    }
+
+    private record Claim(Long brandId, URI sourceUrl, int attempts) {
+    }
+
+    private record Stored(String hash, LogoFormat format, List<Integer> variantWidths, boolean deduplicated) {
+    }
+}
@@ -0,0 +1,115 @@
+package com.example.productcatalog.infrastructure.logos;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+/**
+ * Generates the PNG variants of raster logos with the JDK's image I/O.
+ * <p>
+ * The dimensions are read from the image header first, so oversized images (e.g. a few
+ * kilobytes of PNG expanding to gigapixels) are rejected before any pixel is decoded.
+ * Each variant is scaled down from the next larger one by halving with bilinear
+ * interpolation, which keeps thin lines and text in logos legible at small widths.
+ */
+public class LogoResizer {
+
+    private final long maxPixels;
+
+    public LogoResizer(long maxPixels) {
+        this.maxPixels = maxPixels;
+        // Images are in memory already; do not buffer the streams in temporary files
+        ImageIO.setUseCache(false);
+    }
+
+    /**
+     * @param content a PNG, JPEG or GIF image; only the first frame of an animation is used
+     * @param widths the variant widths wanted
+     * @return the PNG variants by width, for the widths smaller than the image
+     * @throws UnusableLogoException if the image cannot be decoded or is too large
+     */
+    public SortedMap<Integer, byte[]> resize(byte[] content, Collection<Integer> widths) throws UnusableLogoException {
+        BufferedImage image = decode(content);
+        SortedMap<Integer, byte[]> variants = new TreeMap<>();
+        BufferedImage source = image;
+        for (int width : widths.stream().sorted((a, b) -> b - a).toList()) {
+            if (width >= image.getWidth()) {
+                continue;
+            }
+            source = scale(source, width, Math.max(1, Math.round((float) image.getHeight() * width / image.getWidth())));
+            variants.put(width, encode(source));
+        }
+        return variants;
+    }
+
+    private BufferedImage decode(byte[] content) throws UnusableLogoException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(new ByteArrayInputStream(content))) {
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+            if (!readers.hasNext()) {
+                throw new UnusableLogoException("No decoder for the image");
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                long pixels = (long) reader.getWidth(0) * reader.getHeight(0);
+                if (pixels > maxPixels) {
+                    throw new UnusableLogoException("Image of " + reader.getWidth(0) + "x" + reader.getHeight(0)
+                            + " exceeds " + maxPixels + " pixels");
+                }
+                return reader.read(0);
+            } finally {
+                reader.dispose();
+            }
+        } catch (IOException | RuntimeException e) {
+            throw new UnusableLogoException("Image cannot be decoded: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Halves the image until one more halving would go below the target, then scales to it.
+     */
+    private static BufferedImage scale(BufferedImage image, int width, int height) {
+        BufferedImage current = image;
+        int currentWidth = image.getWidth();
+        int currentHeight = image.getHeight();
+        do {
+            currentWidth = Math.max(width, currentWidth / 2);
+            currentHeight = Math.max(height, currentHeight / 2);
+            current = draw(current, currentWidth, currentHeight);
+        } while (currentWidth != width || currentHeight != height);
+        return current;
+    }
+
+    private static BufferedImage draw(BufferedImage image, int width, int height) {
+        BufferedImage scaled = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D graphics = scaled.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.drawImage(image, 0, 0, width, height, null);
+        } finally {
+            graphics.dispose();
+        }
+        return scaled;
+    }
+
+    private static byte[] encode(BufferedImage image) throws UnusableLogoException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try {
+            ImageIO.write(image, "png", out);
+        } catch (IOException e) {
+            throw new UnusableLogoException("Variant cannot be encoded: " + e.getMessage());
+        }
+        return out.toByteArray();
+    }
+}
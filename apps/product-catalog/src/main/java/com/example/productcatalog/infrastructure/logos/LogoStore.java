@@ -0,0 +1,153 @@
+package com.example.productcatalog.infrastructure.logos;
+
+import com.example.productcatalog.infrastructure.config.ProductCatalogConfig;
+import jakarta.enterprise.context.ApplicationScoped;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Content-addressed store of logo files on the local filesystem.
+ * <p>
+ * An original is named after the SHA-256 of its bytes and the extension of its format,
+ * e.g. {@code 3f…9a.png}; its resized variants after the same hash and their width, e.g.
+ * {@code 3f…9a-w128.png}. Names never change meaning, so they can be cached forever and the
+ * same logo linked from many brands is stored once. Files are spread over 256
+ * directories by the first byte of the hash.
+ * <p>
+ * Files are written to a temporary file in the target directory, forced to disk and
+ * renamed into place, so readers only ever see complete files and instances storing the
+ * same content at once end with the same file.
+ */
+@Slf4j
+@ApplicationScoped
+public class LogoStore {
+
+    private static final Pattern NAME = Pattern.compile("([0-9a-f]{64})(-w[1-9][0-9]{0,3})?\\.(png|jpg|gif|webp|svg)");
+
+    private final Path root;
+
+    public LogoStore(ProductCatalogConfig config) {
+        this.root = Path.of(config.logos().storeDirectory()).toAbsolutePath().normalize();
+        try {
+            Files.createDirectories(root);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot create the logo store " + root, e);
+        }
+        log.info("Logos are stored in {}", root);
+    }
+
+    /**
+     * @param content the file content
+     * @return the lowercase hex SHA-256 of the content
+     */
+    public static String hash(byte[] content) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * @param hash the hash of the original
+     * @param format its format
+     * @return the name of the original
+     */
+    public static String originalName(String hash, LogoFormat format) {
+        return hash + "." + format.extension();
+    }
+
+    /**
+     * @param hash the hash of the original
+     * @param width the width of the variant
+     * @return the name of the PNG variant
+     */
+    public static String variantName(String hash, int width) {
+        return hash + "-w" + width + ".png";
+    }
+
+    /**
+     * @param name a stored file name
+     * @return its format
+     */
+    public static LogoFormat format(String name) {
+        return LogoFormat.ofExtension(name.substring(name.lastIndexOf('.') + 1)).orElseThrow();
+    }
+
+    /**
+     * @param name a file name
+     * @return whether the file is stored
+     */
+    public boolean contains(String name) {
+        return find(name).isPresent();
+    }
+
+    /**
+     * Resolves a stored file. Names that are not store names, e.g. with path separators,
+     * are never resolved.
+     *
+     * @param name the file name
+     * @return the path of the file, or empty if it is not stored
+     */
+    public Optional<Path> find(String name) {
+        Matcher matcher = NAME.matcher(name);
+        if (!matcher.matches()) {
+            return Optional.empty();
+        }
+        Path path = directory(matcher.group(1)).resolve(name);
+        return Files.isRegularFile(path) ? Optional.of(path) : Optional.empty();
+    }
+
+    /**
+     * Stores a file unless it is there already.
+     *
+     * @param name the file name, see {@link #originalName} and {@link #variantName}
+     * @param content the file content
+     * @return whether the file was written, false if it was already stored
+     * @throws IOException if the file could not be written
+     */
+    public boolean store(String name, byte[] content) throws IOException {
+        Matcher matcher = NAME.matcher(name);
+        if (!matcher.matches()) {
+            throw new IllegalArgumentException("Not a logo store name: " + name);
+        }
+        Path directory = directory(matcher.group(1));
+        Path target = directory.resolve(name);
+        if (Files.isRegularFile(target)) {
+            return false;
+        }
+        Files.createDirectories(directory);
+        Path temporary = Files.createTempFile(directory, name, ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.WRITE)) {
+                ByteBuffer buffer = ByteBuffer.wrap(content);
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+                channel.force(true);
+            }
+            Files.move(temporary, target, StandardCopyOption.ATOMIC_MOVE);
+            return true;
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+
+    private Path directory(String hash) {
+        return root.resolve(hash.substring(0, 2));
+    }
+}
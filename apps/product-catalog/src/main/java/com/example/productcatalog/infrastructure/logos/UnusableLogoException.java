@@ -0,0 +1,12 @@
+package com.example.productcatalog.infrastructure.logos;
+
+/**
+ * The origin answered, but not with a logo that can be stored: a client error, an
+ * unaccepted format, or an image too large. Retrying would not help.
+ */
+public class UnusableLogoException extends Exception {
+
+    public UnusableLogoException(String message) {
+        super(message);
+    }
+}
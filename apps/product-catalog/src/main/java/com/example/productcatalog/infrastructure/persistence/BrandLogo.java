@@ -0,0 +1,104 @@
+package com.example.productcatalog.infrastructure.persistence;
+
+import com.example.productcatalog.domain.model.Brand;
+import io.quarkus.hibernate.orm.panache.PanacheEntityBase;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.MapsId;
+import jakarta.persistence.OneToOne;
+import jakarta.persistence.Table;
+
+import java.net.URI;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * The ingestion of a brand's logo into the local asset store, see {@code LogoIngestion}.
+ * <p>
+ * Recorded as {@link Status#PENDING} in the transaction creating the brand; once the logo
+ * is fetched it references the stored original by its SHA-256 {@code contentHash}, along
+ * with the widths of the resized variants stored next to it.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Entity
+@Table(name = "brand_logo")
+public class BrandLogo extends PanacheEntityBase {
+
+    @Id
+    private Long brandId;
+
+    /**
+     * Mapped so the insert is ordered after the brand's when both are batched.
+     */
+    @MapsId
+    @OneToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "brand_id")
+    private Brand brand;
+
+    private URI sourceUrl;
+
+    @Enumerated(EnumType.STRING)
+    private Status status;
+
+    private String contentHash;
+    private String mediaType;
+    private String variantWidths;
+    private int attempts;
+    private String lastError;
+    private Instant nextAttemptAt;
+    private Instant updatedAt;
+
+    /**
+     * @param brand the brand, persisted first so its id is assigned
+     * @return a logo ingestion due now
+     */
+    public static BrandLogo pending(Brand brand) {
+        Instant now = Instant.now();
+        return BrandLogo.builder()
+                .brand(brand)
+                .sourceUrl(brand.getLogo())
+                .status(Status.PENDING)
+                .nextAttemptAt(now)
+                .updatedAt(now)
+                .build();
+    }
+
+    /**
+     * @return the widths of the stored variants, smallest first
+     */
+    public List<Integer> getVariantWidthList() {
+        if (variantWidths == null || variantWidths.isEmpty()) {
+            return List.of();
+        }
+        return Arrays.stream(variantWidths.split(",")).map(Integer::valueOf).sorted().toList();
+    }
+
+    public void setVariantWidthList(List<Integer> widths) {
+        this.variantWidths = widths.stream().sorted().map(String::valueOf).collect(Collectors.joining(","));
+    }
+
+    public enum Status {
+        /** Waiting for its next attempt. */
+        PENDING,
+        /** Stored; {@code contentHash} names the original. */
+        READY,
+        /** Gave up after the maximum number of attempts, or the content is not a logo. */
+        FAILED
+    }
+}
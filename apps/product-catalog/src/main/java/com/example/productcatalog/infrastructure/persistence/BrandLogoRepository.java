@@ -0,0 +1,54 @@
+package com.example.productcatalog.infrastructure.persistence;
+
+import com.example.productcatalog.domain.model.Brand;
+import io.quarkus.hibernate.orm.panache.PanacheRepositoryBase;
+import jakarta.enterprise.context.ApplicationScoped;
+
+import java.net.URI;
+import java.time.Instant;
+import java.util.List;
+
+@ApplicationScoped
+public class BrandLogoRepository implements PanacheRepositoryBase<BrandLogo, Long> {
+
+    /**
+     * Queues the ingestion of the brand's logo, in the caller's transaction. Logos that
+     * are not absolute {@code http(s)} URLs are left as they are.
+     *
+     * @param brand the brand, persisted first so its id is assigned
+     */
+    public void enqueue(Brand brand) {
+        if (isFetchable(brand.getLogo())) {
+            persist(BrandLogo.pending(brand));
+        }
+    }
+
+    /**
+     * Locks the pending ingestions that are due, oldest first. Rows already locked by
+     * another instance are skipped, so several replicas can ingest in parallel. Must be
+     * called inside a transaction.
+     *
+     * @param limit maximum number of ingestions to lock
+     * @param now the current time
+     * @return the locked ingestions
+     */
+    @SuppressWarnings("unchecked")
+    public List<BrandLogo> lockDue(int limit, Instant now) {
+        return getEntityManager()
+                .createNativeQuery("""
+                        SELECT * FROM brand_logo
+                        WHERE status = 'PENDING' AND next_attempt_at <= :now
+                        ORDER BY next_attempt_at
+                        LIMIT :limit
+                        FOR UPDATE SKIP LOCKED
+                        """, BrandLogo.class)
+                .setParameter("now", now)
+                .setParameter("limit", limit)
+                .getResultList();
+    }
+
+    static boolean isFetchable(URI logo) {
+        return logo != null && logo.isAbsolute() && logo.getHost() != null
+                && ("http".equalsIgnoreCase(logo.getScheme()) || "https".equalsIgnoreCase(logo.getScheme()));
+    }
+}
@@ -1,11 +1,574 @@
 package com.example.productcatalog.infrastructure.persistence;
 
 import com.example.productcatalog.domain.model.Brand;
+import com.example.productcatalog.domain.model.BrandDescription;
+import com.example.productcatalog.infrastructure.sharding.BrandShards;
 
-import io.quarkus.hibernate.orm.panache.PanacheRepository;
+import io.micrometer.core.annotation.Timed;
+import io.quarkus.hibernate.orm.PersistenceUnit;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+import lombok.Value;
+import org.hibernate.exception.ConstraintViolationException;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Brand queries. Every call through the bean is timed as {@code brand.repository.query},
+ * tagged with the method; for the {@code stream*} methods that covers opening the cursor,
+ * not reading it.
+ * <p>
+ * Lookups, listings, search and full scans read from the {@code replica} persistence unit
+ * whenever {@link ReadReplicaRouting} allows it. Writes, and the name checks that guard
+ * them, always use the primary. A lookup by id or name the replica misses is retried on
+ * the primary, so a client reading a brand it just created finds it even before the
+ * replica has replayed the insert; listings and search may trail by up to
+ * {@code product-catalog.read-replica.max-lag}.
+ * <p>
+ * Brand is a plain JPA entity rather than a Panache one, as Panache entities cannot be
+ * attached to more than one persistence unit.
+ * <p>
+ * Brands are read without their descriptions, which live in {@code brand_description};
+ * {@link #findDescriptions} loads them for a page of brands in one query.
+ * <p>
+ * When brands are sharded (see {@link BrandShards}), lookups by id or name go to the shard
+ * of the id or name, and listings and search are scattered to every shard and their pages
+ * merged; the replica is not used. Writes, {@link #findExistingNames} and the
+ * {@code stream*} methods work on the shard the caller bound. Listings by name merge shards
+ * in {@link String#compareTo} order, which matches the keyset order of each shard when the
+ * shard databases use the {@code C} collation.
+ */
 @ApplicationScoped
-public interface BrandRepository extends PanacheRepository<Brand> {
-    
-}
\ No newline at end of file
+@Timed(value = "brand.repository.query", description = "Time spent in BrandRepository calls", histogram = true)
+public class BrandRepository implements BrandWriter {
+
+    /** PostgreSQL {@code unique_violation}. */
+    private static final String UNIQUE_VIOLATION = "23505";
+
+    /**
+     * Shortest search term pg_trgm extracts a trigram from; shorter terms would make the
+     * trigram index scan every entry.
+     */
+    public static final int MIN_TRIGRAM_TERM_LENGTH = 3;
+
+    private static final String BRAND_COLUMNS =
+            "b.id, b.name, b.website, b.logo_url, b.created_at, b.updated_at";
+
+    /**
+     * Full text match over the {@code search_vector}s of brands and descriptions, parsed
+     * both without stemming (names) and with English stemming (descriptions).
+     */
+    private static final String SEARCH_QUERY =
+            "websearch_to_tsquery('simple', :term) || websearch_to_tsquery('english', :term)";
+
+    private static final Comparator<Brand> BY_ID = Comparator.comparing(Brand::getId);
+
+    private static final Comparator<Brand> BY_NAME = Comparator.comparing(Brand::getName).thenComparing(BY_ID);
+
+    private static final Comparator<Brand> BY_LOWER_NAME = Comparator
+            .comparing((Brand brand) -> brand.getName().toLowerCase(Locale.ROOT))
+            .thenComparing(BY_ID);
+
+    private static final Comparator<RankedBrand> BY_RANK = Comparator
+            .comparing(RankedBrand::getRank, Comparator.reverseOrder())
+            .thenComparing(RankedBrand::getBrand, BY_ID);
+
+    private final EntityManager entityManager;
+    private final EntityManager replicaEntityManager;
+    private final ReadReplicaRouting routing;
+    private final BrandShards shards;
+
+    public BrandRepository(EntityManager entityManager,
+                           @PersistenceUnit(ReadReplicaRouting.REPLICA) EntityManager replicaEntityManager,
+                           ReadReplicaRouting routing,
+                           BrandShards shards) {
+        this.entityManager = entityManager;
+        this.replicaEntityManager = replicaEntityManager;
+        this.routing = routing;
+        this.shards = shards;
+    }
+
+    /**
+     * The primary persistence unit, which every write goes through. When sharded, its
+     * sessions open on the shard bound by {@link BrandShards#call}.
+     *
+     * @return the entity manager of the primary
+     */
+    public EntityManager getEntityManager() {
+        return entityManager;
+    }
+
+    /**
+     * Schedules the insert of a new brand on the primary.
+     *
+     * @param brand the brand to insert
+     */
+    @Override
+    public void persist(Brand brand) {
+        entityManager.persist(brand);
+    }
+
+    /**
+     * Schedules the insert of a brand's description on the primary, after its brand.
+     *
+     * @param description the description to insert
+     */
+    @Override
+    public void persist(BrandDescription description) {
+        entityManager.persist(description);
+    }
+
+    /**
+     * Flushes pending inserts to the primary.
+     */
+    @Override
+    public void flush() {
+        entityManager.flush();
+    }
+
+    /**
+     * @param id the brand id
+     * @return the brand, or empty if neither the replica nor the primary has it
+     */
+    public Optional<Brand> findByIdOptional(Long id) {
+        if (shards.isSharded()) {
+            return shards.onShard(shards.ofId(id), () -> Optional.ofNullable(entityManager.find(Brand.class, id)));
+        }
+        if (routing.useReplica()) {
+            Brand brand = replicaEntityManager.find(Brand.class, id);
+            if (brand != null) {
+                return Optional.of(brand);
+            }
+            routing.fellBackToPrimary();
+        }
+        return Optional.ofNullable(entityManager.find(Brand.class, id));
+    }
+
+    /**
+     * @param name the exact brand name
+     * @return the brand, or empty if neither the replica nor the primary has it
+     */
+    public Optional<Brand> findByName(String name) {
+        if (shards.isSharded()) {
+            for (int shard : nameShards(name)) {
+                Optional<Brand> brand = shards.onShard(shard, () -> findByName(entityManager, name));
+                if (brand.isPresent()) {
+                    return brand;
+                }
+            }
+            return Optional.empty();
+        }
+        if (routing.useReplica()) {
+            Optional<Brand> brand = findByName(replicaEntityManager, name);
+            if (brand.isPresent()) {
+                return brand;
+            }
+            routing.fellBackToPrimary();
+        }
+        return findByName(entityManager, name);
+    }
+
+    /**
+     * Returns which of the given names are already taken, using a single query. When
+     * sharded, the names must all belong to the bound shard, which is asked in the caller's
+     * transaction; the home shard is asked too if it may hold them from before shard-aware
+     * ids.
+     *
+     * @param names the candidate brand names
+     * @return the subset of names that already exist
+     */
+    public Set<String> findExistingNames(Collection<String> names) {
+        if (names.isEmpty()) {
+            return Set.of();
+        }
+        Set<String> existing = new HashSet<>(findExistingNames(entityManager, names));
+        if (shards.isSharded() && shards.mayHaveLegacyNames(shards.current())) {
+            existing.addAll(shards.onShard(BrandShards.HOME, () -> findExistingNames(entityManager, names)));
+        }
+        return existing;
+    }
+
+    /**
+     * Keyset page ordered by id: brands with an id greater than {@code afterId}.
+     *
+     * @param afterId last id of the previous page, or null for the first page
+     * @param limit maximum number of brands to return
+     * @return the page, ordered by id
+     */
+    public List<Brand> findPageById(Long afterId, int limit) {
+        if (shards.isSharded()) {
+            return merge(shards.onEveryShard(shard -> findPageById(entityManager, afterId, limit)), BY_ID, limit);
+        }
+        return findPageById(reader(), afterId, limit);
+    }
+
+    private static List<Brand> findPageById(EntityManager reader, Long afterId, int limit) {
+        if (afterId == null) {
+            return reader
+                    .createQuery("SELECT b FROM Brand b ORDER BY b.id", Brand.class)
+                    .setMaxResults(limit)
+                    .getResultList();
+        }
+        return reader
+                .createQuery("SELECT b FROM Brand b WHERE b.id > :afterId ORDER BY b.id", Brand.class)
+                .setParameter("afterId", afterId)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    /**
+     * Keyset page ordered by {@code (name, id)}: brands sorting after the given key.
+     * Served by the {@code idx_brand_name_id} index.
+     *
+     * @param afterName name of the last brand of the previous page, or null for the first page
+     * @param afterId id of the last brand of the previous page
+     * @param limit maximum number of brands to return
+     * @return the page, ordered by name then id
+     */
+    public List<Brand> findPageByName(String afterName, Long afterId, int limit) {
+        if (shards.isSharded()) {
+            return merge(shards.onEveryShard(shard -> findPageByName(entityManager, afterName, afterId, limit)),
+                    BY_NAME, limit);
+        }
+        return findPageByName(reader(), afterName, afterId, limit);
+    }
+
+    private static List<Brand> findPageByName(EntityManager reader, String afterName, Long afterId, int limit) {
+        if (afterName == null) {
+            return reader
+                    .createQuery("SELECT b FROM Brand b ORDER BY b.name, b.id", Brand.class)
+                    .setMaxResults(limit)
+                    .getResultList();
+        }
+        return reader
+                .createQuery("SELECT b FROM Brand b WHERE (b.name, b.id) > (:afterName, :afterId) "
+                        + "ORDER BY b.name, b.id", Brand.class)
+                .setParameter("afterName", afterName)
+                .setParameter("afterId", afterId)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    /**
+     * Streams every brand ordered by id through a server-side cursor; when sharded, every
+     * brand of the bound shard. Must be consumed inside a transaction. Each brand is
+     * detached as it is read, so the persistence context stays small however many brands
+     * exist.
+     *
+     * @param fetchSize rows fetched per round trip
+     * @return a stream that must be closed by the caller
+     */
+    public Stream<Brand> streamAllById(int fetchSize) {
+        EntityManager reader = reader();
+        return reader
+                .createQuery("SELECT b FROM Brand b ORDER BY b.id", Brand.class)
+                .setHint("org.hibernate.fetchSize", fetchSize)
+                .setHint("org.hibernate.readOnly", true)
+                .getResultStream()
+                .map(brand -> {
+                    reader.detach(brand);
+                    return brand;
+                });
+    }
+
+    /**
+     * Descriptions of the given brands in any of the given locales. Read like listings, so
+     * they may trail the primary by up to {@code product-catalog.read-replica.max-lag}.
+     *
+     * @param brandIds the brand ids
+     * @param locales the locales to read
+     * @return the descriptions found, in no particular order
+     */
+    public List<BrandDescription> findDescriptions(Collection<Long> brandIds, Collection<String> locales) {
+        if (brandIds.isEmpty() || locales.isEmpty()) {
+            return List.of();
+        }
+        if (shards.isSharded()) {
+            Map<Integer, List<Long>> idsByShard = brandIds.stream().collect(Collectors.groupingBy(shards::ofId));
+            return shards.onEveryShard(shard -> idsByShard.containsKey(shard)
+                            ? findDescriptions(entityManager, idsByShard.get(shard), locales)
+                            : List.<BrandDescription>of())
+                    .stream()
+                    .flatMap(List::stream)
+                    .toList();
+        }
+        return findDescriptions(reader(), brandIds, locales);
+    }
+
+    private static List<BrandDescription> findDescriptions(EntityManager reader, Collection<Long> brandIds,
+                                                           Collection<String> locales) {
+        return reader
+                .createQuery("SELECT d FROM BrandDescription d "
+                        + "WHERE d.id.brandId IN :brandIds AND d.id.locale IN :locales", BrandDescription.class)
+                .setParameter("brandIds", brandIds)
+                .setParameter("locales", locales)
+                .setHint("org.hibernate.readOnly", true)
+                .getResultList();
+    }
+
+    /**
+     * Ranked full text search page: brands whose name or description (in any locale)
+     * matches the term, or whose name contains it, ordered by rank then id. Matches are
+     * collected from the {@code idx_brand_search_vector}, {@code idx_brand_name_trgm} and
+     * {@code idx_brand_description_search_vector} GIN indexes; a brand ranks by its name
+     * plus its best matching description.
+     *
+     * @param term the search term, in web search syntax (quotes, {@code or}, {@code -})
+     * @param afterRank rank of the last brand of the previous page, or null for the first page
+     * @param afterId id of the last brand of the previous page
+     * @param limit maximum number of brands to return
+     * @return the page, best match first
+     */
+    public List<RankedBrand> search(String term, Float afterRank, Long afterId, int limit) {
+        if (shards.isSharded()) {
+            return merge(shards.onEveryShard(shard -> search(entityManager, term, afterRank, afterId, limit)),
+                    BY_RANK, limit);
+        }
+        return search(reader(), term, afterRank, afterId, limit);
+    }
+
+    private static List<RankedBrand> search(EntityManager reader, String term, Float afterRank, Long afterId,
+                                            int limit) {
+        boolean substring = term.length() >= MIN_TRIGRAM_TERM_LENGTH;
+        String sql = "WITH q AS (SELECT " + SEARCH_QUERY + " AS query), "
+                + "matches AS ("
+                + "SELECT b.id FROM brand b, q WHERE b.search_vector @@ q.query"
+                + (substring ? " OR b.name ILIKE :contains ESCAPE '\\'" : "")
+                + " UNION "
+                + "SELECT d.brand_id FROM brand_description d, q WHERE d.search_vector @@ q.query"
+                + ") "
+                + "SELECT * FROM ("
+                + "SELECT " + BRAND_COLUMNS + ", CAST(ts_rank(b.search_vector, q.query)"
+                + " + coalesce((SELECT max(ts_rank(d.search_vector, q.query)) FROM brand_description d"
+                + " WHERE d.brand_id = b.id AND d.search_vector @@ q.query), 0)"
+                + (substring ? " + similarity(b.name, :term)" : "") + " AS real) AS rank "
+                + "FROM matches m JOIN brand b ON b.id = m.id, q"
+                + ") hits "
+                + (afterRank != null
+                        ? "WHERE hits.rank < :afterRank OR (hits.rank = :afterRank AND hits.id > :afterId) "
+                        : "")
+                + "ORDER BY hits.rank DESC, hits.id "
+                + "LIMIT :limit";
+
+        Query query = reader.createNativeQuery(sql, Brand.RANKED_RESULT)
+                .setParameter("term", term)
+                .setParameter("limit", limit)
+                .setHint("org.hibernate.readOnly", true);
+        if (substring) {
+            query.setParameter("contains", "%" + escapeLike(term) + "%");
+        }
+        if (afterRank != null) {
+            query.setParameter("afterRank", afterRank).setParameter("afterId", afterId);
+        }
+        return rankedBrands(query);
+    }
+
+    /**
+     * Brands whose name starts with the prefix, ignoring case, in name order. A range scan
+     * of the {@code idx_brand_lower_name} index that stops after {@code limit} entries,
+     * however many names share the prefix.
+     *
+     * @param prefix the start of the name
+     * @param limit maximum number of brands to return
+     * @return the matching brands, ordered by lower-cased name then id
+     */
+    public List<Brand> findByNamePrefix(String prefix, int limit) {
+        if (shards.isSharded()) {
+            return merge(shards.onEveryShard(shard -> findByNamePrefix(entityManager, prefix, limit)), BY_LOWER_NAME, limit);
+        }
+        return findByNamePrefix(reader(), prefix, limit);
+    }
+
+    private static List<Brand> findByNamePrefix(EntityManager reader, String prefix, int limit) {
+        return reader
+                .createNativeQuery("SELECT " + BRAND_COLUMNS + " FROM brand b "
+                        + "WHERE lower(b.name) COLLATE \"C\" LIKE lower(:pattern) COLLATE \"C\" ESCAPE '\\' "
+                        + "ORDER BY lower(b.name) COLLATE \"C\", b.id "
+                        + "LIMIT :limit", Brand.class)
+                .setParameter("pattern", escapeLike(prefix) + "%")
+                .setParameter("limit", limit)
+                .setHint("org.hibernate.readOnly", true)
+                .getResultList();
+    }
+
+    /**
+     * Brands with a word in their name similar to the term ({@code term <% name}, see
+     * {@code pg_trgm.word_similarity_threshold}), most similar first. Served by the
+     * {@code idx_brand_name_trgm} index; the term should have at least
+     * {@link #MIN_TRIGRAM_TERM_LENGTH} characters.
+     *
+     * @param term the search term
+     * @param limit maximum number of brands to return
+     * @return the matching brands, most similar first
+     */
+    public List<Brand> findBySimilarName(String term, int limit) {
+        List<RankedBrand> similar = shards.isSharded()
+                ? merge(shards.onEveryShard(shard -> findBySimilarName(entityManager, term, limit)),
+                        BY_RANK.thenComparing(RankedBrand::getBrand, BY_NAME), limit)
+                : findBySimilarName(reader(), term, limit);
+        return similar.stream().map(RankedBrand::getBrand).toList();
+    }
+
+    /**
+     * Ranked by word similarity, so pages of several shards can be merged.
+     */
+    private static List<RankedBrand> findBySimilarName(EntityManager reader, String term, int limit) {
+        return rankedBrands(reader
+                .createNativeQuery("SELECT " + BRAND_COLUMNS + ", CAST(word_similarity(:term, b.name) AS real) AS rank "
+                        + "FROM brand b "
+                        + "WHERE :term <% b.name "
+                        + "ORDER BY rank DESC, b.name, b.id "
+                        + "LIMIT :limit", Brand.RANKED_RESULT)
+                .setParameter("term", term)
+                .setParameter("limit", limit)
+                .setHint("org.hibernate.readOnly", true));
+    }
+
+    /**
+     * Whether a brand with exactly this name exists, according to the primary, or the shard
+     * of the name.
+     *
+     * @param name the brand name
+     * @return true if the name is taken
+     */
+    @Override
+    public boolean existsByName(String name) {
+        if (shards.isSharded()) {
+            for (int shard : nameShards(name)) {
+                if (shards.onShard(shard, () -> existsByName(entityManager, name))) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        return existsByName(entityManager, name);
+    }
+
+    private static boolean existsByName(EntityManager reader, String name) {
+        return !reader
+                .createQuery("SELECT 1 FROM Brand b WHERE b.name = :name", Integer.class)
+                .setParameter("name", name)
+                .setMaxResults(1)
+                .getResultList()
+                .isEmpty();
+    }
+
+    /**
+     * Streams every brand name on the primary, or the bound shard, through a server-side
+     * cursor. Must be consumed inside a transaction.
+     *
+     * @param fetchSize rows fetched per round trip
+     * @return a stream that must be closed by the caller
+     */
+    public Stream<String> streamAllNames(int fetchSize) {
+        return entityManager
+                .createQuery("SELECT b.name FROM Brand b", String.class)
+                .setHint("org.hibernate.fetchSize", fetchSize)
+                .setHint("org.hibernate.readOnly", true)
+                .getResultStream();
+    }
+
+    /**
+     * Runs the work once bound to each shard, see {@link BrandShards#call}: a transaction
+     * streaming every brand, started by the work, then covers them all, shard by shard.
+     * Without sharding, runs it once.
+     *
+     * @param work the work, which must open its own transaction
+     */
+    public void forEachShard(Runnable work) {
+        for (int shard : shards.all()) {
+            shards.run(shard, work);
+        }
+    }
+
+    /**
+     * The persistence unit the next read goes to.
+     */
+    private EntityManager reader() {
+        return routing.useReplica() ? replicaEntityManager : entityManager;
+    }
+
+    /**
+     * The shards a brand with this name may be on: the shard of the name, then the home
+     * shard if it may hold the name from before shard-aware ids.
+     */
+    private List<Integer> nameShards(String name) {
+        int shard = shards.ofName(name);
+        return shards.mayHaveLegacyNames(shard) ? List.of(shard, BrandShards.HOME) : List.of(shard);
+    }
+
+    /**
+     * Merges the pages read from every shard into the first {@code limit} entries overall.
+     */
+    private static <T> List<T> merge(List<List<T>> pages, Comparator<? super T> order, int limit) {
+        List<T> merged = new ArrayList<>();
+        pages.forEach(merged::addAll);
+        merged.sort(order);
+        return merged.size() > limit ? List.copyOf(merged.subList(0, limit)) : merged;
+    }
+
+    private static Set<String> findExistingNames(EntityManager reader, Collection<String> names) {
+        return new HashSet<>(reader
+                .createQuery("SELECT b.name FROM Brand b WHERE b.name IN :names", String.class)
+                .setParameter("names", names)
+                .getResultList());
+    }
+
+    private static List<RankedBrand> rankedBrands(Query query) {
+        @SuppressWarnings("unchecked")
+        List<Object[]> rows = query.getResultList();
+        return rows.stream()
+                .map(row -> new RankedBrand((Brand) row[0], (Float) row[1]))
+                .toList();
+    }
+
+    private static Optional<Brand> findByName(EntityManager reader, String name) {
+        return reader
+                .createQuery("SELECT b FROM Brand b WHERE b.name = :name", Brand.class)
+                .setParameter("name", name)
+                .setMaxResults(1)
+                .getResultStream()
+                .findFirst();
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+    /**
+     * A search hit and its relevance, higher is better.
+     */
+    @Value
+    public static class RankedBrand {
+        Brand brand;
+        float rank;
+    }
+
+    /**
+     * Whether a failed write was rejected by a unique constraint. The only unique key a
+     * brand insert can break is the name, ids come from the sequence.
+     *
+     * @param e the exception raised by the flush or commit
+     * @return true for a unique violation
+     */
+    public static boolean isUniqueViolation(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException violation
+                    && UNIQUE_VIOLATION.equals(violation.getSQLState())) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.productcatalog.infrastructure.persistence;
+
+import com.example.productcatalog.domain.model.Brand;
+import com.example.productcatalog.domain.model.BrandDescription;
+
+/**
+ * Brand inserts, as done by {@link BrandRepository} on the primary, or on the bound shard
+ * when brands are sharded, and the name check that guards them where the unique constraint
+ * cannot.
+ */
+public interface BrandWriter {
+
+    /**
+     * Schedules the insert of a new brand.
+     *
+     * @param brand the brand to insert
+     */
+    void persist(Brand brand);
+
+    /**
+     * Schedules the insert of a brand's description, after its brand.
+     *
+     * @param description the description to insert
+     */
+    void persist(BrandDescription description);
+
+    /**
+     * Flushes pending inserts.
+     */
+    void flush();
+
+    /**
+     * Whether a brand with exactly this name exists, on the shard of the name or, for
+     * brands created before sharding, on the home shard.
+     *
+     * @param name the brand name
+     * @return true if the name is taken
+     */
+    boolean existsByName(String name);
+}
@@ -0,0 +1,41 @@
+package com.example.productcatalog.infrastructure.persistence;
+
+import io.quarkus.hibernate.orm.panache.PanacheEntityBase;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+import java.time.Instant;
+
+/**
+ * How far the change data capture of a replication slot got, written in the same
+ * transaction as the events it published.
+ * <p>
+ * {@code flushedLsn} is the end of the last transaction whose changes were all published:
+ * streaming resumes there. A batch may also end inside a transaction; its commit LSN and
+ * the number of its changes already published are kept in {@code txLsn} and
+ * {@code txChanges}, so those changes are skipped when it is streamed again.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Entity
+@Table(name = "cdc_checkpoint")
+public class CdcCheckpoint extends PanacheEntityBase {
+
+    @Id
+    private String slotName;
+
+    private long flushedLsn;
+    private Long txLsn;
+    private int txChanges;
+    private Instant updatedAt;
+}
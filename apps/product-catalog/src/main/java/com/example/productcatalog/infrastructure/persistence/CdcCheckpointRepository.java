@@ -0,0 +1,8 @@
+package com.example.productcatalog.infrastructure.persistence;
+
+import io.quarkus.hibernate.orm.panache.PanacheRepositoryBase;
+import jakarta.enterprise.context.ApplicationScoped;
+
+@ApplicationScoped
+public class CdcCheckpointRepository implements PanacheRepositoryBase<CdcCheckpoint, String> {
+}
@@ -0,0 +1,38 @@
+package com.example.productcatalog.infrastructure.persistence;
+
+import io.quarkus.hibernate.orm.panache.PanacheEntityBase;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+import java.time.Instant;
+
+/**
+ * The stored response of a request sent with an {@code Idempotency-Key}.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Entity
+@Table(name = "idempotency_key")
+public class IdempotencyRecord extends PanacheEntityBase {
+
+    @Id
+    @Column(name = "idempotency_key")
+    private String key;
+
+    private String requestFingerprint;
+    private int statusCode;
+    private String responseBody;
+    private Instant createdAt;
+    private Instant expiresAt;
+}
@@ -0,0 +1,43 @@
+package com.example.productcatalog.infrastructure.persistence;
+
+import io.quarkus.hibernate.orm.panache.PanacheRepositoryBase;
+import jakarta.enterprise.context.ApplicationScoped;
+
+import java.time.Instant;
+import java.util.Optional;
+
+@ApplicationScoped
+public class IdempotencyRecordRepository implements PanacheRepositoryBase<IdempotencyRecord, String> {
+
+    /**
+     * Finds the record of a key that has not expired yet.
+     *
+     * @param key the idempotency key
+     * @param now the current time
+     * @return the record, or empty if the key is unknown or expired
+     */
+    public Optional<IdempotencyRecord> findActive(String key, Instant now) {
+        return find("key = ?1 AND expiresAt > ?2", key, now).firstResultOptional();
+    }
+
+    /**
+     * Removes all expired records.
+     *
+     * @param now the current time
+     * @return number of removed records
+     */
+    public long deleteExpired(Instant now) {
+        return delete("expiresAt <= ?1", now);
+    }
+
+    /**
+     * Removes the record of a key if it has expired, so the key can be stored again.
+     *
+     * @param key the idempotency key
+     * @param now the current time
+     * @return number of removed records
+     */
+    public long deleteExpired(String key, Instant now) {
+        return delete("key = ?1 AND expiresAt <= ?2", key, now);
+    }
+}
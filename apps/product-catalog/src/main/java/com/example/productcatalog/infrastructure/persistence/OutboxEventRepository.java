@@ -0,0 +1,77 @@
+package com.example.productcatalog.infrastructure.persistence;
+
+import io.quarkus.hibernate.orm.panache.PanacheRepository;
+import jakarta.enterprise.context.ApplicationScoped;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@ApplicationScoped
+public class OutboxEventRepository implements PanacheRepository<OutboxEvent> {
+
+    /**
+     * Claims the oldest pending events for relaying, until {@code claimedUntil}. Events
+     * claimed by another relay instance, unless its claim expired, and rows it is claiming
+     * right now are skipped, so several replicas can drain the outbox in parallel. Must be
+     * called inside a transaction; the claim holds once it commits.
+     *
+     * @param limit maximum number of events to claim
+     * @param now the current time
+     * @param claimedUntil end of the claim
+     * @return the claimed events, oldest first
+     */
+    @SuppressWarnings("unchecked")
+    public List<OutboxEvent> claimNextBatch(int limit, Instant now, Instant claimedUntil) {
+        List<OutboxEvent> batch = getEntityManager()
+                .createNativeQuery("""
+                        SELECT * FROM outbox_event
+                        WHERE claimed_until IS NULL OR claimed_until <= :now
+                        ORDER BY id
+                        LIMIT :limit
+                        FOR UPDATE SKIP LOCKED
+                        """, OutboxEvent.class)
+                .setParameter("now", now)
+                .setParameter("limit", limit)
+                .getResultList();
+        if (!batch.isEmpty()) {
+            update("claimedUntil = ?1 where id in ?2", claimedUntil, batch.stream().map(OutboxEvent::getId).toList());
+        }
+        return batch;
+    }
+
+    /**
+     * Gives up the claim on events that could not be relayed, so the next run retries them
+     * without waiting for the claim to expire.
+     *
+     * @param ids ids of the events to release
+     * @return number of released events
+     */
+    public long release(Collection<Long> ids) {
+        return update("claimedUntil = null where id in ?1", ids);
+    }
+
+    /**
+     * Removes relayed events.
+     *
+     * @param ids ids of the events to remove
+     * @return number of removed events
+     */
+    public long deleteByIds(Collection<Long> ids) {
+        return delete("id IN ?1", ids);
+    }
+
+    /**
+     * Creation time of the oldest pending event, used to report the outbox lag.
+     *
+     * @return the oldest creation time, or empty if the outbox is drained
+     */
+    public Optional<Instant> oldestCreatedAt() {
+        return getEntityManager()
+                .createQuery("SELECT e.createdAt FROM OutboxEvent e ORDER BY e.id", Instant.class)
+                .setMaxResults(1)
+                .getResultStream()
+                .findFirst();
+    }
+}
@@ -0,0 +1,133 @@
+package com.example.productcatalog.infrastructure.persistence;
+
+import com.example.productcatalog.infrastructure.config.ProductCatalogConfig;
+import io.agroal.api.AgroalDataSource;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.quarkus.agroal.DataSource;
+import io.quarkus.scheduler.Scheduled;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import lombok.extern.slf4j.Slf4j;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Decides whether brand reads may go to the {@code replica} datasource, a PostgreSQL
+ * streaming replica of the primary.
+ * <p>
+ * The replica's replay lag is measured every
+ * {@code product-catalog.read-replica.lag-check-interval}: zero when it is not a standby at
+ * all (e.g. when it points at the primary), or when it has replayed all the WAL it received
+ * and its WAL receiver is streaming and heard from the primary within
+ * {@code wal_receiver_timeout}; the age of that last message if it is older; otherwise the
+ * age of the last transaction it replayed. A standby without a streaming WAL receiver has
+ * no known lag: having replayed everything it received says nothing once it stops
+ * receiving. Reading the receiver's state takes {@code pg_read_all_stats} (or a superuser)
+ * on the replica; without it the state reads as unknown. Reads use the replica only while
+ * the last measurement succeeded and is within {@code max-lag}; before the first one, and
+ * while the replica is unreachable, disconnected or behind, they go to the primary.
+ * <p>
+ * Instrumented with {@code db.replica.lag} (seconds, NaN while unknown) and
+ * {@code brand.repository.reads}, tagged with the {@code target} the read went to;
+ * {@code primary-fallback} counts lookups the replica missed and the primary answered.
+ */
+@Slf4j
+@ApplicationScoped
+public class ReadReplicaRouting {
+
+    /** Name of the read-only datasource and of its persistence unit. */
+    public static final String REPLICA = "replica";
+
+    private static final String LAG_QUERY = "SELECT CASE "
+            + "WHEN NOT pg_is_in_recovery() THEN 0 "
+            + "WHEN receiver.status IS DISTINCT FROM 'streaming' THEN NULL "
+            + "WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN CASE "
+            + "WHEN now() - receiver.last_msg_receipt_time <= current_setting('wal_receiver_timeout')::interval THEN 0 "
+            + "ELSE EXTRACT(EPOCH FROM now() - receiver.last_msg_receipt_time) END "
+            + "ELSE EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) END "
+            + "FROM (SELECT 1) AS one LEFT JOIN pg_stat_wal_receiver AS receiver ON true";
+
+    private final ProductCatalogConfig.ReadReplica settings;
+    private final AgroalDataSource replica;
+    private final double maxLagSeconds;
+    private final Counter replicaReads;
+    private final Counter primaryReads;
+    private final Counter fallbackReads;
+    private volatile double lagSeconds = Double.NaN;
+    private volatile boolean usable;
+
+    @Inject
+    public ReadReplicaRouting(ProductCatalogConfig config,
+                              @DataSource(REPLICA) AgroalDataSource replica,
+                              MeterRegistry registry) {
+        this.settings = config.readReplica();
+        this.replica = replica;
+        this.maxLagSeconds = settings.maxLag().toMillis() / 1000.0;
+        this.replicaReads = readCounter(registry, "replica");
+        this.primaryReads = readCounter(registry, "primary");
+        this.fallbackReads = readCounter(registry, "primary-fallback");
+        registry.gauge("db.replica.lag", this, routing -> routing.lagSeconds);
+    }
+
+    /**
+     * Picks the datasource of the next read and counts it.
+     *
+     * @return true if the read should go to the replica
+     */
+    public boolean useReplica() {
+        boolean toReplica = usable;
+        (toReplica ? replicaReads : primaryReads).increment();
+        return toReplica;
+    }
+
+    /**
+     * Counts a lookup the replica could not answer, retried on the primary.
+     */
+    public void fellBackToPrimary() {
+        fallbackReads.increment();
+    }
+
+    @Scheduled(every = "${product-catalog.read-replica.lag-check-interval}",
+            concurrentExecution = Scheduled.ConcurrentExecution.SKIP)
+    void checkLag() {
+        if (!settings.enabled()) {
+            return;
+        }
+        double lag = Double.NaN;
+        try (Connection connection = replica.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet result = statement.executeQuery(LAG_QUERY)) {
+            if (result.next()) {
+                lag = result.getDouble(1);
+                if (result.wasNull()) {
+                    // Not streaming from the primary, or nothing replayed yet
+                    lag = Double.NaN;
+                }
+            }
+        } catch (SQLException e) {
+            if (usable) {
+                log.warn("Replica lag check failed, reading brands from the primary: {}", e.getMessage());
+            }
+        }
+        lagSeconds = lag;
+        // NaN compares false: an unknown lag is never within bounds
+        boolean withinBounds = lag <= maxLagSeconds;
+        if (withinBounds != usable) {
+            log.info(withinBounds
+                    ? "Reading brands from the replica (lag {} s)"
+                    : "Reading brands from the primary (replica lag {} s)", lag);
+        }
+        usable = withinBounds;
+    }
+
+    private static Counter readCounter(MeterRegistry registry, String target) {
+        return Counter.builder("brand.repository.reads")
+                .description("Brand reads, by the datasource that served them")
+                .tag("target", target)
+                .register(registry);
+    }
+}
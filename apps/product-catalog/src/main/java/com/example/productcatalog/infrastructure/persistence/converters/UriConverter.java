@@ -0,0 +1,23 @@
+package com.example.productcatalog.infrastructure.persistence.converters;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+import java.net.URI;
+
+/**
+ * Stores {@link URI} attributes as plain varchar columns.
+ */
+@Converter(autoApply = true)
+public class UriConverter implements AttributeConverter<URI, String> {
+
+    @Override
+    public String convertToDatabaseColumn(URI uri) {
+        return uri != null ? uri.toString() : null;
+    }
+
+    @Override
+    public URI convertToEntityAttribute(String value) {
+        return value != null ? URI.create(value) : null;
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.productcatalog.infrastructure.sharding;
+
+/**
+ * Shard-aware brand ids.
+ * <p>
+ * A brand belongs to one of {@value #LOGICAL_SHARDS} logical shards, picked by hashing its
+ * name, and its id carries that logical shard in the low {@value #LOGICAL_SHARD_BITS} bits:
+ * {@code id = sequenceValue * LOGICAL_SHARDS + logicalShard}. Lookups by id and by name
+ * therefore both know where the brand lives without a directory, and two brands with the
+ * same name always meet in the same database, where the unique constraint on {@code name}
+ * holds them apart.
+ * <p>
+ * Logical shards map to physical ones, the databases, by range: with {@code n} databases,
+ * database {@code i} holds logical shards {@code [i * 1024 / n, (i + 1) * 1024 / n)}.
+ * Doubling the databases splits every range in two, so each new database is seeded from
+ * a single existing one.
+ * <p>
+ * Ids stay unique across databases as long as a logical shard only ever draws from one
+ * {@code brand_id_seq}: when a logical shard moves, restart the sequence of its new
+ * database above the one of its old database.
+ */
+public final class BrandShardKey {
+
+    /** Number of logical shards, the most databases brands can be spread over. */
+    public static final int LOGICAL_SHARDS = 1024;
+
+    private static final int LOGICAL_SHARD_BITS = 10;
+
+    private BrandShardKey() {
+        // Private constructor to prevent instantiation
+    }
+
+    /**
+     * @param name the exact brand name
+     * @return the logical shard of brands with this name
+     */
+    public static int ofName(String name) {
+        return mix(name.hashCode()) & (LOGICAL_SHARDS - 1);
+    }
+
+    /**
+     * @param id a shard-aware brand id
+     * @return the logical shard the id was generated for
+     */
+    public static int ofId(long id) {
+        return (int) (id & (LOGICAL_SHARDS - 1));
+    }
+
+    /**
+     * @param sequenceValue a value of the {@code brand_id_seq} of the brand's database
+     * @param logicalShard the logical shard of the brand
+     * @return the brand id
+     */
+    public static long compose(long sequenceValue, int logicalShard) {
+        return (sequenceValue << LOGICAL_SHARD_BITS) | logicalShard;
+    }
+
+    /**
+     * @param logicalShard a logical shard
+     * @param physicalShards the number of databases
+     * @return the index of the database holding the logical shard
+     */
+    public static int physical(int logicalShard, int physicalShards) {
+        return logicalShard * physicalShards / LOGICAL_SHARDS;
+    }
+
+    /**
+     * Murmur3 finalizer: {@link String#hashCode()} is stable across JVMs, but its low bits
+     * are poorly spread for names differing only in their last characters.
+     */
+    private static int mix(int hash) {
+        hash ^= hash >>> 16;
+        hash *= 0x85ebca6b;
+        hash ^= hash >>> 13;
+        hash *= 0xc2b2ae35;
+        hash ^= hash >>> 16;
+        return hash;
+    }
+}
@@ -0,0 +1,271 @@
+package com.example.productcatalog.infrastructure.sharding;
+
+import com.example.productcatalog.infrastructure.config.ProductCatalogConfig;
+import io.quarkus.arc.Arc;
+import io.quarkus.arc.ManagedContext;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.runtime.ShutdownEvent;
+import io.quarkus.runtime.StartupEvent;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Session;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+/**
+ * Routes brand storage to the databases listed in {@code product-catalog.sharding.datasources}.
+ * <p>
+ * Brands live in the shard of their id, see {@link BrandShardKey}; new brands in the shard of
+ * their name, which their id then points to. Each shard has the full schema, migrated by its
+ * own Liquibase datasource, and keeps the outbox events and logo ingestions of its brands.
+ * <p>
+ * With more than one shard the primary persistence unit is multi-tenant by database (the
+ * {@code sharded} Maven profile, run with the {@code sharded} config profile that defines the
+ * shard datasources), one tenant per shard datasource. {@link #call} binds a
+ * shard to the current thread and {@link ShardTenantResolver} hands it to Hibernate when a
+ * session opens; sessions open with their transaction, so work bound to a shard must start
+ * its own, as {@link #onShard} does unless it is already in one on that shard. Anything not
+ * bound goes to the home shard. With a single shard, {@link #call} and {@link #onShard}
+ * just run the work, in the caller's transaction if any.
+ * <p>
+ * The read replica and the {@code cdc} event source follow a single database, so sharding
+ * refuses to start with either.
+ */
+@Slf4j
+@ApplicationScoped
+public class BrandShards {
+
+    /** Shard of everything not sharded, and of brands created before ids were shard-aware. */
+    public static final int HOME = 0;
+
+    private static final ThreadLocal<Integer> CURRENT = new ThreadLocal<>();
+
+    private final List<String> datasources;
+    private final long legacyIdCeiling;
+    private final ExecutorService scatter;
+
+    public BrandShards(ProductCatalogConfig config) {
+        this.datasources = List.copyOf(config.sharding().datasources());
+        this.legacyIdCeiling = config.sharding().legacyIdCeiling();
+        if (datasources.size() > BrandShardKey.LOGICAL_SHARDS) {
+            throw new IllegalStateException("At most " + BrandShardKey.LOGICAL_SHARDS + " brand shards are supported");
+        }
+        if (isSharded() && config.readReplica().enabled()) {
+            throw new IllegalStateException("The read replica cannot be enabled with sharded brands");
+        }
+        if (isSharded() && config.events().source() == ProductCatalogConfig.Events.Source.CDC) {
+            throw new IllegalStateException("The cdc event source cannot be used with sharded brands");
+        }
+        this.scatter = isSharded() ? Executors.newVirtualThreadPerTaskExecutor() : null;
+        if (isSharded()) {
+            log.info("Brands sharded across {}", datasources);
+        }
+    }
+
+    /**
+     * @return the number of shards
+     */
+    public int count() {
+        return datasources.size();
+    }
+
+    /**
+     * @return whether brands are spread over more than one database
+     */
+    public boolean isSharded() {
+        return datasources.size() > 1;
+    }
+
+    /**
+     * @return the index of every shard, home first
+     */
+    public List<Integer> all() {
+        return IntStream.range(0, count()).boxed().toList();
+    }
+
+    /**
+     * @param id a brand id
+     * @return the shard holding the brand
+     */
+    public int ofId(long id) {
+        if (!isSharded() || id < legacyIdCeiling) {
+            return HOME;
+        }
+        return BrandShardKey.physical(BrandShardKey.ofId(id), count());
+    }
+
+    /**
+     * @param name the exact brand name
+     * @return the shard a brand with this name is created in
+     */
+    public int ofName(String name) {
+        if (!isSharded()) {
+            return HOME;
+        }
+        return BrandShardKey.physical(BrandShardKey.ofName(name), count());
+    }
+
+    /**
+     * Whether a brand with a name of the given shard may also be on the home shard, as it
+     * predates shard-aware ids.
+     *
+     * @param shard the shard of the name
+     * @return true if name lookups and checks must also ask the home shard
+     */
+    public boolean mayHaveLegacyNames(int shard) {
+        return shard != HOME && legacyIdCeiling > 0;
+    }
+
+    /**
+     * @return the shard bound to the current thread, the home shard if none
+     */
+    public int current() {
+        Integer shard = CURRENT.get();
+        return shard != null ? shard : HOME;
+    }
+
+    /**
+     * @return the datasource of {@link #current()}
+     */
+    String currentDatasource() {
+        return datasources.get(current());
+    }
+
+    /**
+     * @return the datasource of the home shard
+     */
+    String homeDatasource() {
+        return datasources.get(HOME);
+    }
+
+    /**
+     * Binds a shard to the current thread for the duration of the work, when sharded. The
+     * work must open its own transaction; the request context Hibernate resolves tenants in
+     * is activated if it is not.
+     *
+     * @param shard the shard
+     * @param work the work, e.g. a {@code QuarkusTransaction} or a {@code @Transactional} call
+     * @param <T> the result type
+     * @return the result of the work
+     */
+    public <T> T call(int shard, Supplier<T> work) {
+        if (!isSharded()) {
+            return work.get();
+        }
+        Integer previous = CURRENT.get();
+        ManagedContext requestContext = Arc.container().requestContext();
+        boolean activated = !requestContext.isActive();
+        if (activated) {
+            requestContext.activate();
+        }
+        CURRENT.set(shard);
+        try {
+            return work.get();
+        } finally {
+            if (previous != null) {
+                CURRENT.set(previous);
+            } else {
+                CURRENT.remove();
+            }
+            if (activated) {
+                requestContext.terminate();
+            }
+        }
+    }
+
+    /**
+     * @see #call(int, Supplier)
+     */
+    public void run(int shard, Runnable work) {
+        call(shard, () -> {
+            work.run();
+            return null;
+        });
+    }
+
+    /**
+     * Runs work against a shard. When sharded, in a transaction of its own, so entities it
+     * reads are detached when it returns, unless the caller's transaction was started
+     * within {@link #call} for the same shard: the work then joins it, as it does the
+     * caller's transaction, if any, when not sharded.
+     *
+     * @param shard the shard
+     * @param work the work
+     * @param <T> the result type
+     * @return the result of the work
+     */
+    public <T> T onShard(int shard, Supplier<T> work) {
+        if (!isSharded()) {
+            return work.get();
+        }
+        Integer bound = CURRENT.get();
+        if (bound != null && bound == shard && QuarkusTransaction.isActive()) {
+            return work.get();
+        }
+        return call(shard, () -> QuarkusTransaction.requiringNew().call(work::get));
+    }
+
+    /**
+     * Runs work against every shard as {@link #onShard} does, in parallel when sharded.
+     *
+     * @param work the work, given the shard
+     * @param <T> the result type
+     * @return the result of every shard, home first
+     */
+    public <T> List<T> onEveryShard(IntFunction<T> work) {
+        if (!isSharded()) {
+            return List.of(work.apply(HOME));
+        }
+        List<CompletableFuture<T>> runs = new ArrayList<>(count());
+        for (int shard = 0; shard < count(); shard++) {
+            int target = shard;
+            runs.add(CompletableFuture.supplyAsync(() -> onShard(target, () -> work.apply(target)), scatter));
+        }
+        List<T> results = new ArrayList<>(count());
+        for (CompletableFuture<T> run : runs) {
+            try {
+                results.add(run.join());
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException cause) {
+                    throw cause;
+                }
+                throw e;
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Fails the start if sessions do not open on the bound shard, i.e. when the application
+     * was not built with the {@code sharded} Maven profile: every shard would then be the
+     * default datasource.
+     */
+    void onStart(@Observes StartupEvent event, EntityManager entityManager) {
+        if (!isSharded()) {
+            return;
+        }
+        for (int shard : all()) {
+            String tenant = onShard(shard, () -> entityManager.unwrap(Session.class).getTenantIdentifier());
+            if (!datasources.get(shard).equals(tenant)) {
+                throw new IllegalStateException("Brand shard " + datasources.get(shard)
+                        + " is not a tenant of the persistence unit, build with the sharded Maven profile");
+            }
+        }
+    }
+
+    void onStop(@Observes ShutdownEvent event) {
+        if (scatter != null) {
+            scatter.shutdownNow();
+        }
+    }
+}
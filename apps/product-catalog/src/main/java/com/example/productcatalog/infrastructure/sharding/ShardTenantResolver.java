@@ -0,0 +1,29 @@
+package com.example.productcatalog.infrastructure.sharding;
+
+import io.quarkus.hibernate.orm.PersistenceUnitExtension;
+import io.quarkus.hibernate.orm.runtime.tenant.TenantResolver;
+import jakarta.enterprise.context.ApplicationScoped;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Opens sessions of the primary persistence unit on the datasource of the shard bound by
+ * {@link BrandShards#call}. Only consulted when the unit is multi-tenant, i.e. when built
+ * with the {@code sharded} Maven profile.
+ */
+@PersistenceUnitExtension
+@ApplicationScoped
+@RequiredArgsConstructor
+public class ShardTenantResolver implements TenantResolver {
+
+    private final BrandShards shards;
+
+    @Override
+    public String getDefaultTenantId() {
+        return shards.homeDatasource();
+    }
+
+    @Override
+    public String resolveTenantId() {
+        return shards.currentDatasource();
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.productcatalog.infrastructure.sharding;
+
+import com.example.productcatalog.domain.model.Brand;
+import org.eclipse.microprofile.config.ConfigProvider;
+import org.hibernate.MappingException;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.hibernate.service.ServiceRegistry;
+import org.hibernate.type.Type;
+
+import java.util.List;
+import java.util.Properties;
+
+/**
+ * Brand ids from the {@code brand_id_seq} of the brand's database, tagged with the logical
+ * shard of the brand's name, see {@link BrandShardKey}. Sequence values are still pooled,
+ * so inserts keep being batched.
+ * <p>
+ * Unless {@code product-catalog.sharding.datasources} lists more than one database, ids are
+ * the plain sequence values. When sharding is turned on later, the ids composed from then on
+ * are above every plain one, and {@code product-catalog.sharding.legacy-id-ceiling} sends the
+ * plain ones to the home shard.
+ */
+public class ShardedIdGenerator extends SequenceStyleGenerator {
+
+    private static final String DATASOURCES = "product-catalog.sharding.datasources";
+
+    private boolean sharded;
+
+    @Override
+    public void configure(Type type, Properties parameters, ServiceRegistry serviceRegistry) throws MappingException {
+        super.configure(type, parameters, serviceRegistry);
+        sharded = ConfigProvider.getConfig().getOptionalValues(DATASOURCES, String.class).map(List::size).orElse(1) > 1;
+    }
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object object) {
+        long sequenceValue = ((Number) super.generate(session, object)).longValue();
+        if (!sharded) {
+            return sequenceValue;
+        }
+        Brand brand = (Brand) object;
+        return BrandShardKey.compose(sequenceValue, BrandShardKey.ofName(brand.getName()));
+    }
+
+    /**
+     * Bulk {@code INSERT ... SELECT} statements would take plain sequence values, without
+     * the shard.
+     */
+    @Override
+    public boolean supportsBulkInsertionIdentifierGeneration() {
+        return false;
+    }
+}
@@ -0,0 +1,110 @@
+package com.example.productcatalog.adapters.cache;
+
+import com.example.productcatalog.test.containers.PostgresTestContainer;
+import io.quarkus.test.common.QuarkusTestResource;
+import io.quarkus.test.common.QuarkusTestResourceLifecycleManager;
+import io.quarkus.test.junit.QuarkusIntegrationTest;
+import io.restassured.http.ContentType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.*;
+
+@QuarkusIntegrationTest
+@QuarkusTestResource(PostgresTestContainer.class)
+@QuarkusTestResource(value = BrandSnapshotIT.SnapshotEnabled.class, restrictToAnnotatedClass = true)
+public class BrandSnapshotIT {
+
+    private static final Pattern SNAPSHOT_LOADED = Pattern.compile("brand_snapshot_load_seconds_count(\\{[^}]*})? [1-9]");
+
+    /**
+     * Serves lookups from the snapshot, loaded once at startup: brands created afterwards
+     * are only in it once their event is consumed.
+     */
+    public static class SnapshotEnabled implements QuarkusTestResourceLifecycleManager {
+
+        @Override
+        public Map<String, String> start() {
+            return Map.of(
+                    "product-catalog.brands.snapshot.enabled", "true",
+                    "product-catalog.brands.snapshot.reload-interval", "1h");
+        }
+
+        @Override
+        public void stop() {
+            // Nothing to stop
+        }
+    }
+
+    @Test
+    @DisplayName("Should find a brand created after the snapshot was loaded, by id and by name, before its event")
+    void shouldFindBrandMissingFromSnapshot() {
+        // Given
+        awaitSnapshotLoaded();
+        given()
+                .queryParam("name", "Post Snapshot Brand")
+                .when()
+                .get("/brands")
+                .then()
+                .statusCode(200)
+                .body("items", empty());
+
+        // When
+        Integer brandId = given()
+                .contentType(ContentType.JSON)
+                .body("""
+                    {"name": "Post Snapshot Brand", "website": "https://post-snapshot.example.com", "logoUrl": "logo.png"}
+                    """)
+                .when()
+                .post("/brands")
+                .then()
+                .statusCode(201)
+                .extract()
+                .path("id");
+
+        // Then
+        given()
+                .when()
+                .get("/brands/{id}", brandId)
+                .then()
+                .statusCode(200)
+                .body("name", equalTo("Post Snapshot Brand"));
+        given()
+                .queryParam("name", "Post Snapshot Brand")
+                .when()
+                .get("/brands")
+                .then()
+                .statusCode(200)
+                .body("items", hasSize(1))
+                .body("items[0].id", equalTo(brandId));
+        given()
+                .when()
+                .get("/brands/{id}", Long.MAX_VALUE)
+                .then()
+                .statusCode(404);
+    }
+
+    /**
+     * The snapshot serves once its first load is timed in {@code brand.snapshot.load}.
+     */
+    private static void awaitSnapshotLoaded() {
+        Instant deadline = Instant.now().plus(Duration.ofSeconds(30));
+        while (!SNAPSHOT_LOADED.matcher(given().when().get("/q/metrics").asString()).find()) {
+            if (Instant.now().isAfter(deadline)) {
+                throw new AssertionError("The brand snapshot was not loaded");
+            }
+            try {
+                Thread.sleep(200);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new AssertionError(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package com.example.productcatalog.adapters.cdc;
+
+import com.example.productcatalog.test.containers.PostgresTestContainer;
+import io.quarkus.test.common.QuarkusTestResource;
+import io.quarkus.test.common.QuarkusTestResourceLifecycleManager;
+import io.quarkus.test.junit.QuarkusIntegrationTest;
+import io.restassured.http.ContentType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static io.restassured.RestAssured.given;
+import static org.junit.jupiter.api.Assertions.*;
+
+@QuarkusIntegrationTest
+@QuarkusTestResource(PostgresTestContainer.class)
+@QuarkusTestResource(value = BrandChangeCaptureIT.CdcEventSource.class, restrictToAnnotatedClass = true)
+public class BrandChangeCaptureIT {
+
+    private static final int BULKS = 4;
+    private static final int BRANDS_PER_BULK = 25;
+    /** Long enough for the capture to reconnect and replay, had it anything left to. */
+    private static final Duration SETTLE = Duration.ofSeconds(2);
+
+    /**
+     * Events from the WAL, published a few at a time so batches end mid-transaction, and a
+     * quick reconnection when the stream is lost. The outbox relay stays off: the events
+     * are read from {@code outbox_event}.
+     */
+    public static class CdcEventSource implements QuarkusTestResourceLifecycleManager {
+
+        @Override
+        public Map<String, String> start() {
+            return Map.of(
+                    "product-catalog.events.source", "cdc",
+                    "product-catalog.events.cdc.batch-size", "7",
+                    "product-catalog.events.cdc.max-batch-delay", "20ms",
+                    "product-catalog.events.cdc.retry-delay", "200ms");
+        }
+
+        @Override
+        public void stop() {
+            // Nothing to stop
+        }
+    }
+
+    @Test
+    @DisplayName("Should publish one event per inserted brand while the replication stream keeps being lost")
+    void shouldPublishEachChangeOnceAcrossReconnections() throws SQLException, InterruptedException {
+        // Given
+        List<Integer> brandIds = new ArrayList<>();
+
+        // When - every bulk is one transaction; the stream is cut while it is captured
+        for (int bulk = 0; bulk < BULKS; bulk++) {
+            brandIds.addAll(createBrands(bulk));
+            Thread.sleep(30);
+            terminateReplicationStreams();
+        }
+
+        // Then
+        awaitEvents(brandIds, Duration.ofSeconds(60));
+        Thread.sleep(SETTLE.toMillis());
+        Map<String, Integer> events = countEvents(brandIds);
+        assertEquals(brandIds.size(), events.size(), "Brands without an event");
+        events.forEach((brandId, count) -> assertEquals(1, count, "Events of brand " + brandId));
+    }
+
+    private static List<Integer> createBrands(int bulk) {
+        String items = IntStream.range(0, BRANDS_PER_BULK)
+                .mapToObj(i -> String.format(
+                        "{\"name\": \"Captured Brand %d-%d\", \"website\": \"https://captured.example.com\", \"logoUrl\": \"logo.png\"}",
+                        bulk, i))
+                .collect(Collectors.joining(","));
+        return given()
+                .contentType(ContentType.JSON)
+                .body("{\"items\": [" + items + "]}")
+                .when()
+                .post("/brands/bulk")
+                .then()
+                .statusCode(200)
+                .extract()
+                .path("results.brand.id");
+    }
+
+    /**
+     * Drops the replication connection of the capture, as a network failure or a restart
+     * of the database would. It reconnects after its retry delay.
+     */
+    private static void terminateReplicationStreams() throws SQLException {
+        try (Connection connection = PostgresTestContainer.openConnection();
+             PreparedStatement statement = connection.prepareStatement(
+                     "SELECT pg_terminate_backend(pid) FROM pg_stat_replication")) {
+            statement.executeQuery().close();
+        }
+    }
+
+    private static void awaitEvents(List<Integer> brandIds, Duration timeout)
+            throws SQLException, InterruptedException {
+        Instant deadline = Instant.now().plus(timeout);
+        while (countEvents(brandIds).size() < brandIds.size() && Instant.now().isBefore(deadline)) {
+            Thread.sleep(200);
+        }
+    }
+
+    /**
+     * @return the number of {@code BrandCreated} events of each brand that has one
+     */
+    private static Map<String, Integer> countEvents(List<Integer> brandIds) throws SQLException {
+        try (Connection connection = PostgresTestContainer.openConnection();
+             PreparedStatement statement = connection.prepareStatement(
+                     "SELECT aggregate_id, count(*) FROM outbox_event "
+                             + "WHERE event_type = 'BrandCreated' AND aggregate_id = ANY (?) GROUP BY aggregate_id")) {
+            statement.setArray(1, connection.createArrayOf("text",
+                    brandIds.stream().map(String::valueOf).toArray()));
+            Map<String, Integer> counts = new HashMap<>();
+            try (ResultSet result = statement.executeQuery()) {
+                while (result.next()) {
+                    counts.put(result.getString(1), result.getInt(2));
+                }
+            }
+            return counts;
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.productcatalog.adapters.concurrency;
+
+import com.example.productcatalog.infrastructure.concurrency.AdaptiveLimiter;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AdaptiveLimiterTest {
+
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos(2);
+    private static final long SLOW = TimeUnit.MILLISECONDS.toNanos(20);
+
+    @Test
+    @DisplayName("Should refuse calls beyond the limit until a slot is released")
+    void shouldRejectBeyondLimit() {
+        // Given
+        AdaptiveLimiter limiter = new AdaptiveLimiter(2, 1, 10, 1.5, 0.2, 100);
+
+        // When
+        boolean first = limiter.tryAcquire();
+        boolean second = limiter.tryAcquire();
+        boolean third = limiter.tryAcquire();
+        limiter.release(0);
+        boolean afterRelease = limiter.tryAcquire();
+
+        // Then
+        assertTrue(first);
+        assertTrue(second);
+        assertFalse(third);
+        assertTrue(afterRelease);
+        assertEquals(2, limiter.inFlight());
+    }
+
+    @Test
+    @DisplayName("Should grow the limit while saturated at steady latency, up to the maximum")
+    void shouldGrowWhileLatencyIsSteady() {
+        // Given
+        AdaptiveLimiter limiter = new AdaptiveLimiter(10, 1, 50, 1.5, 0.2, 100);
+
+        // When
+        runSaturated(limiter, FAST, 1_000);
+
+        // Then
+        assertEquals(50, limiter.limit());
+    }
+
+    @Test
+    @DisplayName("Should shrink the limit when latency rises, but not below the minimum")
+    void shouldShrinkWhenLatencyRises() {
+        // Given
+        AdaptiveLimiter limiter = new AdaptiveLimiter(10, 5, 100, 1.5, 0.2, 1_000);
+        runSaturated(limiter, FAST, 500);
+        int steadyLimit = limiter.limit();
+
+        // When
+        runSaturated(limiter, SLOW, 50);
+
+        // Then
+        assertTrue(limiter.limit() < steadyLimit / 2, "limit " + limiter.limit() + " after " + steadyLimit);
+        assertTrue(limiter.limit() >= 5);
+    }
+
+    @Test
+    @DisplayName("Should not grow the limit while less than half of it is used")
+    void shouldNotGrowWhenUnderused() {
+        // Given
+        AdaptiveLimiter limiter = new AdaptiveLimiter(10, 1, 100, 1.5, 0.2, 100);
+
+        // When
+        for (int i = 0; i < 1_000; i++) {
+            assertTrue(limiter.tryAcquire());
+            limiter.release(FAST);
+        }
+
+        // Then
+        assertEquals(10, limiter.limit());
+    }
+
+    /**
+     * Keeps the limiter full: acquires every free slot, then completes them all with the
+     * given latency, {@code rounds} times.
+     */
+    private static void runSaturated(AdaptiveLimiter limiter, long rttNanos, int rounds) {
+        for (int round = 0; round < rounds; round++) {
+            int acquired = 0;
+            while (limiter.tryAcquire()) {
+                acquired++;
+            }
+            for (int i = 0; i < acquired; i++) {
+                limiter.release(rttNanos);
+            }
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.example.productcatalog.adapters.concurrency;
+
+import com.example.productcatalog.infrastructure.concurrency.MicroBatcher;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MicroBatcherTest {
+
+    @Test
+    @DisplayName("Should flush concurrent requests together and complete each with its own result")
+    void shouldCoalesceConcurrentRequests() {
+        // Given
+        List<Integer> batchSizes = new CopyOnWriteArrayList<>();
+        try (var batcher = new MicroBatcher<Integer, Integer>("test", 10, Duration.ofMillis(200), 1, 100,
+                batch -> {
+                    batchSizes.add(batch.size());
+                    batch.forEach(request -> request.getFuture().complete(request.getInput() * 2));
+                })) {
+
+            // When
+            List<CompletableFuture<Integer>> results = IntStream.range(0, 25)
+                    .mapToObj(i -> batcher.submit(i).toCompletableFuture())
+                    .toList();
+
+            // Then
+            for (int i = 0; i < results.size(); i++) {
+                assertEquals(i * 2, results.get(i).join());
+            }
+            assertEquals(25, batchSizes.stream().mapToInt(Integer::intValue).sum());
+            assertTrue(batchSizes.stream().allMatch(size -> size <= 10), "Batches " + batchSizes);
+            assertTrue(batchSizes.size() <= 4, "Expected a few full batches, got " + batchSizes);
+        }
+    }
+
+    @Test
+    @DisplayName("Should flush a lone request once the delay expires")
+    void shouldFlushAfterDelay() {
+        // Given
+        try (var batcher = new MicroBatcher<String, String>("test", 100, Duration.ofMillis(20), 1, 100,
+                batch -> batch.forEach(request -> request.getFuture().complete(request.getInput())))) {
+
+            // When
+            String result = batcher.submit("alone").toCompletableFuture().orTimeout(5, TimeUnit.SECONDS).join();
+
+            // Then
+            assertEquals("alone", result);
+        }
+    }
+
+    @Test
+    @DisplayName("Should fail every request of a batch whose flush throws or leaves it pending")
+    void shouldFailRequestsNotCompletedByFlush() {
+        // Given
+        try (var batcher = new MicroBatcher<Integer, Integer>("test", 10, Duration.ofMillis(50), 1, 100,
+                batch -> {
+                    batch.get(0).getFuture().complete(0);
+                    if (batch.size() > 2) {
+                        throw new IllegalArgumentException("boom");
+                    }
+                })) {
+
+            // When
+            var first = batcher.submit(1).toCompletableFuture();
+            var second = batcher.submit(2).toCompletableFuture();
+            var third = batcher.submit(3).toCompletableFuture();
+
+            // Then
+            assertEquals(0, first.join());
+            CompletionException failure = assertThrows(CompletionException.class, second::join);
+            assertInstanceOf(IllegalArgumentException.class, failure.getCause());
+            assertThrows(CompletionException.class, third::join);
+        }
+    }
+
+    @Test
+    @DisplayName("Should reject requests once the queue is full")
+    void shouldRejectWhenQueueIsFull() throws InterruptedException {
+        // Given
+        CountDownLatch flushing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        try (var batcher = new MicroBatcher<Integer, Integer>("test", 1, Duration.ZERO, 1, 1,
+                batch -> {
+                    flushing.countDown();
+                    awaitQuietly(release);
+                    batch.forEach(request -> request.getFuture().complete(request.getInput()));
+                })) {
+            var flushed = batcher.submit(1).toCompletableFuture();
+            assertTrue(flushing.await(5, TimeUnit.SECONDS));
+            var held = batcher.submit(2).toCompletableFuture();
+            while (batcher.queued() > 0) {
+                // until the collector holds it, waiting for the busy flush
+                Thread.onSpinWait();
+            }
+            var queued = batcher.submit(3).toCompletableFuture();
+
+            // When
+            var rejected = batcher.submit(4).toCompletableFuture();
+
+            // Then
+            CompletionException failure = assertThrows(CompletionException.class, rejected::join);
+            assertInstanceOf(RejectedExecutionException.class, failure.getCause());
+            release.countDown();
+            assertEquals(1, flushed.join());
+            assertEquals(2, held.join());
+            assertEquals(3, queued.join());
+        }
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.productcatalog.adapters.diagnostics;
+
+import com.example.productcatalog.test.containers.PostgresTestContainer;
+import io.quarkus.test.common.QuarkusTestResource;
+import io.quarkus.test.common.QuarkusTestResourceLifecycleManager;
+import io.quarkus.test.junit.QuarkusIntegrationTest;
+import io.restassured.http.ContentType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+@QuarkusIntegrationTest
+@QuarkusTestResource(PostgresTestContainer.class)
+@QuarkusTestResource(value = AdminEndpointsIT.AdminEndpointsEnabled.class, restrictToAnnotatedClass = true)
+public class AdminEndpointsIT {
+
+    /**
+     * The packaged application runs with the prod profile, where the admin endpoints are off.
+     */
+    public static class AdminEndpointsEnabled implements QuarkusTestResourceLifecycleManager {
+
+        @Override
+        public Map<String, String> start() {
+            return Map.of("product-catalog.diagnostics.admin-enabled", "true");
+        }
+
+        @Override
+        public void stop() {
+            // Nothing to stop
+        }
+    }
+
+    @Test
+    @DisplayName("Should record brand creations in an on-demand JFR recording, one recording at a time")
+    void shouldStartAndDownloadRecording() {
+        // Given
+        given()
+                .queryParam("settings", "default")
+                .queryParam("maxDurationSeconds", 60)
+                .when()
+                .post("/admin/jfr/recording")
+                .then()
+                .statusCode(201)
+                .body("settings", equalTo("default"))
+                .body("maxDurationSeconds", equalTo(60));
+        given().when().post("/admin/jfr/recording").then().statusCode(409);
+
+        // When
+        given()
+                .contentType(ContentType.JSON)
+                .body("""
+                    {"name": "Recorded Brand", "website": "https://recorded.example.com", "logoUrl": "logo.png"}
+                    """)
+                .when()
+                .post("/brands")
+                .then()
+                .statusCode(201);
+        byte[] recording = given()
+                .when()
+                .delete("/admin/jfr/recording")
+                .then()
+                .statusCode(200)
+                .contentType("application/octet-stream")
+                .extract()
+                .asByteArray();
+
+        // Then - a JFR file, and nothing left to stop
+        assertTrue(recording.length > 4);
+        assertEquals("FLR", new String(recording, 0, 3));
+        given().when().delete("/admin/jfr/recording").then().statusCode(404);
+    }
+
+    @Test
+    @DisplayName("Should list slow requests with the threshold they were kept from")
+    void shouldListSlowRequests() {
+        given()
+                .queryParam("limit", 5)
+                .when()
+                .get("/admin/slow-requests")
+                .then()
+                .statusCode(200)
+                .body("thresholdMillis", greaterThan(0f))
+                .body("capacity", greaterThan(0))
+                .body("items.size()", lessThanOrEqualTo(5));
+    }
+}
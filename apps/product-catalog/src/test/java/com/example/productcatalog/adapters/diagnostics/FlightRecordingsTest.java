@@ -0,0 +1,86 @@
+package com.example.productcatalog.adapters.diagnostics;
+
+import com.example.productcatalog.infrastructure.diagnostics.DatabaseWaitListener;
+import com.example.productcatalog.infrastructure.diagnostics.FlightRecordings;
+import com.example.productcatalog.infrastructure.diagnostics.PhaseTimer;
+import com.example.productcatalog.infrastructure.diagnostics.RequestPhase;
+import com.example.productcatalog.infrastructure.diagnostics.RequestTrace;
+import com.example.productcatalog.infrastructure.diagnostics.SlowRequests;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FlightRecordingsTest {
+
+    @Test
+    @DisplayName("Should record phases, mappings and database waits in the downloaded recording")
+    void shouldRecordServiceEvents(@TempDir Path directory) throws IOException {
+        // Given
+        FlightRecordings recordings = new FlightRecordings();
+        Timer timer = new SimpleMeterRegistry().timer("brand.create.phase");
+        PhaseTimer persist = new PhaseTimer(RequestPhase.PERSIST, timer);
+        PhaseTimer serialize = new PhaseTimer(RequestPhase.SERIALIZE, timer);
+        RequestTrace trace = new SlowRequests(Duration.ZERO, 1).start("createBrand", "Recorded Brand");
+        assertTrue(recordings.start("default", Duration.ofMinutes(1)).isPresent());
+        assertTrue(recordings.start("default", Duration.ofMinutes(1)).isEmpty(), "Only one recording at a time");
+
+        // When
+        trace.call(() -> {
+            PhaseTimer.Span persisting = persist.start();
+            DatabaseWaitListener listener = new DatabaseWaitListener();
+            listener.jdbcExecuteBatchStart();
+            listener.jdbcExecuteBatchEnd();
+            persisting.end();
+            PhaseTimer.Span serializing = serialize.start();
+            serializing.end();
+            return null;
+        });
+        Path file = directory.resolve("recording.jfr");
+        try (InputStream data = recordings.stop().orElseThrow()) {
+            Files.copy(data, file);
+        }
+
+        // Then
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file).stream()
+                .filter(event -> event.getEventType().getName().startsWith("com.example.productcatalog."))
+                .toList();
+        assertTrue(events.stream().anyMatch(event -> event.getEventType().getName().equals("com.example.productcatalog.CommandPhase")
+                && event.getString("phase").equals("persist")));
+        assertTrue(events.stream().anyMatch(event -> event.getEventType().getName().equals("com.example.productcatalog.Mapping")
+                && event.getString("phase").equals("serialize")));
+        assertTrue(events.stream().anyMatch(event -> event.getEventType().getName().equals("com.example.productcatalog.DatabaseWait")
+                && event.getString("operation").equals("batch")));
+        assertEquals(2, timer.count());
+        assertTrue(recordings.stop().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should time phases without a recording or a trace")
+    void shouldTimePhasesWithoutRecording() {
+        // Given
+        Timer timer = new SimpleMeterRegistry().timer("brand.create.phase");
+        PhaseTimer phase = new PhaseTimer(RequestPhase.COMMIT, timer);
+
+        // When
+        PhaseTimer.Span span = phase.start();
+        span.end();
+
+        // Then
+        assertEquals(1, timer.count());
+        assertTrue(timer.totalTime(TimeUnit.NANOSECONDS) > 0);
+    }
+}
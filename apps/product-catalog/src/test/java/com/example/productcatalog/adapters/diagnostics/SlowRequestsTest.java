@@ -0,0 +1,73 @@
+package com.example.productcatalog.adapters.diagnostics;
+
+import com.example.productcatalog.infrastructure.diagnostics.RequestPhase;
+import com.example.productcatalog.infrastructure.diagnostics.RequestTrace;
+import com.example.productcatalog.infrastructure.diagnostics.SlowRequests;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SlowRequestsTest {
+
+    @Test
+    @DisplayName("Should keep slow requests with the phases bound to their trace, and ignore fast ones")
+    void shouldKeepSlowRequestsWithTheirPhases() {
+        // Given
+        SlowRequests slowRequests = new SlowRequests(Duration.ofMillis(5), 8);
+        RequestTrace slow = slowRequests.start("createBrand", "Slow Brand");
+        RequestTrace fast = new SlowRequests(Duration.ofSeconds(10), 8).start("createBrand", "Fast Brand");
+
+        // When
+        slow.add(RequestPhase.MAP_REQUEST, 1_000);
+        slow.call(() -> {
+            RequestTrace.current().add(RequestPhase.PERSIST, 4_000_000);
+            RequestTrace.current().add(RequestPhase.DB_WAIT, 3_000_000);
+            return null;
+        });
+        LockSupport.parkNanos(Duration.ofMillis(10).toNanos());
+        slow.finish(null);
+        fast.finish(null);
+
+        // Then
+        assertNull(RequestTrace.current());
+        List<SlowRequests.SlowRequest> worst = slowRequests.worst(10);
+        assertEquals(1, worst.size());
+        SlowRequests.SlowRequest request = worst.get(0);
+        assertEquals("createBrand", request.getOperation());
+        assertEquals("Slow Brand", request.getSubject());
+        assertEquals("completed", request.getOutcome());
+        assertTrue(request.getDuration().compareTo(Duration.ofMillis(10)) >= 0);
+        assertEquals(List.of("map-request", "persist", "db-wait"), List.copyOf(request.getPhases().keySet()));
+        assertEquals(Duration.ofMillis(4), request.getPhases().get("persist"));
+    }
+
+    @Test
+    @DisplayName("Should overwrite the oldest slow requests and list the worst first")
+    void shouldKeepTheLatestAndListTheWorst() {
+        // Given
+        SlowRequests slowRequests = new SlowRequests(Duration.ZERO, 3);
+
+        // When
+        for (int i = 0; i < 5; i++) {
+            RequestTrace trace = slowRequests.start("createBrand", "Brand " + i);
+            LockSupport.parkNanos(Duration.ofMillis(i == 1 ? 30 : 1).toNanos());
+            trace.finish(i == 4 ? new CompletionException(new IllegalStateException("boom")) : null);
+        }
+
+        // Then - the slowest one, Brand 1, has been overwritten
+        List<SlowRequests.SlowRequest> worst = slowRequests.worst(2);
+        assertEquals(2, worst.size());
+        assertTrue(worst.get(0).getDuration().compareTo(worst.get(1).getDuration()) >= 0);
+        List<String> kept = slowRequests.worst(10).stream().map(SlowRequests.SlowRequest::getSubject).sorted().toList();
+        assertEquals(List.of("Brand 2", "Brand 3", "Brand 4"), kept);
+        assertEquals("IllegalStateException", slowRequests.worst(10).stream()
+                .filter(request -> request.getSubject().equals("Brand 4"))
+                .findFirst().orElseThrow().getOutcome());
+    }
+}
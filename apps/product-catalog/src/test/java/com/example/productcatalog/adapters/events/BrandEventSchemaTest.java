@@ -0,0 +1,83 @@
+package com.example.productcatalog.adapters.events;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
+import org.apache.avro.LogicalTypes;
+import org.apache.avro.Schema;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Keeps the hand-written Avro schema of {@code BrandCreated} in line with the JSON schema of
+ * the same payload in {@code asyncapi.yaml}: same fields in the same order, same required
+ * ones, matching types and descriptions.
+ */
+public class BrandEventSchemaTest {
+
+    private static final Path ASYNCAPI = Path.of("api/events/asyncapi.yaml");
+    private static final Path AVRO_SCHEMA = Path.of("api/events/avro/BrandCreatedPayload.avsc");
+
+    @Test
+    @DisplayName("Should declare the fields of the AsyncAPI BrandCreatedPayload in its Avro schema")
+    void shouldMatchAsyncApiPayload() throws IOException {
+        // Given
+        JsonNode payload = new ObjectMapper(new YAMLFactory()).readTree(ASYNCAPI.toFile())
+                .at("/components/schemas/BrandCreatedPayload");
+        Schema avro = new Schema.Parser().parse(AVRO_SCHEMA.toFile());
+
+        // When
+        List<String> jsonFields = new ArrayList<>();
+        payload.get("properties").fieldNames().forEachRemaining(jsonFields::add);
+        Set<String> jsonRequired = new HashSet<>();
+        payload.get("required").forEach(field -> jsonRequired.add(field.asText()));
+
+        // Then
+        assertEquals(jsonFields, avro.getFields().stream().map(Schema.Field::name).toList());
+        for (Schema.Field field : avro.getFields()) {
+            JsonNode property = payload.get("properties").get(field.name());
+            boolean required = jsonRequired.contains(field.name());
+            Schema type = field.schema();
+            if (!required) {
+                assertEquals(Schema.Type.UNION, type.getType(), field.name() + " should be nullable");
+                assertEquals(Schema.Type.NULL, type.getTypes().get(0).getType(), field.name() + " should default to null");
+                assertTrue(field.hasDefaultValue(), field.name() + " should have a default");
+                type = type.getTypes().get(1);
+            }
+            assertEquals(expectedType(property), describe(type), field.name());
+            assertEquals(property.get("description").asText(), field.doc(), field.name());
+        }
+    }
+
+    /**
+     * @return the Avro type a JSON schema property is encoded as
+     */
+    private static String expectedType(JsonNode property) {
+        String type = property.get("type").asText();
+        String format = property.path("format").asText(null);
+        if ("integer".equals(type) && "int64".equals(format)) {
+            return "long";
+        }
+        if ("string".equals(type) && "date-time".equals(format)) {
+            return "long/" + LogicalTypes.timestampMicros().getName();
+        }
+        if ("string".equals(type)) {
+            return "string";
+        }
+        throw new AssertionError("No Avro encoding of " + property);
+    }
+
+    private static String describe(Schema type) {
+        String name = type.getType().getName();
+        return type.getLogicalType() != null ? name + "/" + type.getLogicalType().getName() : name;
+    }
+}
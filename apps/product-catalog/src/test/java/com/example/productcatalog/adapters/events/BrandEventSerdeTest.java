@@ -0,0 +1,116 @@
+package com.example.productcatalog.adapters.events;
+
+import com.example.productcatalog.api.events.avro.BrandCreatedPayload;
+import com.example.productcatalog.infrastructure.events.BrandEventDeserializer;
+import com.example.productcatalog.infrastructure.events.BrandEventSerializer;
+import com.example.productcatalog.test.registry.InMemorySchemaResolver;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Round trips brand events through the channel serdes, with {@link InMemorySchemaResolver}
+ * standing in for the Apicurio registry.
+ */
+public class BrandEventSerdeTest {
+
+    private static final String TOPIC = "product-catalog.brand.events";
+    private static final Map<String, Object> CONFIG = Map.of(
+            "apicurio.registry.url", "http://registry.invalid/apis/registry/v2",
+            "apicurio.registry.schema-resolver", InMemorySchemaResolver.class.getName(),
+            "apicurio.registry.use-specific-avro-reader", true);
+
+    private final BrandEventSerializer serializer = new BrandEventSerializer();
+    private final BrandEventDeserializer deserializer = new BrandEventDeserializer();
+
+    @BeforeEach
+    void configure() {
+        serializer.configure(CONFIG, false);
+        deserializer.configure(CONFIG, false);
+    }
+
+    @AfterEach
+    void close() {
+        serializer.close();
+        deserializer.close();
+    }
+
+    @Test
+    @DisplayName("Should read back an Avro BrandCreated event as the generated class")
+    void shouldRoundTripAvroEvents() {
+        // Given
+        BrandCreatedPayload event = BrandCreatedPayload.newBuilder()
+                .setId(42L)
+                .setName("SportMaster")
+                .setDescription("Leading sports equipment manufacturer")
+                .setWebsite("https://sportmaster.com")
+                .setLogoUrl("https://sportmaster.com/logo.png")
+                .setCreatedAt(Instant.parse("2024-01-20T10:30:00.123456Z"))
+                .setUpdatedAt(Instant.parse("2024-01-20T10:30:00.123456Z"))
+                .build();
+        Headers headers = new RecordHeaders();
+
+        // When
+        byte[] value = serializer.serialize(TOPIC, headers, event);
+        Object read = deserializer.deserialize(TOPIC, headers, value);
+
+        // Then
+        assertEquals("avro/binary", header(headers, "contentType"));
+        assertNotNull(headers.lastHeader("apicurio.value.globalId"), "The schema id should travel in a header");
+        assertEquals(event, read);
+        assertTrue(InMemorySchemaResolver.registeredSchemas() >= 1);
+    }
+
+    @Test
+    @DisplayName("Should encode a BrandCreated event in fewer bytes than its JSON")
+    void shouldEncodeSmallerThanJson() {
+        // Given
+        String json = """
+                {"id":42,"name":"SportMaster","description":"Leading sports equipment manufacturer",\
+                "website":"https://sportmaster.com","logoUrl":"https://sportmaster.com/logo.png",\
+                "createdAt":"2024-01-20T10:30:00.123456Z","updatedAt":"2024-01-20T10:30:00.123456Z"}""";
+        BrandCreatedPayload event = new BrandCreatedPayload(42L, "SportMaster",
+                "Leading sports equipment manufacturer", "https://sportmaster.com",
+                "https://sportmaster.com/logo.png", Instant.parse("2024-01-20T10:30:00.123456Z"),
+                Instant.parse("2024-01-20T10:30:00.123456Z"));
+
+        // When
+        byte[] avro = serializer.serialize(TOPIC, new RecordHeaders(), event);
+        byte[] plain = serializer.serialize(TOPIC, new RecordHeaders(), json);
+
+        // Then
+        assertTrue(avro.length < plain.length * 2 / 3,
+                "Avro " + avro.length + " bytes vs JSON " + plain.length + " bytes");
+    }
+
+    @Test
+    @DisplayName("Should pass JSON events through, with or without a content type header")
+    void shouldFallBackToJson() {
+        // Given
+        String json = "{\"id\":7,\"name\":\"Harbor Coffee\"}";
+        Headers headers = new RecordHeaders();
+
+        // When
+        byte[] value = serializer.serialize(TOPIC, headers, json);
+
+        // Then
+        assertEquals("application/json", header(headers, "contentType"));
+        assertEquals(json, deserializer.deserialize(TOPIC, headers, value));
+        assertEquals(json, deserializer.deserialize(TOPIC, new RecordHeaders(), json.getBytes(StandardCharsets.UTF_8)),
+                "Records written before the content type header are JSON");
+    }
+
+    private static String header(Headers headers, String name) {
+        var header = headers.lastHeader(name);
+        return header != null ? new String(header.value(), StandardCharsets.UTF_8) : null;
+    }
+}
@@ -0,0 +1,125 @@
+package com.example.productcatalog.adapters.events;
+
+import com.example.productcatalog.test.containers.KafkaTestContainer;
+import com.example.productcatalog.test.containers.PostgresTestContainer;
+import io.quarkus.test.common.QuarkusTestResource;
+import io.quarkus.test.junit.QuarkusIntegrationTest;
+import io.restassured.http.ContentType;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.KafkaConsumer;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static io.restassured.RestAssured.given;
+import static org.junit.jupiter.api.Assertions.*;
+
+@QuarkusIntegrationTest
+@QuarkusTestResource(PostgresTestContainer.class)
+@QuarkusTestResource(KafkaTestContainer.class)
+public class BrandEventsOutboxIT {
+
+    private static final String TOPIC = "product-catalog.brand.events";
+
+    @Test
+    @DisplayName("Should relay BrandCreated events from the outbox to Kafka")
+    void shouldRelayBrandCreatedEventsToKafka() throws SQLException, InterruptedException {
+        // Given
+        String requestBody = """
+            {
+                "items": [
+                    {"name": "Outbox One", "website": "https://one.example.com", "logoUrl": "https://one.example.com/logo.png"},
+                    {"name": "Outbox Two", "website": "https://two.example.com", "logoUrl": "https://two.example.com/logo.png"}
+                ]
+            }
+            """;
+
+        try (KafkaConsumer<String, String> consumer = newConsumer()) {
+            consumer.subscribe(List.of(TOPIC));
+
+            // When
+            given()
+                    .contentType(ContentType.JSON)
+                    .body(requestBody)
+                    .when()
+                    .post("/brands/bulk")
+                    .then()
+                    .statusCode(200);
+
+            // Then
+            List<ConsumerRecord<String, String>> records = poll(consumer, 2, Duration.ofSeconds(30));
+            assertEquals(2, records.size(), "Both events should be relayed");
+            for (ConsumerRecord<String, String> record : records) {
+                assertNotNull(record.key(), "Events should be keyed by brand id");
+                assertEquals("BrandCreated", header(record, "eventType"));
+                assertEquals("1.0.0", header(record, "eventVersion"));
+                assertNotNull(header(record, "eventId"));
+                assertTrue(record.value().contains("\"name\":\"Outbox"));
+            }
+            assertEquals(0, awaitPending("%\"name\":\"Outbox%", Duration.ofSeconds(10)),
+                    "Relayed events should be deleted from the outbox");
+        }
+    }
+
+    private static KafkaConsumer<String, String> newConsumer() {
+        return new KafkaConsumer<>(Map.of(
+                ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, KafkaTestContainer.getBootstrapServers(),
+                ConsumerConfig.GROUP_ID_CONFIG, "outbox-it-" + UUID.randomUUID(),
+                ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest"),
+                new StringDeserializer(), new StringDeserializer());
+    }
+
+    private static List<ConsumerRecord<String, String>> poll(KafkaConsumer<String, String> consumer,
+                                                             int expected, Duration timeout) {
+        List<ConsumerRecord<String, String>> records = new ArrayList<>();
+        Instant deadline = Instant.now().plus(timeout);
+        while (records.size() < expected && Instant.now().isBefore(deadline)) {
+            consumer.poll(Duration.ofMillis(500)).forEach(records::add);
+        }
+        return records;
+    }
+
+    /**
+     * @return the number of events still in the outbox whose payload matches, once it is
+     * zero or the timeout elapsed
+     */
+    private static int awaitPending(String payloadPattern, Duration timeout)
+            throws SQLException, InterruptedException {
+        Instant deadline = Instant.now().plus(timeout);
+        int pending;
+        while ((pending = countPending(payloadPattern)) > 0 && Instant.now().isBefore(deadline)) {
+            Thread.sleep(200);
+        }
+        return pending;
+    }
+
+    private static int countPending(String payloadPattern) throws SQLException {
+        try (Connection connection = PostgresTestContainer.openConnection();
+             PreparedStatement statement = connection.prepareStatement(
+                     "SELECT count(*) FROM outbox_event WHERE payload LIKE ?")) {
+            statement.setString(1, payloadPattern);
+            try (ResultSet result = statement.executeQuery()) {
+                result.next();
+                return result.getInt(1);
+            }
+        }
+    }
+
+    private static String header(ConsumerRecord<String, String> record, String name) {
+        var header = record.headers().lastHeader(name);
+        return header != null ? new String(header.value(), StandardCharsets.UTF_8) : null;
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.productcatalog.adapters.logos;
+
+import com.example.productcatalog.infrastructure.logos.LogoFetcher;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LogoFetcherTest {
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "0.0.0.0", "127.0.0.1", "10.1.2.3", "172.16.0.1", "192.168.1.1", "169.254.169.254", "224.0.0.1",
+            "100.64.0.1", "100.127.255.254",
+            "::", "::1", "fe80::1", "fc00::1", "fd12:3456::1", "ff02::1",
+            "::ffff:127.0.0.1", "::10.0.0.1", "64:ff9b::a9fe:a9fe", "64:ff9b:1::c0a8:101", "2002:0a00:0001::1"
+    })
+    @DisplayName("Should refuse non-public addresses, IPv4 ones embedded in IPv6 included")
+    void shouldRefuseNonPublicAddresses(String address) throws UnknownHostException {
+        assertTrue(LogoFetcher.isPrivate(InetAddress.getByName(address)), address);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "93.184.216.34", "100.63.255.255", "100.128.0.1", "8.8.8.8",
+            "2606:2800:220:1:248:1893:25c8:1946", "64:ff9b::808:808", "2002:0808:0808::1", "::ffff:8.8.8.8"
+    })
+    @DisplayName("Should fetch from public addresses, IPv4 ones embedded in IPv6 included")
+    void shouldAllowPublicAddresses(String address) throws UnknownHostException {
+        assertFalse(LogoFetcher.isPrivate(InetAddress.getByName(address)), address);
+    }
+}
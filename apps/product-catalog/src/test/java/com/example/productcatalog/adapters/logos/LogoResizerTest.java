@@ -0,0 +1,70 @@
+package com.example.productcatalog.adapters.logos;
+
+import com.example.productcatalog.infrastructure.logos.LogoFormat;
+import com.example.productcatalog.infrastructure.logos.LogoResizer;
+import com.example.productcatalog.infrastructure.logos.UnusableLogoException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Optional;
+import java.util.SortedMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LogoResizerTest {
+
+    private final LogoResizer resizer = new LogoResizer(1_000_000);
+
+    @Test
+    @DisplayName("Should generate PNG variants for the widths smaller than the image, keeping its aspect ratio")
+    void shouldResizeToSmallerWidths() throws Exception {
+        // Given
+        byte[] logo = image(400, 200, "jpg");
+
+        // When
+        SortedMap<Integer, byte[]> variants = resizer.resize(logo, List.of(512, 64, 256, 128));
+
+        // Then
+        assertEquals(List.of(64, 128, 256), List.copyOf(variants.keySet()));
+        BufferedImage variant = ImageIO.read(new ByteArrayInputStream(variants.get(128)));
+        assertEquals(128, variant.getWidth());
+        assertEquals(64, variant.getHeight());
+        assertEquals(Optional.of(LogoFormat.PNG), LogoFormat.detect(variants.get(128)));
+    }
+
+    @Test
+    @DisplayName("Should reject images above the pixel limit before decoding them")
+    void shouldRejectOversizedImage() throws IOException {
+        // Given
+        byte[] logo = image(2000, 1000, "png");
+
+        // When / Then
+        assertThrows(UnusableLogoException.class, () -> resizer.resize(logo, List.of(128)));
+    }
+
+    @Test
+    @DisplayName("Should recognise formats from their content, whatever the origin calls them")
+    void shouldDetectFormatFromContent() throws IOException {
+        // Given / When / Then
+        assertEquals(Optional.of(LogoFormat.GIF), LogoFormat.detect(image(8, 8, "gif")));
+        assertEquals(Optional.of(LogoFormat.SVG), LogoFormat.detect("""
+                <?xml version="1.0"?>
+                <svg xmlns="http://www.w3.org/2000/svg"/>
+                """.getBytes(StandardCharsets.UTF_8)));
+        assertEquals(Optional.empty(), LogoFormat.detect("<html><body>Not found</body></html>".getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static byte[] image(int width, int height, String format) throws IOException {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, format, out);
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.productcatalog.adapters.metrics;
+
+import com.example.productcatalog.test.containers.PostgresTestContainer;
+import io.quarkus.test.common.QuarkusTestResource;
+import io.quarkus.test.junit.QuarkusIntegrationTest;
+import io.restassured.http.ContentType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.containsString;
+
+@QuarkusIntegrationTest
+@QuarkusTestResource(PostgresTestContainer.class)
+public class PrometheusMetricsIT {
+
+    @Test
+    @DisplayName("Should expose brand creation phases, publish time, pool wait gauges and concurrency limits to Prometheus")
+    void shouldExposeCreateBrandMetrics() {
+        // Given
+        given()
+                .contentType(ContentType.JSON)
+                .body("""
+                    {"name": "Metrics Brand", "website": "https://metrics.example.com", "logoUrl": "https://metrics.example.com/logo.png"}
+                    """)
+                .when()
+                .post("/brands")
+                .then()
+                .statusCode(201);
+
+        // When / Then
+        given()
+                .when()
+                .get("/q/metrics")
+                .then()
+                .statusCode(200)
+                .body(containsString("brand_create_duration_seconds_count{outcome=\"created\""))
+                .body(containsString("brand_create_phase_seconds_bucket{phase=\"persist\""))
+                .body(containsString("brand_create_phase_seconds_bucket{phase=\"commit\""))
+                .body(containsString("brand_create_phase_seconds_bucket{phase=\"serialize\""))
+                .body(containsString("outbox_event_publish_seconds_bucket"))
+                .body(containsString("http_server_requests_seconds_bucket"))
+                .body(containsString("agroal_blocking_time_max_milliseconds"))
+                .body(containsString("command_concurrency_limit{traffic=\"interactive\""))
+                .body(containsString("command_concurrency_rejected_total{traffic=\"bulk\""));
+    }
+}
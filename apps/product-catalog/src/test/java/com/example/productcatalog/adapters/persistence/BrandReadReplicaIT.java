@@ -0,0 +1,51 @@
+package com.example.productcatalog.adapters.persistence;
+
+import com.example.productcatalog.test.containers.PostgresReplicaTestContainer;
+import io.quarkus.test.common.QuarkusTestResource;
+import io.quarkus.test.junit.QuarkusIntegrationTest;
+import io.restassured.http.ContentType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.equalTo;
+
+@QuarkusIntegrationTest
+@QuarkusTestResource(PostgresReplicaTestContainer.class)
+public class BrandReadReplicaIT {
+
+    @Test
+    @DisplayName("Should read a brand back right after creating it, with reads routed between primary and replica")
+    void shouldReadYourWritesWithReplicaRouting() {
+        // Given
+        Integer brandId = given()
+                .contentType(ContentType.JSON)
+                .body("""
+                    {"name": "Replicated Brand", "website": "https://replicated.example.com", "logoUrl": "https://replicated.example.com/logo.png"}
+                    """)
+                .when()
+                .post("/brands")
+                .then()
+                .statusCode(201)
+                .extract()
+                .path("id");
+
+        // When / Then - found even if the replica has not replayed the insert yet
+        given()
+                .when()
+                .get("/brands/{id}", brandId)
+                .then()
+                .statusCode(200)
+                .body("name", equalTo("Replicated Brand"));
+
+        given()
+                .when()
+                .get("/q/metrics")
+                .then()
+                .statusCode(200)
+                .body(containsString("db_replica_lag"))
+                .body(containsString("brand_repository_reads_total"))
+                .body(containsString("agroal_active_count{datasource=\"replica\""));
+    }
+}
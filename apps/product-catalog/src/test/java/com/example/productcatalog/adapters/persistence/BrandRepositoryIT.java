@@ -26,18 +26,16 @@ public class BrandRepositoryIT {
         // Given
         Brand brand = new Brand();
         brand.setName("SportMaster");
-        brand.setDescription("Leading sports equipment manufacturer");
         brand.setWebsite(new URI("https://sportmaster.com"));
         brand.setLogo(  new URI("sportmaster-logo.png"));
 
         // When
         brandRepository.persist(brand);
-        Brand foundBrand = brandRepository.findById(brand.getId());
+        Brand foundBrand = brandRepository.findByIdOptional(brand.getId()).orElseThrow();
 
         // Then
         
         assertEquals("SportMaster", foundBrand.getName());
-        assertEquals("Leading sports equipment manufacturer", foundBrand.getDescription());
         assertEquals("https://sportmaster.com", foundBrand.getWebsite());
         assertEquals("sportmaster-logo.png", foundBrand.getLogo());
     }
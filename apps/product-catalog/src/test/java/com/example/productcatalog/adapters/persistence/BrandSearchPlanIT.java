@@ -0,0 +1,102 @@
+package com.example.productcatalog.adapters.persistence;
+
+import com.example.productcatalog.test.containers.PostgresTestContainer;
+import io.quarkus.test.common.QuarkusTestResource;
+import io.quarkus.test.junit.QuarkusIntegrationTest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks that the search predicates of {@code BrandRepository} are served by the search
+ * indexes rather than a sequential scan. Rows are generated in a transaction that is rolled
+ * back, so other tests never see them.
+ */
+@QuarkusIntegrationTest
+@QuarkusTestResource(PostgresTestContainer.class)
+public class BrandSearchPlanIT {
+
+    private static final int BRANDS = 20_000;
+
+    private Connection connection;
+
+    @BeforeEach
+    void generateBrands() throws SQLException {
+        connection = PostgresTestContainer.openConnection();
+        connection.setAutoCommit(false);
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("""
+                    INSERT INTO brand (id, name, website, logo_url, created_at, updated_at)
+                    SELECT 900000000 + g, 'Plan Brand ' || md5(g::text),
+                           'https://plan.example.com', 'logo.png', now(), now()
+                    FROM generate_series(1, %d) g
+                    """.formatted(BRANDS));
+            statement.execute("""
+                    INSERT INTO brand_description (brand_id, locale, format, content)
+                    SELECT 900000000 + g, 'en', 'PLAIN', 'Description ' || md5((g * 7)::text)
+                    FROM generate_series(1, %d) g
+                    """.formatted(BRANDS));
+            statement.execute("ANALYZE brand");
+            statement.execute("ANALYZE brand_description");
+        }
+    }
+
+    @AfterEach
+    void rollback() throws SQLException {
+        connection.rollback();
+        connection.close();
+    }
+
+    @Test
+    @DisplayName("Should find substrings of names through the trigram index")
+    void shouldUseTrigramIndexForSubstrings() throws SQLException {
+        String plan = explain("SELECT id FROM brand b WHERE b.name ILIKE '%a1b2c%'");
+        assertTrue(plan.contains("idx_brand_name_trgm"), plan);
+    }
+
+    @Test
+    @DisplayName("Should find similar name words through the trigram index")
+    void shouldUseTrigramIndexForWordSimilarity() throws SQLException {
+        String plan = explain("SELECT id FROM brand b WHERE 'plam' <% b.name");
+        assertTrue(plan.contains("idx_brand_name_trgm"), plan);
+    }
+
+    @Test
+    @DisplayName("Should match full text queries through the search vector index")
+    void shouldUseSearchVectorIndex() throws SQLException {
+        String plan = explain("""
+                SELECT id FROM brand b
+                WHERE b.search_vector @@ (websearch_to_tsquery('simple', 'a1b2c3') || websearch_to_tsquery('english', 'a1b2c3'))
+                """);
+        assertTrue(plan.contains("idx_brand_search_vector"), plan);
+    }
+
+    @Test
+    @DisplayName("Should read typeahead prefixes from the lower-cased name index, in order")
+    void shouldUseLowerNameIndexForPrefixes() throws SQLException {
+        String plan = explain("""
+                SELECT id FROM brand b
+                WHERE lower(b.name) COLLATE "C" LIKE lower('plan brand 0a%') COLLATE "C"
+                ORDER BY lower(b.name) COLLATE "C", b.id
+                LIMIT 10
+                """);
+        assertTrue(plan.contains("idx_brand_lower_name"), plan);
+        assertFalse(plan.contains("\"Sort\""), "Prefix matches should come out of the index in order: " + plan);
+    }
+
+    private String explain(String sql) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet result = statement.executeQuery("EXPLAIN (FORMAT JSON) " + sql)) {
+            assertTrue(result.next());
+            return result.getString(1);
+        }
+    }
+}
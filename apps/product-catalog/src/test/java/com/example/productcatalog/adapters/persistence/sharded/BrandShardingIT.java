@@ -0,0 +1,210 @@
+package com.example.productcatalog.adapters.persistence.sharded;
+
+import com.example.productcatalog.infrastructure.sharding.BrandShardKey;
+import com.example.productcatalog.test.containers.PostgresShardsTestContainer;
+import io.quarkus.test.common.QuarkusTestResource;
+import io.quarkus.test.junit.QuarkusIntegrationTest;
+import io.restassured.http.ContentType;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+@QuarkusIntegrationTest
+@QuarkusTestResource(PostgresShardsTestContainer.class)
+public class BrandShardingIT {
+
+    private static final int BRANDS = 40;
+    private static final int SHARDS = PostgresShardsTestContainer.DATASOURCES.size();
+
+    @BeforeAll
+    static void createBrands() {
+        String items = IntStream.range(0, BRANDS)
+                .mapToObj(i -> """
+                    {"name": "Sharded %02d", "website": "https://sharded.example.com", "logoUrl": "logo.png"}
+                    """.formatted(i))
+                .collect(Collectors.joining(","));
+        given()
+                .contentType(ContentType.JSON)
+                .body("{\"items\": [" + items + "]}")
+                .when()
+                .post("/brands/bulk")
+                .then()
+                .statusCode(200)
+                .body("results.status", everyItem(equalTo("created")));
+    }
+
+    @Test
+    @DisplayName("Should store every brand in the shard of its name, with the shard in its id")
+    void shouldStoreBrandsInTheShardOfTheirName() throws SQLException {
+        // When
+        Map<Integer, Map<Long, String>> brandsByShard = brandsByShard("Sharded %");
+
+        // Then
+        int stored = 0;
+        for (int shard = 0; shard < SHARDS; shard++) {
+            Map<Long, String> brands = brandsByShard.get(shard);
+            assertFalse(brands.isEmpty(), "Shard " + shard + " should hold some brands");
+            for (Map.Entry<Long, String> brand : brands.entrySet()) {
+                int logicalShard = BrandShardKey.ofName(brand.getValue());
+                assertEquals(logicalShard, BrandShardKey.ofId(brand.getKey()));
+                assertEquals(shard, BrandShardKey.physical(logicalShard, SHARDS));
+            }
+            stored += brands.size();
+        }
+        assertEquals(BRANDS, stored);
+
+        // Then - found by id and by name, wherever they are
+        brandsByShard.values().stream().flatMap(brands -> brands.entrySet().stream()).forEach(brand -> {
+            given()
+                    .when()
+                    .get("/brands/{id}", brand.getKey())
+                    .then()
+                    .statusCode(200)
+                    .body("name", equalTo(brand.getValue()));
+            given()
+                    .queryParam("name", brand.getValue())
+                    .when()
+                    .get("/brands")
+                    .then()
+                    .statusCode(200)
+                    .body("items", hasSize(1))
+                    .body("items[0].id", equalTo(brand.getKey().intValue()));
+        });
+    }
+
+    @Test
+    @DisplayName("Should walk the brands of every shard once, in id and in name order")
+    void shouldMergeListingsAcrossShards() {
+        // When - follow nextCursor until the last page, by id then by name
+        List<Integer> ids = BrandShardingIT.<Integer>listAll("id", "items.id");
+        List<String> names = BrandShardingIT.<String>listAll("name", "items.name");
+
+        // Then - strictly increasing, so no brand is skipped or repeated
+        assertTrue(ids.size() >= BRANDS);
+        assertEquals(ids.size(), new HashSet<>(ids).size());
+        for (int i = 1; i < ids.size(); i++) {
+            assertTrue(ids.get(i) > ids.get(i - 1), "Ids should be strictly increasing");
+        }
+        assertEquals(ids.size(), names.size());
+        for (int i = 1; i < names.size(); i++) {
+            assertTrue(names.get(i).compareTo(names.get(i - 1)) > 0, "Names should be strictly increasing");
+        }
+
+        // Then - search gathers matches from every shard
+        given()
+                .queryParam("q", "sharded")
+                .queryParam("limit", 100)
+                .when()
+                .get("/brands/search")
+                .then()
+                .statusCode(200)
+                .body("items", hasSize(BRANDS));
+    }
+
+    @Test
+    @DisplayName("Should keep brand names unique across shards")
+    void shouldRejectDuplicateNames() throws SQLException {
+        // Given
+        String body = """
+                {"name": "Unique Across Shards", "website": "https://unique.example.com", "logoUrl": "logo.png"}
+                """;
+        given().contentType(ContentType.JSON).body(body).when().post("/brands").then().statusCode(201);
+
+        // When / Then
+        given().contentType(ContentType.JSON).body(body).when().post("/brands").then().statusCode(409);
+        given()
+                .contentType(ContentType.JSON)
+                .body("{\"items\": [" + body + "]}")
+                .when()
+                .post("/brands/bulk")
+                .then()
+                .statusCode(200)
+                .body("results[0].status", equalTo("conflict"));
+        int copies = brandsByShard("Unique Across Shards").values().stream().mapToInt(Map::size).sum();
+        assertEquals(1, copies);
+    }
+
+    @Test
+    @DisplayName("Should store an Idempotency-Key on the shard of the brand it created, and replay it")
+    void shouldStoreIdempotencyKeyWithTheBrand() throws SQLException {
+        // Given
+        String key = "sharded-idempotency-key";
+        String body = """
+                {"name": "Idempotent Sharded Brand", "website": "https://idempotent.example.com", "logoUrl": "logo.png"}
+                """;
+        int id = given().contentType(ContentType.JSON).header("Idempotency-Key", key).body(body)
+                .when().post("/brands")
+                .then().statusCode(201)
+                .extract().path("id");
+
+        // When
+        given().contentType(ContentType.JSON).header("Idempotency-Key", key).body(body)
+                .when().post("/brands")
+                .then().statusCode(201)
+                .body("id", equalTo(id));
+
+        // Then - the key sits with the brand, on no other shard
+        int brandShard = BrandShardKey.physical(BrandShardKey.ofId(id), SHARDS);
+        for (int shard = 0; shard < SHARDS; shard++) {
+            try (Connection connection = PostgresShardsTestContainer.openConnection(shard);
+                 PreparedStatement statement = connection.prepareStatement(
+                         "SELECT count(*) FROM idempotency_key WHERE idempotency_key = ?")) {
+                statement.setString(1, key);
+                try (ResultSet rows = statement.executeQuery()) {
+                    rows.next();
+                    assertEquals(shard == brandShard ? 1 : 0, rows.getInt(1), "Keys on shard " + shard);
+                }
+            }
+        }
+    }
+
+    private static <T> List<T> listAll(String sort, String path) {
+        List<T> values = new ArrayList<>();
+        String cursor = null;
+        do {
+            var request = given().queryParam("sort", sort).queryParam("limit", 7);
+            if (cursor != null) {
+                request.queryParam("after", cursor);
+            }
+            var page = request.when().get("/brands").then().statusCode(200).extract();
+            values.addAll(page.<List<T>>path(path));
+            cursor = page.path("nextCursor");
+        } while (cursor != null);
+        return values;
+    }
+
+    private static Map<Integer, Map<Long, String>> brandsByShard(String namePattern) throws SQLException {
+        Map<Integer, Map<Long, String>> brandsByShard = new HashMap<>();
+        for (int shard = 0; shard < SHARDS; shard++) {
+            Map<Long, String> brands = new HashMap<>();
+            try (Connection connection = PostgresShardsTestContainer.openConnection(shard);
+                 PreparedStatement statement = connection.prepareStatement(
+                         "SELECT id, name FROM brand WHERE name LIKE ?")) {
+                statement.setString(1, namePattern);
+                try (ResultSet rows = statement.executeQuery()) {
+                    while (rows.next()) {
+                        brands.put(rows.getLong(1), rows.getString(2));
+                    }
+                }
+            }
+            brandsByShard.put(shard, brands);
+        }
+        return brandsByShard;
+    }
+}
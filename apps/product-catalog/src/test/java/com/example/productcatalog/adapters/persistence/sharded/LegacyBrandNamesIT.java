@@ -0,0 +1,100 @@
+package com.example.productcatalog.adapters.persistence.sharded;
+
+import com.example.productcatalog.infrastructure.sharding.BrandShardKey;
+import com.example.productcatalog.test.containers.PostgresShardsTestContainer;
+import io.quarkus.test.common.QuarkusTestResource;
+import io.quarkus.test.common.QuarkusTestResourceLifecycleManager;
+import io.quarkus.test.junit.QuarkusIntegrationTest;
+import io.restassured.http.ContentType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+@QuarkusIntegrationTest
+@QuarkusTestResource(PostgresShardsTestContainer.class)
+@QuarkusTestResource(value = LegacyBrandNamesIT.LegacyBrands.class, restrictToAnnotatedClass = true)
+public class LegacyBrandNamesIT {
+
+    private static final int SHARDS = PostgresShardsTestContainer.DATASOURCES.size();
+    private static final long LEGACY_ID = 42;
+
+    /**
+     * Brands with ids below 1000 predate sharding, and the name index is off, so only the
+     * database can tell a legacy name is taken.
+     */
+    public static class LegacyBrands implements QuarkusTestResourceLifecycleManager {
+
+        @Override
+        public Map<String, String> start() {
+            return Map.of(
+                    "product-catalog.sharding.legacy-id-ceiling", "1000",
+                    "product-catalog.brands.name-index.enabled", "false");
+        }
+
+        @Override
+        public void stop() {
+            // Nothing to stop
+        }
+    }
+
+    @Test
+    @DisplayName("Should reject a brand named like one created on the home shard before sharding")
+    void shouldRejectLegacyName() throws SQLException {
+        // Given - a legacy brand on the home shard, whose name now belongs to another shard
+        String name = IntStream.range(0, 100)
+                .mapToObj(i -> "Legacy Brand " + i)
+                .filter(candidate -> BrandShardKey.physical(BrandShardKey.ofName(candidate), SHARDS) != 0)
+                .findFirst()
+                .orElseThrow();
+        try (Connection connection = PostgresShardsTestContainer.openConnection(0);
+             PreparedStatement statement = connection.prepareStatement("""
+                     INSERT INTO brand (id, name, website, logo_url, created_at, updated_at)
+                     VALUES (?, ?, 'https://legacy.example.com', 'logo.png', now(), now())
+                     """)) {
+            statement.setLong(1, LEGACY_ID);
+            statement.setString(2, name);
+            statement.executeUpdate();
+        }
+        String body = """
+                {"name": "%s", "website": "https://legacy.example.com", "logoUrl": "logo.png"}
+                """.formatted(name);
+
+        // When / Then
+        given().contentType(ContentType.JSON).body(body).when().post("/brands")
+                .then().statusCode(409)
+                .body("detail", containsString(name));
+        given().contentType(ContentType.JSON).body("{\"items\": [" + body + "]}").when().post("/brands/bulk")
+                .then().statusCode(200)
+                .body("results[0].status", equalTo("conflict"));
+        given().queryParam("name", name).when().get("/brands")
+                .then().statusCode(200)
+                .body("items", hasSize(1))
+                .body("items[0].id", equalTo((int) LEGACY_ID));
+        assertEquals(1, countBrands(name));
+    }
+
+    private static int countBrands(String name) throws SQLException {
+        int count = 0;
+        for (int shard = 0; shard < SHARDS; shard++) {
+            try (Connection connection = PostgresShardsTestContainer.openConnection(shard);
+                 PreparedStatement statement = connection.prepareStatement("SELECT count(*) FROM brand WHERE name = ?")) {
+                statement.setString(1, name);
+                try (ResultSet rows = statement.executeQuery()) {
+                    rows.next();
+                    count += rows.getInt(1);
+                }
+            }
+        }
+        return count;
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.productcatalog.adapters.sharding;
+
+import com.example.productcatalog.infrastructure.sharding.BrandShardKey;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BrandShardKeyTest {
+
+    @Test
+    @DisplayName("Should read back the logical shard a brand id was composed with")
+    void shouldRoundTripLogicalShard() {
+        // Given
+        long[] sequenceValues = {1, 2, 51, 1_000_000, Integer.MAX_VALUE};
+
+        for (long sequenceValue : sequenceValues) {
+            for (int logicalShard : new int[]{0, 1, 511, BrandShardKey.LOGICAL_SHARDS - 1}) {
+                // When
+                long id = BrandShardKey.compose(sequenceValue, logicalShard);
+
+                // Then
+                assertEquals(logicalShard, BrandShardKey.ofId(id));
+                assertTrue(id > 0);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Should keep ids unique across shards drawing the same sequence values")
+    void shouldKeepIdsUniqueAcrossShards() {
+        // Given
+        Set<Long> ids = new HashSet<>();
+
+        // When
+        for (long sequenceValue = 1; sequenceValue <= 50; sequenceValue++) {
+            for (int logicalShard = 0; logicalShard < BrandShardKey.LOGICAL_SHARDS; logicalShard++) {
+                ids.add(BrandShardKey.compose(sequenceValue, logicalShard));
+            }
+        }
+
+        // Then
+        assertEquals(50 * BrandShardKey.LOGICAL_SHARDS, ids.size());
+    }
+
+    @Test
+    @DisplayName("Should spread similar names evenly over the logical shards")
+    void shouldSpreadNamesEvenly() {
+        // Given
+        int names = 64 * BrandShardKey.LOGICAL_SHARDS;
+        int physicalShards = 8;
+        int[] brandsPerShard = new int[physicalShards];
+
+        // When
+        for (int i = 0; i < names; i++) {
+            int logicalShard = BrandShardKey.ofName("Brand " + i);
+            assertEquals(logicalShard, BrandShardKey.ofName("Brand " + i));
+            brandsPerShard[BrandShardKey.physical(logicalShard, physicalShards)]++;
+        }
+
+        // Then - within 5% of an even share
+        int share = names / physicalShards;
+        for (int count : brandsPerShard) {
+            assertTrue(Math.abs(count - share) < share / 20, "Uneven shard: " + count + " brands, expected " + share);
+        }
+    }
+
+    @Test
+    @DisplayName("Should map logical shards by range, splitting each range when the databases double")
+    void shouldSplitRangesWhenDoubling() {
+        for (int logicalShard = 0; logicalShard < BrandShardKey.LOGICAL_SHARDS; logicalShard++) {
+            // Given
+            int before = BrandShardKey.physical(logicalShard, 4);
+
+            // When
+            int after = BrandShardKey.physical(logicalShard, 8);
+
+            // Then - moves only into one of the two halves of its former database
+            assertTrue(after == 2 * before || after == 2 * before + 1);
+            assertTrue(before >= 0 && before < 4);
+            assertEquals(0, BrandShardKey.physical(logicalShard, 1));
+        }
+        assertEquals(3, BrandShardKey.physical(BrandShardKey.LOGICAL_SHARDS - 1, 4));
+    }
+}
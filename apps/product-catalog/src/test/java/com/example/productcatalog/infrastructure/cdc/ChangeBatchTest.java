@@ -0,0 +1,152 @@
+package com.example.productcatalog.infrastructure.cdc;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Feeds decoded transactions through {@link ChangeBatch} the way {@code BrandChangeCapture}
+ * does, publishing every few changes, and replays the stream after a lost connection from
+ * the position saved with the last batch.
+ */
+public class ChangeBatchTest {
+
+    private static final String BRAND = "brand";
+    private static final Instant COMMIT_TIME = Instant.parse("2024-01-20T10:30:00Z");
+    private static final ChangeBatch.Position START = new ChangeBatch.Position(0, null, 0);
+
+    /**
+     * Three transactions inserting brands 1 to 7, the second one also changing another
+     * table: commit LSNs 100, 200 and 300, each ending 8 bytes later.
+     */
+    private static final List<PgOutputDecoder.Message> STREAM = List.of(
+            begin(100), insert(BRAND, 1), insert(BRAND, 2), commit(100),
+            begin(200), insert(BRAND, 3), insert(BRAND, 4), insert("product", 40), insert(BRAND, 5),
+            insert(BRAND, 6), commit(200),
+            begin(300), insert(BRAND, 7), commit(300));
+    private static final List<String> ALL_IDS = List.of("1", "2", "3", "4", "5", "6", "7");
+
+    @Test
+    @DisplayName("Should save a position within the transaction being read, and past it once committed")
+    void shouldTrackPositionWithinTransaction() {
+        // Given
+        ChangeBatch batch = new ChangeBatch(BRAND, START, 0);
+        STREAM.subList(0, 7).forEach(message -> batch.accept(message, 0));
+
+        // When
+        ChangeBatch.Position midTransaction = batch.next();
+        batch.published(midTransaction, 0);
+        STREAM.subList(7, 11).forEach(message -> batch.accept(message, 0));
+
+        // Then - the change of another table is not counted
+        assertEquals(new ChangeBatch.Position(108, 200L, 2), midTransaction);
+        assertEquals(List.of("5", "6"), ids(batch.changes()));
+        assertEquals(new ChangeBatch.Position(208, null, 0), batch.next());
+    }
+
+    @Test
+    @DisplayName("Should skip what was published before the saved position when the stream is replayed, mid-transaction included")
+    void shouldSkipPublishedChangesOnReplay() {
+        // Given
+        ChangeBatch.Position saved = new ChangeBatch.Position(108, 200L, 2);
+        ChangeBatch batch = new ChangeBatch(BRAND, saved, 0);
+
+        // When - the server resends from the start
+        STREAM.forEach(message -> batch.accept(message, 0));
+
+        // Then
+        assertEquals(List.of("5", "6", "7"), ids(batch.changes()));
+        assertEquals(COMMIT_TIME.plusMillis(200), batch.oldestCommitTime());
+        assertEquals(new ChangeBatch.Position(308, null, 0), batch.next());
+    }
+
+    @Test
+    @DisplayName("Should publish every change exactly once whenever the connection is lost, for any batch size")
+    void shouldPublishEveryChangeOnceAcrossRestarts() {
+        for (int batchSize = 1; batchSize <= 4; batchSize++) {
+            for (int firstLoss = 0; firstLoss <= STREAM.size(); firstLoss++) {
+                for (int secondLoss = 0; secondLoss <= STREAM.size(); secondLoss++) {
+                    // Given
+                    List<String> published = new ArrayList<>();
+
+                    // When - each run replays the whole stream from the position saved last
+                    ChangeBatch.Position saved = capture(START, batchSize, firstLoss, published);
+                    saved = capture(saved, batchSize, secondLoss, published);
+                    saved = capture(saved, batchSize, STREAM.size(), published);
+
+                    // Then
+                    String run = "batch size " + batchSize + ", lost after " + firstLoss + " then " + secondLoss;
+                    assertEquals(ALL_IDS, published, run);
+                    assertEquals(new ChangeBatch.Position(308, null, 0), saved, run);
+                }
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Should be due for a checkpoint once the position moved past transactions without changes")
+    void shouldCheckpointPastUnrelatedTransactions() {
+        // Given
+        ChangeBatch batch = new ChangeBatch(BRAND, START, 0);
+        List.of(begin(100), insert("product", 40), commit(100)).forEach(message -> batch.accept(message, 0));
+        Duration interval = Duration.ofSeconds(10);
+
+        // When / Then
+        assertTrue(batch.changes().isEmpty());
+        assertFalse(batch.isDue(Duration.ofMillis(200), interval, interval.toNanos() - 1));
+        assertTrue(batch.isDue(Duration.ofMillis(200), interval, interval.toNanos()));
+        assertEquals(new ChangeBatch.Position(108, null, 0), batch.next());
+    }
+
+    /**
+     * Reads the stream from the start, publishing as the batch fills up, until the
+     * connection is lost after {@code lostAfter} messages; the last batch is published when
+     * the stream is read to its end.
+     *
+     * @return the position saved last
+     */
+    private static ChangeBatch.Position capture(ChangeBatch.Position saved, int batchSize, int lostAfter,
+                                                List<String> published) {
+        ChangeBatch batch = new ChangeBatch(BRAND, saved, 0);
+        ChangeBatch.Position position = saved;
+        for (PgOutputDecoder.Message message : STREAM.subList(0, lostAfter)) {
+            batch.accept(message, 0);
+            if (batch.isFull(batchSize)) {
+                position = publish(batch, published);
+            }
+        }
+        return lostAfter == STREAM.size() ? publish(batch, published) : position;
+    }
+
+    private static ChangeBatch.Position publish(ChangeBatch batch, List<String> published) {
+        ChangeBatch.Position next = batch.next();
+        published.addAll(ids(batch.changes()));
+        batch.published(next, 0);
+        return next;
+    }
+
+    private static List<String> ids(List<PgOutputDecoder.RowChange> changes) {
+        return changes.stream().map(change -> change.values().get("id")).toList();
+    }
+
+    private static PgOutputDecoder.Begin begin(long lsn) {
+        return new PgOutputDecoder.Begin(lsn, COMMIT_TIME.plusMillis(lsn), (int) lsn);
+    }
+
+    private static PgOutputDecoder.Commit commit(long lsn) {
+        return new PgOutputDecoder.Commit(lsn, lsn + 8, COMMIT_TIME.plusMillis(lsn));
+    }
+
+    private static PgOutputDecoder.RowChange insert(String table, long id) {
+        return new PgOutputDecoder.RowChange(PgOutputDecoder.RowChange.Kind.INSERT, table,
+                Map.of("id", String.valueOf(id)), Set.of(), Map.of());
+    }
+}
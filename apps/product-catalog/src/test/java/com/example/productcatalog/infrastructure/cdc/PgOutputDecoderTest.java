@@ -0,0 +1,177 @@
+package com.example.productcatalog.infrastructure.cdc;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Decodes hand-built {@code pgoutput} messages, laid out as in PostgreSQL's logical
+ * replication message formats, protocol version 1.
+ */
+public class PgOutputDecoderTest {
+
+    private static final int BRAND_RELATION = 16384;
+    /** 2024-01-20T10:30:00Z, in microseconds since 2000-01-01. */
+    private static final long COMMIT_TIME = 759_061_800_000_000L;
+
+    private final PgOutputDecoder decoder = new PgOutputDecoder();
+
+    @Test
+    @DisplayName("Should decode a transaction inserting a brand, with values keyed by column")
+    void shouldDecodeInsertTransaction() throws IOException {
+        // Given
+        decoder.decode(brandRelation());
+
+        // When
+        PgOutputDecoder.Message begin = decoder.decode(message(out -> {
+            out.writeByte('B');
+            out.writeLong(0x16B3748L);
+            out.writeLong(COMMIT_TIME);
+            out.writeInt(731);
+        }));
+        PgOutputDecoder.Message insert = decoder.decode(message(out -> {
+            out.writeByte('I');
+            out.writeInt(BRAND_RELATION);
+            out.writeByte('N');
+            out.writeShort(3);
+            text(out, "42");
+            text(out, "SportMaster");
+            out.writeByte('n');
+        }));
+        PgOutputDecoder.Message commit = decoder.decode(message(out -> {
+            out.writeByte('C');
+            out.writeByte(0);
+            out.writeLong(0x16B3748L);
+            out.writeLong(0x16B3778L);
+            out.writeLong(COMMIT_TIME);
+        }));
+
+        // Then
+        assertEquals(new PgOutputDecoder.Begin(0x16B3748L, Instant.parse("2024-01-20T10:30:00Z"), 731), begin);
+        PgOutputDecoder.RowChange change = assertInstanceOf(PgOutputDecoder.RowChange.class, insert);
+        assertEquals(PgOutputDecoder.RowChange.Kind.INSERT, change.kind());
+        assertEquals("brand", change.table());
+        assertEquals("42", change.values().get("id"));
+        assertEquals("SportMaster", change.values().get("name"));
+        assertTrue(change.values().containsKey("description"));
+        assertNull(change.values().get("description"));
+        assertEquals(new PgOutputDecoder.Commit(0x16B3748L, 0x16B3778L, Instant.parse("2024-01-20T10:30:00Z")), commit);
+    }
+
+    @Test
+    @DisplayName("Should report out-of-line columns an update left unchanged instead of a value")
+    void shouldReportUnchangedToastedColumns() throws IOException {
+        // Given
+        decoder.decode(brandRelation());
+
+        // When
+        PgOutputDecoder.Message update = decoder.decode(message(out -> {
+            out.writeByte('U');
+            out.writeInt(BRAND_RELATION);
+            out.writeByte('N');
+            out.writeShort(3);
+            text(out, "42");
+            text(out, "Sport Master");
+            out.writeByte('u');
+        }));
+
+        // Then
+        PgOutputDecoder.RowChange change = assertInstanceOf(PgOutputDecoder.RowChange.class, update);
+        assertEquals(PgOutputDecoder.RowChange.Kind.UPDATE, change.kind());
+        assertEquals(Map.of("id", "42", "name", "Sport Master"), change.values());
+        assertEquals(Set.of("description"), change.unchanged());
+    }
+
+    @Test
+    @DisplayName("Should decode a delete from the old key and ignore messages without row data")
+    void shouldDecodeDeleteAndIgnoreOtherMessages() throws IOException {
+        // Given
+        decoder.decode(brandRelation());
+
+        // When
+        PgOutputDecoder.Message delete = decoder.decode(message(out -> {
+            out.writeByte('D');
+            out.writeInt(BRAND_RELATION);
+            out.writeByte('K');
+            out.writeShort(3);
+            text(out, "42");
+            out.writeByte('n');
+            out.writeByte('n');
+        }));
+        PgOutputDecoder.Message origin = decoder.decode(message(out -> {
+            out.writeByte('O');
+            out.writeLong(0x16B3748L);
+            out.writeBytes("primary\0");
+        }));
+
+        // Then
+        PgOutputDecoder.RowChange change = assertInstanceOf(PgOutputDecoder.RowChange.class, delete);
+        assertEquals(PgOutputDecoder.RowChange.Kind.DELETE, change.kind());
+        assertEquals("42", change.oldValues().get("id"));
+        assertTrue(change.values().isEmpty());
+        assertNull(origin);
+    }
+
+    @Test
+    @DisplayName("Should fail on a row change for a relation that has not been described")
+    void shouldFailOnUnknownRelation() throws IOException {
+        // Given
+        ByteBuffer insert = message(out -> {
+            out.writeByte('I');
+            out.writeInt(BRAND_RELATION);
+            out.writeByte('N');
+            out.writeShort(0);
+        });
+
+        // When / Then
+        assertThrows(IllegalStateException.class, () -> decoder.decode(insert));
+    }
+
+    private static ByteBuffer brandRelation() throws IOException {
+        return message(out -> {
+            out.writeByte('R');
+            out.writeInt(BRAND_RELATION);
+            out.writeBytes("public\0");
+            out.writeBytes("brand\0");
+            out.writeByte('d');
+            out.writeShort(3);
+            column(out, "id", 20);
+            column(out, "name", 1043);
+            column(out, "description", 25);
+        });
+    }
+
+    private static void column(DataOutputStream out, String name, int typeOid) throws IOException {
+        out.writeByte(name.equals("id") ? 1 : 0);
+        out.writeBytes(name + "\0");
+        out.writeInt(typeOid);
+        out.writeInt(-1);
+    }
+
+    private static void text(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeByte('t');
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static ByteBuffer message(MessageWriter writer) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        writer.write(new DataOutputStream(bytes));
+        return ByteBuffer.wrap(bytes.toByteArray());
+    }
+
+    private interface MessageWriter {
+        void write(DataOutputStream out) throws IOException;
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.productcatalog.loadtest;
+
+import com.example.productcatalog.test.containers.PostgresTestContainer;
+import io.quarkus.test.common.QuarkusTestResource;
+import io.quarkus.test.junit.QuarkusIntegrationTest;
+import io.restassured.RestAssured;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Finds the max sustainable throughput of {@code POST /brands} against a real Postgres.
+ * <p>
+ * Runs only with {@code -Pload-test}. Rates are stepped up until p99 latency or the error
+ * rate breaks the SLO; the report lands in {@code target/loadtest}. Set
+ * {@code POSTGRES_TEST_JDBC_URL} to run against a local database instead of a container.
+ */
+@QuarkusIntegrationTest
+@QuarkusTestResource(PostgresTestContainer.class)
+public class CreateBrandLoadIT {
+
+    private static final Logger LOG = LoggerFactory.getLogger(CreateBrandLoadIT.class);
+
+    @Test
+    @DisplayName("Should measure throughput and latency percentiles of brand creation")
+    public void shouldMeasureCreateBrandThroughputAndLatency() throws Exception {
+        LoadTestSettings settings = LoadTestSettings.fromSystemProperties();
+        URI endpoint = URI.create(RestAssured.baseURI + ":" + RestAssured.port + "/brands");
+        Supplier<HttpRequest> requests = createBrandRequests(endpoint, settings);
+        Instant startedAt = Instant.now();
+
+        List<StepResult> steps = new ArrayList<>();
+        try (var generator = new OpenModelLoadGenerator(settings.getMaxInFlight(), settings.getRequestTimeout())) {
+            // Warm up JIT, connection pools and caches at the first rate; results are discarded
+            generator.run(settings.getRates().get(0), settings.getWarmup(), requests, 201);
+
+            for (double rate : settings.getRates()) {
+                StepResult step = generator.run(rate, settings.getStepDuration(), requests, 201)
+                        .evaluate(settings.getSloP99(), settings.getMaxErrorRate());
+                steps.add(step);
+                LOG.info("{} req/s -> achieved {} req/s, p50={}ms p99={}ms p999={}ms errors={} dropped={}",
+                        rate, Math.round(step.getAchievedRate()), step.getP50(), step.getP99(), step.getP999(),
+                        step.getErrors(), step.getDropped());
+                if (!step.isSustainable()) {
+                    break;
+                }
+            }
+        }
+
+        LoadTestReport report = LoadTestReport.builder()
+                .endpoint("POST /brands")
+                .startedAt(startedAt)
+                .sloP99Millis(settings.getSloP99().toNanos() / 1_000_000.0)
+                .maxErrorRate(settings.getMaxErrorRate())
+                .maxSustainableRate(steps.stream()
+                        .filter(StepResult::isSustainable)
+                        .mapToDouble(StepResult::getTargetRate)
+                        .max()
+                        .orElse(0))
+                .steps(steps)
+                .build();
+        Path json = report.write(Path.of(settings.getReportDir()), "create-brand");
+        LOG.info("Load test report written to {} (max sustainable rate: {} req/s)",
+                json, report.getMaxSustainableRate());
+
+        assertTrue(Files.exists(json));
+        assertTrue(steps.get(0).getSent() > steps.get(0).getErrors(), "No brand was created during the load test");
+    }
+
+    /**
+     * Create requests with names unique per run, so repeated runs against a local database do not conflict.
+     */
+    private static Supplier<HttpRequest> createBrandRequests(URI endpoint, LoadTestSettings settings) {
+        String runId = UUID.randomUUID().toString().substring(0, 8);
+        AtomicLong sequence = new AtomicLong();
+        return () -> HttpRequest.newBuilder(endpoint)
+                .timeout(settings.getRequestTimeout())
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("""
+                        {
+                            "name": "load-%s-%d",
+                            "description": {"content": "Load test brand"},
+                            "website": "https://www.example.com",
+                            "logoUrl": "https://www.example.com/logo.png"
+                        }
+                        """.formatted(runId, sequence.incrementAndGet())))
+                .build();
+    }
+}
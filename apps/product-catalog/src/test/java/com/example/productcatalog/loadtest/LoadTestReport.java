@@ -0,0 +1,58 @@
+package com.example.productcatalog.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import lombok.Builder;
+import lombok.Value;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Machine-readable result of a load test run: one entry per rate step plus the highest
+ * rate that met the SLO. Written as JSON next to one HdrHistogram {@code .hgrm}
+ * percentile distribution per step, which can be plotted with the HdrHistogram tooling.
+ */
+@Value
+@Builder
+public class LoadTestReport {
+
+    private static final ObjectMapper OBJECT_MAPPER = JsonMapper.builder()
+            .addModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .enable(SerializationFeature.INDENT_OUTPUT)
+            .build();
+
+    String endpoint;
+    Instant startedAt;
+    double sloP99Millis;
+    double maxErrorRate;
+    /** Highest target rate whose step was sustainable, 0 if none was. */
+    double maxSustainableRate;
+    List<StepResult> steps;
+
+    /**
+     * Writes {@code <name>.json} and {@code <name>-<rate>rps.hgrm} files into {@code directory}.
+     *
+     * @return the path of the JSON report
+     */
+    public Path write(Path directory, String name) throws IOException {
+        Files.createDirectories(directory);
+        for (StepResult step : steps) {
+            Path hgrm = directory.resolve("%s-%.0frps.hgrm".formatted(name, step.getTargetRate()));
+            try (PrintStream out = new PrintStream(Files.newOutputStream(hgrm))) {
+                step.getHistogram().outputPercentileDistribution(out, (double) TimeUnit.MILLISECONDS.toNanos(1));
+            }
+        }
+        Path json = directory.resolve(name + ".json");
+        OBJECT_MAPPER.writeValue(json.toFile(), this);
+        return json;
+    }
+}
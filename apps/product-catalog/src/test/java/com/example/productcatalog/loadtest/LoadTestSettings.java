@@ -0,0 +1,56 @@
+package com.example.productcatalog.loadtest;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Load test parameters, read from {@code loadtest.*} system properties (see the {@code load-test} Maven profile).
+ */
+@Value
+@Builder
+public class LoadTestSettings {
+
+    /** Arrival rates in requests per second, tried in order until one is not sustainable. */
+    List<Double> rates;
+    Duration warmup;
+    Duration stepDuration;
+    /** A step is sustainable while its p99 stays under this latency. */
+    Duration sloP99;
+    /** A step is sustainable while its error rate (failed + dropped) stays under this ratio. */
+    double maxErrorRate;
+    /** Requests outstanding beyond this are dropped and counted as errors instead of queuing on the client. */
+    int maxInFlight;
+    Duration requestTimeout;
+    String reportDir;
+    /** Brands the search load test makes sure exist before searching. */
+    int searchBrands;
+    /** p99 latency target of typeahead search. */
+    Duration searchSloP99;
+
+    public static LoadTestSettings fromSystemProperties() {
+        return LoadTestSettings.builder()
+                .rates(Arrays.stream(property("loadtest.rates", "50,100,200,400").split(","))
+                        .map(String::trim)
+                        .map(Double::valueOf)
+                        .toList())
+                .warmup(Duration.parse(property("loadtest.warmup", "PT10S")))
+                .stepDuration(Duration.parse(property("loadtest.step-duration", "PT30S")))
+                .sloP99(Duration.parse(property("loadtest.slo.p99", "PT0.2S")))
+                .maxErrorRate(Double.parseDouble(property("loadtest.max-error-rate", "0.01")))
+                .maxInFlight(Integer.parseInt(property("loadtest.max-in-flight", "2000")))
+                .requestTimeout(Duration.parse(property("loadtest.request-timeout", "PT10S")))
+                .reportDir(property("loadtest.report-dir", "target/loadtest"))
+                .searchBrands(Integer.parseInt(property("loadtest.search.brands", "1000000")))
+                .searchSloP99(Duration.parse(property("loadtest.search.slo.p99", "PT0.01S")))
+                .build();
+    }
+
+    private static String property(String name, String defaultValue) {
+        String value = System.getProperty(name);
+        return value == null || value.isBlank() ? defaultValue : value;
+    }
+}
@@ -0,0 +1,100 @@
+package com.example.productcatalog.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+/**
+ * Open-model load generator: requests are issued on a fixed schedule regardless of how
+ * fast the server answers, and latency is measured from the <em>intended</em> send time.
+ * A slow response therefore cannot delay the following requests and hide the queueing
+ * it causes (coordinated omission), unlike a closed loop of N clients.
+ */
+class OpenModelLoadGenerator implements AutoCloseable {
+
+    private static final Logger LOG = LoggerFactory.getLogger(OpenModelLoadGenerator.class);
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final HttpClient httpClient;
+    private final int maxInFlight;
+    private final Duration requestTimeout;
+
+    OpenModelLoadGenerator(int maxInFlight, Duration requestTimeout) {
+        this.maxInFlight = maxInFlight;
+        this.requestTimeout = requestTimeout;
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(executor)
+                .build();
+    }
+
+    /**
+     * Drives {@code ratePerSecond} requests per second for {@code duration} and waits for every response.
+     *
+     * @param expectedStatus the status code counted as a success
+     */
+    StepResult run(double ratePerSecond, Duration duration, Supplier<HttpRequest> requests, int expectedStatus) {
+        long intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / ratePerSecond);
+        long total = duration.toNanos() / intervalNanos;
+
+        Histogram latencies = new ConcurrentHistogram(3);
+        Semaphore inFlight = new Semaphore(maxInFlight);
+        LongAdder errors = new LongAdder();
+        long dropped = 0;
+        List<CompletableFuture<?>> pending = new ArrayList<>((int) total);
+
+        LOG.info("Load step: {} req/s for {} ({} requests)", ratePerSecond, duration, total);
+        long start = System.nanoTime();
+        for (long i = 0; i < total; i++) {
+            long intendedStart = start + i * intervalNanos;
+            long wait;
+            while ((wait = intendedStart - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(wait);
+            }
+
+            if (!inFlight.tryAcquire()) {
+                dropped++;
+                continue;
+            }
+            HttpRequest request = requests.get();
+            pending.add(httpClient.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                    .orTimeout(requestTimeout.toMillis(), TimeUnit.MILLISECONDS)
+                    .whenComplete((response, failure) -> {
+                        latencies.recordValue(System.nanoTime() - intendedStart);
+                        if (failure != null || response.statusCode() != expectedStatus) {
+                            errors.increment();
+                        }
+                        inFlight.release();
+                    }));
+        }
+
+        CompletableFuture.allOf(pending.toArray(CompletableFuture[]::new))
+                .exceptionally(failure -> null)
+                .join();
+        long elapsedNanos = System.nanoTime() - start;
+
+        return StepResult.of(ratePerSecond, total, pending.size(), errors.sum(), dropped, elapsedNanos, latencies);
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+}
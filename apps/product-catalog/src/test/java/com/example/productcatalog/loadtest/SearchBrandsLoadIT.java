@@ -0,0 +1,153 @@
+package com.example.productcatalog.loadtest;
+
+import com.example.productcatalog.test.containers.PostgresTestContainer;
+import io.quarkus.test.common.QuarkusTestResource;
+import io.quarkus.test.junit.QuarkusIntegrationTest;
+import io.restassured.RestAssured;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpRequest;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Measures {@code GET /brands/search?mode=typeahead} latency against a large brand table
+ * ({@code loadtest.search.brands}, 1M by default), with the p99 target taken from
+ * {@code loadtest.search.slo.p99} (10 ms by default).
+ * <p>
+ * Runs only with {@code -Pload-test}. Missing brands are generated over JDBC, so a local
+ * database set through {@code POSTGRES_TEST_JDBC_URL} is only seeded once.
+ */
+@QuarkusIntegrationTest
+@QuarkusTestResource(PostgresTestContainer.class)
+public class SearchBrandsLoadIT {
+
+    private static final Logger LOG = LoggerFactory.getLogger(SearchBrandsLoadIT.class);
+
+    /** Name words of the generated brands; typed prefixes are taken from them. */
+    private static final List<String> WORDS = List.of(
+            "Alpine", "Nordic", "Urban", "Coastal", "Summit", "Harbor", "Granite", "Velvet",
+            "Crimson", "Evergreen", "Falcon", "Golden", "Horizon", "Iron", "Juniper", "Lunar",
+            "Meadow", "Nimbus", "Orchard", "Prairie", "Quartz", "Riverside", "Sterling", "Timber");
+
+    @Test
+    @DisplayName("Should measure typeahead search latency percentiles on a large brand table")
+    public void shouldMeasureTypeaheadLatency() throws Exception {
+        LoadTestSettings settings = LoadTestSettings.fromSystemProperties();
+        seedBrands(settings.getSearchBrands());
+        String endpoint = RestAssured.baseURI + ":" + RestAssured.port + "/brands/search";
+        Supplier<HttpRequest> requests = typeaheadRequests(endpoint, settings);
+        Instant startedAt = Instant.now();
+
+        List<StepResult> steps = new ArrayList<>();
+        try (var generator = new OpenModelLoadGenerator(settings.getMaxInFlight(), settings.getRequestTimeout())) {
+            generator.run(settings.getRates().get(0), settings.getWarmup(), requests, 200);
+
+            for (double rate : settings.getRates()) {
+                StepResult step = generator.run(rate, settings.getStepDuration(), requests, 200)
+                        .evaluate(settings.getSearchSloP99(), settings.getMaxErrorRate());
+                steps.add(step);
+                LOG.info("{} req/s -> achieved {} req/s, p50={}ms p99={}ms p999={}ms errors={} dropped={}",
+                        rate, Math.round(step.getAchievedRate()), step.getP50(), step.getP99(), step.getP999(),
+                        step.getErrors(), step.getDropped());
+                if (!step.isSustainable()) {
+                    break;
+                }
+            }
+        }
+
+        LoadTestReport report = LoadTestReport.builder()
+                .endpoint("GET /brands/search?mode=typeahead")
+                .startedAt(startedAt)
+                .sloP99Millis(settings.getSearchSloP99().toNanos() / 1_000_000.0)
+                .maxErrorRate(settings.getMaxErrorRate())
+                .maxSustainableRate(steps.stream()
+                        .filter(StepResult::isSustainable)
+                        .mapToDouble(StepResult::getTargetRate)
+                        .max()
+                        .orElse(0))
+                .steps(steps)
+                .build();
+        Path json = report.write(Path.of(settings.getReportDir()), "search-brands-typeahead");
+        LOG.info("Load test report written to {} (max sustainable rate: {} req/s)",
+                json, report.getMaxSustainableRate());
+
+        assertTrue(Files.exists(json));
+        assertTrue(steps.get(0).isSustainable(), "Typeahead p99 is over target at the lowest rate: "
+                + steps.get(0).getP99() + "ms");
+    }
+
+    /**
+     * Tops the brand table up to {@code target} rows named {@code <Word> <Word> <n>}, with ids
+     * taken from {@code brand_id_seq} so they never collide with ids the service allocates.
+     */
+    private static void seedBrands(int target) throws SQLException {
+        try (Connection connection = PostgresTestContainer.openConnection();
+             Statement statement = connection.createStatement()) {
+            long existing;
+            try (ResultSet result = statement.executeQuery("SELECT count(*) FROM brand")) {
+                result.next();
+                existing = result.getLong(1);
+            }
+            if (existing >= target) {
+                return;
+            }
+            String words = "ARRAY['" + String.join("','", WORDS) + "']";
+            long start = System.nanoTime();
+            statement.execute("""
+                    WITH seeded AS (
+                        INSERT INTO brand (id, name, website, logo_url, created_at, updated_at)
+                        SELECT nextval('brand_id_seq'),
+                               w[1 + g %% %2$d] || ' ' || w[1 + (g / %2$d) %% %2$d] || ' ' || g,
+                               'https://brand-' || g || '.example.com',
+                               'https://cdn.example.com/brands/' || g || '/logo.png',
+                               now(), now()
+                        FROM generate_series(%3$d, %4$d) g, (SELECT %1$s AS w) words
+                        RETURNING id
+                    )
+                    INSERT INTO brand_description (brand_id, locale, format, content)
+                    SELECT s.id, 'en', 'PLAIN',
+                           'Outdoor and lifestyle products by ' || w[1 + (s.id / 7) %% %2$d] || ' since ' || (1950 + s.id %% 70)
+                    FROM seeded s, (SELECT %1$s AS w) words
+                    """.formatted(words, WORDS.size(), existing + 1, target));
+            statement.execute("ANALYZE brand");
+            statement.execute("ANALYZE brand_description");
+            LOG.info("Seeded {} brands in {} s", target - existing, (System.nanoTime() - start) / 1_000_000_000);
+        }
+    }
+
+    /**
+     * Typeahead requests for 3 to 6 character prefixes of the name words, in random case.
+     */
+    private static Supplier<HttpRequest> typeaheadRequests(String endpoint, LoadTestSettings settings) {
+        return () -> {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            String word = WORDS.get(random.nextInt(WORDS.size()));
+            String prefix = word.substring(0, Math.min(word.length(), 3 + random.nextInt(4)));
+            String term = random.nextBoolean() ? prefix.toLowerCase() : prefix;
+            URI uri = URI.create(endpoint + "?mode=typeahead&limit=10&q="
+                    + URLEncoder.encode(term, StandardCharsets.UTF_8));
+            return HttpRequest.newBuilder(uri)
+                    .timeout(settings.getRequestTimeout())
+                    .GET()
+                    .build();
+        };
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.productcatalog.loadtest;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.Builder;
+import lombok.Value;
+import org.HdrHistogram.Histogram;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Outcome of one constant-rate load step. Latencies are in milliseconds.
+ */
+@Value
+@Builder(toBuilder = true)
+public class StepResult {
+
+    private static final double NANOS_PER_MILLI = TimeUnit.MILLISECONDS.toNanos(1);
+
+    double targetRate;
+    double achievedRate;
+    long scheduled;
+    long sent;
+    long errors;
+    long dropped;
+    double errorRate;
+    double p50;
+    double p90;
+    double p99;
+    double p999;
+    double max;
+    double mean;
+    boolean sustainable;
+
+    @JsonIgnore
+    Histogram histogram;
+
+    static StepResult of(double targetRate, long scheduled, long sent, long errors, long dropped,
+                         long elapsedNanos, Histogram histogram) {
+        long completed = sent - errors;
+        return StepResult.builder()
+                .targetRate(targetRate)
+                .achievedRate(completed / (elapsedNanos / (double) TimeUnit.SECONDS.toNanos(1)))
+                .scheduled(scheduled)
+                .sent(sent)
+                .errors(errors)
+                .dropped(dropped)
+                .errorRate(scheduled == 0 ? 0 : (errors + dropped) / (double) scheduled)
+                .p50(millis(histogram.getValueAtPercentile(50)))
+                .p90(millis(histogram.getValueAtPercentile(90)))
+                .p99(millis(histogram.getValueAtPercentile(99)))
+                .p999(millis(histogram.getValueAtPercentile(99.9)))
+                .max(millis(histogram.getMaxValue()))
+                .mean(histogram.getMean() / NANOS_PER_MILLI)
+                .histogram(histogram)
+                .build();
+    }
+
+    StepResult evaluate(Duration sloP99, double maxErrorRate) {
+        boolean withinSlo = p99 <= sloP99.toNanos() / NANOS_PER_MILLI && errorRate <= maxErrorRate;
+        return toBuilder().sustainable(withinSlo).build();
+    }
+
+    private static double millis(long nanos) {
+        return nanos / NANOS_PER_MILLI;
+    }
+}
@@ -34,4 +34,13 @@ public class KafkaTestContainer extends BaseContainerized {
         
         return config;
     }
+
+    /**
+     * Bootstrap servers of the shared container, for tests that consume topics directly.
+     *
+     * @return the Kafka bootstrap servers
+     */
+    public static String getBootstrapServers() {
+        return KAFKA_CONTAINER.getBootstrapServers();
+    }
 }
\ No newline at end of file
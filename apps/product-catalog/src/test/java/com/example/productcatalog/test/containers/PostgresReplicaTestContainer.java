@@ -0,0 +1,100 @@
+package com.example.productcatalog.test.containers;
+
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.containers.Network;
+import org.testcontainers.containers.wait.strategy.Wait;
+import org.testcontainers.utility.DockerImageName;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A PostgreSQL primary and a streaming replica of it, for integration tests of read
+ * routing. The application writes to the primary and reads from the {@code replica}
+ * datasource once its lag is within bounds.
+ * <p>
+ * Uses the Bitnami image, which sets up the replication user and streams from the primary
+ * given a few environment variables. The application user is granted
+ * {@code pg_read_all_stats}, without which the replica's WAL receiver state reads as unknown.
+ * Not reused between runs: a replica has to be cloned from the primary it follows.
+ */
+public class PostgresReplicaTestContainer extends BaseContainerized {
+
+    private static final DockerImageName POSTGRES_IMAGE = DockerImageName.parse("bitnami/postgresql:13");
+    private static final String DATABASE_NAME = "catalog_test_db";
+    private static final String USERNAME = "catalog";
+    private static final String PASSWORD = "catalog";
+    private static final String SUPERUSER_PASSWORD = "postgres";
+    private static final String PRIMARY_ALIAS = "postgres-primary";
+    private static final int PORT = 5432;
+
+    private static final Network NETWORK = Network.newNetwork();
+
+    private static final GenericContainer<?> PRIMARY = new GenericContainer<>(POSTGRES_IMAGE)
+            .withNetwork(NETWORK)
+            .withNetworkAliases(PRIMARY_ALIAS)
+            .withEnv("POSTGRESQL_REPLICATION_MODE", "master")
+            .withEnv("POSTGRESQL_REPLICATION_USER", "replicator")
+            .withEnv("POSTGRESQL_REPLICATION_PASSWORD", "replicator")
+            .withEnv("POSTGRESQL_USERNAME", USERNAME)
+            .withEnv("POSTGRESQL_PASSWORD", PASSWORD)
+            .withEnv("POSTGRESQL_DATABASE", DATABASE_NAME)
+            .withEnv("POSTGRESQL_POSTGRES_PASSWORD", SUPERUSER_PASSWORD)
+            .withExposedPorts(PORT)
+            .waitingFor(Wait.forLogMessage(".*database system is ready to accept connections.*", 1)
+                    .withStartupTimeout(Duration.ofMinutes(2)));
+
+    private static final GenericContainer<?> REPLICA = new GenericContainer<>(POSTGRES_IMAGE)
+            .withNetwork(NETWORK)
+            .withEnv("POSTGRESQL_REPLICATION_MODE", "slave")
+            .withEnv("POSTGRESQL_MASTER_HOST", PRIMARY_ALIAS)
+            .withEnv("POSTGRESQL_MASTER_PORT_NUMBER", String.valueOf(PORT))
+            .withEnv("POSTGRESQL_REPLICATION_USER", "replicator")
+            .withEnv("POSTGRESQL_REPLICATION_PASSWORD", "replicator")
+            .withEnv("POSTGRESQL_PASSWORD", PASSWORD)
+            .withExposedPorts(PORT)
+            .dependsOn(PRIMARY)
+            .waitingFor(Wait.forLogMessage(".*database system is ready to accept read-only connections.*", 1)
+                    .withStartupTimeout(Duration.ofMinutes(2)));
+
+    @Override
+    public Map<String, String> start() {
+        REPLICA.start();
+        // Replicates to the replica, where the lag check reads pg_stat_wal_receiver
+        try (Connection connection = DriverManager.getConnection(jdbcUrl(PRIMARY), "postgres", SUPERUSER_PASSWORD);
+             Statement statement = connection.createStatement()) {
+            statement.execute("GRANT pg_read_all_stats TO " + USERNAME);
+        } catch (SQLException e) {
+            throw new IllegalStateException("Could not grant pg_read_all_stats to " + USERNAME, e);
+        }
+        logContainerStart("PostgreSQL primary", PRIMARY);
+        logContainerStart("PostgreSQL replica", REPLICA);
+
+        Map<String, String> config = new HashMap<>();
+        config.put("quarkus.datasource.jdbc.url", jdbcUrl(PRIMARY));
+        config.put("quarkus.datasource.username", USERNAME);
+        config.put("quarkus.datasource.password", PASSWORD);
+        config.put("quarkus.datasource.\"replica\".jdbc.url", jdbcUrl(REPLICA));
+        config.put("quarkus.datasource.\"replica\".username", USERNAME);
+        config.put("quarkus.datasource.\"replica\".password", PASSWORD);
+
+        // Migrations run on the primary and reach the replica through streaming
+        config.put("quarkus.liquibase.migrate-at-start", "true");
+        config.put("quarkus.liquibase.clean-at-start", "false");
+
+        config.put("product-catalog.read-replica.enabled", "true");
+        config.put("product-catalog.read-replica.lag-check-interval", "200ms");
+
+        logConfiguration(config);
+        return config;
+    }
+
+    private static String jdbcUrl(GenericContainer<?> container) {
+        return "jdbc:postgresql://" + container.getHost() + ":" + container.getMappedPort(PORT) + "/" + DATABASE_NAME;
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.productcatalog.test.containers;
+
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.utility.DockerImageName;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+/**
+ * Four PostgreSQL databases holding the brand shards: the default datasource, the home
+ * shard, and {@code shard-1} to {@code shard-3}. Each is migrated by its own Liquibase
+ * datasource. The databases use the {@code C} collation, as sharded listings by name need.
+ * <p>
+ * Only for applications built with the {@code sharded} Maven profile.
+ */
+public class PostgresShardsTestContainer extends BaseContainerized {
+
+    private static final DockerImageName POSTGRES_IMAGE = DockerImageName.parse("postgres:13");
+    private static final String DATABASE_NAME = "catalog_test_db";
+    private static final String USERNAME = "catalog";
+    private static final String PASSWORD = "catalog";
+
+    /** Datasource of every shard, in shard order. */
+    public static final List<String> DATASOURCES = List.of("<default>", "shard-1", "shard-2", "shard-3");
+
+    private static final List<PostgreSQLContainer<?>> SHARDS = IntStream.range(0, DATASOURCES.size())
+            .<PostgreSQLContainer<?>>mapToObj(shard -> new PostgreSQLContainer<>(POSTGRES_IMAGE)
+                    .withDatabaseName(DATABASE_NAME)
+                    .withUsername(USERNAME)
+                    .withPassword(PASSWORD)
+                    .withEnv("POSTGRES_INITDB_ARGS", "--locale=C"))
+            .toList();
+
+    @Override
+    public Map<String, String> start() {
+        SHARDS.parallelStream().forEach(PostgreSQLContainer::start);
+        SHARDS.forEach(container -> logContainerStart("PostgreSQL shard", container));
+
+        Map<String, String> config = new HashMap<>();
+        for (int shard = 0; shard < SHARDS.size(); shard++) {
+            String prefix = shard == 0 ? "" : ".\"" + DATASOURCES.get(shard) + "\"";
+            config.put("quarkus.datasource" + prefix + ".jdbc.url", SHARDS.get(shard).getJdbcUrl());
+            config.put("quarkus.datasource" + prefix + ".username", USERNAME);
+            config.put("quarkus.datasource" + prefix + ".password", PASSWORD);
+            config.put("quarkus.liquibase" + prefix + ".migrate-at-start", "true");
+            config.put("quarkus.liquibase" + prefix + ".clean-at-start", "true");
+        }
+        config.put("product-catalog.sharding.datasources", String.join(",", DATASOURCES));
+
+        logConfiguration(config);
+        return config;
+    }
+
+    /**
+     * Opens a JDBC connection to the database of a shard, for tests that check where brands
+     * were stored. Only valid once the resource has started.
+     *
+     * @param shard the index of the shard
+     */
+    public static Connection openConnection(int shard) throws SQLException {
+        PostgreSQLContainer<?> container = SHARDS.get(shard);
+        return DriverManager.getConnection(container.getJdbcUrl(), USERNAME, PASSWORD);
+    }
+}
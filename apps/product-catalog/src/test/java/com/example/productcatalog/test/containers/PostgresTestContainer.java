@@ -6,12 +6,21 @@ import org.testcontainers.utility.DockerImageName;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
 import java.util.HashMap;
 import java.util.Map;
 
 /**
  * PostgreSQL Testcontainer setup for integration tests.
  * This container will be shared across all tests that use this resource.
+ * <p>
+ * Setting {@code POSTGRES_TEST_JDBC_URL} points the tests at an already running database
+ * instead (e.g. a local Postgres for load tests); no container is started in that case.
+ * <p>
+ * Runs with {@code wal_level=logical}, so the {@code cdc} event source can be tested
+ * against it; a local database needs the same for {@code BrandChangeCaptureIT}.
  */
 public class PostgresTestContainer implements QuarkusTestResourceLifecycleManager {
 
@@ -20,16 +29,22 @@ public class PostgresTestContainer implements QuarkusTestResourceLifecycleManage
     private static final String DATABASE_NAME = "catalog_test_db";
     private static final String USERNAME = System.getenv("POSTGRES_TEST_USER");
     private static final String PASSWORD = System.getenv("POSTGRES_TEST_PASSWORD");
+    private static final String LOCAL_JDBC_URL = System.getenv("POSTGRES_TEST_JDBC_URL");
 
     private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>(POSTGRES_IMAGE)
             .withDatabaseName(DATABASE_NAME)
             .withUsername(USERNAME)
             .withPassword(PASSWORD)
+            .withCommand("postgres", "-c", "fsync=off", "-c", "wal_level=logical")
             // Enable container reuse between test runs
             .withReuse(true);
 
     @Override
     public Map<String, String> start() {
+        if (LOCAL_JDBC_URL != null && !LOCAL_JDBC_URL.isBlank()) {
+            return startLocal();
+        }
+
         POSTGRES.start();
         LOG.info("PostgreSQL container started at: {}", POSTGRES.getJdbcUrl());
         
@@ -48,6 +63,34 @@ public class PostgresTestContainer implements QuarkusTestResourceLifecycleManage
         return config;
     }
 
+    private Map<String, String> startLocal() {
+        LOG.info("Using local PostgreSQL at: {}", LOCAL_JDBC_URL);
+
+        Map<String, String> config = new HashMap<>();
+        config.put("quarkus.datasource.jdbc.url", LOCAL_JDBC_URL);
+        config.put("quarkus.datasource.username", USERNAME);
+        config.put("quarkus.datasource.password", PASSWORD);
+        config.put("quarkus.datasource.db-kind", "postgresql");
+
+        // Migrate, but never wipe a database we do not own
+        config.put("quarkus.liquibase.migrate-at-start", "true");
+        config.put("quarkus.liquibase.validate-on-migrate", "true");
+        config.put("quarkus.liquibase.clean-at-start", "false");
+
+        return config;
+    }
+
+    /**
+     * Opens a JDBC connection to the test database, for tests that inspect it directly
+     * (e.g. query plans). Only valid once the resource has started.
+     */
+    public static Connection openConnection() throws SQLException {
+        if (LOCAL_JDBC_URL != null && !LOCAL_JDBC_URL.isBlank()) {
+            return DriverManager.getConnection(LOCAL_JDBC_URL, USERNAME, PASSWORD);
+        }
+        return DriverManager.getConnection(POSTGRES.getJdbcUrl(), POSTGRES.getUsername(), POSTGRES.getPassword());
+    }
+
     @Override
     public void stop() {
         // Container will be stopped by Testcontainers automatically
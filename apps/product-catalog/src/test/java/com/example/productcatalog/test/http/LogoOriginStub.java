@@ -0,0 +1,94 @@
+package com.example.productcatalog.test.http;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.quarkus.test.common.QuarkusTestResourceLifecycleManager;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.file.Files;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Serves logos for the ingestion tests, standing in for brand websites.
+ * <p>
+ * {@code /logo.png} is a 400x200 PNG, {@code /moved} redirects to it and anything else is
+ * not found. The server listens on the loopback interface, so private addresses are allowed
+ * for the application under test, and logos are stored in a fresh temporary directory.
+ */
+public class LogoOriginStub implements QuarkusTestResourceLifecycleManager {
+
+    private static HttpServer server;
+
+    @Override
+    public Map<String, String> start() {
+        try {
+            byte[] logo = png(400, 200);
+            server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+            server.createContext("/", exchange -> {
+                switch (exchange.getRequestURI().getPath()) {
+                    case "/logo.png" -> respond(exchange, 200, "image/png", logo);
+                    case "/moved" -> {
+                        exchange.getResponseHeaders().add("Location", "/logo.png");
+                        respond(exchange, 302, null, new byte[0]);
+                    }
+                    default -> respond(exchange, 404, null, new byte[0]);
+                }
+            });
+            server.start();
+
+            Map<String, String> config = new HashMap<>();
+            config.put("product-catalog.logos.allow-private-addresses", "true");
+            config.put("product-catalog.logos.store-directory",
+                    Files.createTempDirectory("logos").toString());
+            config.put("product-catalog.logos.poll-interval", "200ms");
+            return config;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Base URL of the stub, e.g. {@code http://127.0.0.1:41234}. Only valid once the
+     * resource has started.
+     */
+    public static String baseUrl() {
+        return "http://" + server.getAddress().getHostString() + ":" + server.getAddress().getPort();
+    }
+
+    private static void respond(HttpExchange exchange, int status, String contentType, byte[] body) throws IOException {
+        if (contentType != null) {
+            exchange.getResponseHeaders().add("Content-Type", contentType);
+        }
+        exchange.sendResponseHeaders(status, body.length == 0 ? -1 : body.length);
+        if (body.length > 0) {
+            exchange.getResponseBody().write(body);
+        }
+        exchange.close();
+    }
+
+    private static byte[] png(int width, int height) throws IOException {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        for (int x = 0; x < width; x++) {
+            for (int y = 0; y < height; y++) {
+                image.setRGB(x, y, x < width / 2 ? 0xFF1E88E5 : 0xFFFFC107);
+            }
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", out);
+        return out.toByteArray();
+    }
+
+    @Override
+    public void stop() {
+        if (server != null) {
+            server.stop(0);
+        }
+    }
+}
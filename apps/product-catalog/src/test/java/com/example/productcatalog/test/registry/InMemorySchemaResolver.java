@@ -0,0 +1,94 @@
+package com.example.productcatalog.test.registry;
+
+import io.apicurio.registry.resolver.ParsedSchema;
+import io.apicurio.registry.resolver.SchemaLookupResult;
+import io.apicurio.registry.resolver.SchemaParser;
+import io.apicurio.registry.resolver.SchemaResolver;
+import io.apicurio.registry.resolver.data.Record;
+import io.apicurio.registry.resolver.strategy.ArtifactReference;
+import io.apicurio.registry.resolver.strategy.ArtifactReferenceResolverStrategy;
+import io.apicurio.registry.rest.client.RegistryClient;
+import org.apache.avro.Schema;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Stand-in for the Apicurio registry in tests that run the serdes without a registry.
+ * <p>
+ * Enable it with {@code apicurio.registry.schema-resolver} set to this class. Schemas are
+ * registered on first use and given sequential global ids, shared by every serializer and
+ * deserializer in the JVM, as a real registry would.
+ */
+public class InMemorySchemaResolver implements SchemaResolver<Schema, Object> {
+
+    private static final Map<String, Long> IDS = new ConcurrentHashMap<>();
+    private static final Map<Long, ParsedSchema<Schema>> SCHEMAS = new ConcurrentHashMap<>();
+    private static final AtomicLong NEXT_ID = new AtomicLong(1);
+
+    private SchemaParser<Schema, Object> schemaParser;
+
+    @Override
+    public void configure(Map<String, ?> configs, SchemaParser<Schema, Object> schemaParser) {
+        this.schemaParser = schemaParser;
+    }
+
+    @Override
+    public void setClient(RegistryClient client) {
+    }
+
+    @Override
+    public void setArtifactResolverStrategy(ArtifactReferenceResolverStrategy<Schema, Object> strategy) {
+    }
+
+    @Override
+    public SchemaParser<Schema, Object> getSchemaParser() {
+        return schemaParser;
+    }
+
+    @Override
+    public SchemaLookupResult<Schema> resolveSchema(Record<Object> data) {
+        ParsedSchema<Schema> schema = schemaParser.getSchemaFromData(data);
+        long globalId = IDS.computeIfAbsent(schema.getParsedSchema().toString(), json -> {
+            long id = NEXT_ID.getAndIncrement();
+            SCHEMAS.put(id, schema);
+            return id;
+        });
+        return lookupResult(globalId, schema);
+    }
+
+    @Override
+    public SchemaLookupResult<Schema> resolveSchemaByArtifactReference(ArtifactReference reference) {
+        ParsedSchema<Schema> schema = SCHEMAS.get(reference.getGlobalId());
+        if (schema == null) {
+            throw new IllegalStateException("No schema registered with global id " + reference.getGlobalId());
+        }
+        return lookupResult(reference.getGlobalId(), schema);
+    }
+
+    /**
+     * Number of distinct schemas registered so far.
+     *
+     * @return the registered schema count
+     */
+    public static int registeredSchemas() {
+        return SCHEMAS.size();
+    }
+
+    private static SchemaLookupResult<Schema> lookupResult(long globalId, ParsedSchema<Schema> schema) {
+        return SchemaLookupResult.<Schema>builder()
+                .globalId(globalId)
+                .artifactId(schema.getParsedSchema().getFullName())
+                .parsedSchema(schema)
+                .build();
+    }
+
+    @Override
+    public void reset() {
+    }
+
+    @Override
+    public void close() {
+    }
+}
@@ -0,0 +1,129 @@
+package com.example.productcatalog.usecases;
+
+import com.example.productcatalog.test.containers.PostgresTestContainer;
+import com.example.productcatalog.test.http.LogoOriginStub;
+import io.quarkus.test.common.QuarkusTestResource;
+import io.quarkus.test.junit.QuarkusIntegrationTest;
+import io.restassured.http.ContentType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@QuarkusIntegrationTest
+@QuarkusTestResource(PostgresTestContainer.class)
+@QuarkusTestResource(LogoOriginStub.class)
+public class BrandLogoIT {
+
+    @Test
+    @DisplayName("Should ingest a logo once, serve its variants from the store and share them between brands")
+    public void shouldServeIngestedLogoFromStore() {
+        // Given
+        Integer brandId = createBrand("Logo Brand", LogoOriginStub.baseUrl() + "/logo.png");
+        Integer movedBrandId = createBrand("Moved Logo Brand", LogoOriginStub.baseUrl() + "/moved");
+
+        // When
+        String variant = awaitStoredLogo(brandId, 128);
+        String original = awaitStoredLogo(brandId, null);
+
+        // Then
+        assertTrue(variant.matches("logos/[0-9a-f]{64}-w128\\.png"), variant);
+        assertTrue(original.matches("logos/[0-9a-f]{64}\\.png"), original);
+        assertEquals(original, awaitStoredLogo(movedBrandId, null));
+
+        String etag = given()
+                .when()
+                .get("/" + variant)
+                .then()
+                .statusCode(200)
+                .contentType("image/png")
+                .header("Cache-Control", containsString("immutable"))
+                .header("X-Content-Type-Options", equalTo("nosniff"))
+                .extract()
+                .header("ETag");
+
+        given()
+                .header("If-None-Match", etag)
+                .when()
+                .get("/" + variant)
+                .then()
+                .statusCode(304);
+    }
+
+    @Test
+    @DisplayName("Should redirect to the brand's logo URL while its logo is not stored")
+    public void shouldRedirectToOriginWithoutStoredLogo() {
+        // Given
+        String logoUrl = LogoOriginStub.baseUrl() + "/missing.png";
+        Integer brandId = createBrand("Missing Logo Brand", logoUrl);
+
+        // When/Then
+        given()
+                .redirects().follow(false)
+                .when()
+                .get("/brands/{id}/logo", brandId)
+                .then()
+                .statusCode(307)
+                .header("Location", equalTo(logoUrl));
+
+        given()
+                .when()
+                .get("/logos/{name}", "0".repeat(64) + ".png")
+                .then()
+                .statusCode(404);
+    }
+
+    private static Integer createBrand(String name, String logoUrl) {
+        return given()
+                .contentType(ContentType.JSON)
+                .body("""
+                    {"name": "%s", "website": "https://www.example.com", "logoUrl": "%s"}
+                    """.formatted(name, logoUrl))
+                .when()
+                .post("/brands")
+                .then()
+                .statusCode(201)
+                .extract()
+                .path("id");
+    }
+
+    /**
+     * Polls the brand's logo until it redirects into the store.
+     *
+     * @return the redirect target, relative to the application root
+     */
+    private static String awaitStoredLogo(Integer brandId, Integer width) {
+        Instant deadline = Instant.now().plus(Duration.ofSeconds(30));
+        while (true) {
+            String location = given()
+                    .redirects().follow(false)
+                    .queryParams(width == null ? Map.of() : Map.of("width", width))
+                    .when()
+                    .get("/brands/{id}/logo", brandId)
+                    .then()
+                    .statusCode(307)
+                    .extract()
+                    .header("Location");
+            int stored = location.indexOf("logos/");
+            if (stored >= 0) {
+                return location.substring(stored);
+            }
+            if (Instant.now().isAfter(deadline)) {
+                throw new AssertionError("Logo of brand " + brandId + " was not stored, still redirecting to " + location);
+            }
+            try {
+                Thread.sleep(200);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new AssertionError(e);
+            }
+        }
+    }
+}
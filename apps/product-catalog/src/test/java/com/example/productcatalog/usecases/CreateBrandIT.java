@@ -1,6 +1,8 @@
 package com.example.productcatalog.usecases;
 
 import com.example.productcatalog.test.containers.PostgresTestContainer;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.quarkus.test.common.QuarkusTestResource;
 import io.quarkus.test.junit.QuarkusIntegrationTest;
 import io.restassured.RestAssured;
@@ -12,6 +14,12 @@ import jakarta.inject.Inject;
 import jakarta.persistence.EntityManager;
 import jakarta.transaction.Transactional;
 
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+
 import static io.restassured.RestAssured.given;
 import static org.hamcrest.Matchers.*;
 import static org.junit.jupiter.api.Assertions.*;
@@ -30,7 +38,7 @@ public class CreateBrandIT {
         String requestBody = """
             {
                 "name": "Nike",
-                "description": "Just Do It - Leading athletic wear and equipment",
+                "description": {"content": "Just Do It - Leading athletic wear and equipment"},
                 "website": "https://www.nike.com",
                 "logoUrl": "https://www.nike.com/assets/logos/swoosh.png"
             }
@@ -46,7 +54,8 @@ public class CreateBrandIT {
                 .statusCode(201)
                 .contentType(ContentType.JSON)
                 .body("name", equalTo("Nike"))
-                .body("description", equalTo("Just Do It - Leading athletic wear and equipment"))
+                .body("description.content", equalTo("Just Do It - Leading athletic wear and equipment"))
+                .body("description.locale", equalTo("en"))
                 .body("website", equalTo("https://www.nike.com"))
                 .body("logoUrl", equalTo("https://www.nike.com/assets/logos/swoosh.png"))
                 .body("id", notNullValue())
@@ -109,6 +118,94 @@ public class CreateBrandIT {
                 .contentType("application/problem+json");
     }
 
+    @Test
+    @DisplayName("Should reject a brand whose name is already taken with 409")
+    public void shouldRejectDuplicateBrandName() {
+        // Given
+        String requestBody = """
+            {
+                "name": "Duplicate Brand",
+                "website": "https://www.duplicate.com",
+                "logoUrl": "https://www.duplicate.com/logo.png"
+            }
+            """;
+        given()
+                .contentType(ContentType.JSON)
+                .body(requestBody)
+                .when()
+                .post("/brands")
+                .then()
+                .statusCode(201);
+
+        // When/Then
+        given()
+                .contentType(ContentType.JSON)
+                .body(requestBody)
+                .when()
+                .post("/brands")
+                .then()
+                .statusCode(409)
+                .contentType("application/problem+json")
+                .body("detail", containsString("Duplicate Brand"));
+    }
+
+    @Test
+    @DisplayName("Should return, store and publish the same timestamps, to the microsecond")
+    public void shouldAgreeOnTimestampsAtMicrosecondPrecision() throws Exception {
+        // Given
+        String requestBody = """
+            {
+                "name": "Precise Brand",
+                "website": "https://www.precise.com",
+                "logoUrl": "https://www.precise.com/logo.png"
+            }
+            """;
+
+        // When
+        var response = given()
+                .contentType(ContentType.JSON)
+                .body(requestBody)
+                .when()
+                .post("/brands")
+                .then()
+                .statusCode(201)
+                .extract();
+        long brandId = response.<Number>path("id").longValue();
+        Instant createdAt = OffsetDateTime.parse(response.path("createdAt")).toInstant();
+        Instant updatedAt = OffsetDateTime.parse(response.path("updatedAt")).toInstant();
+
+        // Then - the row and the BrandCreated event carry the very instants of the response
+        assertEquals(0, createdAt.getNano() % 1_000, "PostgreSQL keeps microseconds");
+        assertEquals(createdAt, updatedAt);
+        try (Connection connection = PostgresTestContainer.openConnection()) {
+            connection.createStatement().execute("SET TIME ZONE 'UTC'");
+            try (PreparedStatement statement = connection.prepareStatement("""
+                    SELECT to_char(created_at::timestamptz, 'YYYY-MM-DD"T"HH24:MI:SS.US"Z"'),
+                           to_char(updated_at::timestamptz, 'YYYY-MM-DD"T"HH24:MI:SS.US"Z"')
+                    FROM brand WHERE id = ?
+                    """)) {
+                statement.setLong(1, brandId);
+                try (ResultSet row = statement.executeQuery()) {
+                    assertTrue(row.next(), "Brand should be stored");
+                    assertEquals(createdAt, Instant.parse(row.getString(1)), "Stored createdAt");
+                    assertEquals(updatedAt, Instant.parse(row.getString(2)), "Stored updatedAt");
+                }
+            }
+            try (PreparedStatement statement = connection.prepareStatement(
+                    "SELECT payload FROM outbox_event WHERE event_type = 'BrandCreated' AND aggregate_id = ?")) {
+                statement.setString(1, String.valueOf(brandId));
+                try (ResultSet row = statement.executeQuery()) {
+                    assertTrue(row.next(), "BrandCreated should be recorded");
+                    JsonNode payload = new ObjectMapper().readTree(row.getString(1));
+                    assertEquals(createdAt, OffsetDateTime.parse(payload.get("createdAt").asText()).toInstant(),
+                            "Published createdAt");
+                    assertEquals(updatedAt, OffsetDateTime.parse(payload.get("updatedAt").asText()).toInstant(),
+                            "Published updatedAt");
+                }
+            }
+        }
+    }
+
     @Transactional
     private void verifyBrandExistsInDatabase(Long brandId, String expectedName, String expectedDescription, 
             String expectedWebsite, String expectedLogoUrl) {
@@ -122,7 +219,11 @@ public class CreateBrandIT {
 
         assertNotNull(brand, "Brand should exist in database");
         assertEquals(expectedName, brand.getName(), "Brand name should match");
-        assertEquals(expectedDescription, brand.getDescription(), "Brand description should match");
+        assertEquals(expectedDescription, entityManager.createQuery(
+            "SELECT d.content FROM BrandDescription d WHERE d.id.brandId = :id AND d.id.locale = 'en'",
+            String.class)
+                .setParameter("id", brandId)
+                .getSingleResult(), "Brand description should match");
         assertEquals(expectedWebsite, brand.getWebsite().toString(), "Brand website should match");
         assertEquals(expectedLogoUrl, brand.getLogo().toString(), "Brand logo URL should match");
         assertNotNull(brand.getCreatedAt(), "Brand should have created timestamp");
@@ -0,0 +1,111 @@
+package com.example.productcatalog.usecases;
+
+import com.example.productcatalog.test.containers.PostgresTestContainer;
+import io.quarkus.test.common.QuarkusTestResource;
+import io.quarkus.test.junit.QuarkusIntegrationTest;
+import io.restassured.http.ContentType;
+import io.restassured.response.ExtractableResponse;
+import io.restassured.response.Response;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.IntStream;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@QuarkusIntegrationTest
+@QuarkusTestResource(PostgresTestContainer.class)
+public class CreateBrandIdempotencyIT {
+
+    private static final String REQUEST_BODY = """
+            {
+                "name": "%s",
+                "website": "https://www.idempotent.com",
+                "logoUrl": "https://www.idempotent.com/logo.png"
+            }
+            """;
+
+    @Test
+    @DisplayName("Should replay the stored response when the same Idempotency-Key is retried")
+    public void shouldReplayStoredResponseForRetriedKey() {
+        // Given
+        String key = UUID.randomUUID().toString();
+        String body = REQUEST_BODY.formatted("Idempotent Brand");
+
+        ExtractableResponse<Response> first = createBrand(key, body)
+                .then()
+                .statusCode(201)
+                .header("Idempotent-Replayed", nullValue())
+                .extract();
+
+        // When - the client retries with the same key
+        ExtractableResponse<Response> retry = createBrand(key, body)
+                .then()
+                .statusCode(201)
+                .header("Idempotent-Replayed", equalTo("true"))
+                .extract();
+
+        // Then - the same brand is returned and only one was created
+        assertEquals(first.asString(), retry.asString());
+        given()
+                .queryParam("name", "Idempotent Brand")
+                .when()
+                .get("/brands")
+                .then()
+                .statusCode(200)
+                .body("items", hasSize(1))
+                .body("items[0].id", equalTo(first.path("id")));
+    }
+
+    @Test
+    @DisplayName("Should reject an Idempotency-Key reused with a different request")
+    public void shouldRejectKeyReusedWithDifferentRequest() {
+        // Given
+        String key = UUID.randomUUID().toString();
+        createBrand(key, REQUEST_BODY.formatted("Original Brand")).then().statusCode(201);
+
+        // When/Then
+        createBrand(key, REQUEST_BODY.formatted("Other Brand"))
+                .then()
+                .statusCode(422)
+                .contentType("application/problem+json")
+                .body("type", endsWith("/idempotency-key-reused"));
+    }
+
+    @Test
+    @DisplayName("Should create one brand when concurrent requests share an Idempotency-Key")
+    public void shouldCreateOneBrandForConcurrentDuplicates() {
+        // Given
+        String key = UUID.randomUUID().toString();
+        String body = REQUEST_BODY.formatted("Concurrent Brand");
+
+        // When
+        List<Integer> ids = IntStream.range(0, 8)
+                .mapToObj(i -> CompletableFuture.supplyAsync(() -> createBrand(key, body)
+                        .then()
+                        .statusCode(201)
+                        .extract()
+                        .<Integer>path("id")))
+                .toList()
+                .stream()
+                .map(CompletableFuture::join)
+                .toList();
+
+        // Then
+        assertEquals(1, ids.stream().distinct().count());
+    }
+
+    private static Response createBrand(String idempotencyKey, String body) {
+        return given()
+                .contentType(ContentType.JSON)
+                .header("Idempotency-Key", idempotencyKey)
+                .body(body)
+                .when()
+                .post("/brands");
+    }
+}
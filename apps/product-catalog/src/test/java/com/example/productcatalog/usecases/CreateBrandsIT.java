@@ -0,0 +1,112 @@
+package com.example.productcatalog.usecases;
+
+import com.example.productcatalog.test.containers.PostgresTestContainer;
+import io.quarkus.test.common.QuarkusTestResource;
+import io.quarkus.test.junit.QuarkusIntegrationTest;
+import io.restassured.http.ContentType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.*;
+
+@QuarkusIntegrationTest
+@QuarkusTestResource(PostgresTestContainer.class)
+public class CreateBrandsIT {
+
+    @Test
+    @DisplayName("Should create every brand of a bulk request across several batches")
+    public void shouldCreateAllBrandsAcrossBatches() {
+        // Given - more items than a single batch holds
+        int count = 1200;
+        String items = IntStream.range(0, count)
+                .mapToObj(i -> brandJson("Bulk Brand " + i))
+                .collect(Collectors.joining(","));
+        String requestBody = "{\"items\": [" + items + "]}";
+
+        // When/Then
+        given()
+                .contentType(ContentType.JSON)
+                .body(requestBody)
+                .when()
+                .post("/brands/bulk")
+                .then()
+                .statusCode(200)
+                .contentType(ContentType.JSON)
+                .body("results", hasSize(count))
+                .body("results.status", everyItem(equalTo("created")))
+                .body("results[0].index", equalTo(0))
+                .body("results[0].brand.name", equalTo("Bulk Brand 0"))
+                .body("results[0].brand.id", notNullValue())
+                .body("results[" + (count - 1) + "].brand.name", equalTo("Bulk Brand " + (count - 1)));
+    }
+
+    @Test
+    @DisplayName("Should report conflicts per item without failing the rest of the request")
+    public void shouldReportConflictsPerItem() {
+        // Given - an existing brand and a duplicate inside the request
+        given()
+                .contentType(ContentType.JSON)
+                .body("{\"items\": [" + brandJson("Existing Brand") + "]}")
+                .when()
+                .post("/brands/bulk")
+                .then()
+                .statusCode(200);
+
+        String requestBody = "{\"items\": ["
+                + brandJson("Existing Brand") + ","
+                + brandJson("Fresh Brand") + ","
+                + brandJson("Fresh Brand")
+                + "]}";
+
+        // When/Then
+        given()
+                .contentType(ContentType.JSON)
+                .body(requestBody)
+                .when()
+                .post("/brands/bulk")
+                .then()
+                .statusCode(200)
+                .body("results.status", contains("conflict", "created", "conflict"))
+                .body("results[0].error", containsString("Existing Brand"))
+                .body("results[1].brand.name", equalTo("Fresh Brand"));
+    }
+
+    @Test
+    @DisplayName("Should reject a bulk request with more items than it takes, creating none")
+    public void shouldRejectOversizedBulkRequest() {
+        // Given
+        String items = IntStream.range(0, 5001)
+                .mapToObj(i -> brandJson("Oversized Bulk Brand " + i))
+                .collect(Collectors.joining(","));
+
+        // When/Then
+        given()
+                .contentType(ContentType.JSON)
+                .body("{\"items\": [" + items + "]}")
+                .when()
+                .post("/brands/bulk")
+                .then()
+                .statusCode(400);
+        given()
+                .queryParam("name", "Oversized Bulk Brand 0")
+                .when()
+                .get("/brands")
+                .then()
+                .statusCode(200)
+                .body("items", empty());
+    }
+
+    private static String brandJson(String name) {
+        return """
+            {
+                "name": "%s",
+                "website": "https://www.example.com",
+                "logoUrl": "https://www.example.com/logo.png"
+            }
+            """.formatted(name);
+    }
+}
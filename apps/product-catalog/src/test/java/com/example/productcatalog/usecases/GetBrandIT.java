@@ -0,0 +1,253 @@
+package com.example.productcatalog.usecases;
+
+import com.example.productcatalog.test.containers.PostgresTestContainer;
+import io.quarkus.test.common.QuarkusTestResource;
+import io.quarkus.test.junit.QuarkusIntegrationTest;
+import io.restassured.http.ContentType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.*;
+
+@QuarkusIntegrationTest
+@QuarkusTestResource(PostgresTestContainer.class)
+public class GetBrandIT {
+
+    @Test
+    @DisplayName("Should return a created brand by id and by name")
+    public void shouldReturnCreatedBrandByIdAndName() {
+        // Given
+        Integer brandId = given()
+                .contentType(ContentType.JSON)
+                .body("""
+                    {
+                        "name": "Readable Brand",
+                        "website": "https://www.readable.com",
+                        "logoUrl": "https://www.readable.com/logo.png"
+                    }
+                    """)
+                .when()
+                .post("/brands")
+                .then()
+                .statusCode(201)
+                .extract()
+                .path("id");
+
+        // When/Then - lookup by id
+        given()
+                .when()
+                .get("/brands/{id}", brandId)
+                .then()
+                .statusCode(200)
+                .contentType(ContentType.JSON)
+                .body("id", equalTo(brandId))
+                .body("name", equalTo("Readable Brand"))
+                .body("website", equalTo("https://www.readable.com"))
+                .body("createdAt", notNullValue());
+
+        // When/Then - lookup by name
+        given()
+                .queryParam("name", "Readable Brand")
+                .when()
+                .get("/brands")
+                .then()
+                .statusCode(200)
+                .body("items", hasSize(1))
+                .body("items[0].id", equalTo(brandId));
+    }
+
+    @Test
+    @DisplayName("Should find a brand by name right after creating it, although its absence was cached")
+    public void shouldFindBrandCreatedAfterCachedMiss() {
+        // Given - the miss is cached
+        given()
+                .queryParam("name", "Latecomer Brand")
+                .when()
+                .get("/brands")
+                .then()
+                .statusCode(200)
+                .body("items", empty());
+        given()
+                .queryParam("name", "Latecomer Bulk Brand")
+                .when()
+                .get("/brands")
+                .then()
+                .statusCode(200)
+                .body("items", empty());
+
+        // When
+        Integer brandId = given()
+                .contentType(ContentType.JSON)
+                .body("""
+                    {
+                        "name": "Latecomer Brand",
+                        "website": "https://www.latecomer.com",
+                        "logoUrl": "https://www.latecomer.com/logo.png"
+                    }
+                    """)
+                .when()
+                .post("/brands")
+                .then()
+                .statusCode(201)
+                .extract()
+                .path("id");
+        given()
+                .contentType(ContentType.JSON)
+                .body("""
+                    {"items": [
+                        {"name": "Latecomer Bulk Brand", "website": "https://www.latecomer-bulk.com", "logoUrl": "logo.png"}
+                    ]}
+                    """)
+                .when()
+                .post("/brands/bulk")
+                .then()
+                .statusCode(200)
+                .body("results[0].status", equalTo("created"));
+
+        // Then - without waiting for the brand events
+        given()
+                .queryParam("name", "Latecomer Brand")
+                .when()
+                .get("/brands")
+                .then()
+                .statusCode(200)
+                .body("items", hasSize(1))
+                .body("items[0].id", equalTo(brandId));
+        given()
+                .queryParam("name", "Latecomer Bulk Brand")
+                .when()
+                .get("/brands")
+                .then()
+                .statusCode(200)
+                .body("items", hasSize(1));
+    }
+
+    @Test
+    @DisplayName("Should answer If-None-Match with 304 while the brand is unchanged")
+    public void shouldReturnNotModifiedForCurrentEtag() {
+        // Given
+        String createdEtag = given()
+                .contentType(ContentType.JSON)
+                .body("""
+                    {
+                        "name": "Cacheable Brand",
+                        "website": "https://www.cacheable.com",
+                        "logoUrl": "https://www.cacheable.com/logo.png"
+                    }
+                    """)
+                .when()
+                .post("/brands")
+                .then()
+                .statusCode(201)
+                .header("ETag", notNullValue())
+                .extract()
+                .header("ETag");
+        Integer brandId = given()
+                .queryParam("name", "Cacheable Brand")
+                .when()
+                .get("/brands")
+                .then()
+                .extract()
+                .path("items[0].id");
+
+        // When/Then - the ETag of the created brand is the one served on reads
+        String etag = given()
+                .when()
+                .get("/brands/{id}", brandId)
+                .then()
+                .statusCode(200)
+                .header("ETag", equalTo(createdEtag))
+                .body("name", equalTo("Cacheable Brand"))
+                .extract()
+                .header("ETag");
+
+        // When/Then - a current tag, also weak or in a list, gets an empty 304
+        given()
+                .header("If-None-Match", etag)
+                .when()
+                .get("/brands/{id}", brandId)
+                .then()
+                .statusCode(304)
+                .header("ETag", equalTo(etag))
+                .body(emptyOrNullString());
+        given()
+                .header("If-None-Match", "\"stale\", W/" + etag)
+                .when()
+                .get("/brands/{id}", brandId)
+                .then()
+                .statusCode(304);
+
+        // When/Then - another tag gets the full body
+        given()
+                .header("If-None-Match", "\"stale\"")
+                .when()
+                .get("/brands/{id}", brandId)
+                .then()
+                .statusCode(200)
+                .body("id", equalTo(brandId));
+    }
+
+    @Test
+    @DisplayName("Should return the description only when asked for, falling back to the language")
+    public void shouldReturnDescriptionOnRequest() {
+        // Given
+        Integer brandId = given()
+                .contentType(ContentType.JSON)
+                .body("""
+                    {
+                        "name": "Described Brand",
+                        "description": {"content": "Trail running shoes", "format": "markdown"},
+                        "website": "https://www.described.com",
+                        "logoUrl": "https://www.described.com/logo.png"
+                    }
+                    """)
+                .when()
+                .post("/brands")
+                .then()
+                .statusCode(201)
+                .extract()
+                .path("id");
+
+        // When/Then - no description unless requested
+        given()
+                .when()
+                .get("/brands/{id}", brandId)
+                .then()
+                .statusCode(200)
+                .body("$", not(hasKey("description")));
+
+        // When/Then - en-US falls back to en
+        given()
+                .queryParam("fields", "description")
+                .queryParam("locale", "en-US")
+                .when()
+                .get("/brands/{id}", brandId)
+                .then()
+                .statusCode(200)
+                .body("description.content", equalTo("Trail running shoes"))
+                .body("description.format", equalTo("markdown"))
+                .body("description.locale", equalTo("en"));
+
+        // When/Then - unknown fields are rejected
+        given()
+                .queryParam("fields", "secrets")
+                .when()
+                .get("/brands/{id}", brandId)
+                .then()
+                .statusCode(400)
+                .contentType("application/problem+json");
+    }
+
+    @Test
+    @DisplayName("Should return 404 for an unknown brand")
+    public void shouldReturnNotFoundForUnknownBrand() {
+        given()
+                .when()
+                .get("/brands/{id}", Long.MAX_VALUE)
+                .then()
+                .statusCode(404)
+                .contentType("application/problem+json")
+                .body("status", equalTo(404));
+    }
+}
@@ -0,0 +1,138 @@
+package com.example.productcatalog.usecases;
+
+import com.example.productcatalog.test.containers.PostgresTestContainer;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.quarkus.test.common.QuarkusTestResource;
+import io.quarkus.test.junit.QuarkusIntegrationTest;
+import io.restassured.http.ContentType;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+@QuarkusIntegrationTest
+@QuarkusTestResource(PostgresTestContainer.class)
+public class ListBrandsIT {
+
+    private static final int BRANDS = 25;
+
+    @BeforeAll
+    static void createBrands() {
+        String items = IntStream.range(0, BRANDS)
+                .mapToObj(i -> """
+                    {"name": "Listed %02d", "website": "https://listed.example.com", "logoUrl": "logo.png"}
+                    """.formatted(i))
+                .collect(Collectors.joining(","));
+        given()
+                .contentType(ContentType.JSON)
+                .body("{\"items\": [" + items + "]}")
+                .when()
+                .post("/brands/bulk")
+                .then()
+                .statusCode(200);
+    }
+
+    @Test
+    @DisplayName("Should walk every brand once using keyset cursors")
+    public void shouldPageThroughAllBrandsWithCursors() {
+        // When - follow nextCursor until the last page
+        List<Integer> ids = new ArrayList<>();
+        String cursor = null;
+        do {
+            var request = given().queryParam("limit", 10);
+            if (cursor != null) {
+                request.queryParam("after", cursor);
+            }
+            var page = request.when().get("/brands").then().statusCode(200).extract();
+            ids.addAll(page.path("items.id"));
+            cursor = page.path("nextCursor");
+        } while (cursor != null);
+
+        // Then - ids are strictly increasing, so no brand is skipped or repeated
+        assertTrue(ids.size() >= BRANDS);
+        for (int i = 1; i < ids.size(); i++) {
+            assertTrue(ids.get(i) > ids.get(i - 1), "Ids should be strictly increasing");
+        }
+    }
+
+    @Test
+    @DisplayName("Should page by name")
+    public void shouldPageByName() {
+        var first = given()
+                .queryParam("sort", "name")
+                .queryParam("limit", 2)
+                .when()
+                .get("/brands")
+                .then()
+                .statusCode(200)
+                .body("items", hasSize(2))
+                .extract();
+
+        List<String> firstNames = first.path("items.name");
+        given()
+                .queryParam("sort", "name")
+                .queryParam("limit", 2)
+                .queryParam("after", (String) first.path("nextCursor"))
+                .when()
+                .get("/brands")
+                .then()
+                .statusCode(200)
+                .body("items[0].name", greaterThan(firstNames.get(1)));
+    }
+
+    @Test
+    @DisplayName("Should reject a cursor issued for another sort order")
+    public void shouldRejectCursorOfAnotherSortOrder() {
+        String idCursor = given()
+                .queryParam("limit", 1)
+                .when()
+                .get("/brands")
+                .then()
+                .extract()
+                .path("nextCursor");
+
+        given()
+                .queryParam("sort", "name")
+                .queryParam("after", idCursor)
+                .when()
+                .get("/brands")
+                .then()
+                .statusCode(400)
+                .contentType("application/problem+json");
+    }
+
+    @Test
+    @DisplayName("Should export every brand as one JSON document per line")
+    public void shouldExportBrandsAsNdjson() throws JsonProcessingException {
+        String body = given()
+                .when()
+                .get("/brands/export")
+                .then()
+                .statusCode(200)
+                .contentType("application/x-ndjson")
+                .extract()
+                .asString();
+
+        String[] lines = body.split("\n");
+        assertTrue(lines.length >= BRANDS);
+        Set<String> unique = new HashSet<>(List.of(lines));
+        assertEquals(lines.length, unique.size(), "Every brand should be exported once");
+        assertTrue(body.endsWith("}\n"));
+        assertTrue(lines[0].startsWith("{\"id\":"));
+        // Nothing between the newline and the next document, and no whitespace inside it
+        ObjectMapper mapper = new ObjectMapper();
+        assertTrue(lines[1].startsWith("{\"id\":"), lines[1]);
+        assertEquals(mapper.writeValueAsString(mapper.readTree(lines[1])), lines[1]);
+    }
+}
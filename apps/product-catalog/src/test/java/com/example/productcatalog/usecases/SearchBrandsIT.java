@@ -0,0 +1,160 @@
+package com.example.productcatalog.usecases;
+
+import com.example.productcatalog.test.containers.PostgresTestContainer;
+import io.quarkus.test.common.QuarkusTestResource;
+import io.quarkus.test.junit.QuarkusIntegrationTest;
+import io.restassured.http.ContentType;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+@QuarkusIntegrationTest
+@QuarkusTestResource(PostgresTestContainer.class)
+public class SearchBrandsIT {
+
+    private static final int TRAIL_BRANDS = 12;
+
+    @BeforeAll
+    static void createBrands() {
+        List<String> items = new ArrayList<>(List.of(
+                """
+                {"name": "Trailblazer Outfitters", "description": {"content": "Hiking boots and tents"},
+                 "website": "https://trailblazer.example.com", "logoUrl": "logo.png"}
+                """,
+                """
+                {"name": "Summit Gear", "description": {"content": "Gear for trail running and climbing"},
+                 "website": "https://summit.example.com", "logoUrl": "logo.png"}
+                """,
+                """
+                {"name": "Harbor Coffee", "description": {"content": "Roasted beans"},
+                 "website": "https://harbor.example.com", "logoUrl": "logo.png"}
+                """));
+        IntStream.range(0, TRAIL_BRANDS)
+                .mapToObj(i -> """
+                    {"name": "Trailhead %02d", "website": "https://trailhead.example.com", "logoUrl": "logo.png"}
+                    """.formatted(i))
+                .forEach(items::add);
+        given()
+                .contentType(ContentType.JSON)
+                .body("{\"items\": [" + String.join(",", items) + "]}")
+                .when()
+                .post("/brands/bulk")
+                .then()
+                .statusCode(200);
+    }
+
+    @Test
+    @DisplayName("Should rank a name match above a description match")
+    public void shouldRankNameMatchesFirst() {
+        List<String> names = given()
+                .queryParam("q", "trailblazer")
+                .when()
+                .get("/brands/search")
+                .then()
+                .statusCode(200)
+                .contentType(ContentType.JSON)
+                .extract()
+                .path("items.name");
+
+        assertEquals("Trailblazer Outfitters", names.get(0));
+
+        given()
+                .queryParam("q", "running")
+                .when()
+                .get("/brands/search")
+                .then()
+                .statusCode(200)
+                .body("items.name", hasItem("Summit Gear"))
+                .body("items.name", not(hasItem("Harbor Coffee")));
+    }
+
+    @Test
+    @DisplayName("Should walk every hit once using search cursors")
+    public void shouldPageThroughHitsWithCursors() {
+        List<Integer> ids = new ArrayList<>();
+        String cursor = null;
+        do {
+            var request = given().queryParam("q", "trailhead").queryParam("limit", 5);
+            if (cursor != null) {
+                request.queryParam("after", cursor);
+            }
+            var page = request.when().get("/brands/search").then().statusCode(200).extract();
+            ids.addAll(page.path("items.id"));
+            cursor = page.path("nextCursor");
+        } while (cursor != null);
+
+        assertTrue(ids.size() >= TRAIL_BRANDS);
+        assertEquals(ids.size(), new HashSet<>(ids).size(), "No hit should be repeated");
+    }
+
+    @Test
+    @DisplayName("Should suggest names starting with the typed prefix first")
+    public void shouldSuggestPrefixMatchesFirst() {
+        List<String> names = given()
+                .queryParam("q", "trailh")
+                .queryParam("mode", "typeahead")
+                .queryParam("limit", 5)
+                .when()
+                .get("/brands/search")
+                .then()
+                .statusCode(200)
+                .body("items", hasSize(5))
+                .body("nextCursor", nullValue())
+                .extract()
+                .path("items.name");
+
+        assertEquals(names.stream().sorted().collect(Collectors.toList()), names);
+        names.forEach(name -> assertTrue(name.startsWith("Trailhead"), name));
+    }
+
+    @Test
+    @DisplayName("Should treat LIKE wildcards in the term literally")
+    public void shouldEscapeWildcards() {
+        given()
+                .queryParam("q", "%_%")
+                .queryParam("mode", "typeahead")
+                .when()
+                .get("/brands/search")
+                .then()
+                .statusCode(200)
+                .body("items", empty());
+    }
+
+    @Test
+    @DisplayName("Should reject a listing cursor and a too short term")
+    public void shouldRejectInvalidInput() {
+        String listCursor = given()
+                .queryParam("limit", 1)
+                .when()
+                .get("/brands")
+                .then()
+                .extract()
+                .path("nextCursor");
+
+        given()
+                .queryParam("q", "trail")
+                .queryParam("after", listCursor)
+                .when()
+                .get("/brands/search")
+                .then()
+                .statusCode(400)
+                .contentType("application/problem+json");
+
+        given()
+                .queryParam("q", "t")
+                .when()
+                .get("/brands/search")
+                .then()
+                .statusCode(400);
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.ecommerce.benchmarks.common;
+
+import com.example.ecommerce.common.utils.DateTimeUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Formatting and conversion helpers of {@link DateTimeUtils}, next to the approaches they
+ * replace: a formatter compiled per call, and an {@code OffsetDateTime} per timestamp.
+ * Compare {@code gc.alloc.rate.norm} with {@code -prof gc}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DateTimeUtilsBenchmark {
+
+    private LocalDateTime dateTime;
+    private LocalDate date;
+    private Instant instant;
+    private byte[] buffer;
+    private StringBuilder builder;
+    private Instant[] distinctSeconds;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        instant = Instant.parse("2023-06-07T14:30:00.123456Z");
+        dateTime = LocalDateTime.of(2023, 6, 7, 14, 30, 0);
+        date = LocalDate.of(2023, 6, 7);
+        buffer = new byte[DateTimeUtils.ISO_INSTANT_MAX_LENGTH];
+        builder = new StringBuilder(DateTimeUtils.ISO_INSTANT_MAX_LENGTH);
+        distinctSeconds = new Instant[1024];
+        for (int i = 0; i < distinctSeconds.length; i++) {
+            distinctSeconds[i] = instant.plusSeconds(i * 7_919L);
+        }
+    }
+
+    @Benchmark
+    public String formatDateTimeOfPatternPerCall() {
+        return DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss").format(dateTime);
+    }
+
+    @Benchmark
+    public String formatDateTime() {
+        return DateTimeUtils.formatDateTime(dateTime);
+    }
+
+    @Benchmark
+    public String formatDate() {
+        return DateTimeUtils.formatDate(date);
+    }
+
+    @Benchmark
+    public LocalDateTime toLocalDateTime() {
+        return DateTimeUtils.toLocalDateTime(instant);
+    }
+
+    @Benchmark
+    public String isoViaOffsetDateTime() {
+        return DateTimeFormatter.ISO_OFFSET_DATE_TIME.format(OffsetDateTime.ofInstant(instant, ZoneOffset.UTC));
+    }
+
+    @Benchmark
+    public String formatIsoInstant() {
+        return DateTimeUtils.formatIsoInstant(instant);
+    }
+
+    @Benchmark
+    public int writeIsoInstant() {
+        return DateTimeUtils.writeIsoInstant(instant, buffer, 0);
+    }
+
+    @Benchmark
+    public int writeIsoInstantDistinctSeconds() {
+        // Every call misses the per-second prefix cache
+        next = (next + 1) & (distinctSeconds.length - 1);
+        return DateTimeUtils.writeIsoInstant(distinctSeconds[next], buffer, 0);
+    }
+
+    @Benchmark
+    public StringBuilder appendIsoInstant() {
+        builder.setLength(0);
+        return DateTimeUtils.appendIsoInstant(instant, builder);
+    }
+}
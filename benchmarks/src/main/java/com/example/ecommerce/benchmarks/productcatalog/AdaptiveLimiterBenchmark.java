@@ -0,0 +1,48 @@
+package com.example.ecommerce.benchmarks.productcatalog;
+
+import com.example.productcatalog.infrastructure.concurrency.AdaptiveLimiter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost the adaptive concurrency limit adds to every request: one acquire and one release
+ * with a latency sample, from as many threads as a busy instance runs commands on.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(8)
+public class AdaptiveLimiterBenchmark {
+
+    private static final long RTT_NANOS = TimeUnit.MILLISECONDS.toNanos(2);
+
+    private AdaptiveLimiter limiter;
+
+    @Setup
+    public void setUp() {
+        limiter = new AdaptiveLimiter(200, 4, 1000, 1.5, 0.2, 600);
+    }
+
+    @Benchmark
+    public boolean acquireAndRelease() {
+        boolean acquired = limiter.tryAcquire();
+        if (acquired) {
+            limiter.release(RTT_NANOS);
+        }
+        return acquired;
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.ecommerce.benchmarks.productcatalog;
+
+import com.example.productcatalog.api.events.avro.BrandCreatedPayload;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.avro.io.BinaryDecoder;
+import org.apache.avro.io.BinaryEncoder;
+import org.apache.avro.io.DecoderFactory;
+import org.apache.avro.io.EncoderFactory;
+import org.apache.avro.specific.SpecificDatumReader;
+import org.apache.avro.specific.SpecificDatumWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A {@code BrandCreated} event encoded and decoded as JSON, the way the relay and consumer
+ * handle the JSON format, and as Avro binary, which is what the Apicurio serdes do once the
+ * schema lookup is cached. The encoded sizes are printed at setup.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BrandEventEncodingBenchmark {
+
+    private ObjectMapper objectMapper;
+    private JsonNode jsonEvent;
+    private byte[] json;
+
+    private BrandCreatedPayload avroEvent;
+    private SpecificDatumWriter<BrandCreatedPayload> avroWriter;
+    private SpecificDatumReader<BrandCreatedPayload> avroReader;
+    private ByteArrayOutputStream avroOut;
+    private BinaryEncoder encoder;
+    private BinaryDecoder decoder;
+    private byte[] avro;
+
+    @Setup
+    public void setUp() throws IOException {
+        objectMapper = BrandFixtures.objectMapper();
+        avroEvent = BrandCreatedPayload.newBuilder()
+                .setId(1234L)
+                .setName(BrandFixtures.NAME)
+                .setDescription(BrandFixtures.DESCRIPTION)
+                .setWebsite(BrandFixtures.WEBSITE.toString())
+                .setLogoUrl(BrandFixtures.LOGO_URL.toString())
+                .setCreatedAt(BrandFixtures.CREATED_AT)
+                .setUpdatedAt(BrandFixtures.CREATED_AT)
+                .build();
+        jsonEvent = objectMapper.createObjectNode()
+                .put("id", 1234L)
+                .put("name", BrandFixtures.NAME)
+                .put("description", BrandFixtures.DESCRIPTION)
+                .put("website", BrandFixtures.WEBSITE.toString())
+                .put("logoUrl", BrandFixtures.LOGO_URL.toString())
+                .put("createdAt", BrandFixtures.CREATED_AT.toString())
+                .put("updatedAt", BrandFixtures.CREATED_AT.toString());
+        json = objectMapper.writeValueAsBytes(jsonEvent);
+
+        avroWriter = new SpecificDatumWriter<>(BrandCreatedPayload.class);
+        avroReader = new SpecificDatumReader<>(BrandCreatedPayload.class);
+        avroOut = new ByteArrayOutputStream(256);
+        avro = encodeAvro();
+        System.out.printf("%nBrandCreated event: JSON %d bytes, Avro %d bytes%n", json.length, avro.length);
+    }
+
+    @Benchmark
+    public byte[] encodeJson() throws IOException {
+        return objectMapper.writeValueAsBytes(jsonEvent);
+    }
+
+    @Benchmark
+    public byte[] encodeAvro() throws IOException {
+        avroOut.reset();
+        encoder = EncoderFactory.get().directBinaryEncoder(avroOut, encoder);
+        avroWriter.write(avroEvent, encoder);
+        return avroOut.toByteArray();
+    }
+
+    @Benchmark
+    public JsonNode decodeJson() throws IOException {
+        return objectMapper.readTree(json);
+    }
+
+    @Benchmark
+    public BrandCreatedPayload decodeAvro() throws IOException {
+        decoder = DecoderFactory.get().binaryDecoder(avro, decoder);
+        return avroReader.read(null, decoder);
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.ecommerce.benchmarks.productcatalog;
+
+import com.example.productcatalog.api.rest.model.CreateBrandRequest;
+import com.example.productcatalog.api.rest.model.CreateBrandRequestDescription;
+import com.example.productcatalog.application.usecases.BrandView;
+import com.example.productcatalog.application.usecases.CreateBrandCommand;
+import com.example.productcatalog.domain.model.Brand;
+import com.example.productcatalog.domain.model.BrandDescription;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+import java.net.URI;
+import java.time.Instant;
+
+/**
+ * Representative inputs shared by the product-catalog benchmarks.
+ */
+final class BrandFixtures {
+
+    static final String NAME = "SportMaster";
+    static final String DESCRIPTION = "Leading sports equipment manufacturer";
+    static final BrandView.Description VIEW_DESCRIPTION =
+            new BrandView.Description(DESCRIPTION, BrandDescription.Format.PLAIN, BrandDescription.DEFAULT_LOCALE);
+    static final URI WEBSITE = URI.create("https://sportmaster.com");
+    static final URI LOGO_URL = URI.create("https://sportmaster.com/assets/logo.png");
+    static final Instant CREATED_AT = Instant.parse("2023-06-07T14:30:00.123456Z");
+
+    static final String CREATE_BRAND_REQUEST_JSON = """
+            {
+                "name": "SportMaster",
+                "description": {"content": "Leading sports equipment manufacturer"},
+                "website": "https://sportmaster.com",
+                "logoUrl": "https://sportmaster.com/assets/logo.png"
+            }
+            """;
+
+    private BrandFixtures() {
+        // Private constructor to prevent instantiation
+    }
+
+    /**
+     * Object mapper configured like the Quarkus default one used by the service.
+     */
+    static ObjectMapper objectMapper() {
+        return JsonMapper.builder()
+                .addModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+                .build();
+    }
+
+    static CreateBrandRequest createBrandRequest() {
+        return new CreateBrandRequest()
+                .name(NAME)
+                .description(new CreateBrandRequestDescription().content(DESCRIPTION))
+                .website(WEBSITE)
+                .logoUrl(LOGO_URL);
+    }
+
+    static CreateBrandCommand.Input commandInput() {
+        return new CreateBrandCommand.Input(NAME, VIEW_DESCRIPTION, WEBSITE, LOGO_URL);
+    }
+
+    static CreateBrandCommand.Output commandOutput() {
+        return new CreateBrandCommand.Output(1234L, NAME, VIEW_DESCRIPTION, WEBSITE, LOGO_URL, CREATED_AT, CREATED_AT);
+    }
+
+    static BrandView brandView() {
+        return new BrandView(1234L, NAME, VIEW_DESCRIPTION, WEBSITE, LOGO_URL, CREATED_AT, CREATED_AT);
+    }
+
+    /**
+     * The {@code n}-th of a set of distinct brands shaped like production data: a
+     * generated name and per-brand website and logo URLs. Descriptions live in their own
+     * table and are not part of the entity.
+     */
+    static Brand brand(int n) {
+        String key = String.format("%06d", n);
+        Instant createdAt = CREATED_AT.plusSeconds(n);
+        return Brand.builder()
+                .id((long) n)
+                .name("Brand " + key)
+                .website(URI.create("https://brand-" + key + ".example.com"))
+                .logo(URI.create("https://cdn.example.com/brands/" + key + "/logo.png"))
+                .createdAt(createdAt)
+                .updatedAt(createdAt)
+                .build();
+    }
+}
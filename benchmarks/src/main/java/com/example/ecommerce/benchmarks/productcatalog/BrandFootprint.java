@@ -0,0 +1,54 @@
+package com.example.ecommerce.benchmarks.productcatalog;
+
+import com.example.productcatalog.application.usecases.BrandView;
+import com.example.productcatalog.domain.model.Brand;
+import com.example.productcatalog.infrastructure.cache.CompactBrandStore;
+import org.openjdk.jol.info.GraphLayout;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Retained heap per brand of the ways brands can be held in memory, measured with JOL
+ * by walking the object graph:
+ * <ul>
+ *     <li>{@code Brand} entities, as loaded by Hibernate (a lower bound: the persistence
+ *     context adds an entry and a loaded-state snapshot per entity)</li>
+ *     <li>{@link BrandView}s, as held by the {@code brands-by-id} cache</li>
+ *     <li>the {@link CompactBrandStore} behind the brand snapshot</li>
+ * </ul>
+ * Run from the benchmarks jar, optionally with the number of brands:
+ * <pre>
+ * java -cp benchmarks/target/benchmarks.jar com.example.ecommerce.benchmarks.productcatalog.BrandFootprint 100000
+ * </pre>
+ */
+public final class BrandFootprint {
+
+    private static final int DEFAULT_BRANDS = 100_000;
+
+    private BrandFootprint() {
+        // Private constructor to prevent instantiation
+    }
+
+    public static void main(String[] args) {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_BRANDS;
+
+        List<Brand> entities = new ArrayList<>(count);
+        for (int n = 1; n <= count; n++) {
+            entities.add(BrandFixtures.brand(n));
+        }
+        List<BrandView> views = entities.stream().map(BrandView::from).toList();
+        CompactBrandStore store = new CompactBrandStore(count);
+        views.forEach(store::upsert);
+        store.trimToSize();
+
+        System.out.printf("%,d brands%n", count);
+        report("Brand entities", GraphLayout.parseInstance(entities).totalSize(), count);
+        report("BrandView", GraphLayout.parseInstance(views).totalSize(), count);
+        report("CompactBrandStore", GraphLayout.parseInstance(store).totalSize(), count);
+    }
+
+    private static void report(String layout, long bytes, int count) {
+        System.out.printf("%-20s %,14d bytes %,8.1f bytes/brand%n", layout, bytes, (double) bytes / count);
+    }
+}
@@ -0,0 +1,106 @@
+package com.example.ecommerce.benchmarks.productcatalog;
+
+import com.example.productcatalog.api.events.BrandCreatedPayload;
+import com.example.productcatalog.api.rest.mappers.BrandJsonWriter;
+import com.example.productcatalog.api.rest.mappers.BrandMapper;
+import com.example.productcatalog.api.rest.model.BrandResponse;
+import com.example.productcatalog.api.rest.model.CreateBrandRequest;
+import com.example.productcatalog.application.usecases.BrandView;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.ZoneOffset;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson (de)serialization of the REST models and the BrandCreated event payload, and one
+ * export line written through a mapped {@link BrandResponse} versus {@link BrandJsonWriter}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BrandJsonBenchmark {
+
+    private ObjectReader requestReader;
+    private ObjectWriter responseWriter;
+    private ObjectWriter payloadWriter;
+    private byte[] requestJson;
+    private BrandResponse response;
+    private BrandCreatedPayload payload;
+    private BrandMapper brandMapper;
+    private BrandJsonWriter brandJsonWriter;
+    private BrandView brandView;
+    private JsonGenerator exportGenerator;
+    private byte[] exportBuffer;
+
+    @Setup
+    public void setUp() throws IOException {
+        ObjectMapper objectMapper = BrandFixtures.objectMapper();
+        requestReader = objectMapper.readerFor(CreateBrandRequest.class);
+        responseWriter = objectMapper.writerFor(BrandResponse.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        payloadWriter = objectMapper.writerFor(BrandCreatedPayload.class);
+        requestJson = BrandFixtures.CREATE_BRAND_REQUEST_JSON.getBytes(StandardCharsets.UTF_8);
+        brandMapper = new BrandMapper();
+        brandJsonWriter = new BrandJsonWriter();
+        response = brandMapper.toResponse(BrandFixtures.commandOutput());
+        brandView = BrandFixtures.brandView();
+        exportGenerator = objectMapper.createGenerator(OutputStream.nullOutputStream());
+        exportGenerator.setRootValueSeparator(null);
+        exportBuffer = brandJsonWriter.newBuffer();
+        payload = new BrandCreatedPayload(
+                1234L,
+                BrandFixtures.NAME,
+                BrandFixtures.DESCRIPTION,
+                BrandFixtures.WEBSITE.toString(),
+                BrandFixtures.LOGO_URL.toString(),
+                BrandFixtures.CREATED_AT.atOffset(ZoneOffset.UTC),
+                BrandFixtures.CREATED_AT.atOffset(ZoneOffset.UTC));
+    }
+
+    @Benchmark
+    public CreateBrandRequest deserializeCreateBrandRequest() throws IOException {
+        return requestReader.readValue(requestJson);
+    }
+
+    @Benchmark
+    public byte[] serializeBrandResponse() throws IOException {
+        return responseWriter.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public byte[] serializeBrandCreatedPayload() throws IOException {
+        return payloadWriter.writeValueAsBytes(payload);
+    }
+
+    @Benchmark
+    public void writeExportLineViaBrandResponse() throws IOException {
+        responseWriter.writeValue(exportGenerator, brandMapper.toResponse(brandView));
+        exportGenerator.writeRaw('\n');
+    }
+
+    @Benchmark
+    public void writeExportLineViaBrandJsonWriter() throws IOException {
+        brandJsonWriter.write(exportGenerator, brandView, exportBuffer);
+        exportGenerator.writeRaw('\n');
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.ecommerce.benchmarks.productcatalog;
+
+import com.example.productcatalog.api.rest.mappers.BrandMapper;
+import com.example.productcatalog.api.rest.model.BrandResponse;
+import com.example.productcatalog.api.rest.model.CreateBrandRequest;
+import com.example.productcatalog.application.usecases.CreateBrandCommand;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mapping between the generated API models and the command input/output.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BrandMapperBenchmark {
+
+    private BrandMapper brandMapper;
+    private CreateBrandRequest request;
+    private CreateBrandCommand.Output output;
+
+    @Setup
+    public void setUp() {
+        brandMapper = new BrandMapper();
+        request = BrandFixtures.createBrandRequest();
+        output = BrandFixtures.commandOutput();
+    }
+
+    @Benchmark
+    public CreateBrandCommand.Input toCommandInput() {
+        return brandMapper.toCommandInput(request);
+    }
+
+    @Benchmark
+    public BrandResponse toResponse() {
+        return brandMapper.toResponse(output);
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.ecommerce.benchmarks.productcatalog;
+
+import com.example.productcatalog.application.usecases.BrandView;
+import com.example.productcatalog.infrastructure.cache.CompactBrandStore;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lookups served by the brand snapshot ({@link CompactBrandStore}) against a
+ * {@code ConcurrentHashMap} of {@link BrandView}s, which is what the Caffeine brand caches
+ * hold once warm. The snapshot decodes a view per read, so it trades allocation per
+ * lookup for a much smaller resident set; {@link BrandFootprint} measures the latter.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BrandSnapshotBenchmark {
+
+    @Param("100000")
+    private int brands;
+
+    private CompactBrandStore store;
+    private ConcurrentHashMap<Long, BrandView> viewsById;
+    private String[] names;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        store = new CompactBrandStore(brands);
+        viewsById = new ConcurrentHashMap<>(brands * 2);
+        names = new String[brands];
+        for (int n = 0; n < brands; n++) {
+            BrandView view = BrandView.from(BrandFixtures.brand(n + 1));
+            store.upsert(view);
+            viewsById.put(view.getId(), view);
+            names[n] = view.getName();
+        }
+    }
+
+    @Benchmark
+    public Optional<BrandView> snapshotFindById() {
+        return store.findById(nextId());
+    }
+
+    @Benchmark
+    public Optional<BrandView> snapshotFindByName() {
+        return store.findByName(names[nextIndex()]);
+    }
+
+    @Benchmark
+    public Optional<BrandView> viewMapFindById() {
+        return Optional.ofNullable(viewsById.get(nextId()));
+    }
+
+    private long nextId() {
+        return nextIndex() + 1L;
+    }
+
+    /** Strides through the brands so lookups do not all hit the same cache lines. */
+    private int nextIndex() {
+        next = (next + 7_919) % brands;
+        return next;
+    }
+}
@@ -0,0 +1,279 @@
+package com.example.ecommerce.benchmarks.productcatalog;
+
+import com.example.productcatalog.application.usecases.BrandCreated;
+import com.example.productcatalog.application.usecases.CreateBrandCommand;
+import com.example.productcatalog.domain.model.Brand;
+import com.example.productcatalog.domain.model.BrandDescription;
+import com.example.productcatalog.infrastructure.cache.BrandNameIndex;
+import com.example.productcatalog.infrastructure.config.ProductCatalogConfig;
+import com.example.productcatalog.infrastructure.events.EventPublisher;
+import com.example.productcatalog.infrastructure.persistence.BrandLogoRepository;
+import com.example.productcatalog.infrastructure.persistence.BrandWriter;
+import com.example.productcatalog.infrastructure.config.MetricsCustomizer;
+import com.example.productcatalog.infrastructure.sharding.BrandShards;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.prometheus.PrometheusConfig;
+import io.micrometer.prometheus.PrometheusMeterRegistry;
+import jakarta.enterprise.event.Event;
+import jakarta.enterprise.event.NotificationOptions;
+import jakarta.enterprise.util.TypeLiteral;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.annotation.Annotation;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+/**
+ * The application-side cost of {@link CreateBrandCommand#execute}, without CDI,
+ * transactions or a database: name index lookup, entity building, event payload, output
+ * mapping and the phase timers, recorded into a Prometheus registry set up like the
+ * service's. The index is warmed with 100k names, none matching the input.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CreateBrandCommandBenchmark {
+
+    private CreateBrandCommand createBrandCommand;
+    private CreateBrandCommand.Input input;
+
+    @Setup
+    public void setUp() {
+        // Warmed with fewer names than it holds exactly, the index never asks the database
+        BrandNameIndex brandNameIndex = new BrandNameIndex(new NameIndexSettings(), null, new SimpleMeterRegistry());
+        brandNameIndex.warmUp(IntStream.range(0, 100_000).mapToObj(i -> "Existing Brand " + i));
+        PrometheusMeterRegistry registry = new PrometheusMeterRegistry(PrometheusConfig.DEFAULT);
+        registry.config().meterFilter(new MetricsCustomizer().latencyHistograms());
+        ApplicationEventsConfig config = new ApplicationEventsConfig();
+        createBrandCommand = new CreateBrandCommand(
+                new InMemoryBrandWriter(), new InMemoryBrandLogoRepository(), new InMemoryEventPublisher(), brandNameIndex,
+                new BrandShards(config), new UnobservedEvent<>(), config, registry);
+        input = BrandFixtures.commandInput();
+    }
+
+    @Benchmark
+    public CreateBrandCommand.Output execute() {
+        return createBrandCommand.execute(input);
+    }
+
+    /**
+     * Assigns ids and timestamps the way Hibernate would on persist, and keeps nothing.
+     */
+    static class InMemoryBrandWriter implements BrandWriter {
+        private final AtomicLong ids = new AtomicLong();
+
+        @Override
+        public void persist(Brand brand) {
+            Instant now = Instant.now();
+            brand.setId(ids.incrementAndGet());
+            brand.setCreatedAt(now);
+            brand.setUpdatedAt(now);
+        }
+
+        @Override
+        public void persist(BrandDescription description) {
+            // Nothing to keep
+        }
+
+        @Override
+        public void flush() {
+            // Nothing to flush
+        }
+
+        @Override
+        public boolean existsByName(String name) {
+            // Only asked for names that may predate sharding
+            return false;
+        }
+    }
+
+    /**
+     * The defaults of {@code product-catalog.brands.name-index}.
+     */
+    static class NameIndexSettings implements ProductCatalogConfig.NameIndex {
+
+        @Override
+        public boolean enabled() {
+            return true;
+        }
+
+        @Override
+        public int expectedNames() {
+            return 1_000_000;
+        }
+
+        @Override
+        public double falsePositiveProbability() {
+            return 0.01;
+        }
+
+        @Override
+        public int exactCapacity() {
+            return 200_000;
+        }
+
+        @Override
+        public int warmupFetchSize() {
+            return 5_000;
+        }
+    }
+
+    /**
+     * Only what the command reads: events recorded by the command itself, the
+     * {@code application} event source, and a single brand shard.
+     */
+    static class ApplicationEventsConfig implements ProductCatalogConfig {
+
+        @Override
+        public Events events() {
+            return new Events() {
+                @Override
+                public String topic() {
+                    return "product-catalog.brand.events";
+                }
+
+                @Override
+                public Format format() {
+                    return Format.JSON;
+                }
+
+                @Override
+                public Outbox outbox() {
+                    return null;
+                }
+
+                @Override
+                public Source source() {
+                    return Source.APPLICATION;
+                }
+
+                @Override
+                public Cdc cdc() {
+                    return null;
+                }
+            };
+        }
+
+        @Override
+        public Brands brands() {
+            return null;
+        }
+
+        @Override
+        public Execution execution() {
+            return null;
+        }
+
+        @Override
+        public Idempotency idempotency() {
+            return null;
+        }
+
+        @Override
+        public ReadReplica readReplica() {
+            return null;
+        }
+
+        @Override
+        public Logos logos() {
+            return null;
+        }
+
+        @Override
+        public Sharding sharding() {
+            return new Sharding() {
+                @Override
+                public List<String> datasources() {
+                    return List.of("<default>");
+                }
+
+                @Override
+                public long legacyIdCeiling() {
+                    return 0;
+                }
+            };
+        }
+
+        @Override
+        public Diagnostics diagnostics() {
+            return null;
+        }
+    }
+
+    /**
+     * Queues nothing: logo ingestion happens after the command, on its own threads.
+     */
+    static class InMemoryBrandLogoRepository extends BrandLogoRepository {
+
+        @Override
+        public void enqueue(Brand brand) {
+            // Nothing to queue
+        }
+    }
+
+    /**
+     * A CDI event nobody observes, as {@link BrandCreated} outside a transaction with the
+     * brand caches off.
+     */
+    static class UnobservedEvent<T> implements Event<T> {
+
+        @Override
+        public void fire(T event) {
+            // Nobody to notify
+        }
+
+        @Override
+        public <U extends T> CompletionStage<U> fireAsync(U event) {
+            return CompletableFuture.completedFuture(event);
+        }
+
+        @Override
+        public <U extends T> CompletionStage<U> fireAsync(U event, NotificationOptions options) {
+            return CompletableFuture.completedFuture(event);
+        }
+
+        @Override
+        public Event<T> select(Annotation... qualifiers) {
+            return this;
+        }
+
+        @Override
+        public <U extends T> Event<U> select(Class<U> subtype, Annotation... qualifiers) {
+            return new UnobservedEvent<>();
+        }
+
+        @Override
+        public <U extends T> Event<U> select(TypeLiteral<U> subtype, Annotation... qualifiers) {
+            return new UnobservedEvent<>();
+        }
+    }
+
+    /**
+     * Keeps a reference to the last event so publishing cannot be optimised away.
+     */
+    static class InMemoryEventPublisher implements EventPublisher {
+        volatile Object lastEvent;
+
+        @Override
+        public <T> void publish(T event) {
+            lastEvent = event;
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package com.example.ecommerce.benchmarks.productcatalog;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time to first successful request and resident memory of product-catalog builds, e.g. the
+ * JVM application against the native executable.
+ * <p>
+ * Each build is started {@code --runs} times. A run measures from process start until
+ * {@code --url} first answers 200, then reads the process RSS (from {@code /proc}, so
+ * Linux only) and stops it. The database must already be migrated, as for a deployed
+ * replica ({@code QUARKUS_PROFILE=migrate}, once); the started processes inherit the
+ * environment, e.g. {@code DB_HOST}.
+ * <pre>
+ * java -cp benchmarks/target/benchmarks.jar com.example.ecommerce.benchmarks.productcatalog.StartupBenchmark \
+ *     --runs 10 \
+ *     "jvm=java -jar apps/product-catalog/target/quarkus-app/quarkus-run.jar" \
+ *     "native=apps/product-catalog/target/product-catalog-1.0.0-SNAPSHOT-runner"
+ * </pre>
+ */
+public final class StartupBenchmark {
+
+    private static final int DEFAULT_RUNS = 5;
+    private static final String DEFAULT_URL = "http://localhost:8080/brands?limit=1";
+    private static final Duration START_TIMEOUT = Duration.ofSeconds(60);
+    private static final Duration POLL_INTERVAL = Duration.ofMillis(5);
+
+    private StartupBenchmark() {
+        // Private constructor to prevent instantiation
+    }
+
+    public static void main(String[] args) throws Exception {
+        int runs = DEFAULT_RUNS;
+        URI url = URI.create(DEFAULT_URL);
+        Map<String, List<String>> builds = new LinkedHashMap<>();
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--runs" -> runs = Integer.parseInt(args[++i]);
+                case "--url" -> url = URI.create(args[++i]);
+                default -> {
+                    int separator = args[i].indexOf('=');
+                    if (separator < 1) {
+                        throw new IllegalArgumentException("Expected label=command, got " + args[i]);
+                    }
+                    builds.put(args[i].substring(0, separator),
+                            Arrays.asList(args[i].substring(separator + 1).trim().split("\\s+")));
+                }
+            }
+        }
+        if (builds.isEmpty()) {
+            throw new IllegalArgumentException("No build to start, pass label=command");
+        }
+
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofMillis(200)).build();
+        System.out.printf("%-10s %6s %12s %12s %12s %12s%n",
+                "build", "runs", "first ms", "p50 ms", "max ms", "p50 RSS MiB");
+        for (Map.Entry<String, List<String>> build : builds.entrySet()) {
+            long[] startMillis = new long[runs];
+            long[] rssKib = new long[runs];
+            long first = 0;
+            for (int run = 0; run < runs; run++) {
+                Run result = start(build.getValue(), client, url);
+                startMillis[run] = result.millis();
+                rssKib[run] = result.rssKib();
+                if (run == 0) {
+                    first = result.millis();
+                }
+            }
+            Arrays.sort(startMillis);
+            Arrays.sort(rssKib);
+            long rss = rssKib[runs / 2];
+            System.out.printf("%-10s %6d %12d %12d %12d %12s%n", build.getKey(), runs, first,
+                    startMillis[runs / 2], startMillis[runs - 1],
+                    rss < 0 ? "n/a" : String.format("%.1f", rss / 1024.0));
+        }
+    }
+
+    private static Run start(List<String> command, HttpClient client, URI url) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(url).timeout(Duration.ofSeconds(5)).GET().build();
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                .start();
+        try {
+            long deadline = start + START_TIMEOUT.toNanos();
+            while (System.nanoTime() < deadline) {
+                if (!process.isAlive()) {
+                    throw new IllegalStateException(command + " exited with " + process.exitValue());
+                }
+                if (succeeds(client, request)) {
+                    long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+                    return new Run(millis, rssKib(process.pid()));
+                }
+                Thread.sleep(POLL_INTERVAL);
+            }
+            throw new IllegalStateException(command + " did not answer " + url + " within " + START_TIMEOUT);
+        } finally {
+            stop(process);
+        }
+    }
+
+    private static boolean succeeds(HttpClient client, HttpRequest request) throws InterruptedException {
+        try {
+            return client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200;
+        } catch (IOException e) {
+            // Not listening yet, or the connection was reset while the server starts
+            return false;
+        }
+    }
+
+    /**
+     * Resident set size from {@code /proc/<pid>/status}, or -1 where it is not available.
+     */
+    private static long rssKib(long pid) {
+        Path status = Path.of("/proc", Long.toString(pid), "status");
+        try {
+            for (String line : Files.readAllLines(status)) {
+                if (line.startsWith("VmRSS:")) {
+                    return Long.parseLong(line.replaceAll("\\D", ""));
+                }
+            }
+        } catch (IOException e) {
+            // Not Linux, or the process is gone
+        }
+        return -1;
+    }
+
+    private static void stop(Process process) throws InterruptedException {
+        process.destroy();
+        if (!process.waitFor(10, TimeUnit.SECONDS)) {
+            process.destroyForcibly().waitFor();
+        }
+    }
+
+    private record Run(long millis, long rssKib) {
+    }
+}
@@ -1,13 +1,20 @@
 package com.example.ecommerce.common.utils;
 
+import java.nio.charset.StandardCharsets;
 import java.time.Instant;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
+import java.time.ZoneOffset;
 import java.time.format.DateTimeFormatter;
 
 /**
  * Utility class for date and time operations.
+ * <p>
+ * Formatters are built once and shared, as {@link DateTimeFormatter} is immutable and thread-safe.
+ * The {@code Instant} to ISO-8601 methods are meant for hot paths that format many timestamps
+ * (list and export responses): they write into a caller-supplied buffer, allocating only when
+ * the second changes.
  */
 public final class DateTimeUtils {
 
@@ -15,6 +22,31 @@ public final class DateTimeUtils {
     private static final String DEFAULT_DATETIME_FORMAT = "yyyy-MM-dd HH:mm:ss";
     private static final ZoneId DEFAULT_ZONE_ID = ZoneId.systemDefault();
 
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern(DEFAULT_DATE_FORMAT);
+    private static final DateTimeFormatter DATE_TIME_FORMATTER = DateTimeFormatter.ofPattern(DEFAULT_DATETIME_FORMAT);
+    private static final DateTimeFormatter ISO_UTC_FORMATTER = DateTimeFormatter.ISO_OFFSET_DATE_TIME.withZone(ZoneOffset.UTC);
+
+    /**
+     * Longest output of {@link #writeIsoInstant}, reached for {@code +999999999-12-31T23:59:59.999999999Z}.
+     */
+    public static final int ISO_INSTANT_MAX_LENGTH = 36;
+
+    /** Length of the {@code yyyy-MM-ddTHH:mm:ss} prefix. */
+    private static final int PREFIX_LENGTH = 19;
+    private static final int SECONDS_PER_DAY = 86_400;
+    /** 0000-01-01T00:00:00Z and 9999-12-31T23:59:59Z: the range with a four-digit year. */
+    private static final long FAST_PATH_MIN_EPOCH_SECOND = -62_167_219_200L;
+    private static final long FAST_PATH_MAX_EPOCH_SECOND = 253_402_300_799L;
+
+    /**
+     * Last formatted second, shared by every thread. Timestamps written in bulk (a batch insert,
+     * a page of recent rows) often share the same second, so the date/time arithmetic is skipped
+     * for them. A per-thread cache would never hit on virtual threads, which are rarely reused;
+     * a {@link Prefix} is immutable once published, so threads racing on a new second only
+     * compute it twice.
+     */
+    private static volatile Prefix lastPrefix = new Prefix(Long.MIN_VALUE, new byte[PREFIX_LENGTH], "");
+
     private DateTimeUtils() {
         // Private constructor to prevent instantiation
     }
@@ -29,7 +61,7 @@ public final class DateTimeUtils {
         if (dateTime == null) {
             return null;
         }
-        return DateTimeFormatter.ofPattern(DEFAULT_DATETIME_FORMAT).format(dateTime);
+        return DATE_TIME_FORMATTER.format(dateTime);
     }
 
     /**
@@ -42,7 +74,54 @@ public final class DateTimeUtils {
         if (date == null) {
             return null;
         }
-        return DateTimeFormatter.ofPattern(DEFAULT_DATE_FORMAT).format(date);
+        return DATE_FORMATTER.format(date);
+    }
+
+    /**
+     * Formats an Instant as ISO-8601 in UTC, e.g. {@code 2023-06-07T14:30:00.123456Z}.
+     * The output matches {@link DateTimeFormatter#ISO_OFFSET_DATE_TIME} at offset UTC: the
+     * fraction is printed without trailing zeros and omitted on a whole second.
+     *
+     * @param instant the Instant to format
+     * @return formatted date time string
+     */
+    public static String formatIsoInstant(Instant instant) {
+        if (instant == null) {
+            return null;
+        }
+        byte[] formatted = new byte[ISO_INSTANT_MAX_LENGTH];
+        int length = write(instant, formatted, 0);
+        return new String(formatted, 0, length, StandardCharsets.US_ASCII);
+    }
+
+    /**
+     * Appends an Instant as ISO-8601 in UTC, in the format of {@link #formatIsoInstant}.
+     *
+     * @param instant the Instant to format, must not be null
+     * @param dest the builder to append to
+     * @return {@code dest}
+     */
+    public static StringBuilder appendIsoInstant(Instant instant, StringBuilder dest) {
+        long epochSecond = instant.getEpochSecond();
+        if (epochSecond < FAST_PATH_MIN_EPOCH_SECOND || epochSecond > FAST_PATH_MAX_EPOCH_SECOND) {
+            return dest.append(ISO_UTC_FORMATTER.format(instant));
+        }
+        dest.append(prefix(epochSecond).text());
+        appendFraction(instant.getNano(), dest);
+        return dest.append('Z');
+    }
+
+    /**
+     * Writes an Instant as ISO-8601 in UTC, in the format of {@link #formatIsoInstant}, as
+     * US-ASCII bytes. At most {@link #ISO_INSTANT_MAX_LENGTH} bytes are written.
+     *
+     * @param instant the Instant to format, must not be null
+     * @param dest the buffer to write to
+     * @param offset the position of the first byte to write
+     * @return the position after the last byte written
+     */
+    public static int writeIsoInstant(Instant instant, byte[] dest, int offset) {
+        return write(instant, dest, offset);
     }
 
     /**
@@ -70,4 +149,112 @@ public final class DateTimeUtils {
         }
         return localDateTime.atZone(DEFAULT_ZONE_ID).toInstant();
     }
+
+    private static int write(Instant instant, byte[] dest, int offset) {
+        long epochSecond = instant.getEpochSecond();
+        if (epochSecond < FAST_PATH_MIN_EPOCH_SECOND || epochSecond > FAST_PATH_MAX_EPOCH_SECOND) {
+            // Years outside 0000-9999 need a sign or more digits; rare enough for the formatter
+            byte[] formatted = ISO_UTC_FORMATTER.format(instant).getBytes(StandardCharsets.US_ASCII);
+            System.arraycopy(formatted, 0, dest, offset, formatted.length);
+            return offset + formatted.length;
+        }
+
+        System.arraycopy(prefix(epochSecond).bytes(), 0, dest, offset, PREFIX_LENGTH);
+        int pos = writeFraction(instant.getNano(), dest, offset + PREFIX_LENGTH);
+        dest[pos++] = 'Z';
+        return pos;
+    }
+
+    private static Prefix prefix(long epochSecond) {
+        Prefix prefix = lastPrefix;
+        if (prefix.epochSecond() != epochSecond) {
+            byte[] bytes = new byte[PREFIX_LENGTH];
+            writePrefix(epochSecond, bytes);
+            prefix = new Prefix(epochSecond, bytes, new String(bytes, StandardCharsets.US_ASCII));
+            lastPrefix = prefix;
+        }
+        return prefix;
+    }
+
+    /**
+     * Writes {@code yyyy-MM-ddTHH:mm:ss}, using the days-to-civil algorithm from
+     * Howard Hinnant's "chrono-Compatible Low-Level Date Algorithms".
+     */
+    private static void writePrefix(long epochSecond, byte[] dest) {
+        long epochDay = Math.floorDiv(epochSecond, SECONDS_PER_DAY);
+        int secondOfDay = (int) Math.floorMod(epochSecond, SECONDS_PER_DAY);
+
+        long z = epochDay + 719_468;
+        long era = Math.floorDiv(z, 146_097);
+        long dayOfEra = z - era * 146_097;
+        long yearOfEra = (dayOfEra - dayOfEra / 1_460 + dayOfEra / 36_524 - dayOfEra / 146_096) / 365;
+        long dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+        long shiftedMonth = (5 * dayOfYear + 2) / 153;
+        int day = (int) (dayOfYear - (153 * shiftedMonth + 2) / 5 + 1);
+        int month = (int) (shiftedMonth < 10 ? shiftedMonth + 3 : shiftedMonth - 9);
+        int year = (int) (yearOfEra + era * 400 + (month <= 2 ? 1 : 0));
+
+        writeDigits(year / 100, dest, 0);
+        writeDigits(year % 100, dest, 2);
+        dest[4] = '-';
+        writeDigits(month, dest, 5);
+        dest[7] = '-';
+        writeDigits(day, dest, 8);
+        dest[10] = 'T';
+        writeDigits(secondOfDay / 3_600, dest, 11);
+        dest[13] = ':';
+        writeDigits(secondOfDay / 60 % 60, dest, 14);
+        dest[16] = ':';
+        writeDigits(secondOfDay % 60, dest, 17);
+    }
+
+    /**
+     * Writes {@code .} and the nanoseconds without trailing zeros, or nothing on a whole second.
+     */
+    private static int writeFraction(int nanos, byte[] dest, int pos) {
+        if (nanos == 0) {
+            return pos;
+        }
+        int digits = 9;
+        while (nanos % 10 == 0) {
+            nanos /= 10;
+            digits--;
+        }
+        dest[pos] = '.';
+        for (int i = digits; i > 0; i--) {
+            dest[pos + i] = (byte) ('0' + nanos % 10);
+            nanos /= 10;
+        }
+        return pos + digits + 1;
+    }
+
+    /**
+     * Appends the fraction as {@link #writeFraction} writes it.
+     */
+    private static void appendFraction(int nanos, StringBuilder dest) {
+        if (nanos == 0) {
+            return;
+        }
+        int divisor = 100_000_000;
+        while (nanos % 10 == 0) {
+            nanos /= 10;
+            divisor /= 10;
+        }
+        dest.append('.');
+        for (; divisor > 0; divisor /= 10) {
+            dest.append((char) ('0' + nanos / divisor % 10));
+        }
+    }
+
+    private static void writeDigits(int twoDigits, byte[] dest, int pos) {
+        dest[pos] = (byte) ('0' + twoDigits / 10);
+        dest[pos + 1] = (byte) ('0' + twoDigits % 10);
+    }
+
+    /**
+     * The {@code yyyy-MM-ddTHH:mm:ss} of a second, as bytes for buffers and as text for
+     * builders; {@code bytes} is never written once built.
+     */
+    private record Prefix(long epochSecond, byte[] bytes, String text) {
+    }
 }
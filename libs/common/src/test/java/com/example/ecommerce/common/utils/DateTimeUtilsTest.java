@@ -0,0 +1,109 @@
+package com.example.ecommerce.common.utils;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class DateTimeUtilsTest {
+
+    private static final DateTimeFormatter REFERENCE = DateTimeFormatter.ISO_OFFSET_DATE_TIME.withZone(ZoneOffset.UTC);
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "2023-06-07T14:30:00.123456Z",
+            "2023-06-07T14:30:00Z",
+            "2023-06-07T14:30:00.120Z",
+            "2023-06-07T14:30:10.000000001Z",
+            "1970-01-01T00:00:00Z",
+            "1969-12-31T23:59:59.999999999Z",
+            "2000-02-29T12:00:00Z",
+            "2100-03-01T00:00:00Z",
+            "0000-01-01T00:00:00Z",
+            "9999-12-31T23:59:59.5Z",
+            "+10000-01-01T00:00:00Z",
+            "-0001-12-31T23:59:59Z"
+    })
+    @DisplayName("Should format instants like ISO_OFFSET_DATE_TIME in UTC")
+    void shouldFormatInstantsLikeIsoOffsetDateTime(String value) {
+        Instant instant = Instant.parse(value);
+
+        assertEquals(REFERENCE.format(instant), DateTimeUtils.formatIsoInstant(instant));
+    }
+
+    @Test
+    @DisplayName("Should match the reference formatter for random instants through every API")
+    void shouldMatchReferenceForRandomInstants() {
+        SplittableRandom random = new SplittableRandom(42);
+        byte[] buffer = new byte[DateTimeUtils.ISO_INSTANT_MAX_LENGTH + 3];
+        StringBuilder builder = new StringBuilder();
+        long epochSecond = 0;
+
+        for (int i = 0; i < 100_000; i++) {
+            // Consecutive pairs share a second to exercise the prefix cache
+            if (i % 2 == 0) {
+                epochSecond = random.nextBoolean()
+                        ? random.nextLong(-62_167_219_200L, 253_402_300_800L)
+                        : random.nextLong(0, 4_102_444_800L);
+            }
+            Instant instant = Instant.ofEpochSecond(epochSecond, random.nextInt(3) == 0 ? 0 : random.nextInt(1_000_000_000));
+            String expected = REFERENCE.format(instant);
+
+            int end = DateTimeUtils.writeIsoInstant(instant, buffer, 3);
+            builder.setLength(0);
+
+            assertEquals(expected, new String(buffer, 3, end - 3, StandardCharsets.US_ASCII));
+            assertEquals(expected, DateTimeUtils.appendIsoInstant(instant, builder).toString());
+        }
+    }
+
+    @Test
+    @DisplayName("Should format correctly while virtual threads format different seconds at once")
+    void shouldFormatConcurrentlyAcrossSeconds() throws Exception {
+        Instant start = Instant.parse("2023-06-07T14:30:00.123456Z");
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<?>> tasks = IntStream.range(0, 64)
+                    .<Future<?>>mapToObj(task -> executor.submit(() -> {
+                        byte[] buffer = new byte[DateTimeUtils.ISO_INSTANT_MAX_LENGTH];
+                        for (int i = 0; i < 10_000; i++) {
+                            // Tasks keep moving the shared prefix to seconds of their own
+                            Instant instant = start.plusSeconds((long) task * 10_000 + i % 7);
+                            int end = DateTimeUtils.writeIsoInstant(instant, buffer, 0);
+                            assertEquals(REFERENCE.format(instant),
+                                    new String(buffer, 0, end, StandardCharsets.US_ASCII));
+                        }
+                    }))
+                    .toList();
+            for (Future<?> task : tasks) {
+                task.get();
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Should format local dates and date times with the default patterns")
+    void shouldFormatLocalDatesAndDateTimes() {
+        assertEquals("2023-06-07 14:30:05", DateTimeUtils.formatDateTime(LocalDateTime.of(2023, 6, 7, 14, 30, 5)));
+        assertEquals("2023-06-07", DateTimeUtils.formatDate(LocalDate.of(2023, 6, 7)));
+        assertNull(DateTimeUtils.formatDateTime(null));
+        assertNull(DateTimeUtils.formatDate(null));
+        assertNull(DateTimeUtils.formatIsoInstant(null));
+    }
+}